@@ -22,6 +22,8 @@ public final class AppDbTables {
 	public static final String WORKFLOW_STEPS = "workflow_steps";
 	public static final String WORKFLOW_TRANSITIONS = "workflow_transitions";
 	public static final String WORKFLOW_EXECUTOR_POOLS = "workflow_executor_pools";
+	public static final String GENERATED_ARTIFACTS = "generated_artifacts";
+	public static final String PROJECT_RUN_CHECKPOINTS = "project_run_checkpoints";
 
 	private AppDbTables() {
 	}
@@ -3,13 +3,17 @@ package com.src.main.controller;
 import java.security.Principal;
 import java.util.UUID;
 
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.src.main.dto.ProjectRunDetailsResponseDTO;
+import com.src.main.dto.ProjectRunSummaryDTO;
+import com.src.main.mapper.ProjectRunMapper;
 import com.src.main.service.ProjectOrchestrationService;
 import com.src.main.service.ProjectUserIdentityService;
 
@@ -43,7 +47,7 @@ public class ProjectRunController {
                 run.getType(),
                 run.getStatus(),
                 run.getRunNumber(),
-                run.getZip() != null && run.getZip().length > 0,
+                run.getArtifactSha256() != null,
                 run.getErrorMessage(),
                 run.getCreatedAt(),
                 run.getUpdatedAt());
@@ -51,29 +55,19 @@ public class ProjectRunController {
     }
 
     @GetMapping("/{runId}/download")
-    public ResponseEntity<byte[]> downloadRun(@PathVariable("runId") UUID runId, Principal principal) {
+    public ResponseEntity<Resource> downloadRun(@PathVariable("runId") UUID runId, Principal principal) {
         return orchestrationService.download(runId, currentUserId(principal));
     }
 
+    @PostMapping("/{runId}/cancel")
+    public ResponseEntity<ProjectRunDetailsResponseDTO> cancelRun(@PathVariable("runId") UUID runId, Principal principal) {
+        return ResponseEntity.ok(ProjectRunMapper.toDto(orchestrationService.cancelRun(runId, currentUserId(principal))));
+    }
+
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<java.util.List<ProjectRunDetailsResponseDTO>> getRunsForProject(@PathVariable("projectId") UUID projectId,
+    public ResponseEntity<java.util.List<ProjectRunSummaryDTO>> getRunsForProject(@PathVariable("projectId") UUID projectId,
             Principal principal) {
         String userId = currentUserId(principal);
-        var runs = orchestrationService.getRunsForProject(projectId, userId);
-
-        var dtos = runs.stream()
-                .map(run -> new ProjectRunDetailsResponseDTO(
-                        run.getId(),
-                        run.getProject().getId(),
-                        run.getOwnerId(),
-                        run.getType(),
-                        run.getStatus(),
-                        run.getRunNumber(),
-                        run.getZip() != null && run.getZip().length > 0,
-                        run.getErrorMessage(),
-                        run.getCreatedAt(),
-                        run.getUpdatedAt()))
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(orchestrationService.getRunsForProject(projectId, userId));
     }
 }
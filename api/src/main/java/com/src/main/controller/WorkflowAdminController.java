@@ -0,0 +1,42 @@
+package com.src.main.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.src.main.dto.WorkflowPlanCacheStatsDTO;
+import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.workflow.engine.WorkflowDefinitionService;
+import com.src.main.workflow.engine.WorkflowPlanRegistry;
+
+@RestController
+@RequestMapping("/api/v1/admin/workflows")
+public class WorkflowAdminController {
+
+	private final WorkflowDefinitionService workflowDefinitionService;
+	private final WorkflowPlanRegistry workflowPlanRegistry;
+
+	public WorkflowAdminController(
+			WorkflowDefinitionService workflowDefinitionService,
+			WorkflowPlanRegistry workflowPlanRegistry) {
+		this.workflowDefinitionService = workflowDefinitionService;
+		this.workflowPlanRegistry = workflowPlanRegistry;
+	}
+
+	@GetMapping("/plans")
+	@PreAuthorize("hasAuthority('workflow.plan.read')")
+	public WorkflowPlanCacheStatsDTO planCache() {
+		return workflowPlanRegistry.stats();
+	}
+
+	@PostMapping("/plans/reload")
+	@PreAuthorize("hasAuthority('workflow.plan.manage')")
+	public ResponseEntity<WorkflowPlanCacheStatsDTO> reload(@RequestParam(name = "language", required = false) GenerationLanguage language) {
+		workflowDefinitionService.publishDefinitionChanged(language);
+		return ResponseEntity.accepted().body(workflowPlanRegistry.stats());
+	}
+}
@@ -26,7 +26,7 @@ public class ProjectDetailsDTO {
 	private String latestRunStatus;
 	private Integer latestRunNumber;
 	private boolean latestRunHasZip;
-	private String latestRunZipBase64;
+	private String latestRunZipDownloadUrl;
 	private String latestRunZipFileName;
 	private OffsetDateTime createdAt;
 	private OffsetDateTime updatedAt;
@@ -111,8 +111,8 @@ public class ProjectDetailsDTO {
 		return this.latestRunHasZip;
 	}
 
-	public String getLatestRunZipBase64() {
-		return this.latestRunZipBase64;
+	public String getLatestRunZipDownloadUrl() {
+		return this.latestRunZipDownloadUrl;
 	}
 
 	public String getLatestRunZipFileName() {
@@ -207,8 +207,8 @@ public class ProjectDetailsDTO {
 		this.latestRunHasZip = latestRunHasZip;
 	}
 
-	public void setLatestRunZipBase64(final String latestRunZipBase64) {
-		this.latestRunZipBase64 = latestRunZipBase64;
+	public void setLatestRunZipDownloadUrl(final String latestRunZipDownloadUrl) {
+		this.latestRunZipDownloadUrl = latestRunZipDownloadUrl;
 	}
 
 	public void setLatestRunZipFileName(final String latestRunZipFileName) {
@@ -283,9 +283,9 @@ public class ProjectDetailsDTO {
 		final Object this$latestRunStatus = this.getLatestRunStatus();
 		final Object other$latestRunStatus = other.getLatestRunStatus();
 		if (this$latestRunStatus == null ? other$latestRunStatus != null : !this$latestRunStatus.equals(other$latestRunStatus)) return false;
-		final Object this$latestRunZipBase64 = this.getLatestRunZipBase64();
-		final Object other$latestRunZipBase64 = other.getLatestRunZipBase64();
-		if (this$latestRunZipBase64 == null ? other$latestRunZipBase64 != null : !this$latestRunZipBase64.equals(other$latestRunZipBase64)) return false;
+		final Object this$latestRunZipDownloadUrl = this.getLatestRunZipDownloadUrl();
+		final Object other$latestRunZipDownloadUrl = other.getLatestRunZipDownloadUrl();
+		if (this$latestRunZipDownloadUrl == null ? other$latestRunZipDownloadUrl != null : !this$latestRunZipDownloadUrl.equals(other$latestRunZipDownloadUrl)) return false;
 		final Object this$latestRunZipFileName = this.getLatestRunZipFileName();
 		final Object other$latestRunZipFileName = other.getLatestRunZipFileName();
 		if (this$latestRunZipFileName == null ? other$latestRunZipFileName != null : !this$latestRunZipFileName.equals(other$latestRunZipFileName)) return false;
@@ -343,8 +343,8 @@ public class ProjectDetailsDTO {
 		result = result * PRIME + ($latestRunId == null ? 43 : $latestRunId.hashCode());
 		final Object $latestRunStatus = this.getLatestRunStatus();
 		result = result * PRIME + ($latestRunStatus == null ? 43 : $latestRunStatus.hashCode());
-		final Object $latestRunZipBase64 = this.getLatestRunZipBase64();
-		result = result * PRIME + ($latestRunZipBase64 == null ? 43 : $latestRunZipBase64.hashCode());
+		final Object $latestRunZipDownloadUrl = this.getLatestRunZipDownloadUrl();
+		result = result * PRIME + ($latestRunZipDownloadUrl == null ? 43 : $latestRunZipDownloadUrl.hashCode());
 		final Object $latestRunZipFileName = this.getLatestRunZipFileName();
 		result = result * PRIME + ($latestRunZipFileName == null ? 43 : $latestRunZipFileName.hashCode());
 		final Object $createdAt = this.getCreatedAt();
@@ -356,13 +356,13 @@ public class ProjectDetailsDTO {
 
 	@Override
 	public String toString() {
-		return "ProjectDetailsDTO(projectId=" + this.getProjectId() + ", id=" + this.getId() + ", name=" + this.getName() + ", description=" + this.getDescription() + ", generator=" + this.getGenerator() + ", artifact=" + this.getArtifact() + ", yaml=" + this.getYaml() + ", draftData=" + this.getDraftData() + ", draftVersion=" + this.getDraftVersion() + ", tabDetails=" + this.getTabDetails() + ", ownerId=" + this.getOwnerId() + ", contributorAccess=" + this.isContributorAccess() + ", canManageContributors=" + this.isCanManageContributors() + ", collaborationInviteToken=" + this.getCollaborationInviteToken() + ", contributors=" + this.getContributors() + ", collaborationRequests=" + this.getCollaborationRequests() + ", latestRunId=" + this.getLatestRunId() + ", latestRunStatus=" + this.getLatestRunStatus() + ", latestRunNumber=" + this.getLatestRunNumber() + ", latestRunHasZip=" + this.isLatestRunHasZip() + ", latestRunZipBase64=" + this.getLatestRunZipBase64() + ", latestRunZipFileName=" + this.getLatestRunZipFileName() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ")";
+		return "ProjectDetailsDTO(projectId=" + this.getProjectId() + ", id=" + this.getId() + ", name=" + this.getName() + ", description=" + this.getDescription() + ", generator=" + this.getGenerator() + ", artifact=" + this.getArtifact() + ", yaml=" + this.getYaml() + ", draftData=" + this.getDraftData() + ", draftVersion=" + this.getDraftVersion() + ", tabDetails=" + this.getTabDetails() + ", ownerId=" + this.getOwnerId() + ", contributorAccess=" + this.isContributorAccess() + ", canManageContributors=" + this.isCanManageContributors() + ", collaborationInviteToken=" + this.getCollaborationInviteToken() + ", contributors=" + this.getContributors() + ", collaborationRequests=" + this.getCollaborationRequests() + ", latestRunId=" + this.getLatestRunId() + ", latestRunStatus=" + this.getLatestRunStatus() + ", latestRunNumber=" + this.getLatestRunNumber() + ", latestRunHasZip=" + this.isLatestRunHasZip() + ", latestRunZipDownloadUrl=" + this.getLatestRunZipDownloadUrl() + ", latestRunZipFileName=" + this.getLatestRunZipFileName() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ")";
 	}
 
 	public ProjectDetailsDTO() {
 	}
 
-	public ProjectDetailsDTO(final String projectId, final UUID id, final String name, final String description, final String generator, final String artifact, final String yaml, final Map<String, Object> draftData, final Integer draftVersion, final List<ProjectTabDefinitionDTO> tabDetails, final String ownerId, final boolean contributorAccess, final boolean canManageContributors, final String collaborationInviteToken, final List<ProjectContributorDTO> contributors, final List<ProjectCollaborationRequestDTO> collaborationRequests, final UUID latestRunId, final String latestRunStatus, final Integer latestRunNumber, final boolean latestRunHasZip, final String latestRunZipBase64, final String latestRunZipFileName, final OffsetDateTime createdAt, final OffsetDateTime updatedAt) {
+	public ProjectDetailsDTO(final String projectId, final UUID id, final String name, final String description, final String generator, final String artifact, final String yaml, final Map<String, Object> draftData, final Integer draftVersion, final List<ProjectTabDefinitionDTO> tabDetails, final String ownerId, final boolean contributorAccess, final boolean canManageContributors, final String collaborationInviteToken, final List<ProjectContributorDTO> contributors, final List<ProjectCollaborationRequestDTO> collaborationRequests, final UUID latestRunId, final String latestRunStatus, final Integer latestRunNumber, final boolean latestRunHasZip, final String latestRunZipDownloadUrl, final String latestRunZipFileName, final OffsetDateTime createdAt, final OffsetDateTime updatedAt) {
 		this.projectId = projectId;
 		this.id = id;
 		this.name = name;
@@ -383,7 +383,7 @@ public class ProjectDetailsDTO {
 		this.latestRunStatus = latestRunStatus;
 		this.latestRunNumber = latestRunNumber;
 		this.latestRunHasZip = latestRunHasZip;
-		this.latestRunZipBase64 = latestRunZipBase64;
+		this.latestRunZipDownloadUrl = latestRunZipDownloadUrl;
 		this.latestRunZipFileName = latestRunZipFileName;
 		this.createdAt = createdAt;
 		this.updatedAt = updatedAt;
@@ -0,0 +1,10 @@
+package com.src.main.dto;
+
+import java.util.Map;
+
+public record WorkflowPlanCacheStatsDTO(
+		long hits,
+		long misses,
+		long reloads,
+		Map<String, Integer> cachedDefinitionVersions) {
+}
@@ -0,0 +1,142 @@
+package com.src.main.model;
+
+import java.time.OffsetDateTime;
+import com.src.main.config.AppDbTables;
+import com.src.main.util.ArtifactStorageKind;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = AppDbTables.GENERATED_ARTIFACTS, indexes = {@Index(name = "idx_generated_artifacts_last_used", columnList = "last_used_at")})
+public class GeneratedArtifactEntity {
+	@Id
+	@Column(name = "sha256", nullable = false, length = 64)
+	private String sha256;
+	@Column(name = "size_bytes", nullable = false)
+	private long sizeBytes;
+	@Enumerated(EnumType.STRING)
+	@Column(name = "storage_kind", nullable = false, length = 30)
+	private ArtifactStorageKind storageKind;
+	@Column(name = "content_oid")
+	private Long contentOid;
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private OffsetDateTime createdAt;
+	@Column(name = "last_used_at", nullable = false)
+	private OffsetDateTime lastUsedAt;
+
+	@PrePersist
+	public void onCreate() {
+		this.createdAt = OffsetDateTime.now();
+		this.lastUsedAt = this.createdAt;
+	}
+
+	public GeneratedArtifactEntity() {
+	}
+
+	public String getSha256() {
+		return this.sha256;
+	}
+
+	public long getSizeBytes() {
+		return this.sizeBytes;
+	}
+
+	public ArtifactStorageKind getStorageKind() {
+		return this.storageKind;
+	}
+
+	public Long getContentOid() {
+		return this.contentOid;
+	}
+
+	public OffsetDateTime getCreatedAt() {
+		return this.createdAt;
+	}
+
+	public OffsetDateTime getLastUsedAt() {
+		return this.lastUsedAt;
+	}
+
+	public void setSha256(final String sha256) {
+		this.sha256 = sha256;
+	}
+
+	public void setSizeBytes(final long sizeBytes) {
+		this.sizeBytes = sizeBytes;
+	}
+
+	public void setStorageKind(final ArtifactStorageKind storageKind) {
+		this.storageKind = storageKind;
+	}
+
+	public void setContentOid(final Long contentOid) {
+		this.contentOid = contentOid;
+	}
+
+	public void setCreatedAt(final OffsetDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public void setLastUsedAt(final OffsetDateTime lastUsedAt) {
+		this.lastUsedAt = lastUsedAt;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == this) return true;
+		if (!(o instanceof GeneratedArtifactEntity)) return false;
+		final GeneratedArtifactEntity other = (GeneratedArtifactEntity) o;
+		if (!other.canEqual((Object) this)) return false;
+		if (this.getSizeBytes() != other.getSizeBytes()) return false;
+		final Object this$sha256 = this.getSha256();
+		final Object other$sha256 = other.getSha256();
+		if (this$sha256 == null ? other$sha256 != null : !this$sha256.equals(other$sha256)) return false;
+		final Object this$storageKind = this.getStorageKind();
+		final Object other$storageKind = other.getStorageKind();
+		if (this$storageKind == null ? other$storageKind != null : !this$storageKind.equals(other$storageKind)) return false;
+		final Object this$contentOid = this.getContentOid();
+		final Object other$contentOid = other.getContentOid();
+		if (this$contentOid == null ? other$contentOid != null : !this$contentOid.equals(other$contentOid)) return false;
+		final Object this$createdAt = this.getCreatedAt();
+		final Object other$createdAt = other.getCreatedAt();
+		if (this$createdAt == null ? other$createdAt != null : !this$createdAt.equals(other$createdAt)) return false;
+		final Object this$lastUsedAt = this.getLastUsedAt();
+		final Object other$lastUsedAt = other.getLastUsedAt();
+		if (this$lastUsedAt == null ? other$lastUsedAt != null : !this$lastUsedAt.equals(other$lastUsedAt)) return false;
+		return true;
+	}
+
+	protected boolean canEqual(final Object other) {
+		return other instanceof GeneratedArtifactEntity;
+	}
+
+	@Override
+	public int hashCode() {
+		final int PRIME = 59;
+		int result = 1;
+		final long $sizeBytes = this.getSizeBytes();
+		result = result * PRIME + (int) ($sizeBytes >>> 32 ^ $sizeBytes);
+		final Object $sha256 = this.getSha256();
+		result = result * PRIME + ($sha256 == null ? 43 : $sha256.hashCode());
+		final Object $storageKind = this.getStorageKind();
+		result = result * PRIME + ($storageKind == null ? 43 : $storageKind.hashCode());
+		final Object $contentOid = this.getContentOid();
+		result = result * PRIME + ($contentOid == null ? 43 : $contentOid.hashCode());
+		final Object $createdAt = this.getCreatedAt();
+		result = result * PRIME + ($createdAt == null ? 43 : $createdAt.hashCode());
+		final Object $lastUsedAt = this.getLastUsedAt();
+		result = result * PRIME + ($lastUsedAt == null ? 43 : $lastUsedAt.hashCode());
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "GeneratedArtifactEntity(sha256=" + this.getSha256() + ", sizeBytes=" + this.getSizeBytes() + ", storageKind=" + this.getStorageKind() + ", contentOid=" + this.getContentOid() + ", createdAt=" + this.getCreatedAt() + ", lastUsedAt=" + this.getLastUsedAt() + ")";
+	}
+}
@@ -0,0 +1,219 @@
+package com.src.main.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import com.src.main.config.AppDbTables;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = AppDbTables.PROJECT_RUN_CHECKPOINTS, indexes = {@Index(name = "idx_run_checkpoints_project_fingerprint", columnList = "project_id, spec_fingerprint, updated_at"), @Index(name = "idx_run_checkpoints_artifact_sha256", columnList = "artifact_sha256"), @Index(name = "idx_run_checkpoints_updated_at", columnList = "updated_at")})
+public class ProjectRunCheckpointEntity {
+	@Id
+	@Column(name = "run_id", nullable = false)
+	private UUID runId;
+	@Column(name = "project_id", nullable = false)
+	private UUID projectId;
+	@Column(name = "spec_fingerprint", nullable = false, length = 64)
+	private String specFingerprint;
+	@Column(name = "workflow_code", nullable = false, length = 120)
+	private String workflowCode;
+	@Column(name = "workflow_version", nullable = false)
+	private int workflowVersion;
+	@Column(name = "next_step_code", nullable = false, length = 120)
+	private String nextStepCode;
+	@Column(name = "variables_json", nullable = false, columnDefinition = "TEXT")
+	private String variablesJson;
+	@Column(name = "artifact_sha256", length = 64)
+	private String artifactSha256;
+	@Column(name = "artifact_segments_json", columnDefinition = "TEXT")
+	private String artifactSegmentsJson;
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private OffsetDateTime createdAt;
+	@Column(name = "updated_at", nullable = false)
+	private OffsetDateTime updatedAt;
+
+	@PrePersist
+	public void onCreate() {
+		this.createdAt = OffsetDateTime.now();
+		this.updatedAt = this.createdAt;
+	}
+
+	@PreUpdate
+	public void onUpdate() {
+		this.updatedAt = OffsetDateTime.now();
+	}
+
+	public ProjectRunCheckpointEntity() {
+	}
+
+	public UUID getRunId() {
+		return this.runId;
+	}
+
+	public UUID getProjectId() {
+		return this.projectId;
+	}
+
+	public String getSpecFingerprint() {
+		return this.specFingerprint;
+	}
+
+	public String getWorkflowCode() {
+		return this.workflowCode;
+	}
+
+	public int getWorkflowVersion() {
+		return this.workflowVersion;
+	}
+
+	public String getNextStepCode() {
+		return this.nextStepCode;
+	}
+
+	public String getVariablesJson() {
+		return this.variablesJson;
+	}
+
+	public String getArtifactSha256() {
+		return this.artifactSha256;
+	}
+
+	public String getArtifactSegmentsJson() {
+		return this.artifactSegmentsJson;
+	}
+
+	public OffsetDateTime getCreatedAt() {
+		return this.createdAt;
+	}
+
+	public OffsetDateTime getUpdatedAt() {
+		return this.updatedAt;
+	}
+
+	public void setRunId(final UUID runId) {
+		this.runId = runId;
+	}
+
+	public void setProjectId(final UUID projectId) {
+		this.projectId = projectId;
+	}
+
+	public void setSpecFingerprint(final String specFingerprint) {
+		this.specFingerprint = specFingerprint;
+	}
+
+	public void setWorkflowCode(final String workflowCode) {
+		this.workflowCode = workflowCode;
+	}
+
+	public void setWorkflowVersion(final int workflowVersion) {
+		this.workflowVersion = workflowVersion;
+	}
+
+	public void setNextStepCode(final String nextStepCode) {
+		this.nextStepCode = nextStepCode;
+	}
+
+	public void setVariablesJson(final String variablesJson) {
+		this.variablesJson = variablesJson;
+	}
+
+	public void setArtifactSha256(final String artifactSha256) {
+		this.artifactSha256 = artifactSha256;
+	}
+
+	public void setArtifactSegmentsJson(final String artifactSegmentsJson) {
+		this.artifactSegmentsJson = artifactSegmentsJson;
+	}
+
+	public void setCreatedAt(final OffsetDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public void setUpdatedAt(final OffsetDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@Override
+	public boolean equals(final Object o) {
+		if (o == this) return true;
+		if (!(o instanceof ProjectRunCheckpointEntity)) return false;
+		final ProjectRunCheckpointEntity other = (ProjectRunCheckpointEntity) o;
+		if (!other.canEqual((Object) this)) return false;
+		if (this.getWorkflowVersion() != other.getWorkflowVersion()) return false;
+		final Object this$runId = this.getRunId();
+		final Object other$runId = other.getRunId();
+		if (this$runId == null ? other$runId != null : !this$runId.equals(other$runId)) return false;
+		final Object this$projectId = this.getProjectId();
+		final Object other$projectId = other.getProjectId();
+		if (this$projectId == null ? other$projectId != null : !this$projectId.equals(other$projectId)) return false;
+		final Object this$specFingerprint = this.getSpecFingerprint();
+		final Object other$specFingerprint = other.getSpecFingerprint();
+		if (this$specFingerprint == null ? other$specFingerprint != null : !this$specFingerprint.equals(other$specFingerprint)) return false;
+		final Object this$workflowCode = this.getWorkflowCode();
+		final Object other$workflowCode = other.getWorkflowCode();
+		if (this$workflowCode == null ? other$workflowCode != null : !this$workflowCode.equals(other$workflowCode)) return false;
+		final Object this$nextStepCode = this.getNextStepCode();
+		final Object other$nextStepCode = other.getNextStepCode();
+		if (this$nextStepCode == null ? other$nextStepCode != null : !this$nextStepCode.equals(other$nextStepCode)) return false;
+		final Object this$variablesJson = this.getVariablesJson();
+		final Object other$variablesJson = other.getVariablesJson();
+		if (this$variablesJson == null ? other$variablesJson != null : !this$variablesJson.equals(other$variablesJson)) return false;
+		final Object this$artifactSha256 = this.getArtifactSha256();
+		final Object other$artifactSha256 = other.getArtifactSha256();
+		if (this$artifactSha256 == null ? other$artifactSha256 != null : !this$artifactSha256.equals(other$artifactSha256)) return false;
+		final Object this$artifactSegmentsJson = this.getArtifactSegmentsJson();
+		final Object other$artifactSegmentsJson = other.getArtifactSegmentsJson();
+		if (this$artifactSegmentsJson == null ? other$artifactSegmentsJson != null : !this$artifactSegmentsJson.equals(other$artifactSegmentsJson)) return false;
+		final Object this$createdAt = this.getCreatedAt();
+		final Object other$createdAt = other.getCreatedAt();
+		if (this$createdAt == null ? other$createdAt != null : !this$createdAt.equals(other$createdAt)) return false;
+		final Object this$updatedAt = this.getUpdatedAt();
+		final Object other$updatedAt = other.getUpdatedAt();
+		if (this$updatedAt == null ? other$updatedAt != null : !this$updatedAt.equals(other$updatedAt)) return false;
+		return true;
+	}
+
+	protected boolean canEqual(final Object other) {
+		return other instanceof ProjectRunCheckpointEntity;
+	}
+
+	@Override
+	public int hashCode() {
+		final int PRIME = 59;
+		int result = 1;
+		result = result * PRIME + this.getWorkflowVersion();
+		final Object $runId = this.getRunId();
+		result = result * PRIME + ($runId == null ? 43 : $runId.hashCode());
+		final Object $projectId = this.getProjectId();
+		result = result * PRIME + ($projectId == null ? 43 : $projectId.hashCode());
+		final Object $specFingerprint = this.getSpecFingerprint();
+		result = result * PRIME + ($specFingerprint == null ? 43 : $specFingerprint.hashCode());
+		final Object $workflowCode = this.getWorkflowCode();
+		result = result * PRIME + ($workflowCode == null ? 43 : $workflowCode.hashCode());
+		final Object $nextStepCode = this.getNextStepCode();
+		result = result * PRIME + ($nextStepCode == null ? 43 : $nextStepCode.hashCode());
+		final Object $variablesJson = this.getVariablesJson();
+		result = result * PRIME + ($variablesJson == null ? 43 : $variablesJson.hashCode());
+		final Object $artifactSha256 = this.getArtifactSha256();
+		result = result * PRIME + ($artifactSha256 == null ? 43 : $artifactSha256.hashCode());
+		final Object $artifactSegmentsJson = this.getArtifactSegmentsJson();
+		result = result * PRIME + ($artifactSegmentsJson == null ? 43 : $artifactSegmentsJson.hashCode());
+		final Object $createdAt = this.getCreatedAt();
+		result = result * PRIME + ($createdAt == null ? 43 : $createdAt.hashCode());
+		final Object $updatedAt = this.getUpdatedAt();
+		result = result * PRIME + ($updatedAt == null ? 43 : $updatedAt.hashCode());
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "ProjectRunCheckpointEntity(runId=" + this.getRunId() + ", projectId=" + this.getProjectId() + ", specFingerprint=" + this.getSpecFingerprint() + ", workflowCode=" + this.getWorkflowCode() + ", workflowVersion=" + this.getWorkflowVersion() + ", nextStepCode=" + this.getNextStepCode() + ", artifactSha256=" + this.getArtifactSha256() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ")";
+	}
+}
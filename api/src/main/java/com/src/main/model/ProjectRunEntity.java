@@ -2,8 +2,6 @@ package com.src.main.model;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 import com.src.main.config.AppDbTables;
 import com.src.main.util.ProjectRunStatus;
 import com.src.main.util.ProjectRunType;
@@ -22,7 +20,7 @@ import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = AppDbTables.PROJECT_RUNS, indexes = {@Index(name = "idx_runs_owner_type_created", columnList = "owner_id, type, created_at"), @Index(name = "idx_runs_project", columnList = "project_id")})
+@Table(name = AppDbTables.PROJECT_RUNS, indexes = {@Index(name = "idx_runs_owner_type_created", columnList = "owner_id, type, created_at"), @Index(name = "idx_runs_project", columnList = "project_id"), @Index(name = "idx_runs_artifact_sha256", columnList = "artifact_sha256"), @Index(name = "idx_runs_spec_fingerprint", columnList = "spec_fingerprint, status, updated_at"), @Index(name = "idx_runs_coalesced_into", columnList = "coalesced_into"), @Index(name = "idx_runs_status_lease_expires", columnList = "status, lease_expires_at")})
 public class ProjectRunEntity {
 	@Id
 	@GeneratedValue
@@ -46,9 +44,19 @@ public class ProjectRunEntity {
 	private OffsetDateTime createdAt;
 	@Column(name = "updated_at")
 	private OffsetDateTime updatedAt;
-	@JdbcTypeCode(SqlTypes.LONGVARBINARY)
-	@Column(columnDefinition = "bytea")
-	private byte[] zip;
+	@Column(name = "artifact_sha256", length = 64)
+	private String artifactSha256;
+	@Column(name = "spec_fingerprint", length = 64)
+	private String specFingerprint;
+	@Column(name = "coalesced_into")
+	private UUID coalescedInto;
+	// Lease columns are only written by the lease queries in ProjectRunRepository, never by merging a run.
+	@Column(name = "lease_owner", length = 200, insertable = false, updatable = false)
+	private String leaseOwner;
+	@Column(name = "lease_expires_at", insertable = false, updatable = false)
+	private OffsetDateTime leaseExpiresAt;
+	@Column(name = "attempt_count", insertable = false, updatable = false)
+	private int attemptCount;
 
 	@PrePersist
 	public void onCreate() {
@@ -100,8 +108,28 @@ public class ProjectRunEntity {
 		return this.updatedAt;
 	}
 
-	public byte[] getZip() {
-		return this.zip;
+	public String getArtifactSha256() {
+		return this.artifactSha256;
+	}
+
+	public String getSpecFingerprint() {
+		return this.specFingerprint;
+	}
+
+	public UUID getCoalescedInto() {
+		return this.coalescedInto;
+	}
+
+	public String getLeaseOwner() {
+		return this.leaseOwner;
+	}
+
+	public OffsetDateTime getLeaseExpiresAt() {
+		return this.leaseExpiresAt;
+	}
+
+	public int getAttemptCount() {
+		return this.attemptCount;
 	}
 
 	public void setId(final UUID id) {
@@ -140,8 +168,28 @@ public class ProjectRunEntity {
 		this.updatedAt = updatedAt;
 	}
 
-	public void setZip(final byte[] zip) {
-		this.zip = zip;
+	public void setArtifactSha256(final String artifactSha256) {
+		this.artifactSha256 = artifactSha256;
+	}
+
+	public void setSpecFingerprint(final String specFingerprint) {
+		this.specFingerprint = specFingerprint;
+	}
+
+	public void setCoalescedInto(final UUID coalescedInto) {
+		this.coalescedInto = coalescedInto;
+	}
+
+	public void setLeaseOwner(final String leaseOwner) {
+		this.leaseOwner = leaseOwner;
+	}
+
+	public void setLeaseExpiresAt(final OffsetDateTime leaseExpiresAt) {
+		this.leaseExpiresAt = leaseExpiresAt;
+	}
+
+	public void setAttemptCount(final int attemptCount) {
+		this.attemptCount = attemptCount;
 	}
 
 	@Override
@@ -151,6 +199,7 @@ public class ProjectRunEntity {
 		final ProjectRunEntity other = (ProjectRunEntity) o;
 		if (!other.canEqual((Object) this)) return false;
 		if (this.getRunNumber() != other.getRunNumber()) return false;
+		if (this.getAttemptCount() != other.getAttemptCount()) return false;
 		final Object this$id = this.getId();
 		final Object other$id = other.getId();
 		if (this$id == null ? other$id != null : !this$id.equals(other$id)) return false;
@@ -175,7 +224,21 @@ public class ProjectRunEntity {
 		final Object this$updatedAt = this.getUpdatedAt();
 		final Object other$updatedAt = other.getUpdatedAt();
 		if (this$updatedAt == null ? other$updatedAt != null : !this$updatedAt.equals(other$updatedAt)) return false;
-		if (!java.util.Arrays.equals(this.getZip(), other.getZip())) return false;
+		final Object this$artifactSha256 = this.getArtifactSha256();
+		final Object other$artifactSha256 = other.getArtifactSha256();
+		if (this$artifactSha256 == null ? other$artifactSha256 != null : !this$artifactSha256.equals(other$artifactSha256)) return false;
+		final Object this$specFingerprint = this.getSpecFingerprint();
+		final Object other$specFingerprint = other.getSpecFingerprint();
+		if (this$specFingerprint == null ? other$specFingerprint != null : !this$specFingerprint.equals(other$specFingerprint)) return false;
+		final Object this$coalescedInto = this.getCoalescedInto();
+		final Object other$coalescedInto = other.getCoalescedInto();
+		if (this$coalescedInto == null ? other$coalescedInto != null : !this$coalescedInto.equals(other$coalescedInto)) return false;
+		final Object this$leaseOwner = this.getLeaseOwner();
+		final Object other$leaseOwner = other.getLeaseOwner();
+		if (this$leaseOwner == null ? other$leaseOwner != null : !this$leaseOwner.equals(other$leaseOwner)) return false;
+		final Object this$leaseExpiresAt = this.getLeaseExpiresAt();
+		final Object other$leaseExpiresAt = other.getLeaseExpiresAt();
+		if (this$leaseExpiresAt == null ? other$leaseExpiresAt != null : !this$leaseExpiresAt.equals(other$leaseExpiresAt)) return false;
 		return true;
 	}
 
@@ -188,6 +251,7 @@ public class ProjectRunEntity {
 		final int PRIME = 59;
 		int result = 1;
 		result = result * PRIME + this.getRunNumber();
+		result = result * PRIME + this.getAttemptCount();
 		final Object $id = this.getId();
 		result = result * PRIME + ($id == null ? 43 : $id.hashCode());
 		final Object $project = this.getProject();
@@ -204,12 +268,21 @@ public class ProjectRunEntity {
 		result = result * PRIME + ($createdAt == null ? 43 : $createdAt.hashCode());
 		final Object $updatedAt = this.getUpdatedAt();
 		result = result * PRIME + ($updatedAt == null ? 43 : $updatedAt.hashCode());
-		result = result * PRIME + java.util.Arrays.hashCode(this.getZip());
+		final Object $artifactSha256 = this.getArtifactSha256();
+		result = result * PRIME + ($artifactSha256 == null ? 43 : $artifactSha256.hashCode());
+		final Object $specFingerprint = this.getSpecFingerprint();
+		result = result * PRIME + ($specFingerprint == null ? 43 : $specFingerprint.hashCode());
+		final Object $coalescedInto = this.getCoalescedInto();
+		result = result * PRIME + ($coalescedInto == null ? 43 : $coalescedInto.hashCode());
+		final Object $leaseOwner = this.getLeaseOwner();
+		result = result * PRIME + ($leaseOwner == null ? 43 : $leaseOwner.hashCode());
+		final Object $leaseExpiresAt = this.getLeaseExpiresAt();
+		result = result * PRIME + ($leaseExpiresAt == null ? 43 : $leaseExpiresAt.hashCode());
 		return result;
 	}
 
 	@Override
 	public String toString() {
-		return "ProjectRunEntity(id=" + this.getId() + ", project=" + this.getProject() + ", ownerId=" + this.getOwnerId() + ", type=" + this.getType() + ", status=" + this.getStatus() + ", runNumber=" + this.getRunNumber() + ", errorMessage=" + this.getErrorMessage() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ", zip=" + java.util.Arrays.toString(this.getZip()) + ")";
+		return "ProjectRunEntity(id=" + this.getId() + ", project=" + this.getProject() + ", ownerId=" + this.getOwnerId() + ", type=" + this.getType() + ", status=" + this.getStatus() + ", runNumber=" + this.getRunNumber() + ", errorMessage=" + this.getErrorMessage() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ", artifactSha256=" + this.getArtifactSha256() + ", specFingerprint=" + this.getSpecFingerprint() + ", coalescedInto=" + this.getCoalescedInto() + ", leaseOwner=" + this.getLeaseOwner() + ", leaseExpiresAt=" + this.getLeaseExpiresAt() + ", attemptCount=" + this.getAttemptCount() + ")";
 	}
 }
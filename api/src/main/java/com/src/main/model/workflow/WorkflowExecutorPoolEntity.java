@@ -6,6 +6,8 @@ import org.hibernate.annotations.UuidGenerator;
 import com.src.main.config.AppDbTables;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
@@ -30,6 +32,11 @@ public class WorkflowExecutorPoolEntity {
 	private int queueCapacity;
 	@Column(name = "keep_alive_seconds", nullable = false)
 	private int keepAliveSeconds;
+	@Enumerated(EnumType.STRING)
+	@Column(name = "pool_kind", nullable = false, length = 30)
+	private WorkflowExecutorPoolKind poolKind = WorkflowExecutorPoolKind.PLATFORM;
+	@Column(name = "max_concurrency")
+	private Integer maxConcurrency;
 	@Column(name = "active", nullable = false)
 	private boolean active;
 	@Column(name = "created_at", nullable = false, updatable = false)
@@ -79,6 +86,14 @@ public class WorkflowExecutorPoolEntity {
 		return this.keepAliveSeconds;
 	}
 
+	public WorkflowExecutorPoolKind getPoolKind() {
+		return this.poolKind;
+	}
+
+	public Integer getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
 	public boolean isActive() {
 		return this.active;
 	}
@@ -119,6 +134,14 @@ public class WorkflowExecutorPoolEntity {
 		this.keepAliveSeconds = keepAliveSeconds;
 	}
 
+	public void setPoolKind(final WorkflowExecutorPoolKind poolKind) {
+		this.poolKind = poolKind;
+	}
+
+	public void setMaxConcurrency(final Integer maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
 	public void setActive(final boolean active) {
 		this.active = active;
 	}
@@ -151,6 +174,12 @@ public class WorkflowExecutorPoolEntity {
 		final Object this$poolName = this.getPoolName();
 		final Object other$poolName = other.getPoolName();
 		if (this$poolName == null ? other$poolName != null : !this$poolName.equals(other$poolName)) return false;
+		final Object this$poolKind = this.getPoolKind();
+		final Object other$poolKind = other.getPoolKind();
+		if (this$poolKind == null ? other$poolKind != null : !this$poolKind.equals(other$poolKind)) return false;
+		final Object this$maxConcurrency = this.getMaxConcurrency();
+		final Object other$maxConcurrency = other.getMaxConcurrency();
+		if (this$maxConcurrency == null ? other$maxConcurrency != null : !this$maxConcurrency.equals(other$maxConcurrency)) return false;
 		final Object this$createdAt = this.getCreatedAt();
 		final Object other$createdAt = other.getCreatedAt();
 		if (this$createdAt == null ? other$createdAt != null : !this$createdAt.equals(other$createdAt)) return false;
@@ -179,6 +208,10 @@ public class WorkflowExecutorPoolEntity {
 		result = result * PRIME + ($poolCode == null ? 43 : $poolCode.hashCode());
 		final Object $poolName = this.getPoolName();
 		result = result * PRIME + ($poolName == null ? 43 : $poolName.hashCode());
+		final Object $poolKind = this.getPoolKind();
+		result = result * PRIME + ($poolKind == null ? 43 : $poolKind.hashCode());
+		final Object $maxConcurrency = this.getMaxConcurrency();
+		result = result * PRIME + ($maxConcurrency == null ? 43 : $maxConcurrency.hashCode());
 		final Object $createdAt = this.getCreatedAt();
 		result = result * PRIME + ($createdAt == null ? 43 : $createdAt.hashCode());
 		final Object $updatedAt = this.getUpdatedAt();
@@ -188,6 +221,6 @@ public class WorkflowExecutorPoolEntity {
 
 	@Override
 	public String toString() {
-		return "WorkflowExecutorPoolEntity(id=" + this.getId() + ", poolCode=" + this.getPoolCode() + ", poolName=" + this.getPoolName() + ", corePoolSize=" + this.getCorePoolSize() + ", maxPoolSize=" + this.getMaxPoolSize() + ", queueCapacity=" + this.getQueueCapacity() + ", keepAliveSeconds=" + this.getKeepAliveSeconds() + ", active=" + this.isActive() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ")";
+		return "WorkflowExecutorPoolEntity(id=" + this.getId() + ", poolCode=" + this.getPoolCode() + ", poolName=" + this.getPoolName() + ", corePoolSize=" + this.getCorePoolSize() + ", maxPoolSize=" + this.getMaxPoolSize() + ", queueCapacity=" + this.getQueueCapacity() + ", keepAliveSeconds=" + this.getKeepAliveSeconds() + ", poolKind=" + this.getPoolKind() + ", maxConcurrency=" + this.getMaxConcurrency() + ", active=" + this.isActive() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ")";
 	}
 }
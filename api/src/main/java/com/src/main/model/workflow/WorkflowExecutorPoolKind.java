@@ -0,0 +1,6 @@
+package com.src.main.model.workflow;
+
+public enum WorkflowExecutorPoolKind {
+	PLATFORM,
+	VIRTUAL
+}
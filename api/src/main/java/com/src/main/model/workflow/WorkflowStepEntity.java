@@ -58,6 +58,12 @@ public class WorkflowStepEntity {
 	private Long retryBackoffMs;
 	@Column(name = "retry_backoff_multiplier")
 	private Double retryBackoffMultiplier;
+	@Column(name = "retry_max_backoff_ms")
+	private Long retryMaxBackoffMs;
+	@Column(name = "retry_jitter")
+	private Double retryJitter;
+	@Column(name = "retry_on_json", columnDefinition = "TEXT")
+	private String retryOnJson;
 	@Column(name = "created_at", nullable = false, updatable = false)
 	private OffsetDateTime createdAt;
 	@Column(name = "updated_at", nullable = false)
@@ -153,6 +159,18 @@ public class WorkflowStepEntity {
 		return this.retryBackoffMultiplier;
 	}
 
+	public Long getRetryMaxBackoffMs() {
+		return this.retryMaxBackoffMs;
+	}
+
+	public Double getRetryJitter() {
+		return this.retryJitter;
+	}
+
+	public String getRetryOnJson() {
+		return this.retryOnJson;
+	}
+
 	public OffsetDateTime getCreatedAt() {
 		return this.createdAt;
 	}
@@ -237,6 +255,18 @@ public class WorkflowStepEntity {
 		this.retryBackoffMultiplier = retryBackoffMultiplier;
 	}
 
+	public void setRetryMaxBackoffMs(final Long retryMaxBackoffMs) {
+		this.retryMaxBackoffMs = retryMaxBackoffMs;
+	}
+
+	public void setRetryJitter(final Double retryJitter) {
+		this.retryJitter = retryJitter;
+	}
+
+	public void setRetryOnJson(final String retryOnJson) {
+		this.retryOnJson = retryOnJson;
+	}
+
 	public void setCreatedAt(final OffsetDateTime createdAt) {
 		this.createdAt = createdAt;
 	}
@@ -268,6 +298,12 @@ public class WorkflowStepEntity {
 		final Object this$retryBackoffMultiplier = this.getRetryBackoffMultiplier();
 		final Object other$retryBackoffMultiplier = other.getRetryBackoffMultiplier();
 		if (this$retryBackoffMultiplier == null ? other$retryBackoffMultiplier != null : !this$retryBackoffMultiplier.equals(other$retryBackoffMultiplier)) return false;
+		final Object this$retryMaxBackoffMs = this.getRetryMaxBackoffMs();
+		final Object other$retryMaxBackoffMs = other.getRetryMaxBackoffMs();
+		if (this$retryMaxBackoffMs == null ? other$retryMaxBackoffMs != null : !this$retryMaxBackoffMs.equals(other$retryMaxBackoffMs)) return false;
+		final Object this$retryJitter = this.getRetryJitter();
+		final Object other$retryJitter = other.getRetryJitter();
+		if (this$retryJitter == null ? other$retryJitter != null : !this$retryJitter.equals(other$retryJitter)) return false;
 		final Object this$id = this.getId();
 		final Object other$id = other.getId();
 		if (this$id == null ? other$id != null : !this$id.equals(other$id)) return false;
@@ -298,6 +334,9 @@ public class WorkflowStepEntity {
 		final Object this$declaredOutputsJson = this.getDeclaredOutputsJson();
 		final Object other$declaredOutputsJson = other.getDeclaredOutputsJson();
 		if (this$declaredOutputsJson == null ? other$declaredOutputsJson != null : !this$declaredOutputsJson.equals(other$declaredOutputsJson)) return false;
+		final Object this$retryOnJson = this.getRetryOnJson();
+		final Object other$retryOnJson = other.getRetryOnJson();
+		if (this$retryOnJson == null ? other$retryOnJson != null : !this$retryOnJson.equals(other$retryOnJson)) return false;
 		final Object this$createdAt = this.getCreatedAt();
 		final Object other$createdAt = other.getCreatedAt();
 		if (this$createdAt == null ? other$createdAt != null : !this$createdAt.equals(other$createdAt)) return false;
@@ -328,6 +367,10 @@ public class WorkflowStepEntity {
 		result = result * PRIME + ($retryBackoffMs == null ? 43 : $retryBackoffMs.hashCode());
 		final Object $retryBackoffMultiplier = this.getRetryBackoffMultiplier();
 		result = result * PRIME + ($retryBackoffMultiplier == null ? 43 : $retryBackoffMultiplier.hashCode());
+		final Object $retryMaxBackoffMs = this.getRetryMaxBackoffMs();
+		result = result * PRIME + ($retryMaxBackoffMs == null ? 43 : $retryMaxBackoffMs.hashCode());
+		final Object $retryJitter = this.getRetryJitter();
+		result = result * PRIME + ($retryJitter == null ? 43 : $retryJitter.hashCode());
 		final Object $id = this.getId();
 		result = result * PRIME + ($id == null ? 43 : $id.hashCode());
 		final Object $workflow = this.getWorkflow();
@@ -348,6 +391,8 @@ public class WorkflowStepEntity {
 		result = result * PRIME + ($optionalInputsJson == null ? 43 : $optionalInputsJson.hashCode());
 		final Object $declaredOutputsJson = this.getDeclaredOutputsJson();
 		result = result * PRIME + ($declaredOutputsJson == null ? 43 : $declaredOutputsJson.hashCode());
+		final Object $retryOnJson = this.getRetryOnJson();
+		result = result * PRIME + ($retryOnJson == null ? 43 : $retryOnJson.hashCode());
 		final Object $createdAt = this.getCreatedAt();
 		result = result * PRIME + ($createdAt == null ? 43 : $createdAt.hashCode());
 		final Object $updatedAt = this.getUpdatedAt();
@@ -357,6 +402,6 @@ public class WorkflowStepEntity {
 
 	@Override
 	public String toString() {
-		return "WorkflowStepEntity(id=" + this.getId() + ", workflow=" + this.getWorkflow() + ", stepCode=" + this.getStepCode() + ", stepName=" + this.getStepName() + ", executorKey=" + this.getExecutorKey() + ", enabled=" + this.isEnabled() + ", terminal=" + this.isTerminal() + ", stepOrder=" + this.getStepOrder() + ", poolCode=" + this.getPoolCode() + ", asyncExecution=" + this.isAsyncExecution() + ", timeoutMs=" + this.getTimeoutMs() + ", runConditionJson=" + this.getRunConditionJson() + ", requiredInputsJson=" + this.getRequiredInputsJson() + ", optionalInputsJson=" + this.getOptionalInputsJson() + ", declaredOutputsJson=" + this.getDeclaredOutputsJson() + ", retryEnabled=" + this.isRetryEnabled() + ", retryMaxAttempts=" + this.getRetryMaxAttempts() + ", retryBackoffMs=" + this.getRetryBackoffMs() + ", retryBackoffMultiplier=" + this.getRetryBackoffMultiplier() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ")";
+		return "WorkflowStepEntity(id=" + this.getId() + ", workflow=" + this.getWorkflow() + ", stepCode=" + this.getStepCode() + ", stepName=" + this.getStepName() + ", executorKey=" + this.getExecutorKey() + ", enabled=" + this.isEnabled() + ", terminal=" + this.isTerminal() + ", stepOrder=" + this.getStepOrder() + ", poolCode=" + this.getPoolCode() + ", asyncExecution=" + this.isAsyncExecution() + ", timeoutMs=" + this.getTimeoutMs() + ", runConditionJson=" + this.getRunConditionJson() + ", requiredInputsJson=" + this.getRequiredInputsJson() + ", optionalInputsJson=" + this.getOptionalInputsJson() + ", declaredOutputsJson=" + this.getDeclaredOutputsJson() + ", retryEnabled=" + this.isRetryEnabled() + ", retryMaxAttempts=" + this.getRetryMaxAttempts() + ", retryBackoffMs=" + this.getRetryBackoffMs() + ", retryBackoffMultiplier=" + this.getRetryBackoffMultiplier() + ", retryMaxBackoffMs=" + this.getRetryMaxBackoffMs() + ", retryJitter=" + this.getRetryJitter() + ", retryOnJson=" + this.getRetryOnJson() + ", createdAt=" + this.getCreatedAt() + ", updatedAt=" + this.getUpdatedAt() + ")";
 	}
 }
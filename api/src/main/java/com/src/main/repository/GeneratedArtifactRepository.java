@@ -0,0 +1,34 @@
+package com.src.main.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.src.main.model.GeneratedArtifactEntity;
+import com.src.main.repository.query.GeneratedArtifactQueries;
+
+public interface GeneratedArtifactRepository extends JpaRepository<GeneratedArtifactEntity, String> {
+
+	@Modifying
+	@Transactional
+	@Query(GeneratedArtifactQueries.MARK_USED)
+	int markUsed(@Param("sha256") String sha256, @Param("usedAt") OffsetDateTime usedAt);
+
+	@Query(value = GeneratedArtifactQueries.FIND_UNREFERENCED_UNUSED_SINCE_NATIVE, nativeQuery = true)
+	List<GeneratedArtifactEntity> findUnreferencedUnusedSince(@Param("cutoff") OffsetDateTime cutoff,
+			@Param("limit") int limit);
+
+	/**
+	 * Deletes the artifact only if it is still unreferenced and unused since {@code cutoff}, so a concurrent reuse or
+	 * reference keeps it. Returns the number of rows deleted.
+	 */
+	@Modifying
+	@Transactional
+	@Query(value = GeneratedArtifactQueries.DELETE_IF_UNREFERENCED_UNUSED_SINCE_NATIVE, nativeQuery = true)
+	int deleteIfUnreferencedUnusedSince(@Param("sha256") String sha256, @Param("cutoff") OffsetDateTime cutoff);
+}
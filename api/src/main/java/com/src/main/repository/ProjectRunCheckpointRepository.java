@@ -0,0 +1,33 @@
+package com.src.main.repository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.src.main.model.ProjectRunCheckpointEntity;
+import com.src.main.repository.query.ProjectRunCheckpointQueries;
+
+public interface ProjectRunCheckpointRepository extends JpaRepository<ProjectRunCheckpointEntity, UUID> {
+
+	@Query(value = ProjectRunCheckpointQueries.FIND_LATEST_FAILED_BY_SPEC_NATIVE, nativeQuery = true)
+	Optional<ProjectRunCheckpointEntity> findLatestFailedBySpec(@Param("projectId") UUID projectId,
+			@Param("specFingerprint") String specFingerprint, @Param("workflowCode") String workflowCode,
+			@Param("workflowVersion") int workflowVersion, @Param("runId") UUID runId,
+			@Param("failedStatus") String failedStatus);
+
+	@Modifying
+	@Transactional
+	@Query(ProjectRunCheckpointQueries.DELETE_BY_PROJECT_ID)
+	int deleteByProjectId(@Param("projectId") UUID projectId);
+
+	@Modifying
+	@Transactional
+	@Query(ProjectRunCheckpointQueries.DELETE_UPDATED_BEFORE)
+	int deleteUpdatedBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
@@ -1,14 +1,18 @@
 package com.src.main.repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.src.main.dto.ProjectRunSummaryDTO;
 import com.src.main.model.ProjectRunEntity;
 import com.src.main.repository.query.ProjectRunQueries;
 import com.src.main.util.ProjectRunStatus;
@@ -29,16 +33,97 @@ public interface ProjectRunRepository extends JpaRepository<ProjectRunEntity, UU
 	@Query(ProjectRunQueries.FIND_BY_ID_WITH_PROJECT)
 	java.util.Optional<ProjectRunEntity> findByIdWithProject(@Param("runId") UUID runId);
 
-	List<ProjectRunEntity> findByStatusAndUpdatedAtBefore(ProjectRunStatus status, OffsetDateTime before);
+	@Query(ProjectRunQueries.FIND_SUMMARIES_BY_PROJECT_ID)
+	List<ProjectRunSummaryDTO> findSummariesByProjectId(@Param("projectId") UUID projectId);
 
-	@Query(ProjectRunQueries.FIND_BY_PROJECT_ID_ORDER_BY_CREATED_AT_ASC)
-	List<ProjectRunEntity> findByProjectIdOrderByCreatedAtAsc(@Param("projectId") UUID projectId);
+	@Query(ProjectRunQueries.FIND_SUMMARIES_BY_PROJECT_ID_LATEST_FIRST)
+	List<ProjectRunSummaryDTO> findLatestSummariesByProjectId(@Param("projectId") UUID projectId, Pageable pageable);
+
+	@Query(ProjectRunQueries.FIND_DOWNLOADABLE_SUMMARIES_BY_PROJECT_ID_LATEST_FIRST)
+	List<ProjectRunSummaryDTO> findLatestDownloadableSummariesByProjectId(@Param("projectId") UUID projectId,
+			Pageable pageable);
 
 	long deleteByProjectId(UUID projectId);
 
-	@Query(value = ProjectRunQueries.FIND_NEXT_BATCH_FOR_PROCESSING_NATIVE, nativeQuery = true)
+	@Query(ProjectRunQueries.FIND_REUSABLE_BY_SPEC_FINGERPRINT)
+	List<ProjectRunEntity> findReusableBySpecFingerprint(@Param("specFingerprint") String specFingerprint,
+			@Param("type") ProjectRunType type,
+			@Param("status") ProjectRunStatus status,
+			@Param("since") OffsetDateTime since,
+			Pageable pageable);
+
+	@Query(ProjectRunQueries.FIND_COALESCING_LEADERS_BY_SPEC_FINGERPRINT)
+	List<ProjectRunEntity> findCoalescingLeadersBySpecFingerprint(@Param("specFingerprint") String specFingerprint,
+			@Param("type") ProjectRunType type,
+			@Param("statuses") List<ProjectRunStatus> statuses,
+			Pageable pageable);
+
+	@Query(ProjectRunQueries.FIND_COALESCED_RUNS_WITH_PROJECT)
+	List<ProjectRunEntity> findCoalescedRunsWithProject(@Param("leaderId") UUID leaderId,
+			@Param("status") ProjectRunStatus status);
+
+	@Query(value = ProjectRunQueries.LOCK_QUEUED_OWNERS_NATIVE, nativeQuery = true)
+	List<String> lockQueuedOwners(@Param("status") String status,
+			@Param("inFlightStatus") String inFlightStatus,
+			@Param("type") String type,
+			@Param("maxInFlightPerOwner") int maxInFlightPerOwner,
+			@Param("ownerLimit") int ownerLimit);
+
+	@Query(value = ProjectRunQueries.FIND_NEXT_FAIR_BATCH_FOR_PROCESSING_NATIVE, nativeQuery = true)
 	List<ProjectRunEntity> findNextBatchForProcessing(@Param("status") String status,
+			@Param("inFlightStatus") String inFlightStatus,
 			@Param("type") String type,
+			@Param("ownerIds") List<String> ownerIds,
+			@Param("maxInFlightPerOwner") int maxInFlightPerOwner,
 			@Param("limit") int limit);
 
+	@Query(value = ProjectRunQueries.LOCK_SPEC_FINGERPRINT_NATIVE, nativeQuery = true)
+	int lockSpecFingerprint(@Param("specFingerprint") String specFingerprint);
+
+	@Modifying
+	@Query(ProjectRunQueries.ACQUIRE_LEASES)
+	int acquireLeases(@Param("runIds") List<UUID> runIds, @Param("workerId") String workerId,
+			@Param("expiresAt") OffsetDateTime expiresAt);
+
+	@Modifying
+	@Transactional
+	@Query(ProjectRunQueries.RENEW_LEASES)
+	int renewLeases(@Param("runIds") Collection<UUID> runIds, @Param("workerId") String workerId,
+			@Param("status") ProjectRunStatus status, @Param("expiresAt") OffsetDateTime expiresAt);
+
+	@Query(ProjectRunQueries.FIND_IDS_HELD_BY)
+	List<UUID> findIdsHeldBy(@Param("runIds") Collection<UUID> runIds, @Param("workerId") String workerId,
+			@Param("status") ProjectRunStatus status);
+
+	@Modifying
+	@Transactional
+	@Query(ProjectRunQueries.FINISH_HELD_RUN)
+	int finishHeldRun(@Param("runId") UUID runId, @Param("workerId") String workerId,
+			@Param("activeStatus") ProjectRunStatus activeStatus, @Param("status") ProjectRunStatus status,
+			@Param("errorMessage") String errorMessage, @Param("artifactSha256") String artifactSha256,
+			@Param("now") OffsetDateTime now);
+
+	@Modifying
+	@Transactional
+	@Query(ProjectRunQueries.COMPLETE_COALESCED_RUN)
+	int completeCoalescedRun(@Param("runId") UUID runId, @Param("leaderId") UUID leaderId,
+			@Param("queuedStatus") ProjectRunStatus queuedStatus, @Param("status") ProjectRunStatus status,
+			@Param("artifactSha256") String artifactSha256, @Param("now") OffsetDateTime now);
+
+	@Modifying
+	@Query(ProjectRunQueries.RELEASE_LEASES)
+	int releaseLeases(@Param("runIds") List<UUID> runIds);
+
+	@Query(value = ProjectRunQueries.FIND_EXPIRED_LEASES_NATIVE, nativeQuery = true)
+	List<ProjectRunEntity> findExpiredLeases(@Param("status") String status, @Param("now") OffsetDateTime now,
+			@Param("limit") int limit);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(ProjectRunQueries.CANCEL_ACTIVE)
+	int cancelActive(@Param("runId") UUID runId, @Param("activeStatuses") Collection<ProjectRunStatus> activeStatuses,
+			@Param("cancelledStatus") ProjectRunStatus cancelledStatus, @Param("reason") String reason,
+			@Param("now") OffsetDateTime now);
+
+	@Query(ProjectRunQueries.FIND_IDS_BY_ID_IN_AND_STATUS)
+	List<UUID> findIdsByIdInAndStatus(@Param("runIds") Collection<UUID> runIds, @Param("status") ProjectRunStatus status);
 }
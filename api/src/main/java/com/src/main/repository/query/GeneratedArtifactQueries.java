@@ -0,0 +1,47 @@
+package com.src.main.repository.query;
+
+public final class GeneratedArtifactQueries {
+
+	private GeneratedArtifactQueries() {
+	}
+
+	public static final String MARK_USED = """
+			update GeneratedArtifactEntity a
+			set a.lastUsedAt = :usedAt
+			where a.sha256 = :sha256
+			""";
+
+	private static final String UNREFERENCED_UNUSED_SINCE = """
+			a.last_used_at < :cutoff
+			  and not exists (
+			      select 1
+			      from project_runs r
+			      where r.artifact_sha256 = a.sha256
+			  )
+			  and not exists (
+			      select 1
+			      from project_run_checkpoints c
+			      where c.artifact_sha256 = a.sha256
+			  )
+			  and not exists (
+			      select 1
+			      from project_run_checkpoints c
+			      where c.artifact_segments_json is not null
+			        and cast(c.artifact_segments_json as jsonb)
+			            @> jsonb_build_array(jsonb_build_object('sha256', a.sha256))
+			  )
+			""";
+
+	public static final String FIND_UNREFERENCED_UNUSED_SINCE_NATIVE = """
+			select a.*
+			from generated_artifacts a
+			where """ + UNREFERENCED_UNUSED_SINCE + """
+			order by a.last_used_at asc
+			limit :limit
+			""";
+
+	public static final String DELETE_IF_UNREFERENCED_UNUSED_SINCE_NATIVE = """
+			delete from generated_artifacts a
+			where a.sha256 = :sha256
+			  and """ + UNREFERENCED_UNUSED_SINCE;
+}
@@ -0,0 +1,31 @@
+package com.src.main.repository.query;
+
+public final class ProjectRunCheckpointQueries {
+
+	private ProjectRunCheckpointQueries() {
+	}
+
+	public static final String FIND_LATEST_FAILED_BY_SPEC_NATIVE = """
+			select c.*
+			from project_run_checkpoints c
+			join project_runs r on r.id = c.run_id
+			where c.project_id = :projectId
+			  and c.spec_fingerprint = :specFingerprint
+			  and c.workflow_code = :workflowCode
+			  and c.workflow_version = :workflowVersion
+			  and c.run_id <> :runId
+			  and r.status = :failedStatus
+			order by c.updated_at desc
+			limit 1
+			""";
+
+	public static final String DELETE_BY_PROJECT_ID = """
+			delete from ProjectRunCheckpointEntity c
+			where c.projectId = :projectId
+			""";
+
+	public static final String DELETE_UPDATED_BEFORE = """
+			delete from ProjectRunCheckpointEntity c
+			where c.updatedAt < :cutoff
+			""";
+}
@@ -21,14 +21,32 @@ public final class ProjectRunQueries {
 			where r.id = :runId
 			""";
 
-	public static final String FIND_BY_PROJECT_ID_ORDER_BY_CREATED_AT_ASC = """
-			select r
+	private static final String SELECT_RUN_SUMMARY = """
+			select new com.src.main.dto.ProjectRunSummaryDTO(
+			    r.id, p.id, r.ownerId, r.type, r.status, r.runNumber,
+			    case when r.artifactSha256 is not null then true else false end,
+			    a.sizeBytes, r.errorMessage, r.createdAt, r.updatedAt)
 			from ProjectRunEntity r
-			join fetch r.project p
+			join r.project p
+			left join GeneratedArtifactEntity a on a.sha256 = r.artifactSha256
+			""";
+
+	public static final String FIND_SUMMARIES_BY_PROJECT_ID = SELECT_RUN_SUMMARY + """
 			where p.id = :projectId
 			order by r.createdAt asc
 			""";
 
+	public static final String FIND_SUMMARIES_BY_PROJECT_ID_LATEST_FIRST = SELECT_RUN_SUMMARY + """
+			where p.id = :projectId
+			order by r.createdAt desc
+			""";
+
+	public static final String FIND_DOWNLOADABLE_SUMMARIES_BY_PROJECT_ID_LATEST_FIRST = SELECT_RUN_SUMMARY + """
+			where p.id = :projectId
+			  and r.artifactSha256 is not null
+			order by r.createdAt desc
+			""";
+
 	public static final String FIND_NEXT_BATCH_FOR_PROCESSING = """
 			select r
 			from ProjectRunEntity r
@@ -37,13 +55,178 @@ public final class ProjectRunQueries {
 			order by r.createdAt asc
 			""";
 
-	public static final String FIND_NEXT_BATCH_FOR_PROCESSING_NATIVE = """
+	public static final String FIND_REUSABLE_BY_SPEC_FINGERPRINT = """
+			select r
+			from ProjectRunEntity r
+			where r.specFingerprint = :specFingerprint
+			  and r.type = :type
+			  and r.status = :status
+			  and r.artifactSha256 is not null
+			  and r.updatedAt >= :since
+			order by r.updatedAt desc
+			""";
+
+	public static final String FIND_COALESCING_LEADERS_BY_SPEC_FINGERPRINT = """
+			select r
+			from ProjectRunEntity r
+			where r.specFingerprint = :specFingerprint
+			  and r.type = :type
+			  and r.status in :statuses
+			  and r.coalescedInto is null
+			order by r.createdAt asc
+			""";
+
+	public static final String FIND_COALESCED_RUNS_WITH_PROJECT = """
+			select r
+			from ProjectRunEntity r
+			join fetch r.project p
+			where r.coalescedInto = :leaderId
+			  and r.status = :status
+			""";
+
+	private static final String IN_FLIGHT_BY_OWNER = """
+			left join (
+			    select owner_id, count(*) as in_flight
+			    from project_runs
+			    where status = :inFlightStatus
+			      and type = :type
+			    group by owner_id
+			) f on f.owner_id = q.owner_id
+			""";
+
+	private static final String NOT_WAITING_ON_LEADER = """
+			      and (q.coalesced_into is null
+			           or not exists (
+			               select 1
+			               from project_runs l
+			               where l.id = q.coalesced_into
+			                 and l.status in (:status, :inFlightStatus)))
+			""";
+
+	public static final String LOCK_QUEUED_OWNERS_NATIVE = """
+			select o.owner_id
+			from (
+			    select q.owner_id, min(q.created_at) as oldest
+			    from project_runs q
+			""" + IN_FLIGHT_BY_OWNER + """
+			    where q.status = :status
+			      and q.type = :type
+			""" + NOT_WAITING_ON_LEADER + """
+			      and coalesce(f.in_flight, 0) < :maxInFlightPerOwner
+			    group by q.owner_id
+			    order by oldest asc
+			    limit :ownerLimit
+			) o
+			where pg_try_advisory_xact_lock(hashtext('project_run_owner:' || o.owner_id))
+			""";
+
+	public static final String FIND_NEXT_FAIR_BATCH_FOR_PROCESSING_NATIVE = """
+			with candidates as (
+			    select q.id, q.created_at,
+			           coalesce(f.in_flight, 0)
+			               + row_number() over (partition by q.owner_id order by q.created_at asc, q.id asc) as owner_slot
+			    from project_runs q
+			""" + IN_FLIGHT_BY_OWNER + """
+			    where q.status = :status
+			      and q.type = :type
+			""" + NOT_WAITING_ON_LEADER + """
+			      and q.owner_id in (:ownerIds)
+			)
+			select r.*
+			from project_runs r
+			join candidates c on c.id = r.id
+			where r.status = :status
+			  and c.owner_slot <= :maxInFlightPerOwner
+			order by c.owner_slot asc, c.created_at asc
+			limit :limit
+			for update of r skip locked
+			""";
+
+	public static final String LOCK_SPEC_FINGERPRINT_NATIVE = """
+			select 1
+			from (select pg_advisory_xact_lock(hashtext('project_run_spec:' || :specFingerprint))) l
+			""";
+
+	public static final String ACQUIRE_LEASES = """
+			update ProjectRunEntity r
+			set r.leaseOwner = :workerId,
+			    r.leaseExpiresAt = :expiresAt,
+			    r.attemptCount = r.attemptCount + 1
+			where r.id in :runIds
+			""";
+
+	public static final String RENEW_LEASES = """
+			update ProjectRunEntity r
+			set r.leaseExpiresAt = :expiresAt
+			where r.id in :runIds
+			  and r.leaseOwner = :workerId
+			  and r.status = :status
+			""";
+
+	public static final String FIND_IDS_HELD_BY = """
+			select r.id
+			from ProjectRunEntity r
+			where r.id in :runIds
+			  and r.leaseOwner = :workerId
+			  and r.status = :status
+			""";
+
+	public static final String FINISH_HELD_RUN = """
+			update ProjectRunEntity r
+			set r.status = :status,
+			    r.errorMessage = :errorMessage,
+			    r.artifactSha256 = :artifactSha256,
+			    r.leaseOwner = null,
+			    r.leaseExpiresAt = null,
+			    r.updatedAt = :now
+			where r.id = :runId
+			  and r.status = :activeStatus
+			  and r.leaseOwner = :workerId
+			""";
+
+	public static final String RELEASE_LEASES = """
+			update ProjectRunEntity r
+			set r.leaseOwner = null,
+			    r.leaseExpiresAt = null
+			where r.id in :runIds
+			""";
+
+	public static final String FIND_EXPIRED_LEASES_NATIVE = """
 			select *
 			from project_runs
 			where status = :status
-			  and type = :type
-			order by created_at asc
+			  and lease_expires_at < :now
+			order by lease_expires_at asc
 			limit :limit
 			for update skip locked
 			""";
+
+	public static final String COMPLETE_COALESCED_RUN = """
+			update ProjectRunEntity r
+			set r.status = :status,
+			    r.errorMessage = null,
+			    r.artifactSha256 = :artifactSha256,
+			    r.updatedAt = :now
+			where r.id = :runId
+			  and r.coalescedInto = :leaderId
+			  and r.status = :queuedStatus
+			""";
+
+	public static final String CANCEL_ACTIVE = """
+			update ProjectRunEntity r
+			set r.status = :cancelledStatus,
+			    r.errorMessage = :reason,
+			    r.leaseOwner = null,
+			    r.leaseExpiresAt = null,
+			    r.updatedAt = :now
+			where r.id = :runId
+			  and r.status in :activeStatuses
+			""";
+
+	public static final String FIND_IDS_BY_ID_IN_AND_STATUS = """
+			select r.id
+			from ProjectRunEntity r
+			where r.id in :runIds
+			  and r.status = :status
+			""";
 }
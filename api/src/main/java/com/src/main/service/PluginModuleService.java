@@ -35,6 +35,7 @@ import com.src.main.model.PluginModuleEntity;
 import com.src.main.model.PluginModuleVersionEntity;
 import com.src.main.repository.PluginModuleRepository;
 import com.src.main.repository.PluginModuleVersionRepository;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 
 @Service
 public class PluginModuleService {
@@ -216,8 +217,8 @@ public class PluginModuleService {
 		return resolved;
 	}
 
-	public void applyPluginsToProject(Path projectRoot, Collection<Map<String, Object>> pluginSelections) {
-		if (projectRoot == null || pluginSelections == null || pluginSelections.isEmpty()) {
+	public void applyPluginsToProject(GeneratedFileSink sink, Collection<Map<String, Object>> pluginSelections) {
+		if (sink == null || pluginSelections == null || pluginSelections.isEmpty()) {
 			return;
 		}
 		List<UUID> versionIds = pluginSelections.stream()
@@ -238,7 +239,7 @@ public class PluginModuleService {
 			if (version == null) {
 				continue;
 			}
-			unzipArtifact(projectRoot, pluginModuleStorageService.resolve(version.getStorageKey()));
+			unzipArtifact(sink, pluginModuleStorageService.resolve(version.getStorageKey()));
 		}
 	}
 
@@ -375,12 +376,13 @@ public class PluginModuleService {
 		}
 	}
 
-	private void unzipArtifact(Path projectRoot, Path artifactPath) {
+	private void unzipArtifact(GeneratedFileSink sink, Path artifactPath) {
 		if (!Files.exists(artifactPath)) {
 			throw new GenericException(HttpStatus.NOT_FOUND, "Plugin artifact file is missing.");
 		}
 		try (InputStream inputStream = Files.newInputStream(artifactPath);
 			 ZipInputStream zipInputStream = new ZipInputStream(inputStream)) {
+			Path projectRoot = sink.root();
 			ZipEntry entry;
 			while ((entry = zipInputStream.getNextEntry()) != null) {
 				Path target = projectRoot.resolve(entry.getName()).normalize();
@@ -388,10 +390,9 @@ public class PluginModuleService {
 					throw new GenericException(HttpStatus.BAD_REQUEST, "Plugin artifact contains an invalid path.");
 				}
 				if (entry.isDirectory()) {
-					Files.createDirectories(target);
+					sink.createDirectories(target);
 				} else {
-					Files.createDirectories(target.getParent());
-					Files.copy(zipInputStream, target, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+					sink.copy(zipInputStream, target);
 				}
 				zipInputStream.closeEntry();
 			}
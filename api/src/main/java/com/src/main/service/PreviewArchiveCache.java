@@ -0,0 +1,210 @@
+package com.src.main.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.yaml.snakeyaml.Yaml;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.sm.executor.common.GenerationLanguageResolver;
+import com.src.main.workflow.engine.WorkflowDefinitionChangedEvent;
+import com.src.main.workflow.engine.WorkflowPlan;
+import com.src.main.workflow.engine.WorkflowPlanRegistry;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Keeps recently generated preview archives so an unchanged draft is not run through the workflow again. Archives are
+ * keyed by a SHA-256 of the spec serialized with sorted keys, which includes the selected plugin versions, together
+ * with the generator version: the language's active workflow definition and version. Entries are evicted
+ * least-recently-used once their combined size exceeds {@code app.preview.cache.max-bytes}.
+ *
+ * <p>Concurrent requests for the same key share one generation. Every entry is dropped when a workflow definition
+ * changes on any node, since a changed step keeps the definition version, and the cache is bypassed while templates
+ * are hot-reloaded.
+ */
+@Component
+public class PreviewArchiveCache implements MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(PreviewArchiveCache.class);
+
+	private final WorkflowPlanRegistry workflowPlanRegistry;
+	private final boolean enabled;
+	private final long maxBytes;
+	private final ObjectMapper canonicalMapper = JsonMapper.builder()
+			.enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+			.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+			.build();
+	private final LinkedHashMap<String, byte[]> archivesByKey = new LinkedHashMap<>(64, 0.75f, true);
+	private final Map<String, CompletableFuture<byte[]>> loading = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private long cachedBytes;
+
+	public PreviewArchiveCache(WorkflowPlanRegistry workflowPlanRegistry,
+			@Value("${app.preview.cache.enabled:true}") boolean enabled,
+			@Value("${app.preview.cache.max-bytes:67108864}") long maxBytes,
+			@Value("${app.templates.hot-reload:false}") boolean templatesHotReload) {
+		this.workflowPlanRegistry = workflowPlanRegistry;
+		this.enabled = enabled && !templatesHotReload;
+		this.maxBytes = Math.max(0, maxBytes);
+	}
+
+	/**
+	 * Returns the cached archive for {@code spec}, or generates it with {@code generator}, which runs at most once at
+	 * a time per key. The returned array is shared and must not be modified.
+	 */
+	public byte[] get(Map<String, Object> spec, Supplier<byte[]> generator) {
+		String key = enabled ? key(spec) : null;
+		if (key == null) {
+			return generator.get();
+		}
+		byte[] cached = lookup(key);
+		if (cached != null) {
+			hits.increment();
+			return cached;
+		}
+		CompletableFuture<byte[]> load = new CompletableFuture<>();
+		CompletableFuture<byte[]> running = loading.putIfAbsent(key, load);
+		if (running != null) {
+			coalesced.increment();
+			return await(running);
+		}
+		try {
+			// Another load may have finished between the lookup and registering this one.
+			byte[] archive = lookup(key);
+			if (archive == null) {
+				misses.increment();
+				archive = generator.get();
+				store(key, archive);
+			}
+			load.complete(archive);
+			return archive;
+		} catch (RuntimeException ex) {
+			load.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			loading.remove(key, load);
+		}
+	}
+
+	/**
+	 * Drops the archive of the spec in {@code yamlText}, e.g. when the draft it was built from is saved.
+	 */
+	@SuppressWarnings("unchecked")
+	public void evict(String yamlText) {
+		if (!enabled || yamlText == null || yamlText.isBlank()) {
+			return;
+		}
+		try {
+			Object spec = new Yaml().load(yamlText);
+			if (spec instanceof Map<?, ?> map) {
+				String key = key((Map<String, Object>) map);
+				if (key != null) {
+					remove(key);
+				}
+			}
+		} catch (RuntimeException ex) {
+			log.debug("Skipping preview cache eviction: {}", ex.getMessage());
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onDefinitionChanged(WorkflowDefinitionChangedEvent event) {
+		clear();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("preview.cache.hits", hits, LongAdder::sum).register(registry);
+		FunctionCounter.builder("preview.cache.misses", misses, LongAdder::sum).register(registry);
+		FunctionCounter.builder("preview.cache.coalesced", coalesced, LongAdder::sum).register(registry);
+		FunctionCounter.builder("preview.cache.evictions", evictions, LongAdder::sum).register(registry);
+		Gauge.builder("preview.cache.bytes", this, PreviewArchiveCache::cachedBytes).register(registry);
+	}
+
+	private String key(Map<String, Object> spec) {
+		try {
+			GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(spec);
+			WorkflowPlan plan = workflowPlanRegistry.plan(language);
+			Map<String, Object> input = new LinkedHashMap<>();
+			input.put("generator", language.name() + ":" + plan.definition().getCode() + ":" + plan.definitionVersion());
+			input.put("spec", spec);
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(canonicalMapper.writeValueAsBytes(input)));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		} catch (Exception ex) {
+			log.debug("Generating preview without cache: {}", ex.getMessage());
+			return null;
+		}
+	}
+
+	private static byte[] await(CompletableFuture<byte[]> running) {
+		try {
+			return running.join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private synchronized byte[] lookup(String key) {
+		return archivesByKey.get(key);
+	}
+
+	private synchronized void store(String key, byte[] archive) {
+		if (archive == null || archive.length > maxBytes) {
+			return;
+		}
+		byte[] previous = archivesByKey.put(key, archive);
+		cachedBytes += archive.length - (previous == null ? 0 : previous.length);
+		Iterator<byte[]> eldest = archivesByKey.values().iterator();
+		while (cachedBytes > maxBytes && eldest.hasNext()) {
+			cachedBytes -= eldest.next().length;
+			eldest.remove();
+			evictions.increment();
+		}
+	}
+
+	private synchronized void remove(String key) {
+		byte[] removed = archivesByKey.remove(key);
+		if (removed != null) {
+			cachedBytes -= removed.length;
+		}
+	}
+
+	private synchronized void clear() {
+		archivesByKey.clear();
+		cachedBytes = 0;
+	}
+
+	private synchronized double cachedBytes() {
+		return cachedBytes;
+	}
+}
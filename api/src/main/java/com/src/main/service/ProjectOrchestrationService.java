@@ -3,8 +3,10 @@ package com.src.main.service;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
 
+import com.src.main.dto.ProjectRunSummaryDTO;
 import com.src.main.model.ProjectEntity;
 import com.src.main.model.ProjectRunEntity;
 
@@ -18,9 +20,11 @@ public interface ProjectOrchestrationService {
 
 	ProjectEntity getOwnedProject(UUID projectId, String ownerId);
 
-	List<ProjectRunEntity> getRunsForProject(UUID projectId, String ownerId);
+	List<ProjectRunSummaryDTO> getRunsForProject(UUID projectId, String ownerId);
 
 	ProjectRunEntity getRun(UUID runId, String ownerId);
+
+	ProjectRunEntity cancelRun(UUID runId, String ownerId);
 	
-	ResponseEntity<byte[]> download(UUID id, String ownerId);
+	ResponseEntity<Resource> download(UUID id, String ownerId);
 }
@@ -4,17 +4,27 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.src.main.auth.service.RbacService;
+import com.src.main.dto.ProjectRunSummaryDTO;
+import com.src.main.exception.GenericException;
+import com.src.main.model.GeneratedArtifactEntity;
 import com.src.main.model.ProjectEntity;
 import com.src.main.model.ProjectRunEntity;
 import com.src.main.model.ProjectContributorEntity;
@@ -24,10 +34,15 @@ import com.src.main.repository.ProjectRunRepository;
 import com.src.main.util.AppConstants;
 import com.src.main.util.ProjectRunStatus;
 import com.src.main.util.ProjectRunType;
+import com.src.main.workflow.ProjectRunCancellationService;
+import com.src.main.workflow.artifact.ArtifactStore;
+import com.src.main.workflow.generation.GenerationSpecFingerprinter;
 
 @Service
 public class ProjectOrchestrationServiceImpl implements ProjectOrchestrationService {
 
+	private static final String RUN_CANCELLED_MESSAGE = "Generation cancelled by user.";
+
 	private final ProjectRepository projectRepository;
 	private final ProjectRunRepository projectRunRepository;
 	private final ProjectContributorRepository projectContributorRepository;
@@ -35,10 +50,20 @@ public class ProjectOrchestrationServiceImpl implements ProjectOrchestrationServ
 	private final ProjectYamlService projectYamlService;
 	private final ProjectNameValidationService projectNameValidationService;
 	private final RbacService rbacService;
+	private final ArtifactStore artifactStore;
+	private final GenerationSpecFingerprinter generationSpecFingerprinter;
+	private final ProjectEventStreamService projectEventStreamService;
+	private final ProjectRunCancellationService projectRunCancellationService;
 
 	@Value("${app.project.max-generates-per-user-per-day:200}")
 	private int maxGeneratesPerUserPerDay;
 
+	@Value("${app.generation.dedup.enabled:true}")
+	private boolean dedupEnabled;
+
+	@Value("${app.generation.dedup.reuse-window-minutes:60}")
+	private long dedupReuseWindowMinutes;
+
 	private ZoneId zoneId = ZoneId.of("Asia/Kolkata");
 
 	public ProjectOrchestrationServiceImpl(ProjectRepository projectRepository, ProjectRunRepository projectRunRepository,
@@ -46,7 +71,11 @@ public class ProjectOrchestrationServiceImpl implements ProjectOrchestrationServ
 			ProjectUserIdentityService projectUserIdentityService,
 			ProjectYamlService projectYamlService,
 			ProjectNameValidationService projectNameValidationService,
-			RbacService rbacService) {
+			RbacService rbacService,
+			ArtifactStore artifactStore,
+			GenerationSpecFingerprinter generationSpecFingerprinter,
+			ProjectEventStreamService projectEventStreamService,
+			ProjectRunCancellationService projectRunCancellationService) {
 		this.projectRepository = projectRepository;
 		this.projectRunRepository = projectRunRepository;
 		this.projectContributorRepository = projectContributorRepository;
@@ -54,6 +83,10 @@ public class ProjectOrchestrationServiceImpl implements ProjectOrchestrationServ
 		this.projectYamlService = projectYamlService;
 		this.projectNameValidationService = projectNameValidationService;
 		this.rbacService = rbacService;
+		this.artifactStore = artifactStore;
+		this.generationSpecFingerprinter = generationSpecFingerprinter;
+		this.projectEventStreamService = projectEventStreamService;
+		this.projectRunCancellationService = projectRunCancellationService;
 	}
 
 	@Override
@@ -150,9 +183,9 @@ public class ProjectOrchestrationServiceImpl implements ProjectOrchestrationServ
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<ProjectRunEntity> getRunsForProject(UUID projectId, String ownerId) {
+	public List<ProjectRunSummaryDTO> getRunsForProject(UUID projectId, String ownerId) {
 		ProjectEntity project = getOwnedProject(projectId, ownerId);
-		return projectRunRepository.findByProjectIdOrderByCreatedAtAsc(project.getId());
+		return projectRunRepository.findSummariesByProjectId(project.getId());
 	}
 
 	@Override
@@ -164,6 +197,40 @@ public class ProjectOrchestrationServiceImpl implements ProjectOrchestrationServ
 		return run;
 	}
 
+	/**
+	 * Cancels a queued or running run. The status is switched in one conditional update, so a run that is being
+	 * claimed or finishing at the same time is either cancelled or reported as finished. Once committed, the node
+	 * executing the run stops it; see {@link ProjectRunCancellationService}.
+	 */
+	@Override
+	@Transactional
+	public ProjectRunEntity cancelRun(UUID runId, String ownerId) {
+		if (!rbacService.currentUserHasPermission("project.generate")) {
+			throw new SecurityException("User not allowed to generate projects");
+		}
+		ProjectRunEntity run = projectRunRepository.findByIdWithProject(runId)
+				.orElseThrow(() -> new IllegalArgumentException("Run not found: " + runId));
+		getProjectForGenerate(run.getProject().getId(), ownerId);
+		int cancelled = projectRunRepository.cancelActive(runId,
+				List.of(ProjectRunStatus.QUEUED, ProjectRunStatus.INPROGRESS), ProjectRunStatus.CANCELLED,
+				RUN_CANCELLED_MESSAGE, OffsetDateTime.now());
+		if (cancelled == 0) {
+			throw new GenericException(HttpStatus.CONFLICT, "Run " + runId + " has already finished.");
+		}
+		run.setStatus(ProjectRunStatus.CANCELLED);
+		run.setErrorMessage(RUN_CANCELLED_MESSAGE);
+		afterCommit(() -> {
+			projectRunCancellationService.cancel(runId, RUN_CANCELLED_MESSAGE);
+			projectEventStreamService.publish(run.getProject().getId(), "generation", Map.of(
+					"projectId", run.getProject().getId().toString(),
+					"runId", runId.toString(),
+					"status", "CANCELLED",
+					"hasZip", false,
+					"message", RUN_CANCELLED_MESSAGE));
+		});
+		return run;
+	}
+
 	@Transactional
 	protected ProjectRunEntity createGenerateRun(ProjectEntity project, String ownerId) {
 		String canonicalUserId = projectUserIdentityService.resolve(ownerId).userId();
@@ -175,9 +242,73 @@ public class ProjectOrchestrationServiceImpl implements ProjectOrchestrationServ
 		run.setType(ProjectRunType.GENERATE_CODE);
 		run.setStatus(ProjectRunStatus.QUEUED);
 		run.setRunNumber((int) existingForProject + 1);
+		run.setSpecFingerprint(generationSpecFingerprinter.fingerprint(project));
+		if (!dedupEnabled || run.getSpecFingerprint() == null) {
+			return projectRunRepository.save(run);
+		}
+		// Serializes identical requests until this transaction ends, so the second one sees the run the first created
+		// and attaches to it instead of becoming a second leader.
+		projectRunRepository.lockSpecFingerprint(run.getSpecFingerprint());
+		ProjectRunEntity reusable = findReusableRun(run.getSpecFingerprint());
+		if (reusable != null) {
+			run.setStatus(ProjectRunStatus.SUCCESS);
+			run.setArtifactSha256(reusable.getArtifactSha256());
+			ProjectRunEntity saved = projectRunRepository.save(run);
+			publishReusedAfterCommit(saved, reusable);
+			return saved;
+		}
+		ProjectRunEntity leader = findCoalescingLeader(run.getSpecFingerprint());
+		if (leader != null) {
+			run.setCoalescedInto(leader.getId());
+		}
 		return projectRunRepository.save(run);
 	}
 
+	/**
+	 * Latest successful run with the same fingerprint inside the reuse window. Its artifact is referenced by that run
+	 * and therefore not garbage collected.
+	 */
+	private ProjectRunEntity findReusableRun(String specFingerprint) {
+		OffsetDateTime since = OffsetDateTime.now().minusMinutes(dedupReuseWindowMinutes);
+		return projectRunRepository.findReusableBySpecFingerprint(specFingerprint, ProjectRunType.GENERATE_CODE,
+				ProjectRunStatus.SUCCESS, since, PageRequest.of(0, 1)).stream().findFirst().orElse(null);
+	}
+
+	/**
+	 * Oldest queued or running run with the same fingerprint that is not itself waiting on another run. A run attached
+	 * to it stays queued and is completed with its artifact; if it fails or is cancelled, the attached run is claimed
+	 * and generated on its own.
+	 */
+	private ProjectRunEntity findCoalescingLeader(String specFingerprint) {
+		return projectRunRepository.findCoalescingLeadersBySpecFingerprint(specFingerprint, ProjectRunType.GENERATE_CODE,
+				List.of(ProjectRunStatus.QUEUED, ProjectRunStatus.INPROGRESS), PageRequest.of(0, 1))
+				.stream().findFirst().orElse(null);
+	}
+
+	private void publishReusedAfterCommit(ProjectRunEntity run, ProjectRunEntity reused) {
+		Runnable publish = () -> projectEventStreamService.publish(run.getProject().getId(), "generation", Map.of(
+				"projectId", run.getProject().getId().toString(),
+				"runId", run.getId().toString(),
+				"status", "SUCCESS",
+				"fileName", run.getProject().getArtifact() + ".zip",
+				"hasZip", true,
+				"reusedRunId", reused.getId().toString()));
+		afterCommit(publish);
+	}
+
+	private void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
 	private void reassignOwnerIfNeeded(ProjectEntity project, ProjectUserIdentityService.ResolvedProjectUser currentUser) {
 		if (project == null || project.getOwnerId() == null || currentUser == null) {
 			return;
@@ -203,17 +334,24 @@ public class ProjectOrchestrationServiceImpl implements ProjectOrchestrationServ
 	}
 
 	@Override
-	public ResponseEntity<byte[]> download(UUID id, String ownerId) {
+	public ResponseEntity<Resource> download(UUID id, String ownerId) {
 		ProjectRunEntity p = projectRunRepository.findByIdWithProject(id)
 				.orElseThrow(() -> new java.util.NoSuchElementException("Project Run Not found"));
 		getOwnedProject(p.getProject().getId(), ownerId);
-		if (p.getZip() == null) {
+		Optional<GeneratedArtifactEntity> artifact = artifactStore.find(p.getArtifactSha256());
+		if (artifact.isEmpty()) {
 			return ResponseEntity.status(202).build();
 		}
+		// The body is streamed from the artifact backend. With a strong ETag and a Resource body, Spring MVC answers
+		// If-None-Match with 304 and Range requests with 206 without materializing the archive.
+		String fileName = p.getProject().getArtifact() + ".zip";
 		return ResponseEntity.ok()
 				.header(HttpHeaders.CONTENT_DISPOSITION, String.format(AppConstants.DISP_ATTACHMENT_FMT, p.getProject().getArtifact()))
+				.header(HttpHeaders.ACCEPT_RANGES, "bytes")
+				.eTag(artifact.get().getSha256())
+				.cacheControl(CacheControl.noCache().cachePrivate())
 				.contentType(MediaType.APPLICATION_OCTET_STREAM)
-				.body(p.getZip());
+				.body(artifactStore.asResource(artifact.get(), fileName));
 	}
 
 	private boolean canReadAllProjects() {
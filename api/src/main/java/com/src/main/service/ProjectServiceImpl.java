@@ -1,6 +1,5 @@
 package com.src.main.service;
 
-import java.util.Base64;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.OffsetDateTime;
@@ -16,6 +15,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -40,6 +40,7 @@ import com.src.main.dto.ProjectDraftTabPatchRequestDTO;
 import com.src.main.dto.ProjectDraftUpsertRequestDTO;
 import com.src.main.dto.ProjectDetailsDTO;
 import com.src.main.dto.ProjectImportRequestDTO;
+import com.src.main.dto.ProjectRunSummaryDTO;
 import com.src.main.dto.ProjectSummaryDTO;
 import com.src.main.dto.ProjectTabDefinitionDTO;
 import com.src.main.exception.GenericException;
@@ -85,6 +86,7 @@ public class ProjectServiceImpl implements ProjectService {
 	private final ProjectCollaborationService projectCollaborationService;
 	private final RbacService rbacService;
 	private final Validator validator;
+	private final PreviewArchiveCache previewArchiveCache;
 
 
 	record Input(@NotBlank String yaml) {
@@ -316,6 +318,9 @@ public class ProjectServiceImpl implements ProjectService {
 		project.setDescription(resolvedDraft.description());
 		project.setSpringBootVersion(resolvedDraft.springBootVersion());
 		project.setJdkVersion(resolvedDraft.jdkVersion());
+		if (project.getYaml() != null && !project.getYaml().equals(resolvedDraft.yamlText())) {
+			previewArchiveCache.evict(project.getYaml());
+		}
 		project.setYaml(resolvedDraft.yamlText());
 		project.setDraftData(projectDraftService.serialize(resolvedDraft.draftData()));
 		project.setDraftVersion(draftVersion);
@@ -421,16 +426,10 @@ public class ProjectServiceImpl implements ProjectService {
 		Optional<ProjectContributorEntity> currentContributor = findContributorAccess(project.getId(), currentUser);
 		boolean canManageContributors = isOwner || canManageAllContributors || currentContributor.map(ProjectContributorEntity::isCanManageCollaboration).orElse(false);
 		String inviteToken = canManageContributors ? ensureInviteToken(project) : null;
-		List<ProjectRunEntity> runs = projectRunRepository.findByProjectIdOrderByCreatedAtAsc(project.getId());
-		ProjectRunEntity latestRun = runs.isEmpty() ? null : runs.get(runs.size() - 1);
-		ProjectRunEntity latestRunWithZip = null;
-		for (int i = runs.size() - 1; i >= 0; i--) {
-			ProjectRunEntity candidate = runs.get(i);
-			if (candidate != null && candidate.getZip() != null && candidate.getZip().length > 0) {
-				latestRunWithZip = candidate;
-				break;
-			}
-		}
+		ProjectRunSummaryDTO latestRun = firstOrNull(
+				projectRunRepository.findLatestSummariesByProjectId(project.getId(), PageRequest.of(0, 1)));
+		ProjectRunSummaryDTO latestRunWithZip = latestRun != null && latestRun.isHasZip() ? latestRun : firstOrNull(
+				projectRunRepository.findLatestDownloadableSummariesByProjectId(project.getId(), PageRequest.of(0, 1)));
 		Map<String, Object> draftData = projectDraftService.deserialize(project.getDraftData());
 		String generator = projectDraftService.resolveGenerator(draftData, project.getGenerator());
 		List<ProjectTabDefinitionDTO> tabDetails = projectDraftService.getTabDetails(
@@ -438,7 +437,7 @@ public class ProjectServiceImpl implements ProjectService {
 		boolean isContributorAccess = !isOwner && !canManageAllContributors;
 		List<ProjectCollaborationRequestDTO> collaborationRequests = canManageContributors
 				? toCollaborationRequestDtos(project.getId()) : Collections.emptyList();
-		UUID latestRunId = latestRun == null ? null : latestRun.getId();
+		UUID latestRunId = latestRun == null ? null : latestRun.getRunId();
 		String latestRunStatus = latestRun == null || latestRun.getStatus() == null ? null : latestRun.getStatus().name();
 		Integer latestRunNumber = latestRun == null ? null : latestRun.getRunNumber();
 		return new ProjectDetailsDTO(
@@ -447,7 +446,7 @@ public class ProjectServiceImpl implements ProjectService {
 				project.getOwnerId(), isContributorAccess, canManageContributors, inviteToken,
 				toContributorDtos(project.getId()), collaborationRequests,
 				latestRunId, latestRunStatus, latestRunNumber,
-				latestRunWithZip != null, encodeZipBase64(latestRunWithZip), buildZipFileName(project),
+				latestRunWithZip != null, buildZipDownloadUrl(latestRunWithZip), buildZipFileName(project),
 				project.getCreatedAt(), project.getUpdatedAt());
 	}
 
@@ -541,11 +540,15 @@ public class ProjectServiceImpl implements ProjectService {
 		return new ProjectDraftResponseDTO(savedProject.getId().toString(), savedProject.getDraftVersion());
 	}
 
-	private String encodeZipBase64(ProjectRunEntity run) {
-		if (run == null || run.getZip() == null || run.getZip().length == 0) {
+	private ProjectRunSummaryDTO firstOrNull(List<ProjectRunSummaryDTO> runs) {
+		return runs == null || runs.isEmpty() ? null : runs.get(0);
+	}
+
+	private String buildZipDownloadUrl(ProjectRunSummaryDTO run) {
+		if (run == null || !run.isHasZip()) {
 			return null;
 		}
-		return Base64.getEncoder().encodeToString(run.getZip());
+		return "/api/runs/" + run.getRunId() + "/download";
 	}
 
 	private String buildZipFileName(ProjectEntity project) {
@@ -1067,7 +1070,7 @@ public class ProjectServiceImpl implements ProjectService {
 				project.getOwnerId(), contributorAccess);
 	}
 
-	public ProjectServiceImpl(final ProjectRepository repo, final ProjectRunRepository projectRunRepository, final ProjectCollaborationRequestRepository projectCollaborationRequestRepository, final ProjectContributorRepository projectContributorRepository, final ProjectDraftVersionRepository projectDraftVersionRepository, final PluginModuleRepository pluginModuleRepository, final ProjectUserIdentityService projectUserIdentityService, final ProjectYamlService projectYamlService, final ProjectDraftService projectDraftService, final ProjectDraftSpecMapperService projectDraftSpecMapperService, final ProjectNameValidationService projectNameValidationService, final ProjectCollaborationService projectCollaborationService, final RbacService rbacService, final Validator validator) {
+	public ProjectServiceImpl(final ProjectRepository repo, final ProjectRunRepository projectRunRepository, final ProjectCollaborationRequestRepository projectCollaborationRequestRepository, final ProjectContributorRepository projectContributorRepository, final ProjectDraftVersionRepository projectDraftVersionRepository, final PluginModuleRepository pluginModuleRepository, final ProjectUserIdentityService projectUserIdentityService, final ProjectYamlService projectYamlService, final ProjectDraftService projectDraftService, final ProjectDraftSpecMapperService projectDraftSpecMapperService, final ProjectNameValidationService projectNameValidationService, final ProjectCollaborationService projectCollaborationService, final RbacService rbacService, final Validator validator, final PreviewArchiveCache previewArchiveCache) {
 		this.repo = repo;
 		this.projectRunRepository = projectRunRepository;
 		this.projectCollaborationRequestRepository = projectCollaborationRequestRepository;
@@ -1082,5 +1085,6 @@ public class ProjectServiceImpl implements ProjectService {
 		this.projectCollaborationService = projectCollaborationService;
 		this.rbacService = rbacService;
 		this.validator = validator;
+		this.previewArchiveCache = previewArchiveCache;
 	}
 }
@@ -12,11 +12,13 @@ import com.src.main.workflow.generation.ProjectGenerationStrategySelector;
 @Service
 public class ProjectViewService {
 	private final ProjectGenerationStrategySelector projectGenerationStrategySelector;
+	private final PreviewArchiveCache previewArchiveCache;
 
 	public byte[] generateZip(String yamlText) {
 		Map<String, Object> spec = parseYaml(yamlText);
 		Map<String, Object> app = extractApp(spec);
-		return projectGenerationStrategySelector.select(GenerationLanguageResolver.resolveFromYaml(spec)).generatePreviewZip(spec, app);
+		return previewArchiveCache.get(spec, () -> projectGenerationStrategySelector
+				.select(GenerationLanguageResolver.resolveFromYaml(spec)).generatePreviewZip(spec, app));
 	}
 
 	@SuppressWarnings("unchecked")
@@ -43,7 +45,8 @@ public class ProjectViewService {
 		return (Map<String, Object>) app;
 	}
 
-	public ProjectViewService(final ProjectGenerationStrategySelector projectGenerationStrategySelector) {
+	public ProjectViewService(final ProjectGenerationStrategySelector projectGenerationStrategySelector, final PreviewArchiveCache previewArchiveCache) {
 		this.projectGenerationStrategySelector = projectGenerationStrategySelector;
+		this.previewArchiveCache = previewArchiveCache;
 	}
 }
@@ -0,0 +1,5 @@
+package com.src.main.util;
+
+public enum ArtifactStorageKind {
+	FILESYSTEM, DATABASE
+}
@@ -0,0 +1,100 @@
+package com.src.main.workflow;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+/**
+ * {@code LISTEN}s on one Postgres channel from a daemon thread and runs a callback for each batch of notifications.
+ * The connection is opened with {@link DriverManager} rather than taken from the pool, so it never holds one of the
+ * pool's connections for the lifetime of the application. It is reopened after a failure, and {@code onConnected}
+ * runs on every (re)connect so the owner can catch up on notifications sent while nobody was listening.
+ */
+public class PostgresNotificationListener {
+
+	private static final Logger log = LoggerFactory.getLogger(PostgresNotificationListener.class);
+
+	private static final int RECEIVE_TIMEOUT_MS = 5000;
+	private static final long RECONNECT_DELAY_MS = 5000;
+
+	private final DataSourceProperties dataSourceProperties;
+	private final String channel;
+	private final Runnable onConnected;
+	private final Runnable onNotification;
+
+	private volatile boolean running;
+	private Thread listenerThread;
+
+	public PostgresNotificationListener(DataSourceProperties dataSourceProperties, String channel, Runnable onConnected,
+			Runnable onNotification) {
+		this.dataSourceProperties = dataSourceProperties;
+		this.channel = channel;
+		this.onConnected = onConnected;
+		this.onNotification = onNotification;
+	}
+
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		listenerThread = new Thread(this::listen, channel.replace('_', '-') + "-listener");
+		listenerThread.setDaemon(true);
+		listenerThread.start();
+	}
+
+	public synchronized void stop() {
+		running = false;
+		if (listenerThread != null) {
+			listenerThread.interrupt();
+		}
+	}
+
+	private void listen() {
+		while (running) {
+			try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+					dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+				connection.setAutoCommit(true);
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + channel);
+				}
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				log.info("Listening for notifications on {}", channel);
+				run(onConnected);
+				while (running) {
+					PGNotification[] notifications = pgConnection.getNotifications(RECEIVE_TIMEOUT_MS);
+					if (notifications != null && notifications.length > 0) {
+						run(onNotification);
+					}
+				}
+			} catch (SQLException ex) {
+				if (!running) {
+					return;
+				}
+				log.warn("Listener connection for {} lost, retrying in {} ms: {}", channel, RECONNECT_DELAY_MS,
+						ex.getMessage());
+				try {
+					Thread.sleep(RECONNECT_DELAY_MS);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private void run(Runnable callback) {
+		try {
+			callback.run();
+		} catch (RuntimeException ex) {
+			log.warn("Handling notifications on {} failed: {}", channel, ex.getMessage());
+		}
+	}
+}
@@ -1,57 +1,103 @@
 package com.src.main.workflow;
 
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Comparator;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.stereotype.Service;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.workflow.StreamingZipWriter.PreparedEntry;
+import com.src.main.workflow.engine.WorkflowExecutorPoolRegistry;
+
+/**
+ * Writes generated projects as ZIP archives. Entries are emitted in sorted order with fixed timestamps so identical
+ * inputs produce identical archives, and are deflated on the archive pool while earlier entries are being written.
+ * At most {@link #COMPRESSION_WINDOW} entries are held in memory at once, independent of archive size.
+ */
 @Service
 public class ProjectArchiveService {
 
-	public byte[] zipDirectory(Path root) throws IOException {
+	private static final String ARCHIVE_POOL_CODE = "workflow-archive";
+	private static final int COMPRESSION_WINDOW = 8;
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+	private static final Set<String> PRECOMPRESSED_EXTENSIONS = Set.of(
+			"jar", "war", "zip", "gz", "tgz", "7z", "png", "jpg", "jpeg", "gif", "webp", "ico", "woff", "woff2");
+
+	private final WorkflowExecutorPoolRegistry workflowExecutorPoolRegistry;
+
+	public ProjectArchiveService(WorkflowExecutorPoolRegistry workflowExecutorPoolRegistry) {
+		this.workflowExecutorPoolRegistry = workflowExecutorPoolRegistry;
+	}
+
+	public byte[] zip(GeneratedFileSink sink) throws IOException {
 		ByteArrayOutputStream out = new ByteArrayOutputStream();
-		try (ZipOutputStream zipOutputStream = new ZipOutputStream(out)) {
-			Files.walk(root)
-					.filter(Files::isRegularFile)
-					.sorted(Comparator.naturalOrder())
-					.forEach(path -> writeEntry(root, path, zipOutputStream));
-		}
+		writeTo(sink, out);
 		return out.toByteArray();
 	}
 
-	public void deleteDirectoryQuietly(Path root) {
-		if (root == null) {
-			return;
+	public void writeTo(GeneratedFileSink sink, Path target) throws IOException {
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), OUTPUT_BUFFER_SIZE)) {
+			writeTo(sink, out);
 		}
+	}
+
+	/**
+	 * Streams the archive into {@code out}, which is flushed but not closed.
+	 */
+	public void writeTo(GeneratedFileSink sink, OutputStream out) throws IOException {
+		StreamingZipWriter writer = new StreamingZipWriter(out);
+		Deque<CompletableFuture<PreparedEntry>> pending = new ArrayDeque<>();
 		try {
-			Files.walk(root)
-					.sorted(Comparator.reverseOrder())
-					.forEach(path -> {
-						try {
-							Files.deleteIfExists(path);
-						} catch (IOException ignored) {
-						}
-					});
-		} catch (IOException ignored) {
+			sink.forEachFile((entryName, content) -> {
+				pending.addLast(prepare(entryName, content.readAllBytes()));
+				while (pending.size() >= COMPRESSION_WINDOW) {
+					writer.write(await(pending.removeFirst()));
+				}
+			});
+			while (!pending.isEmpty()) {
+				writer.write(await(pending.removeFirst()));
+			}
+			writer.finish();
+		} finally {
+			pending.forEach(future -> future.cancel(false));
 		}
 	}
 
-	private void writeEntry(Path root, Path file, ZipOutputStream zipOutputStream) {
+	private CompletableFuture<PreparedEntry> prepare(String entryName, byte[] content) {
+		boolean store = isPrecompressed(entryName);
 		try {
-			String entryName = root.relativize(file).toString().replace("\\", "/");
-			zipOutputStream.putNextEntry(new ZipEntry(entryName));
-			try (InputStream inputStream = Files.newInputStream(file)) {
-				inputStream.transferTo(zipOutputStream);
+			return workflowExecutorPoolRegistry.submitCompletable(ARCHIVE_POOL_CODE,
+					() -> StreamingZipWriter.prepare(entryName, content, store));
+		} catch (RejectedExecutionException ex) {
+			return CompletableFuture.completedFuture(StreamingZipWriter.prepare(entryName, content, store));
+		}
+	}
+
+	private PreparedEntry await(CompletableFuture<PreparedEntry> future) throws IOException {
+		try {
+			return future.join();
+		} catch (CompletionException ex) {
+			Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
 			}
-			zipOutputStream.closeEntry();
-		} catch (IOException ex) {
-			throw new RuntimeException(ex);
+			throw new IOException("Failed to compress archive entry", cause);
 		}
 	}
+
+	private boolean isPrecompressed(String entryName) {
+		int dot = entryName.lastIndexOf('.');
+		return dot >= 0 && PRECOMPRESSED_EXTENSIONS.contains(entryName.substring(dot + 1).toLowerCase(Locale.ROOT));
+	}
 }
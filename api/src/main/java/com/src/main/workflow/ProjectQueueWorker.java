@@ -1,13 +1,26 @@
 package com.src.main.workflow;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.yaml.snakeyaml.Yaml;
 
 import com.src.main.model.ProjectRunEntity;
@@ -18,59 +31,198 @@ import com.src.main.util.ProjectRunStatus;
 import com.src.main.util.ProjectRunType;
 import com.src.main.workflow.engine.WorkflowEngineService;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Claims queued generation runs and hands them to their workflow's dispatch pool. A claim pass is triggered by a
+ * {@code project_run_queued} notification (see {@link ProjectRunQueueListener}), by a run finishing, and by a slow
+ * fallback poll. Passes run one at a time on a dedicated thread, and wakeups that arrive while a pass is pending are
+ * merged into it.
+ *
+ * <p>A pass claims no more runs than the dispatch pools can accept right now, so runs the node cannot start stay
+ * {@code QUEUED} for other nodes instead of being locked and bounced. A run whose step is backing off before a retry
+ * holds no dispatch thread and does not count against that capacity; it keeps its lease until it has finished.
+ *
+ * <p>Runs are shared fairly between owners: every owner's oldest queued run is claimed before anyone's second, runs
+ * already in flight count against their owner's turn, and no owner has more than
+ * {@code app.queue.max-in-flight-per-owner} runs in flight. The pass first takes a transaction-scoped advisory lock
+ * per owner, skipping owners another node holds, and then claims in a second statement, so the in-flight counts it
+ * sees include everything committed by the lock's previous holder.
+ */
 @Component
-public class ProjectQueueWorker {
+public class ProjectQueueWorker implements MeterBinder, DisposableBean {
 
 	private static final Logger log = LoggerFactory.getLogger(ProjectQueueWorker.class);
 
 	private static final int BATCH_SIZE = 10;
+	private static final int OWNER_SCAN_LIMIT = 100;
 
 	private final ProjectRunRepository projectRunRepository;
 	private final ProjectWorkflowService workflowService;
 	private final WorkflowEngineService workflowEngineService;
+	private final ProjectRunLeaseService projectRunLeaseService;
+	private final ProjectRunCancellationRegistry cancellationRegistry;
+	private final TransactionTemplate transactionTemplate;
+	private final int maxInFlightPerOwner;
+	private final ExecutorService claimer = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "project-queue-claimer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicBoolean claimPending = new AtomicBoolean();
+
+	private volatile Timer queueWait;
+	private volatile DistributionSummary claimBatch;
 
 	public ProjectQueueWorker(
 			ProjectRunRepository projectRunRepository,
 			ProjectWorkflowService workflowService,
-			WorkflowEngineService workflowEngineService) {
+			WorkflowEngineService workflowEngineService,
+			ProjectRunLeaseService projectRunLeaseService,
+			ProjectRunCancellationRegistry cancellationRegistry,
+			PlatformTransactionManager transactionManager,
+			@Value("${app.queue.max-in-flight-per-owner:2}") int maxInFlightPerOwner) {
 		this.projectRunRepository = projectRunRepository;
 		this.workflowService = workflowService;
 		this.workflowEngineService = workflowEngineService;
+		this.projectRunLeaseService = projectRunLeaseService;
+		this.cancellationRegistry = cancellationRegistry;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.maxInFlightPerOwner = Math.max(1, maxInFlightPerOwner);
 	}
 
-	@Transactional
-	@Scheduled(fixedDelay = 2000)
+	@Scheduled(fixedDelayString = "${app.queue.poll-fallback-ms:15000}")
 	public void pollQueue() {
+		wake();
+	}
+
+	/**
+	 * Requests a claim pass. Returns immediately; the pass runs on the claimer thread.
+	 */
+	public void wake() {
+		if (!claimPending.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			claimer.execute(this::claim);
+		} catch (RejectedExecutionException ex) {
+			claimPending.set(false);
+		}
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.queueWait = Timer.builder("project.queue.wait")
+				.description("Time generation runs spent queued before being claimed")
+				.register(registry);
+		this.claimBatch = DistributionSummary.builder("project.queue.claim.batch")
+				.description("Runs claimed per queue pass")
+				.register(registry);
+	}
+
+	@Override
+	public void destroy() {
+		claimer.shutdownNow();
+	}
+
+	private void claim() {
+		// Cleared before claiming so a run queued during this pass triggers another one.
+		claimPending.set(false);
 		try {
-			List<UUID> picked = pickAndSubmitBatch();
-			if (!picked.isEmpty()) {
-				log.info("Picked {} projects from DB queue: {}", picked.size(), picked);
+			ClaimResult result = transactionTemplate.execute(status -> pickAndSubmitBatch());
+			if (result == null || result.picked().isEmpty()) {
+				return;
+			}
+			log.info("Picked {} projects from DB queue: {}", result.picked().size(), result.picked());
+			if (result.picked().size() == result.limit()) {
+				wake();
 			}
 		} catch (Exception ex) {
 			log.error("Error while polling project queue", ex);
 		}
 	}
 
-	protected List<UUID> pickAndSubmitBatch() {
+	protected ClaimResult pickAndSubmitBatch() {
+		int limit = Math.min(BATCH_SIZE, workflowEngineService.dispatchCapacity());
+		if (limit <= 0) {
+			return new ClaimResult(List.of(), limit);
+		}
+		List<String> owners = projectRunRepository.lockQueuedOwners(
+				ProjectRunStatus.QUEUED.name(),
+				ProjectRunStatus.INPROGRESS.name(),
+				ProjectRunType.GENERATE_CODE.name(),
+				maxInFlightPerOwner,
+				OWNER_SCAN_LIMIT);
+		if (owners.isEmpty()) {
+			return new ClaimResult(List.of(), limit);
+		}
 		List<ProjectRunEntity> queued = projectRunRepository.findNextBatchForProcessing(
 				ProjectRunStatus.QUEUED.name(),
+				ProjectRunStatus.INPROGRESS.name(),
 				ProjectRunType.GENERATE_CODE.name(),
-				BATCH_SIZE);
+				owners,
+				maxInFlightPerOwner,
+				limit);
 		if (queued.isEmpty()) {
-			return List.of();
+			return new ClaimResult(List.of(), limit);
 		}
+		record(queued);
+		List<UUID> picked = new ArrayList<>(queued.size());
+		List<UUID> dispatched = new ArrayList<>(queued.size());
 		for (ProjectRunEntity run : queued) {
 			UUID runId = run.getId();
+			picked.add(runId);
+			projectRunLeaseService.hold(runId);
+			cancellationRegistry.open(runId);
 			try {
 				@SuppressWarnings("unchecked")
 				GenerationLanguage language = GenerationLanguageResolver
-						.resolveFromYaml((java.util.Map<String, Object>) new Yaml().load(run.getProject().getYaml()));
-				workflowEngineService.dispatch(language, () -> workflowService.runFullWorkflow(run));
+						.resolveFromYaml((Map<String, Object>) new Yaml().load(run.getProject().getYaml()));
+				Future<?> dispatch = workflowEngineService.dispatch(language, () -> {
+					CompletableFuture<Void> workflow = CompletableFuture.completedFuture(null);
+					try {
+						workflow = workflowService.runFullWorkflow(run);
+					} finally {
+						workflow.whenComplete((ignored, ex) -> {
+							cancellationRegistry.close(runId);
+							projectRunLeaseService.release(runId);
+							wake();
+						});
+					}
+				});
+				cancellationRegistry.dispatched(runId, dispatch);
 				run.setStatus(ProjectRunStatus.INPROGRESS);
+				dispatched.add(runId);
 			} catch (RuntimeException ex) {
+				cancellationRegistry.close(runId);
+				projectRunLeaseService.release(runId);
 				log.warn("Executor busy, could not submit run {}: {}", runId, ex.getMessage());
 			}
 		}
-		return queued.stream().map(ProjectRunEntity::getId).toList();
+		projectRunLeaseService.acquire(dispatched);
+		return new ClaimResult(picked, limit);
+	}
+
+	private void record(List<ProjectRunEntity> queued) {
+		DistributionSummary batch = claimBatch;
+		if (batch != null) {
+			batch.record(queued.size());
+		}
+		Timer wait = queueWait;
+		if (wait == null) {
+			return;
+		}
+		OffsetDateTime now = OffsetDateTime.now();
+		for (ProjectRunEntity run : queued) {
+			if (run.getCreatedAt() != null) {
+				wait.record(Duration.between(run.getCreatedAt(), now));
+			}
+		}
+	}
+
+	protected record ClaimResult(List<UUID> picked, int limit) {
 	}
 }
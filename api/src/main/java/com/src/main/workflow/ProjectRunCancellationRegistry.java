@@ -0,0 +1,67 @@
+package com.src.main.workflow;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+
+import org.springframework.stereotype.Component;
+
+import com.src.main.sm.executor.common.GenerationCancellation;
+
+/**
+ * Cancellation tokens of the runs dispatched on this node, from the moment they are claimed until they have
+ * finished, including any time spent backing off between step attempts. {@link ProjectQueueWorker} opens and closes
+ * the entries; the generation strategy picks up the token of the run it executes.
+ */
+@Component
+public class ProjectRunCancellationRegistry {
+
+	private final Map<UUID, Entry> entriesByRunId = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the run's token, registering it when the run has none yet.
+	 */
+	public GenerationCancellation open(UUID runId) {
+		return entriesByRunId.computeIfAbsent(runId, ignored -> new Entry()).token;
+	}
+
+	/**
+	 * Remembers the task executing the run, so a cancellation that arrives before it started can take it off the pool.
+	 */
+	public void dispatched(UUID runId, Future<?> dispatch) {
+		entriesByRunId.computeIfPresent(runId, (ignored, entry) -> {
+			entry.dispatch = dispatch;
+			return entry;
+		});
+	}
+
+	/**
+	 * Cancels the run if it is dispatched on this node. Returns {@code true} when its task had not started and never
+	 * will, in which case the caller has to clean up after it.
+	 */
+	public boolean cancel(UUID runId, String reason) {
+		Entry entry = entriesByRunId.get(runId);
+		if (entry == null) {
+			return false;
+		}
+		entry.token.cancel(reason);
+		Future<?> dispatch = entry.dispatch;
+		return dispatch != null && dispatch.cancel(false);
+	}
+
+	public void close(UUID runId) {
+		entriesByRunId.remove(runId);
+	}
+
+	public Set<UUID> runIds() {
+		return Set.copyOf(entriesByRunId.keySet());
+	}
+
+	private static final class Entry {
+
+		private final GenerationCancellation token = new GenerationCancellation();
+		private volatile Future<?> dispatch;
+	}
+}
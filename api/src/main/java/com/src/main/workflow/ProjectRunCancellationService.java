@@ -0,0 +1,68 @@
+package com.src.main.workflow;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.src.main.repository.ProjectRunRepository;
+import com.src.main.util.ProjectRunStatus;
+
+/**
+ * Stops runs that were marked {@code CANCELLED} in the database. A run dispatched on this node is stopped as soon as
+ * its cancellation is committed here; runs cancelled through another node are found by a poll over the runs this node
+ * executes. A run whose task had not started yet is taken off its pool and its lease released, so the capacity is
+ * free for the next claim right away.
+ */
+@Component
+public class ProjectRunCancellationService {
+
+	private static final Logger log = LoggerFactory.getLogger(ProjectRunCancellationService.class);
+
+	private final ProjectRunCancellationRegistry cancellationRegistry;
+	private final ProjectRunLeaseService projectRunLeaseService;
+	private final ProjectQueueWorker queueWorker;
+	private final ProjectRunRepository projectRunRepository;
+
+	public ProjectRunCancellationService(
+			ProjectRunCancellationRegistry cancellationRegistry,
+			ProjectRunLeaseService projectRunLeaseService,
+			ProjectQueueWorker queueWorker,
+			ProjectRunRepository projectRunRepository) {
+		this.cancellationRegistry = cancellationRegistry;
+		this.projectRunLeaseService = projectRunLeaseService;
+		this.queueWorker = queueWorker;
+		this.projectRunRepository = projectRunRepository;
+	}
+
+	/**
+	 * Stops the run if this node executes it. Call after the {@code CANCELLED} status is committed.
+	 */
+	public void cancel(UUID runId, String reason) {
+		if (cancellationRegistry.cancel(runId, reason)) {
+			cancellationRegistry.close(runId);
+			projectRunLeaseService.release(runId);
+			log.info("Cancelled run {} before it started", runId);
+		}
+		// Runs attached to a cancelled leader become claimable.
+		queueWorker.wake();
+	}
+
+	@Scheduled(fixedDelayString = "${app.queue.cancel-poll-ms:5000}")
+	public void pollCancelled() {
+		Set<UUID> runIds = cancellationRegistry.runIds();
+		if (runIds.isEmpty()) {
+			return;
+		}
+		try {
+			List<UUID> cancelled = projectRunRepository.findIdsByIdInAndStatus(runIds, ProjectRunStatus.CANCELLED);
+			cancelled.forEach(runId -> cancel(runId, "Generation cancelled."));
+		} catch (Exception ex) {
+			log.warn("Failed to poll cancelled runs: {}", ex.getMessage());
+		}
+	}
+}
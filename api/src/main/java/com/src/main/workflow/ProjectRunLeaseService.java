@@ -0,0 +1,186 @@
+package com.src.main.workflow;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.src.main.model.ProjectRunEntity;
+import com.src.main.repository.ProjectRunRepository;
+import com.src.main.util.ProjectRunStatus;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Tracks which node executes each in-progress run. A claimed run gets a lease naming this node's worker id that
+ * expires after {@code app.queue.lease.duration-ms}; the node renews the leases of the runs it is still executing
+ * every {@code app.queue.lease.heartbeat-ms}. Runs whose lease expired, because their node died or stalled, are put
+ * back in the queue, or failed once they have been claimed {@code app.queue.lease.max-attempts} times.
+ *
+ * <p>A node that stalled past its lease may find on its next heartbeat that the run was reclaimed or finished
+ * elsewhere. It then stops executing the run; the outcome it would have written is dropped anyway, because terminal
+ * statuses are only written while the writer still holds the lease.
+ */
+@Component
+public class ProjectRunLeaseService implements MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(ProjectRunLeaseService.class);
+
+	private static final int RECLAIM_BATCH_SIZE = 50;
+
+	private final ProjectRunRepository projectRunRepository;
+	private final ProjectRunCancellationRegistry cancellationRegistry;
+	private final String workerId;
+	private final Duration leaseDuration;
+	private final Duration heartbeatInterval;
+	private final int maxAttempts;
+	private final Map<UUID, OffsetDateTime> heldRuns = new ConcurrentHashMap<>();
+	private final LongAdder requeued = new LongAdder();
+	private final LongAdder abandoned = new LongAdder();
+	private final LongAdder lost = new LongAdder();
+
+	public ProjectRunLeaseService(
+			ProjectRunRepository projectRunRepository,
+			ProjectRunCancellationRegistry cancellationRegistry,
+			@Value("${app.queue.lease.duration-ms:30000}") long leaseDurationMs,
+			@Value("${app.queue.lease.heartbeat-ms:10000}") long heartbeatMs,
+			@Value("${app.queue.lease.max-attempts:3}") int maxAttempts) {
+		this.projectRunRepository = projectRunRepository;
+		this.cancellationRegistry = cancellationRegistry;
+		this.workerId = resolveWorkerId();
+		this.leaseDuration = Duration.ofMillis(Math.max(1000, leaseDurationMs));
+		this.heartbeatInterval = Duration.ofMillis(Math.max(0, heartbeatMs));
+		this.maxAttempts = Math.max(1, maxAttempts);
+	}
+
+	public String workerId() {
+		return workerId;
+	}
+
+	/**
+	 * Marks {@code runId} as executing on this node so its lease is renewed. Call before the run is handed to an
+	 * executor.
+	 */
+	public void hold(UUID runId) {
+		heldRuns.putIfAbsent(runId, OffsetDateTime.now());
+	}
+
+	/**
+	 * Stops renewing the lease of {@code runId}, once it finished or could not be started.
+	 */
+	public void release(UUID runId) {
+		heldRuns.remove(runId);
+	}
+
+	/**
+	 * Writes this node's lease on the given runs and counts the attempt. Must run in the claiming transaction.
+	 */
+	public void acquire(List<UUID> runIds) {
+		if (!runIds.isEmpty()) {
+			projectRunRepository.acquireLeases(runIds, workerId, OffsetDateTime.now().plus(leaseDuration));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.queue.lease.heartbeat-ms:10000}")
+	public void heartbeat() {
+		if (heldRuns.isEmpty()) {
+			return;
+		}
+		OffsetDateTime now = OffsetDateTime.now();
+		List<UUID> runIds = List.copyOf(heldRuns.keySet());
+		try {
+			int renewed = projectRunRepository.renewLeases(runIds, workerId, ProjectRunStatus.INPROGRESS,
+					now.plus(leaseDuration));
+			log.debug("Renewed {} of {} run leases held by {}", renewed, runIds.size(), workerId);
+			if (renewed < runIds.size()) {
+				stopLostRuns(runIds, now);
+			}
+		} catch (Exception ex) {
+			log.warn("Failed to renew run leases held by {}: {}", workerId, ex.getMessage());
+		}
+	}
+
+	/**
+	 * Stops the runs whose lease no longer names this node. Runs held for less than a heartbeat are skipped: their
+	 * claiming transaction may not have committed the lease yet.
+	 */
+	private void stopLostRuns(List<UUID> runIds, OffsetDateTime now) {
+		Set<UUID> stillHeld = new HashSet<>(projectRunRepository.findIdsHeldBy(runIds, workerId,
+				ProjectRunStatus.INPROGRESS));
+		OffsetDateTime settledBefore = now.minus(heartbeatInterval);
+		for (UUID runId : runIds) {
+			OffsetDateTime heldSince = heldRuns.get(runId);
+			if (stillHeld.contains(runId) || heldSince == null || heldSince.isAfter(settledBefore)) {
+				continue;
+			}
+			release(runId);
+			lost.increment();
+			log.warn("Run {} is no longer leased to {}; stopping its local execution", runId, workerId);
+			if (cancellationRegistry.cancel(runId, "Run lease lost by " + workerId + ".")) {
+				cancellationRegistry.close(runId);
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.queue.lease.reclaim-ms:5000}")
+	@Transactional
+	public void reclaimExpired() {
+		List<ProjectRunEntity> expired = projectRunRepository.findExpiredLeases(ProjectRunStatus.INPROGRESS.name(),
+				OffsetDateTime.now(), RECLAIM_BATCH_SIZE);
+		if (expired.isEmpty()) {
+			return;
+		}
+		for (ProjectRunEntity run : expired) {
+			if (run.getAttemptCount() >= maxAttempts) {
+				run.setStatus(ProjectRunStatus.ERROR);
+				run.setErrorMessage("Abandoned after " + run.getAttemptCount() + " attempts; last held by "
+						+ run.getLeaseOwner());
+				abandoned.increment();
+				log.warn("Run {} failed after {} expired attempts", run.getId(), run.getAttemptCount());
+			} else {
+				run.setStatus(ProjectRunStatus.QUEUED);
+				requeued.increment();
+				log.warn("Requeued run {} after its lease held by {} expired (attempt {})", run.getId(),
+						run.getLeaseOwner(), run.getAttemptCount());
+			}
+		}
+		projectRunRepository.releaseLeases(expired.stream().map(ProjectRunEntity::getId).toList());
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("project.run.lease.requeued", requeued, LongAdder::sum).register(registry);
+		FunctionCounter.builder("project.run.lease.abandoned", abandoned, LongAdder::sum).register(registry);
+		FunctionCounter.builder("project.run.lease.lost", lost, LongAdder::sum).register(registry);
+		Gauge.builder("project.run.lease.held", heldRuns, Map::size).register(registry);
+	}
+
+	private static String resolveWorkerId() {
+		String host;
+		try {
+			host = InetAddress.getLocalHost().getHostName();
+		} catch (Exception ex) {
+			host = "unknown";
+		}
+		String process = ManagementFactory.getRuntimeMXBean().getName();
+		String pid = process.contains("@") ? process.substring(0, process.indexOf('@')) : process;
+		return host + ":" + pid + ":" + UUID.randomUUID().toString().substring(0, 8);
+	}
+}
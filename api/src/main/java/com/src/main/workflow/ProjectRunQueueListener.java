@@ -0,0 +1,44 @@
+package com.src.main.workflow;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code LISTEN}s on {@value #CHANNEL}, which the {@code project_runs} trigger notifies whenever a run becomes
+ * {@code QUEUED}, and wakes the {@link ProjectQueueWorker} for each batch of notifications and whenever the
+ * connection is (re)opened, for runs queued while nobody was listening. The worker's fallback poll covers the time
+ * the connection is down.
+ */
+@Component
+public class ProjectRunQueueListener implements DisposableBean {
+
+	static final String CHANNEL = "project_run_queued";
+
+	private final PostgresNotificationListener listener;
+	private final boolean enabled;
+
+	public ProjectRunQueueListener(
+			DataSourceProperties dataSourceProperties,
+			ProjectQueueWorker queueWorker,
+			@Value("${app.queue.listen.enabled:true}") boolean enabled) {
+		this.listener = new PostgresNotificationListener(dataSourceProperties, CHANNEL, queueWorker::wake,
+				queueWorker::wake);
+		this.enabled = enabled;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (enabled) {
+			listener.start();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		listener.stop();
+	}
+}
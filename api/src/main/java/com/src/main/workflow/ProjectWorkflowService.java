@@ -2,6 +2,8 @@ package com.src.main.workflow;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,12 +38,24 @@ public class ProjectWorkflowService {
 		this.projectGenerationStrategySelector = projectGenerationStrategySelector;
 	}
 	
-	public void runFullWorkflow(ProjectRunEntity run){
+	/**
+	 * Starts the run. The returned future completes once the run has finished; a failed run is recorded as such before
+	 * it does.
+	 */
+	public CompletableFuture<Void> runFullWorkflow(ProjectRunEntity run){
+		CompletableFuture<Void> workflow;
 		try {
 			log.info("Starting full workflow for run {}", run.getId());
-			runStateMachine(run);
-			log.info("Completed full workflow for run {}", run.getId());
-        } catch (Exception ex) {
+			workflow = runStateMachine(run);
+		} catch (Exception ex) {
+			workflow = CompletableFuture.failedFuture(ex);
+		}
+		return workflow.handle((ignored, error) -> {
+			if (error == null) {
+				log.info("Completed full workflow for run {}", run.getId());
+				return null;
+			}
+			Throwable ex = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
             log.error("Workflow failed for project {} with runID {}", run.getProject().getId(),run.getId(), ex);
 			run.setStatus(ProjectRunStatus.ERROR);
 			run.setErrorMessage(ex.getMessage());
@@ -50,18 +64,19 @@ public class ProjectWorkflowService {
 					Map.of("projectId", run.getProject().getId().toString(), "runId", run.getId().toString(), "status", "ERROR",
 							"hasZip", false,
 							"message", ex.getMessage() == null ? "Generation failed." : ex.getMessage()));
-        }
+			return null;
+		});
 	}
 
-	private void runStateMachine(ProjectRunEntity run) throws Exception {
+	private CompletableFuture<Void> runStateMachine(ProjectRunEntity run) throws Exception {
 		Map<String, Object> yaml = (Map<String, Object>) new Yaml().load(run.getProject().getYaml());
-		run(run,run.getProject(), yaml);
+		return run(run,run.getProject(), yaml);
 	}
 	
 	@SuppressWarnings("unchecked")
-	public void run(ProjectRunEntity run, ProjectEntity project, Map<String, Object> yaml) throws IOException {
+	public CompletableFuture<Void> run(ProjectRunEntity run, ProjectEntity project, Map<String, Object> yaml) throws IOException {
 		GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
-		projectGenerationStrategySelector.select(language).run(run, project, yaml);
+		return projectGenerationStrategySelector.select(language).run(run, project, yaml);
 	}
 	
 
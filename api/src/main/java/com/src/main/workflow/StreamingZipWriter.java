@@ -0,0 +1,165 @@
+package com.src.main.workflow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal ZIP writer that accepts entries whose payload was already compressed, so deflate can run on worker threads
+ * while entries are still written to the output in order. Every entry carries the same fixed timestamp and no extra
+ * fields, which keeps archives of identical inputs byte-for-byte identical. Archives are limited to the classic
+ * (non-ZIP64) format.
+ */
+final class StreamingZipWriter {
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+	private static final int VERSION = 20;
+	private static final int UTF8_NAME_FLAG = 0x0800;
+	private static final int METHOD_STORED = 0;
+	private static final int METHOD_DEFLATED = 8;
+	// 1980-01-01 00:00:00, the earliest DOS timestamp.
+	private static final int DOS_TIME = 0;
+	private static final int DOS_DATE = (1 << 5) | 1;
+	private static final long MAX_CLASSIC_SIZE = 0xFFFFFFFFL;
+	private static final int MAX_CLASSIC_ENTRIES = 0xFFFF;
+
+	private final OutputStream out;
+	private final List<CentralRecord> centralRecords = new ArrayList<>();
+	private long offset;
+	private boolean finished;
+
+	StreamingZipWriter(OutputStream out) {
+		this.out = out;
+	}
+
+	/**
+	 * Computes the CRC and, unless {@code store} is set, the deflated payload. Falls back to storing when deflate
+	 * does not make the entry smaller. Safe to call from any thread.
+	 */
+	static PreparedEntry prepare(String name, byte[] content, boolean store) {
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		if (!store && content.length > 0) {
+			byte[] deflated = deflate(content);
+			if (deflated.length < content.length) {
+				return new PreparedEntry(name, METHOD_DEFLATED, crc.getValue(), content.length, deflated);
+			}
+		}
+		return new PreparedEntry(name, METHOD_STORED, crc.getValue(), content.length, content);
+	}
+
+	void write(PreparedEntry entry) throws IOException {
+		if (finished) {
+			throw new IllegalStateException("Archive already finished");
+		}
+		if (offset > MAX_CLASSIC_SIZE || entry.size() > MAX_CLASSIC_SIZE || centralRecords.size() >= MAX_CLASSIC_ENTRIES) {
+			throw new IOException("Archive exceeds classic ZIP limits at entry " + entry.name());
+		}
+		byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+		centralRecords.add(new CentralRecord(name, entry.method(), entry.crc(), entry.payload().length, entry.size(), offset));
+		writeInt(LOCAL_HEADER_SIGNATURE);
+		writeShort(VERSION);
+		writeShort(UTF8_NAME_FLAG);
+		writeShort(entry.method());
+		writeShort(DOS_TIME);
+		writeShort(DOS_DATE);
+		writeInt((int) entry.crc());
+		writeInt(entry.payload().length);
+		writeInt((int) entry.size());
+		writeShort(name.length);
+		writeShort(0);
+		writeBytes(name);
+		writeBytes(entry.payload());
+	}
+
+	/**
+	 * Writes the central directory. The underlying stream is flushed but left open for the caller to close.
+	 */
+	void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		finished = true;
+		long centralDirectoryOffset = offset;
+		for (CentralRecord record : centralRecords) {
+			writeInt(CENTRAL_HEADER_SIGNATURE);
+			writeShort(VERSION);
+			writeShort(VERSION);
+			writeShort(UTF8_NAME_FLAG);
+			writeShort(record.method());
+			writeShort(DOS_TIME);
+			writeShort(DOS_DATE);
+			writeInt((int) record.crc());
+			writeInt((int) record.compressedSize());
+			writeInt((int) record.size());
+			writeShort(record.name().length);
+			writeShort(0);
+			writeShort(0);
+			writeShort(0);
+			writeShort(0);
+			writeInt(0);
+			writeInt((int) record.localHeaderOffset());
+			writeBytes(record.name());
+		}
+		long centralDirectorySize = offset - centralDirectoryOffset;
+		if (centralDirectoryOffset > MAX_CLASSIC_SIZE) {
+			throw new IOException("Archive exceeds classic ZIP limits");
+		}
+		writeInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+		writeShort(0);
+		writeShort(0);
+		writeShort(centralRecords.size());
+		writeShort(centralRecords.size());
+		writeInt((int) centralDirectorySize);
+		writeInt((int) centralDirectoryOffset);
+		writeShort(0);
+		out.flush();
+	}
+
+	private static byte[] deflate(byte[] content) {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try {
+			deflater.setInput(content);
+			deflater.finish();
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, content.length / 2));
+			byte[] chunk = new byte[8192];
+			while (!deflater.finished()) {
+				int count = deflater.deflate(chunk);
+				buffer.write(chunk, 0, count);
+			}
+			return buffer.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private void writeShort(int value) throws IOException {
+		out.write(value & 0xFF);
+		out.write((value >>> 8) & 0xFF);
+		offset += 2;
+	}
+
+	private void writeInt(int value) throws IOException {
+		writeShort(value & 0xFFFF);
+		writeShort((value >>> 16) & 0xFFFF);
+	}
+
+	private void writeBytes(byte[] bytes) throws IOException {
+		out.write(bytes);
+		offset += bytes.length;
+	}
+
+	record PreparedEntry(String name, int method, long crc, long size, byte[] payload) {
+	}
+
+	private record CentralRecord(byte[] name, int method, long crc, long compressedSize, long size,
+			long localHeaderOffset) {
+	}
+}
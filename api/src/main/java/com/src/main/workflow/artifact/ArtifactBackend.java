@@ -0,0 +1,27 @@
+package com.src.main.workflow.artifact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import com.src.main.model.GeneratedArtifactEntity;
+import com.src.main.util.ArtifactStorageKind;
+
+/**
+ * Physical storage for content-addressed artifacts. Backends only move bytes; {@link ArtifactStore} owns hashing,
+ * deduplication and the {@code generated_artifacts} rows.
+ */
+public interface ArtifactBackend {
+
+	ArtifactStorageKind kind();
+
+	/**
+	 * Copies {@code content} into the backend. May record backend-specific references on {@code artifact} before it
+	 * is saved.
+	 */
+	void store(GeneratedArtifactEntity artifact, Path content) throws IOException;
+
+	InputStream open(GeneratedArtifactEntity artifact) throws IOException;
+
+	void delete(GeneratedArtifactEntity artifact) throws IOException;
+}
@@ -0,0 +1,51 @@
+package com.src.main.workflow.artifact;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.core.io.AbstractResource;
+
+import com.src.main.model.GeneratedArtifactEntity;
+
+/**
+ * Re-readable {@link org.springframework.core.io.Resource} over a stored artifact. Every
+ * {@link #getInputStream()} opens a fresh stream from the backend and the length comes from the artifact row, so
+ * Spring MVC can serve byte ranges without buffering the archive.
+ */
+final class ArtifactResource extends AbstractResource {
+
+	private final ArtifactBackend backend;
+	private final GeneratedArtifactEntity artifact;
+	private final String fileName;
+
+	ArtifactResource(ArtifactBackend backend, GeneratedArtifactEntity artifact, String fileName) {
+		this.backend = backend;
+		this.artifact = artifact;
+		this.fileName = fileName;
+	}
+
+	@Override
+	public InputStream getInputStream() throws IOException {
+		return backend.open(artifact);
+	}
+
+	@Override
+	public boolean exists() {
+		return true;
+	}
+
+	@Override
+	public long contentLength() {
+		return artifact.getSizeBytes();
+	}
+
+	@Override
+	public String getFilename() {
+		return fileName;
+	}
+
+	@Override
+	public String getDescription() {
+		return "Generated artifact [" + artifact.getSha256() + "]";
+	}
+}
@@ -0,0 +1,163 @@
+package com.src.main.workflow.artifact;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.src.main.exception.GenericException;
+import com.src.main.model.GeneratedArtifactEntity;
+import com.src.main.repository.GeneratedArtifactRepository;
+import com.src.main.util.ArtifactStorageKind;
+
+/**
+ * Content-addressed store for generated archives. Artifacts are keyed by the SHA-256 of their bytes, so runs that
+ * produce identical output share one stored copy. New artifacts go to the backend selected by
+ * {@code app.artifact.store}; existing ones are always read from the backend that wrote them.
+ */
+@Service
+public class ArtifactStore {
+
+	private static final Logger log = LoggerFactory.getLogger(ArtifactStore.class);
+	private static final int GC_BATCH_SIZE = 100;
+	private static final int STAGING_BUFFER_SIZE = 64 * 1024;
+
+	private final GeneratedArtifactRepository generatedArtifactRepository;
+	private final Map<ArtifactStorageKind, ArtifactBackend> backendsByKind = new EnumMap<>(ArtifactStorageKind.class);
+	private final ArtifactStorageKind writeKind;
+	private final long gcGraceMinutes;
+
+	public ArtifactStore(GeneratedArtifactRepository generatedArtifactRepository, List<ArtifactBackend> backends,
+			@Value("${app.artifact.store:FILESYSTEM}") String configuredWriteKind,
+			@Value("${app.artifact.gc.grace-minutes:60}") long gcGraceMinutes) {
+		this.generatedArtifactRepository = generatedArtifactRepository;
+		backends.forEach(backend -> backendsByKind.put(backend.kind(), backend));
+		this.writeKind = ArtifactStorageKind.valueOf(configuredWriteKind.trim().toUpperCase(Locale.ROOT));
+		this.gcGraceMinutes = Math.max(0, gcGraceMinutes);
+		backend(writeKind);
+	}
+
+	@FunctionalInterface
+	public interface ArtifactWriter {
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	/**
+	 * Stages the writer output in a temporary file while hashing it, then stores it unless an artifact with the same
+	 * hash already exists.
+	 */
+	public StoredArtifact store(ArtifactWriter writer) {
+		Path staged = null;
+		try {
+			staged = Files.createTempFile("artifact_", ".zip");
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			try (OutputStream out = new DigestOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(staged), STAGING_BUFFER_SIZE), digest)) {
+				writer.writeTo(out);
+			}
+			String sha256 = HexFormat.of().formatHex(digest.digest());
+			long sizeBytes = Files.size(staged);
+			if (generatedArtifactRepository.markUsed(sha256, OffsetDateTime.now()) > 0) {
+				return new StoredArtifact(sha256, sizeBytes);
+			}
+			GeneratedArtifactEntity artifact = new GeneratedArtifactEntity();
+			artifact.setSha256(sha256);
+			artifact.setSizeBytes(sizeBytes);
+			artifact.setStorageKind(writeKind);
+			ArtifactBackend backend = backend(writeKind);
+			backend.store(artifact, staged);
+			try {
+				generatedArtifactRepository.saveAndFlush(artifact);
+			} catch (DataIntegrityViolationException ex) {
+				// A concurrent run stored the same content; keep theirs and drop any copy that is not shared by path.
+				if (artifact.getContentOid() != null) {
+					backend.delete(artifact);
+				}
+				generatedArtifactRepository.markUsed(sha256, OffsetDateTime.now());
+			}
+			return new StoredArtifact(sha256, sizeBytes);
+		} catch (IOException | NoSuchAlgorithmException ex) {
+			throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store generated artifact.");
+		} finally {
+			deleteQuietly(staged);
+		}
+	}
+
+	public Optional<GeneratedArtifactEntity> find(String sha256) {
+		return sha256 == null ? Optional.empty() : generatedArtifactRepository.findById(sha256);
+	}
+
+	/**
+	 * Exposes a stored artifact as a resource whose content is streamed from the backend on each read.
+	 */
+	public Resource asResource(GeneratedArtifactEntity artifact, String fileName) {
+		return new ArtifactResource(backend(artifact.getStorageKind()), artifact, fileName);
+	}
+
+	/**
+	 * Deletes artifacts no run references any more. The grace period keeps artifacts that were just stored or reused
+	 * by a run that has not been saved yet. Each row is deleted only if it is still unreferenced and unused at that
+	 * moment, and the stored content is removed only when the row was, so a concurrent reuse keeps its artifact.
+	 */
+	@Scheduled(fixedDelayString = "${app.artifact.gc.fixed-delay-ms:3600000}")
+	public void collectGarbage() {
+		OffsetDateTime cutoff = OffsetDateTime.now().minusMinutes(gcGraceMinutes);
+		List<GeneratedArtifactEntity> batch;
+		int deleted = 0;
+		do {
+			batch = generatedArtifactRepository.findUnreferencedUnusedSince(cutoff, GC_BATCH_SIZE);
+			for (GeneratedArtifactEntity artifact : batch) {
+				try {
+					if (generatedArtifactRepository.deleteIfUnreferencedUnusedSince(artifact.getSha256(), cutoff) > 0) {
+						backend(artifact.getStorageKind()).delete(artifact);
+						deleted++;
+					}
+				} catch (Exception ex) {
+					log.warn("Failed to delete unreferenced artifact {}: {}", artifact.getSha256(), ex.getMessage());
+					return;
+				}
+			}
+		} while (batch.size() == GC_BATCH_SIZE);
+		if (deleted > 0) {
+			log.info("Deleted {} unreferenced generated artifacts", deleted);
+		}
+	}
+
+	private ArtifactBackend backend(ArtifactStorageKind kind) {
+		ArtifactBackend backend = backendsByKind.get(kind);
+		if (backend == null) {
+			throw new IllegalStateException("No artifact backend registered for " + kind);
+		}
+		return backend;
+	}
+
+	private void deleteQuietly(Path file) {
+		if (file == null) {
+			return;
+		}
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException ignored) {
+		}
+	}
+}
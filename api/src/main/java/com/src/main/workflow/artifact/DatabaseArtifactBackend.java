@@ -0,0 +1,142 @@
+package com.src.main.workflow.artifact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.src.main.model.GeneratedArtifactEntity;
+import com.src.main.util.ArtifactStorageKind;
+
+/**
+ * Stores artifacts as PostgreSQL large objects, written and read in fixed-size chunks through the server-side
+ * {@code lo_put}/{@code lo_get} functions so neither direction holds a whole archive in memory.
+ */
+@Component
+public class DatabaseArtifactBackend implements ArtifactBackend {
+
+	private static final int CHUNK_SIZE = 1024 * 1024;
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public DatabaseArtifactBackend(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@Override
+	public ArtifactStorageKind kind() {
+		return ArtifactStorageKind.DATABASE;
+	}
+
+	@Override
+	public void store(GeneratedArtifactEntity artifact, Path content) throws IOException {
+		Long oid = jdbcTemplate.queryForObject("select lo_create(0)", Long.class);
+		try (InputStream inputStream = Files.newInputStream(content)) {
+			byte[] chunk = new byte[CHUNK_SIZE];
+			long offset = 0;
+			int read;
+			while ((read = inputStream.readNBytes(chunk, 0, CHUNK_SIZE)) > 0) {
+				byte[] payload = read == CHUNK_SIZE ? chunk : Arrays.copyOf(chunk, read);
+				jdbcTemplate.queryForList("select lo_put(cast(? as oid), ?, ?)", oid, offset, payload);
+				offset += read;
+			}
+		} catch (IOException | DataAccessException ex) {
+			unlink(oid);
+			throw ex;
+		}
+		artifact.setContentOid(oid);
+	}
+
+	@Override
+	public InputStream open(GeneratedArtifactEntity artifact) {
+		return new LargeObjectInputStream(artifact.getContentOid(), artifact.getSizeBytes());
+	}
+
+	@Override
+	public void delete(GeneratedArtifactEntity artifact) {
+		if (artifact.getContentOid() != null) {
+			unlink(artifact.getContentOid());
+		}
+	}
+
+	private void unlink(Long oid) {
+		jdbcTemplate.queryForList("select lo_unlink(cast(? as oid))", oid);
+	}
+
+	private final class LargeObjectInputStream extends InputStream {
+
+		private final Long oid;
+		private final long size;
+		private long position;
+		private byte[] buffer = new byte[0];
+		private int bufferOffset;
+
+		private LargeObjectInputStream(Long oid, long size) {
+			this.oid = oid;
+			this.size = size;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (!fill()) {
+				return -1;
+			}
+			return buffer[bufferOffset++] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] target, int offset, int length) throws IOException {
+			if (length == 0) {
+				return 0;
+			}
+			if (!fill()) {
+				return -1;
+			}
+			int count = Math.min(length, buffer.length - bufferOffset);
+			System.arraycopy(buffer, bufferOffset, target, offset, count);
+			bufferOffset += count;
+			return count;
+		}
+
+		@Override
+		public long skip(long n) {
+			long buffered = buffer.length - bufferOffset;
+			if (n <= buffered) {
+				bufferOffset += (int) Math.max(0, n);
+				return Math.max(0, n);
+			}
+			long skipped = Math.min(n, buffered + size - position);
+			position += skipped - buffered;
+			buffer = new byte[0];
+			bufferOffset = 0;
+			return skipped;
+		}
+
+		private boolean fill() throws IOException {
+			if (bufferOffset < buffer.length) {
+				return true;
+			}
+			if (position >= size) {
+				return false;
+			}
+			int length = (int) Math.min(CHUNK_SIZE, size - position);
+			try {
+				buffer = jdbcTemplate.queryForObject("select lo_get(cast(? as oid), ?, ?)", byte[].class, oid, position,
+						length);
+			} catch (DataAccessException ex) {
+				throw new IOException("Failed to read artifact large object " + oid, ex);
+			}
+			if (buffer == null || buffer.length == 0) {
+				throw new IOException("Artifact large object " + oid + " ended before " + size + " bytes");
+			}
+			position += buffer.length;
+			bufferOffset = 0;
+			return true;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.src.main.workflow.artifact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.src.main.model.GeneratedArtifactEntity;
+import com.src.main.util.ArtifactStorageKind;
+
+/**
+ * Stores artifacts as {@code <root>/<first two hash chars>/<hash>.zip}. Identical content always maps to the same
+ * file, so concurrent stores of the same hash are harmless.
+ */
+@Component
+public class FileSystemArtifactBackend implements ArtifactBackend {
+
+	private final Path storageRoot;
+
+	public FileSystemArtifactBackend(@Value("${app.artifact.storage-root:}") String configuredStorageRoot) {
+		String root = configuredStorageRoot == null || configuredStorageRoot.isBlank()
+				? Path.of(System.getProperty("java.io.tmpdir"), "bootrid-artifact-storage").toString()
+				: configuredStorageRoot.trim();
+		this.storageRoot = Path.of(root).toAbsolutePath().normalize();
+	}
+
+	@Override
+	public ArtifactStorageKind kind() {
+		return ArtifactStorageKind.FILESYSTEM;
+	}
+
+	@Override
+	public void store(GeneratedArtifactEntity artifact, Path content) throws IOException {
+		Path target = resolve(artifact);
+		if (Files.exists(target)) {
+			return;
+		}
+		Files.createDirectories(target.getParent());
+		Path staged = Files.createTempFile(target.getParent(), artifact.getSha256(), ".part");
+		try {
+			Files.copy(content, staged, StandardCopyOption.REPLACE_EXISTING);
+			try {
+				Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException ex) {
+				Files.move(staged, target);
+			}
+		} catch (FileAlreadyExistsException ignored) {
+			// Another run stored the same content first.
+		} finally {
+			Files.deleteIfExists(staged);
+		}
+	}
+
+	@Override
+	public InputStream open(GeneratedArtifactEntity artifact) throws IOException {
+		return Files.newInputStream(resolve(artifact));
+	}
+
+	@Override
+	public void delete(GeneratedArtifactEntity artifact) throws IOException {
+		Files.deleteIfExists(resolve(artifact));
+	}
+
+	private Path resolve(GeneratedArtifactEntity artifact) {
+		String sha256 = artifact.getSha256();
+		return storageRoot.resolve(sha256.substring(0, 2)).resolve(sha256 + ".zip");
+	}
+}
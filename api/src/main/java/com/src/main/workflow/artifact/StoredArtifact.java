@@ -0,0 +1,4 @@
+package com.src.main.workflow.artifact;
+
+public record StoredArtifact(String sha256, long sizeBytes) {
+}
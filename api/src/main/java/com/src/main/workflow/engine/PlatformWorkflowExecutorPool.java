@@ -0,0 +1,90 @@
+package com.src.main.workflow.engine;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.src.main.model.workflow.WorkflowExecutorPoolKind;
+
+/**
+ * Bounded pool of platform threads backed by a {@link ThreadPoolTaskExecutor}.
+ */
+class PlatformWorkflowExecutorPool implements WorkflowExecutorPool {
+
+	private final ThreadPoolTaskExecutor executor;
+	private final LongAdder rejected = new LongAdder();
+
+	PlatformWorkflowExecutorPool(ThreadPoolTaskExecutor executor) {
+		this.executor = executor;
+	}
+
+	@Override
+	public WorkflowExecutorPoolKind kind() {
+		return WorkflowExecutorPoolKind.PLATFORM;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw ex;
+		}
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		try {
+			return executor.submit(task);
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw ex;
+		}
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		try {
+			return executor.submit(task);
+		} catch (RejectedExecutionException ex) {
+			rejected.increment();
+			throw ex;
+		}
+	}
+
+	@Override
+	public int activeCount() {
+		return executor.getActiveCount();
+	}
+
+	@Override
+	public int queueDepth() {
+		ThreadPoolExecutor threadPoolExecutor = executor.getThreadPoolExecutor();
+		return threadPoolExecutor == null ? 0 : threadPoolExecutor.getQueue().size();
+	}
+
+	@Override
+	public int availableCapacity() {
+		ThreadPoolExecutor threadPoolExecutor = executor.getThreadPoolExecutor();
+		if (threadPoolExecutor == null) {
+			return 0;
+		}
+		return Math.max(0, threadPoolExecutor.getMaximumPoolSize() - threadPoolExecutor.getActiveCount())
+				+ threadPoolExecutor.getQueue().remainingCapacity();
+	}
+
+	@Override
+	public long rejectedCount() {
+		return rejected.sum();
+	}
+
+	@Override
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
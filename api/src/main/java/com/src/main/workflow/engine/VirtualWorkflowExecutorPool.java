@@ -0,0 +1,131 @@
+package com.src.main.workflow.engine;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.src.main.model.workflow.WorkflowExecutorPoolKind;
+
+/**
+ * Thread-per-task pool whose concurrency is limited by a semaphore instead of a fixed number of worker threads.
+ * Tasks waiting for a permit park cheaply, so blocking dispatch and I/O steps do not exhaust platform threads. Runs
+ * on virtual threads when the runtime provides them and falls back to cached platform threads on Java 17.
+ */
+class VirtualWorkflowExecutorPool implements WorkflowExecutorPool {
+
+	private static final Logger log = LoggerFactory.getLogger(VirtualWorkflowExecutorPool.class);
+
+	private final String poolCode;
+	private final ExecutorService threads;
+	private final Semaphore permits;
+	private final int admissionLimit;
+	private final AtomicInteger admitted = new AtomicInteger();
+	private final AtomicInteger active = new AtomicInteger();
+	private final LongAdder rejected = new LongAdder();
+
+	VirtualWorkflowExecutorPool(String poolCode, String threadNamePrefix, int maxConcurrency, int queueCapacity) {
+		this.poolCode = poolCode;
+		this.threads = newThreadPerTaskExecutor(threadNamePrefix);
+		this.permits = new Semaphore(maxConcurrency);
+		this.admissionLimit = maxConcurrency + queueCapacity;
+	}
+
+	@Override
+	public WorkflowExecutorPoolKind kind() {
+		return WorkflowExecutorPoolKind.VIRTUAL;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		if (admitted.incrementAndGet() > admissionLimit) {
+			admitted.decrementAndGet();
+			rejected.increment();
+			throw new RejectedExecutionException("Workflow executor pool " + poolCode + " is at capacity (" + admissionLimit + ")");
+		}
+		try {
+			threads.execute(() -> runWithPermit(task));
+		} catch (RejectedExecutionException ex) {
+			admitted.decrementAndGet();
+			rejected.increment();
+			throw ex;
+		}
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public int activeCount() {
+		return active.get();
+	}
+
+	@Override
+	public int queueDepth() {
+		return Math.max(0, admitted.get() - active.get());
+	}
+
+	@Override
+	public int availableCapacity() {
+		return Math.max(0, admissionLimit - admitted.get());
+	}
+
+	@Override
+	public long rejectedCount() {
+		return rejected.sum();
+	}
+
+	@Override
+	public void shutdown() {
+		threads.shutdown();
+	}
+
+	private void runWithPermit(Runnable task) {
+		try {
+			permits.acquire();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			admitted.decrementAndGet();
+			return;
+		}
+		active.incrementAndGet();
+		try {
+			task.run();
+		} finally {
+			active.decrementAndGet();
+			permits.release();
+			admitted.decrementAndGet();
+		}
+	}
+
+	private static ExecutorService newThreadPerTaskExecutor(String threadNamePrefix) {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException ex) {
+			log.info("Virtual threads are not available on this runtime; pool {} uses cached platform threads", threadNamePrefix);
+			return Executors.newCachedThreadPool(new CustomizableThreadFactory(threadNamePrefix));
+		}
+	}
+}
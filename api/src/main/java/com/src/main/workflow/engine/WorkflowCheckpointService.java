@@ -0,0 +1,403 @@
+package com.src.main.workflow.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.statemachine.support.DefaultExtendedState;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.src.main.exception.GenericException;
+import com.src.main.model.GeneratedArtifactEntity;
+import com.src.main.model.ProjectRunCheckpointEntity;
+import com.src.main.model.ProjectRunEntity;
+import com.src.main.model.workflow.WorkflowStepEntity;
+import com.src.main.repository.ProjectRunCheckpointRepository;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GeneratedFileStats;
+import com.src.main.sm.executor.common.InMemoryGeneratedFileSink;
+import com.src.main.util.ProjectMetaDataConstants;
+import com.src.main.util.ProjectRunStatus;
+import com.src.main.workflow.ProjectArchiveService;
+import com.src.main.workflow.artifact.ArtifactStore;
+import com.src.main.workflow.generation.GenerationSpecFingerprinter;
+
+/**
+ * Persists how far a generation run got, so that a run reclaimed after its node died, or a new run retrying a failed
+ * one, continues at the first step that has not completed instead of at the first step of the workflow.
+ *
+ * <p>After every completed step or step group the run's checkpoint records the next step, the variables the
+ * completed steps added to the state, the spec as they left it, and the files generated so far. Files are stored in
+ * the {@link ArtifactStore} as segments: each checkpoint archives only the files changed since the previous one, so a
+ * run pays for archiving each file about once rather than once per step. A checkpoint is only resumed by a run of the
+ * same project with the same spec fingerprint and the same workflow definition version; anything else starts over.
+ * Variables that do not survive a JSON round trip cannot be restored faithfully, so checkpointing stops for the rest
+ * of a run that produces one.
+ */
+@Service
+public class WorkflowCheckpointService {
+
+	private static final Logger log = LoggerFactory.getLogger(WorkflowCheckpointService.class);
+
+	private static final TypeReference<List<ArtifactSegment>> SEGMENTS_TYPE = new TypeReference<>() {
+	};
+
+	private static final Set<String> REBUILT_VARIABLES = Set.of(
+			ProjectMetaDataConstants.FILE_SINK, ProjectMetaDataConstants.APP_SPEC, ProjectMetaDataConstants.CANCELLATION,
+			"error");
+
+	/**
+	 * Variables the run starts with that steps change in place, e.g. by merging messages or properties into the spec.
+	 * They are checkpointed like the variables steps add, and restored into the run's own instance, which other
+	 * variables and the caller may hold on to.
+	 */
+	private static final Set<String> MUTABLE_INPUTS = Set.of(ProjectMetaDataConstants.YAML);
+
+	private final ProjectRunCheckpointRepository checkpointRepository;
+	private final GenerationSpecFingerprinter specFingerprinter;
+	private final ArtifactStore artifactStore;
+	private final ProjectArchiveService projectArchiveService;
+	private final ObjectMapper objectMapper;
+	private final boolean enabled;
+	private final long retentionHours;
+
+	public WorkflowCheckpointService(
+			ProjectRunCheckpointRepository checkpointRepository,
+			GenerationSpecFingerprinter specFingerprinter,
+			ArtifactStore artifactStore,
+			ProjectArchiveService projectArchiveService,
+			ObjectMapper objectMapper,
+			@Value("${app.workflow.checkpoint.enabled:true}") boolean enabled,
+			@Value("${app.workflow.checkpoint.retention-hours:24}") long retentionHours) {
+		this.checkpointRepository = checkpointRepository;
+		this.specFingerprinter = specFingerprinter;
+		this.artifactStore = artifactStore;
+		this.projectArchiveService = projectArchiveService;
+		this.objectMapper = objectMapper;
+		this.enabled = enabled;
+		this.retentionHours = Math.max(1, retentionHours);
+	}
+
+	/**
+	 * Starts checkpointing {@code run}. Previews, which have no run, get a session that does nothing.
+	 */
+	public Session open(WorkflowPlan plan, DefaultExtendedState state, ProjectRunEntity run) {
+		if (!enabled || run == null || run.getId() == null || run.getProject() == null) {
+			return Session.DISABLED;
+		}
+		String fingerprint = specFingerprinter.fingerprint(run.getProject());
+		if (fingerprint == null) {
+			return Session.DISABLED;
+		}
+		Set<Object> initialKeys = new HashSet<>(state.getVariables().keySet());
+		return new Session(this, plan, state, run, fingerprint, initialKeys);
+	}
+
+	/**
+	 * Drops every checkpoint of the run's project once one of its runs has succeeded.
+	 */
+	public void discard(ProjectRunEntity run) {
+		if (run == null || run.getProject() == null) {
+			return;
+		}
+		try {
+			checkpointRepository.deleteByProjectId(run.getProject().getId());
+		} catch (Exception ex) {
+			log.warn("Failed to discard checkpoints of project {}: {}", run.getProject().getId(), ex.getMessage());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.workflow.checkpoint.cleanup-ms:3600000}")
+	public void deleteExpired() {
+		int deleted = checkpointRepository.deleteUpdatedBefore(OffsetDateTime.now().minusHours(retentionHours));
+		if (deleted > 0) {
+			log.info("Deleted {} workflow checkpoints older than {} hours", deleted, retentionHours);
+		}
+	}
+
+	private Optional<ProjectRunCheckpointEntity> findResumable(Session session) {
+		Optional<ProjectRunCheckpointEntity> own = checkpointRepository.findById(session.run.getId());
+		if (own.isPresent()) {
+			if (matches(session, own.get())) {
+				return own;
+			}
+			log.info("Discarding stale checkpoint of run {}", session.run.getId());
+			checkpointRepository.delete(own.get());
+		}
+		return checkpointRepository.findLatestFailedBySpec(session.run.getProject().getId(), session.fingerprint,
+				session.plan.definition().getCode(), session.plan.definitionVersion(), session.run.getId(),
+				ProjectRunStatus.ERROR.name());
+	}
+
+	private boolean matches(Session session, ProjectRunCheckpointEntity checkpoint) {
+		return session.fingerprint.equals(checkpoint.getSpecFingerprint())
+				&& session.plan.definition().getCode().equals(checkpoint.getWorkflowCode())
+				&& session.plan.definitionVersion() == checkpoint.getWorkflowVersion();
+	}
+
+	/**
+	 * Reads everything the checkpoint holds without touching the run, so a checkpoint that cannot be read leaves the
+	 * run as it was and it starts over. Returns {@code null} when the checkpoint cannot be resumed.
+	 */
+	private Restoration read(Session session, ProjectRunCheckpointEntity checkpoint) throws IOException {
+		WorkflowStepEntity nextStep = session.plan.stepsByCode().get(checkpoint.getNextStepCode());
+		if (nextStep == null) {
+			return null;
+		}
+		Map<String, byte[]> files = new TreeMap<>();
+		if (checkpoint.getArtifactSha256() != null && !readArchive(checkpoint.getArtifactSha256(), files)) {
+			return null;
+		}
+		List<ArtifactSegment> segments = readSegments(checkpoint);
+		for (ArtifactSegment segment : segments) {
+			segment.deleted().forEach(files::remove);
+			if (segment.sha256() != null && !readArchive(segment.sha256(), files)) {
+				return null;
+			}
+		}
+		Map<String, Object> variables = objectMapper.readerForMapOf(Object.class).readValue(checkpoint.getVariablesJson());
+		return new Restoration(nextStep, files, variables, segments);
+	}
+
+	/**
+	 * Writes a checkpoint that was read into the run's state. Nothing is rolled back if this fails part way, so the
+	 * caller fails the run rather than letting it continue on a half-restored state.
+	 */
+	private void apply(Session session, ProjectRunCheckpointEntity checkpoint, Restoration restoration)
+			throws IOException {
+		GeneratedFileSink sink = GeneratedFileSink.from(session.state);
+		for (Map.Entry<String, byte[]> file : restoration.files().entrySet()) {
+			sink.write(sink.root().resolve(file.getKey()), file.getValue());
+		}
+		for (Map.Entry<String, Object> variable : restoration.variables().entrySet()) {
+			restoreVariable(session.state.getVariables(), variable.getKey(), variable.getValue());
+		}
+		session.checkpointedArtifact = checkpoint.getArtifactSha256();
+		session.checkpointedSegments = restoration.segments();
+		session.checkpointedFiles = fileStats(sink);
+		session.checkpointedRevision = sink.revision();
+	}
+
+	private boolean readArchive(String sha256, Map<String, byte[]> files) throws IOException {
+		Optional<GeneratedArtifactEntity> artifact = artifactStore.find(sha256);
+		if (artifact.isEmpty()) {
+			return false;
+		}
+		try (InputStream in = artifactStore.asResource(artifact.get(), "checkpoint.zip").getInputStream();
+				ZipInputStream zip = new ZipInputStream(in)) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				if (!entry.isDirectory()) {
+					files.put(entry.getName(), zip.readAllBytes());
+				}
+			}
+		}
+		return true;
+	}
+
+	private List<ArtifactSegment> readSegments(ProjectRunCheckpointEntity checkpoint) throws IOException {
+		if (checkpoint.getArtifactSegmentsJson() == null) {
+			return List.of();
+		}
+		return List.copyOf(objectMapper.readValue(checkpoint.getArtifactSegmentsJson(), SEGMENTS_TYPE));
+	}
+
+	/**
+	 * Stores the files changed since the previous checkpoint as one more segment. Sinks that cannot report their
+	 * changes get a full snapshot instead, whenever anything was written since the last one.
+	 */
+	private void save(Session session, WorkflowStepEntity nextStep) throws IOException {
+		Map<String, Object> variables = new TreeMap<>();
+		for (Map.Entry<Object, Object> variable : session.state.getVariables().entrySet()) {
+			if (!(variable.getKey() instanceof String key) || REBUILT_VARIABLES.contains(key)
+					|| session.initialKeys.contains(key) && !MUTABLE_INPUTS.contains(key)) {
+				continue;
+			}
+			if (!survivesJson(variable.getValue())) {
+				log.info("Run {} stops checkpointing: variable '{}' is not JSON serializable", session.run.getId(), key);
+				session.disabled = true;
+				return;
+			}
+			variables.put(key, variable.getValue());
+		}
+		GeneratedFileSink sink = GeneratedFileSink.from(session.state);
+		long revision = sink.revision();
+		GeneratedFileStats.Snapshot files = fileStats(sink);
+		String artifactSha256 = session.checkpointedArtifact;
+		List<ArtifactSegment> segments = session.checkpointedSegments;
+		if (revision < 0) {
+			if (!files.equals(session.checkpointedFiles)) {
+				artifactSha256 = artifactStore.store(out -> projectArchiveService.writeTo(sink, out)).sha256();
+				segments = List.of();
+			}
+		} else if (revision != session.checkpointedRevision) {
+			List<ArtifactSegment> extended = new ArrayList<>(segments);
+			extended.add(storeChanges(sink, session.checkpointedRevision));
+			segments = List.copyOf(extended);
+		}
+		ProjectRunCheckpointEntity checkpoint = checkpointRepository.findById(session.run.getId())
+				.orElseGet(ProjectRunCheckpointEntity::new);
+		checkpoint.setRunId(session.run.getId());
+		checkpoint.setProjectId(session.run.getProject().getId());
+		checkpoint.setSpecFingerprint(session.fingerprint);
+		checkpoint.setWorkflowCode(session.plan.definition().getCode());
+		checkpoint.setWorkflowVersion(session.plan.definitionVersion());
+		checkpoint.setNextStepCode(nextStep.getStepCode());
+		checkpoint.setVariablesJson(objectMapper.writeValueAsString(variables));
+		checkpoint.setArtifactSha256(artifactSha256);
+		checkpoint.setArtifactSegmentsJson(segments.isEmpty() ? null : objectMapper.writeValueAsString(segments));
+		checkpointRepository.save(checkpoint);
+		session.checkpointedArtifact = artifactSha256;
+		session.checkpointedSegments = segments;
+		session.checkpointedFiles = files;
+		session.checkpointedRevision = revision;
+	}
+
+	private ArtifactSegment storeChanges(GeneratedFileSink sink, long since) throws IOException {
+		InMemoryGeneratedFileSink changed = new InMemoryGeneratedFileSink(sink.root());
+		List<String> deleted = new ArrayList<>();
+		sink.forEachChangeSince(since, (entryName, content) -> {
+			if (content == null) {
+				deleted.add(entryName);
+			} else {
+				changed.write(changed.root().resolve(entryName), content.readAllBytes());
+			}
+		});
+		String sha256 = changed.fileCount() == 0
+				? null
+				: artifactStore.store(out -> projectArchiveService.writeTo(changed, out)).sha256();
+		return new ArtifactSegment(sha256, List.copyOf(deleted));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void restoreVariable(Map<Object, Object> variables, String key, Object value) {
+		if (MUTABLE_INPUTS.contains(key) && variables.get(key) instanceof Map<?, ?> current && value instanceof Map<?, ?> restored) {
+			Map<Object, Object> target = (Map<Object, Object>) current;
+			target.clear();
+			target.putAll(restored);
+			return;
+		}
+		variables.put(key, value);
+	}
+
+	private boolean survivesJson(Object value) {
+		try {
+			return Objects.equals(objectMapper.readValue(objectMapper.writeValueAsBytes(value), Object.class), value);
+		} catch (Exception ex) {
+			return false;
+		}
+	}
+
+	private static GeneratedFileStats.Snapshot fileStats(GeneratedFileSink sink) {
+		return sink.fileStats().snapshot();
+	}
+
+	/**
+	 * Checkpointing state of one workflow execution. Failures to read or write checkpoints never fail the run; they
+	 * only cost the work a checkpoint would have saved.
+	 */
+	public static final class Session {
+
+		static final Session DISABLED = new Session(null, null, null, null, null, Set.of());
+
+		private final WorkflowCheckpointService service;
+		private final WorkflowPlan plan;
+		private final DefaultExtendedState state;
+		private final ProjectRunEntity run;
+		private final String fingerprint;
+		private final Set<Object> initialKeys;
+		private boolean disabled;
+		private String checkpointedArtifact;
+		private List<ArtifactSegment> checkpointedSegments = List.of();
+		private GeneratedFileStats.Snapshot checkpointedFiles;
+		private long checkpointedRevision;
+
+		private Session(WorkflowCheckpointService service, WorkflowPlan plan, DefaultExtendedState state,
+				ProjectRunEntity run, String fingerprint, Set<Object> initialKeys) {
+			this.service = service;
+			this.plan = plan;
+			this.state = state;
+			this.run = run;
+			this.fingerprint = fingerprint;
+			this.initialKeys = initialKeys;
+			this.disabled = service == null;
+		}
+
+		/**
+		 * Restores the latest matching checkpoint into the state and returns the step to continue at, or
+		 * {@code firstStep} when there is nothing to resume.
+		 */
+		public WorkflowStepEntity resume(WorkflowStepEntity firstStep) {
+			if (disabled) {
+				return firstStep;
+			}
+			Optional<ProjectRunCheckpointEntity> checkpoint;
+			Restoration restoration;
+			try {
+				checkpoint = service.findResumable(this);
+				if (checkpoint.isEmpty()) {
+					return firstStep;
+				}
+				restoration = service.read(this, checkpoint.get());
+				if (restoration == null) {
+					return firstStep;
+				}
+			} catch (Exception ex) {
+				log.warn("Run {} starts over, checkpoint could not be read: {}", run.getId(), ex.getMessage());
+				return firstStep;
+			}
+			try {
+				service.apply(this, checkpoint.get(), restoration);
+			} catch (Exception ex) {
+				throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR,
+						"Failed to restore the checkpoint of run " + checkpoint.get().getRunId() + ": " + ex.getMessage());
+			}
+			log.info("Run {} resumes at step {} from the checkpoint of run {}", run.getId(),
+					restoration.nextStep().getStepCode(), checkpoint.get().getRunId());
+			return restoration.nextStep();
+		}
+
+		/**
+		 * Records that every step before {@code nextStep} has completed.
+		 */
+		public void completedUntil(WorkflowStepEntity nextStep) {
+			if (disabled || nextStep == null) {
+				return;
+			}
+			try {
+				service.save(this, nextStep);
+			} catch (Exception ex) {
+				log.warn("Failed to checkpoint run {} before step {}: {}", run.getId(), nextStep.getStepCode(),
+						ex.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Archive of the files one checkpoint changed, or {@code null} when it only deleted files, and the entries it
+	 * deleted.
+	 */
+	record ArtifactSegment(String sha256, List<String> deleted) {
+	}
+
+	private record Restoration(WorkflowStepEntity nextStep, Map<String, byte[]> files, Map<String, Object> variables,
+			List<ArtifactSegment> segments) {
+	}
+}
@@ -0,0 +1,158 @@
+package com.src.main.workflow.engine;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable predicate compiled from a step run condition or a transition condition. Instances are produced by
+ * {@link WorkflowConditionEvaluator#compile(String)} when a {@link WorkflowPlan} is loaded, so evaluating them
+ * never parses JSON.
+ */
+@FunctionalInterface
+public interface WorkflowCondition {
+
+	WorkflowCondition ALWAYS = variables -> true;
+
+	boolean test(Map<Object, Object> variables);
+
+	/**
+	 * Adds every state key this condition reads to {@code keys}; used to derive step dependencies.
+	 */
+	default void collectKeys(Set<String> keys) {
+	}
+
+	record All(List<WorkflowCondition> children) implements WorkflowCondition {
+
+		@Override
+		public void collectKeys(Set<String> keys) {
+			children.forEach(child -> child.collectKeys(keys));
+		}
+
+		@Override
+		public boolean test(Map<Object, Object> variables) {
+			for (WorkflowCondition child : children) {
+				if (!child.test(variables)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	record Any(List<WorkflowCondition> children) implements WorkflowCondition {
+
+		@Override
+		public void collectKeys(Set<String> keys) {
+			children.forEach(child -> child.collectKeys(keys));
+		}
+
+		@Override
+		public boolean test(Map<Object, Object> variables) {
+			for (WorkflowCondition child : children) {
+				if (child.test(variables)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	record Rule(String key, Operator operator, Literal value, List<Literal> values) implements WorkflowCondition {
+
+		@Override
+		public void collectKeys(Set<String> keys) {
+			keys.add(key);
+		}
+
+		@Override
+		public boolean test(Map<Object, Object> variables) {
+			Object actual = variables.get(key);
+			return switch (operator) {
+			case EQ -> value.compareTo(actual) == 0;
+			case NE -> value.compareTo(actual) != 0;
+			case IN -> contains(actual);
+			case NOT_IN -> !contains(actual);
+			case EXISTS -> actual != null;
+			case NOT_EXISTS -> actual == null;
+			case GT -> value.compareTo(actual) > 0;
+			case GTE -> value.compareTo(actual) >= 0;
+			case LT -> value.compareTo(actual) < 0;
+			case LTE -> value.compareTo(actual) <= 0;
+			};
+		}
+
+		private boolean contains(Object actual) {
+			for (Literal candidate : values) {
+				if (candidate.compareTo(actual) == 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	enum Operator {
+		EQ,
+		NE,
+		IN,
+		NOT_IN,
+		EXISTS,
+		NOT_EXISTS,
+		GT,
+		GTE,
+		LT,
+		LTE
+	}
+
+	/**
+	 * Literal operand with every representation the comparison may need resolved up front. {@code compareTo}
+	 * returns the ordering of the runtime value relative to this literal.
+	 */
+	record Literal(boolean missing, String text, BigDecimal decimal, Long integral, boolean bool) {
+
+		static final Literal NULL = new Literal(true, "", null, null, false);
+
+		static Literal of(String text, boolean bool) {
+			BigDecimal decimal = parseDecimal(text);
+			Long integral = null;
+			if (decimal != null && decimal.stripTrailingZeros().scale() <= 0) {
+				try {
+					integral = decimal.longValueExact();
+				} catch (ArithmeticException ignored) {
+					integral = null;
+				}
+			}
+			return new Literal(false, text, decimal, integral, bool);
+		}
+
+		int compareTo(Object actual) {
+			if (actual == null) {
+				return missing ? 0 : -1;
+			}
+			if (actual instanceof Number number) {
+				if (integral != null && (actual instanceof Integer || actual instanceof Long
+						|| actual instanceof Short || actual instanceof Byte)) {
+					return Long.compare(number.longValue(), integral);
+				}
+				if (decimal == null) {
+					throw new IllegalArgumentException("Workflow condition value '" + text + "' is not numeric");
+				}
+				return new BigDecimal(actual.toString()).compareTo(decimal);
+			}
+			if (actual instanceof Boolean flag) {
+				return Boolean.compare(flag, bool);
+			}
+			return String.valueOf(actual).compareTo(text);
+		}
+
+		private static BigDecimal parseDecimal(String text) {
+			try {
+				return new BigDecimal(text);
+			} catch (NumberFormatException ex) {
+				return null;
+			}
+		}
+	}
+}
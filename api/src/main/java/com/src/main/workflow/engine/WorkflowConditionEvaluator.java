@@ -1,10 +1,8 @@
 package com.src.main.workflow.engine;
 
-import java.math.BigDecimal;
-import java.util.Iterator;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
-import org.springframework.statemachine.ExtendedState;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -19,59 +17,67 @@ public class WorkflowConditionEvaluator {
 		this.objectMapper = objectMapper;
 	}
 
-	public boolean matches(String conditionJson, ExtendedState state) {
+	public WorkflowCondition compile(String conditionJson) {
 		if (conditionJson == null || conditionJson.isBlank()) {
-			return true;
+			return WorkflowCondition.ALWAYS;
 		}
 		try {
-			JsonNode root = objectMapper.readTree(conditionJson);
-			return evaluateNode(root, state);
+			return compileNode(objectMapper.readTree(conditionJson));
 		} catch (Exception ex) {
 			throw new IllegalArgumentException("Invalid workflow condition JSON: " + ex.getMessage(), ex);
 		}
 	}
 
-	private boolean evaluateNode(JsonNode node, ExtendedState state) {
+	private WorkflowCondition compileNode(JsonNode node) {
 		if (node == null || node.isNull() || node.isEmpty()) {
-			return true;
+			return WorkflowCondition.ALWAYS;
 		}
 		if (node.has("all")) {
-			for (JsonNode child : node.get("all")) {
-				if (!evaluateNode(child, state)) {
-					return false;
-				}
-			}
-			return true;
+			return new WorkflowCondition.All(compileChildren(node.get("all")));
 		}
 		if (node.has("any")) {
-			for (JsonNode child : node.get("any")) {
-				if (evaluateNode(child, state)) {
-					return true;
-				}
-			}
-			return false;
+			return new WorkflowCondition.Any(compileChildren(node.get("any")));
+		}
+		return compileRule(node);
+	}
+
+	private List<WorkflowCondition> compileChildren(JsonNode children) {
+		List<WorkflowCondition> compiled = new ArrayList<>();
+		for (JsonNode child : children) {
+			compiled.add(compileNode(child));
 		}
-		return evaluateRule(node, state);
+		return List.copyOf(compiled);
 	}
 
-	private boolean evaluateRule(JsonNode node, ExtendedState state) {
+	private WorkflowCondition compileRule(JsonNode node) {
 		String key = requiredText(node, "key");
 		String op = requiredText(node, "op");
-		Object actual = state.getVariables().get(key);
+		WorkflowCondition.Operator operator;
+		try {
+			operator = WorkflowCondition.Operator.valueOf(op);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Unsupported workflow condition operator: " + op);
+		}
 		JsonNode valueNode = node.get("value");
-		return switch (op) {
-		case "EQ" -> compare(actual, valueNode) == 0;
-		case "NE" -> compare(actual, valueNode) != 0;
-		case "IN" -> contains(valueNode, actual);
-		case "NOT_IN" -> !contains(valueNode, actual);
-		case "EXISTS" -> actual != null;
-		case "NOT_EXISTS" -> actual == null;
-		case "GT" -> compare(actual, valueNode) > 0;
-		case "GTE" -> compare(actual, valueNode) >= 0;
-		case "LT" -> compare(actual, valueNode) < 0;
-		case "LTE" -> compare(actual, valueNode) <= 0;
-		default -> throw new IllegalArgumentException("Unsupported workflow condition operator: " + op);
-		};
+		List<WorkflowCondition.Literal> values = List.of();
+		if (operator == WorkflowCondition.Operator.IN || operator == WorkflowCondition.Operator.NOT_IN) {
+			if (valueNode == null || !valueNode.isArray()) {
+				throw new IllegalArgumentException("IN/NOT_IN operator requires array value");
+			}
+			List<WorkflowCondition.Literal> literals = new ArrayList<>();
+			for (JsonNode candidate : valueNode) {
+				literals.add(literal(candidate));
+			}
+			values = List.copyOf(literals);
+		}
+		return new WorkflowCondition.Rule(key, operator, literal(valueNode), values);
+	}
+
+	private WorkflowCondition.Literal literal(JsonNode valueNode) {
+		if (valueNode == null || valueNode.isNull()) {
+			return WorkflowCondition.Literal.NULL;
+		}
+		return WorkflowCondition.Literal.of(valueNode.asText(), valueNode.asBoolean());
 	}
 
 	private String requiredText(JsonNode node, String field) {
@@ -81,34 +87,4 @@ public class WorkflowConditionEvaluator {
 		}
 		return value.asText();
 	}
-
-	private int compare(Object actual, JsonNode valueNode) {
-		if (actual == null) {
-			return valueNode == null || valueNode.isNull() ? 0 : -1;
-		}
-		if (actual instanceof Number) {
-			BigDecimal left = new BigDecimal(actual.toString());
-			BigDecimal right = new BigDecimal(valueNode.asText());
-			return left.compareTo(right);
-		}
-		if (actual instanceof Boolean) {
-			return Boolean.compare((Boolean) actual, valueNode.asBoolean());
-		}
-		String right = valueNode == null || valueNode.isNull() ? "" : valueNode.asText();
-		return String.valueOf(actual).compareTo(right);
-	}
-
-	private boolean contains(JsonNode valueNode, Object actual) {
-		if (valueNode == null || !valueNode.isArray()) {
-			throw new IllegalArgumentException("IN/NOT_IN operator requires array value");
-		}
-		Iterator<JsonNode> iterator = valueNode.elements();
-		while (iterator.hasNext()) {
-			JsonNode candidate = iterator.next();
-			if (compare(actual, candidate) == 0) {
-				return true;
-			}
-		}
-		return false;
-	}
 }
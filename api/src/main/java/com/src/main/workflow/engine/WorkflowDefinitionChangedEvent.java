@@ -0,0 +1,14 @@
+package com.src.main.workflow.engine;
+
+import com.src.main.sm.executor.common.GenerationLanguage;
+
+/**
+ * Published whenever a workflow definition, its steps or its transitions are changed. A {@code null} language
+ * means every cached plan is stale.
+ */
+public record WorkflowDefinitionChangedEvent(GenerationLanguage language) {
+
+	public static WorkflowDefinitionChangedEvent all() {
+		return new WorkflowDefinitionChangedEvent(null);
+	}
+}
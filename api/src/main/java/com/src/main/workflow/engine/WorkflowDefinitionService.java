@@ -2,6 +2,7 @@ package com.src.main.workflow.engine;
 
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import com.src.main.model.workflow.WorkflowDefinitionEntity;
@@ -18,14 +19,23 @@ public class WorkflowDefinitionService {
 	private final WorkflowDefinitionRepository workflowDefinitionRepository;
 	private final WorkflowStepRepository workflowStepRepository;
 	private final WorkflowTransitionRepository workflowTransitionRepository;
+	private final WorkflowConditionEvaluator workflowConditionEvaluator;
+	private final WorkflowJsonHelper workflowJsonHelper;
+	private final ApplicationEventPublisher applicationEventPublisher;
 
 	public WorkflowDefinitionService(
 			WorkflowDefinitionRepository workflowDefinitionRepository,
 			WorkflowStepRepository workflowStepRepository,
-			WorkflowTransitionRepository workflowTransitionRepository) {
+			WorkflowTransitionRepository workflowTransitionRepository,
+			WorkflowConditionEvaluator workflowConditionEvaluator,
+			WorkflowJsonHelper workflowJsonHelper,
+			ApplicationEventPublisher applicationEventPublisher) {
 		this.workflowDefinitionRepository = workflowDefinitionRepository;
 		this.workflowStepRepository = workflowStepRepository;
 		this.workflowTransitionRepository = workflowTransitionRepository;
+		this.workflowConditionEvaluator = workflowConditionEvaluator;
+		this.workflowJsonHelper = workflowJsonHelper;
+		this.applicationEventPublisher = applicationEventPublisher;
 	}
 
 	public WorkflowPlan loadActivePlan(GenerationLanguage language) {
@@ -34,7 +44,8 @@ public class WorkflowDefinitionService {
 		List<WorkflowStepEntity> steps = workflowStepRepository.findByWorkflowIdAndEnabledTrueOrderByStepOrderAsc(definition.getId());
 		List<WorkflowTransitionEntity> transitions = workflowTransitionRepository.findByWorkflowStepIdInOrderByPriorityAsc(
 				steps.stream().map(WorkflowStepEntity::getId).toList());
-		return WorkflowPlan.of(definition, steps, transitions);
+		return WorkflowPlan.of(definition, steps, transitions, workflowConditionEvaluator::compile,
+				workflowJsonHelper::readStringList);
 	}
 
 	public List<WorkflowPlan> loadAllActivePlans() {
@@ -43,8 +54,19 @@ public class WorkflowDefinitionService {
 					List<WorkflowStepEntity> steps = workflowStepRepository.findByWorkflowIdAndEnabledTrueOrderByStepOrderAsc(definition.getId());
 					List<WorkflowTransitionEntity> transitions = workflowTransitionRepository.findByWorkflowStepIdInOrderByPriorityAsc(
 							steps.stream().map(WorkflowStepEntity::getId).toList());
-					return WorkflowPlan.of(definition, steps, transitions);
+					return WorkflowPlan.of(definition, steps, transitions, workflowConditionEvaluator::compile,
+							workflowJsonHelper::readStringList);
 				})
 				.toList();
 	}
+
+	/**
+	 * Must be called by every write path that touches workflow definitions, steps or transitions so cached plans
+	 * are reloaded once the change is committed.
+	 */
+	public void publishDefinitionChanged(GenerationLanguage language) {
+		applicationEventPublisher.publishEvent(language == null
+				? WorkflowDefinitionChangedEvent.all()
+				: new WorkflowDefinitionChangedEvent(language));
+	}
 }
@@ -1,11 +1,22 @@
 package com.src.main.workflow.engine;
 
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -23,117 +34,320 @@ import com.src.main.model.workflow.WorkflowTransitionEntity;
 import com.src.main.model.workflow.WorkflowTransitionType;
 import com.src.main.service.ProjectEventStreamService;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GeneratedFileStats;
+import com.src.main.sm.executor.common.GenerationCancellation;
+import com.src.main.sm.executor.common.GenerationCancelledException;
 import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.util.ProjectMetaDataConstants;
 
 @Service
 public class WorkflowEngineService {
 
 	private static final Logger log = LoggerFactory.getLogger(WorkflowEngineService.class);
 	private static final long DEFAULT_TIMEOUT_MS = 300_000L;
+	private static final long RESUME_RETRY_MS = 250L;
 
-	private final WorkflowDefinitionService workflowDefinitionService;
+	private final WorkflowPlanRegistry workflowPlanRegistry;
 	private final WorkflowExecutorRegistry workflowExecutorRegistry;
 	private final WorkflowExecutorPoolRegistry workflowExecutorPoolRegistry;
-	private final WorkflowConditionEvaluator workflowConditionEvaluator;
-	private final WorkflowJsonHelper workflowJsonHelper;
 	private final ProjectEventStreamService projectEventStreamService;
+	private final WorkflowCheckpointService workflowCheckpointService;
 
 	public WorkflowEngineService(
-			WorkflowDefinitionService workflowDefinitionService,
+			WorkflowPlanRegistry workflowPlanRegistry,
 			WorkflowExecutorRegistry workflowExecutorRegistry,
 			WorkflowExecutorPoolRegistry workflowExecutorPoolRegistry,
-			WorkflowConditionEvaluator workflowConditionEvaluator,
-			WorkflowJsonHelper workflowJsonHelper,
-			ProjectEventStreamService projectEventStreamService) {
-		this.workflowDefinitionService = workflowDefinitionService;
+			ProjectEventStreamService projectEventStreamService,
+			WorkflowCheckpointService workflowCheckpointService) {
+		this.workflowPlanRegistry = workflowPlanRegistry;
 		this.workflowExecutorRegistry = workflowExecutorRegistry;
 		this.workflowExecutorPoolRegistry = workflowExecutorPoolRegistry;
-		this.workflowConditionEvaluator = workflowConditionEvaluator;
-		this.workflowJsonHelper = workflowJsonHelper;
 		this.projectEventStreamService = projectEventStreamService;
+		this.workflowCheckpointService = workflowCheckpointService;
 	}
 
+	/**
+	 * Runs the workflow and returns its final state. Backoff before step retries is spent waiting on the calling
+	 * thread; everything else, including the continuation after a backoff, runs on it as well. Meant for callers that
+	 * wait for the result anyway, such as previews.
+	 */
 	public DefaultExtendedState execute(GenerationLanguage language, DefaultExtendedState state, ProjectRunEntity run) {
-		WorkflowPlan plan = workflowDefinitionService.loadActivePlan(language);
-		WorkflowStepEntity currentStep = plan.firstStep();
-		while (currentStep != null) {
-			WorkflowExecutionStatus status = executeStep(plan, currentStep, state, run);
-			WorkflowStepEntity nextStep = resolveNextStep(plan, currentStep, status, state);
-			if (currentStep.isTerminal() && status == WorkflowExecutionStatus.SUCCESS) {
-				return state;
-			}
-			if (status == WorkflowExecutionStatus.FAILURE && nextStep == null) {
-				throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR,
-						String.valueOf(state.getVariables().getOrDefault("error", "Workflow execution failed.")));
+		BlockingQueue<Runnable> continuations = new LinkedBlockingQueue<>();
+		CompletableFuture<DefaultExtendedState> result = start(workflowPlanRegistry.plan(language), state, run,
+				continuations::add);
+		result.whenComplete((ignored, ex) -> continuations.add(() -> {
+		}));
+		try {
+			while (!result.isDone()) {
+				continuations.take().run();
 			}
-			currentStep = nextStep;
+			return result.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR, "Workflow execution interrupted.");
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	/**
+	 * Starts the workflow on the calling thread, which is released as soon as a step has to back off before its next
+	 * attempt or a concurrent step group is running. The run continues on its workflow's dispatch pool when the backoff
+	 * has elapsed or the group has finished. The returned future completes with the final state, or exceptionally with
+	 * the error that failed the run.
+	 */
+	public CompletableFuture<DefaultExtendedState> executeAsync(GenerationLanguage language, DefaultExtendedState state,
+			ProjectRunEntity run) {
+		WorkflowPlan plan = workflowPlanRegistry.plan(language);
+		String poolCode = plan.definition().getDispatchPoolCode();
+		return start(plan, state, run, task -> workflowExecutorPoolRegistry.submit(poolCode, task));
+	}
+
+	private CompletableFuture<DefaultExtendedState> start(WorkflowPlan plan, DefaultExtendedState state,
+			ProjectRunEntity run, Executor continuations) {
+		Execution execution = new Execution(plan, state, run, continuations);
+		try {
+			execution.checkpoint = workflowCheckpointService.open(plan, state, run);
+			execution.currentStep = execution.checkpoint.resume(plan.firstStep());
+		} catch (RuntimeException ex) {
+			execution.result.completeExceptionally(ex);
+			return execution.result;
 		}
-		return state;
+		execution.advance();
+		return execution.result;
+	}
+
+	/**
+	 * Hands a suspended execution back to its continuation executor. A dispatch pool that is full right now is tried
+	 * again shortly; a cancelled run is failed on the spot.
+	 */
+	private void resume(Execution execution) {
+		try {
+			execution.continuations.execute(execution::advance);
+		} catch (RejectedExecutionException ex) {
+			if (execution.cancellation.isCancelled()) {
+				execution.advance();
+				return;
+			}
+			log.debug("Dispatch pool busy, run {} resumes in {} ms", execution.runId(), RESUME_RETRY_MS);
+			backoff(RESUME_RETRY_MS, execution.cancellation).whenComplete((ignored, error) -> resume(execution));
+		}
+	}
+
+	/**
+	 * Completes after {@code delayMs} without holding a thread, or right away, exceptionally, when the run is
+	 * cancelled in the meantime.
+	 */
+	private CompletableFuture<Void> backoff(long delayMs, GenerationCancellation cancellation) {
+		CompletableFuture<Void> timer = cancellation.track(CompletableFuture.runAsync(() -> {
+		}, CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS)));
+		return timer.whenComplete((ignored, ex) -> cancellation.untrack(timer));
 	}
 
 	public Future<?> dispatch(GenerationLanguage language, Runnable task) {
-		WorkflowPlan plan = workflowDefinitionService.loadActivePlan(language);
+		WorkflowPlan plan = workflowPlanRegistry.plan(language);
 		return workflowExecutorPoolRegistry.submit(plan.definition().getDispatchPoolCode(), task);
 	}
 
-	private WorkflowExecutionStatus executeStep(WorkflowPlan plan, WorkflowStepEntity step, DefaultExtendedState state,
-			ProjectRunEntity run) {
-		if (!workflowConditionEvaluator.matches(step.getRunConditionJson(), state)) {
-			publishStage(plan, run, step, "SKIPPED", "Condition evaluated to false", 0);
-			return WorkflowExecutionStatus.SKIP;
-		}
-		validateInputs(step, state);
-		int maxAttempts = step.isRetryEnabled() ? Math.max(1, step.getRetryMaxAttempts() == null ? 1 : step.getRetryMaxAttempts()) : 1;
-		long backoff = step.getRetryBackoffMs() == null ? 0L : Math.max(0L, step.getRetryBackoffMs());
-		double multiplier = step.getRetryBackoffMultiplier() == null ? 1.0d : Math.max(1.0d, step.getRetryBackoffMultiplier());
-
-		for (int attempt = 1; attempt <= maxAttempts; attempt++) {
-			publishStage(plan, run, step, "INPROGRESS", null, attempt);
-			StepResult result = invoke(step, state);
+	/**
+	 * Runs the dispatch pools of all active workflows can accept right now. A pool shared by several languages is
+	 * counted once. A language without a usable plan or a pool that cannot report its capacity is skipped, so one
+	 * broken definition does not stop runs of the other languages from being claimed.
+	 */
+	public int dispatchCapacity() {
+		Set<String> poolCodes = new LinkedHashSet<>();
+		for (GenerationLanguage language : GenerationLanguage.values()) {
+			workflowPlanRegistry.findPlan(language)
+					.map(plan -> plan.definition().getDispatchPoolCode())
+					.ifPresent(poolCodes::add);
+		}
+		int capacity = 0;
+		for (String poolCode : poolCodes) {
+			try {
+				capacity += workflowExecutorPoolRegistry.availableCapacity(poolCode);
+			} catch (RuntimeException ex) {
+				log.warn("Skipping dispatch pool {} when counting capacity: {}", poolCode, ex.getMessage());
+			}
+		}
+		return capacity;
+	}
+
+	/**
+	 * Starts the steps of a group concurrently, starting each one as soon as the steps it waits for have finished.
+	 * {@link #completeGroup} re-applies the results in step order afterwards so the final state matches serial
+	 * execution, and the first failure in step order fails the workflow just like a failed step without transitions
+	 * would.
+	 */
+	private Map<UUID, CompletableFuture<StepOutcome>> startGroup(WorkflowPlan plan, WorkflowStepGroup group,
+			DefaultExtendedState state, ProjectRunEntity run) {
+		Map<UUID, CompletableFuture<StepOutcome>> outcomes = new HashMap<>();
+		for (WorkflowStepEntity step : group.steps()) {
+			List<CompletableFuture<StepOutcome>> upstream = group.dependenciesOf(step).stream()
+					.map(outcomes::get)
+					.toList();
+			CompletableFuture<StepOutcome> outcome = CompletableFuture.allOf(upstream.toArray(CompletableFuture[]::new))
+					.thenCompose(ignored -> upstream.stream().allMatch(future -> future.join().completed())
+							? executeStepAsync(plan, step, state, run)
+							: CompletableFuture.completedFuture(StepOutcome.blockedOutcome()));
+			outcomes.put(step.getId(), outcome);
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Applies a finished group. When a step failed, every step before it in step order has succeeded, so the
+	 * checkpoint records them before the failure is thrown and a resume starts at the failed step.
+	 */
+	private void completeGroup(WorkflowStepGroup group, Map<UUID, CompletableFuture<StepOutcome>> outcomes,
+			DefaultExtendedState state, GeneratedFileStats.Snapshot writtenBefore,
+			WorkflowCheckpointService.Session checkpoint) {
+		try {
+			CompletableFuture.allOf(outcomes.values().toArray(CompletableFuture[]::new)).join();
+		} catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+		GenerationCancellation.from(state).throwIfCancelled();
+
+		for (WorkflowStepEntity step : group.steps()) {
+			StepOutcome outcome = outcomes.get(step.getId()).join();
+			if ((outcome.error() != null || outcome.status() == WorkflowExecutionStatus.FAILURE)
+					&& step != group.steps().get(0)) {
+				checkpoint.completedUntil(step);
+			}
+			if (outcome.error() != null) {
+				throw outcome.error();
+			}
+			if (outcome.status() == WorkflowExecutionStatus.FAILURE) {
+				state.getVariables().put("error", outcome.result().getMessage());
+				throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR,
+						String.valueOf(state.getVariables().getOrDefault("error", "Workflow execution failed.")));
+			}
+			if (outcome.result() != null && outcome.result().getDetails() != null) {
+				outcome.result().getDetails().forEach(state.getVariables()::put);
+			}
+		}
+		GeneratedFileStats.Snapshot writtenAfter = fileStats(state);
+		if (writtenBefore != null && writtenAfter != null) {
+			GeneratedFileStats.Snapshot written = writtenAfter.since(writtenBefore);
+			log.debug("Workflow step group starting at {} wrote {} files ({} bytes)", group.steps().get(0).getStepCode(),
+					written.files(), written.bytes());
+		}
+	}
+
+	private CompletableFuture<StepOutcome> executeStepAsync(WorkflowPlan plan, WorkflowStepEntity step,
+			DefaultExtendedState state, ProjectRunEntity run) {
+		try {
+			if (!plan.runCondition(step).test(state.getVariables())) {
+				publishStage(plan, run, step, "SKIPPED", "Condition evaluated to false", 0);
+				return CompletableFuture.completedFuture(StepOutcome.of(WorkflowExecutionStatus.SKIP, null));
+			}
+			validateInputs(plan, step, state);
+		} catch (RuntimeException ex) {
+			return CompletableFuture.completedFuture(StepOutcome.failed(ex));
+		}
+		return attemptAsync(plan, step, state, run, 1);
+	}
+
+	private CompletableFuture<StepOutcome> attemptAsync(WorkflowPlan plan, WorkflowStepEntity step, DefaultExtendedState state,
+			ProjectRunEntity run, int attempt) {
+		GenerationCancellation cancellation = GenerationCancellation.from(state);
+		if (cancellation.isCancelled()) {
+			return CompletableFuture.completedFuture(StepOutcome.failed(new GenerationCancelledException(cancellation.reason())));
+		}
+		publishStage(plan, run, step, "INPROGRESS", null, attempt);
+		return invokeAsync(step, state).thenCompose(result -> {
 			if (result.isSuccess()) {
-				if (result.getDetails() != null) {
-					result.getDetails().forEach(state.getVariables()::put);
+				try {
+					if (result.getDetails() != null) {
+						result.getDetails().forEach(state.getVariables()::put);
+					}
+					validateOutputs(plan, step, result);
+				} catch (RuntimeException ex) {
+					return CompletableFuture.completedFuture(StepOutcome.failed(ex));
 				}
-				validateOutputs(step, result);
 				publishStage(plan, run, step, "DONE", result.getMessage(), attempt);
-				return WorkflowExecutionStatus.SUCCESS;
+				return CompletableFuture.completedFuture(StepOutcome.of(WorkflowExecutionStatus.SUCCESS, result));
 			}
 			log.warn("Workflow step {} failed on attempt {} with code {}: {}", step.getStepCode(), attempt, result.getCode(), result.getMessage());
-			if (attempt < maxAttempts) {
+			if (plan.retryPolicy(step).retries(result, attempt)) {
 				publishStage(plan, run, step, "RETRYING", result.getMessage(), attempt);
-				sleep(backoff);
-				backoff = Math.round(backoff * multiplier);
-				continue;
+				return backoff(plan.retryPolicy(step).delayAfter(attempt), cancellation)
+						.exceptionally(ex -> null)
+						.thenCompose(ignored -> attemptAsync(plan, step, state, run, attempt + 1));
 			}
-			state.getVariables().put("error", result.getMessage());
 			publishStage(plan, run, step, "ERROR", result.getMessage(), attempt);
-			return WorkflowExecutionStatus.FAILURE;
-		}
-		return WorkflowExecutionStatus.FAILURE;
+			return CompletableFuture.completedFuture(StepOutcome.of(WorkflowExecutionStatus.FAILURE, result));
+		});
 	}
 
 	private StepResult invoke(WorkflowStepEntity step, DefaultExtendedState state) {
 		StepExecutor executor = workflowExecutorRegistry.resolve(step.getExecutorKey());
-		long timeoutMs = step.getTimeoutMs() == null || step.getTimeoutMs() <= 0 ? DEFAULT_TIMEOUT_MS : step.getTimeoutMs();
+		GenerationCancellation cancellation = GenerationCancellation.from(state);
+		long timeoutMs = timeoutMs(step);
+		Future<StepResult> future = null;
 		try {
-			Future<StepResult> future = workflowExecutorPoolRegistry.submit(step.getPoolCode(), () -> executor.execute(state));
+			future = cancellation.track(workflowExecutorPoolRegistry.submit(step.getPoolCode(), () -> {
+				cancellation.throwIfCancelled();
+				return executor.execute(state);
+			}));
 			return future.get(timeoutMs, TimeUnit.MILLISECONDS);
 		} catch (TimeoutException ex) {
-			return StepResult.error(step.getStepCode(), "Timed out after " + timeoutMs + " ms");
+			// Interrupt the step so it stops writing files and frees its pool thread before any retry is submitted.
+			future.cancel(true);
+			return StepResult.error(WorkflowRetryPolicy.TIMEOUT, "Timed out after " + timeoutMs + " ms");
+		} catch (CancellationException ex) {
+			return StepResult.error(step.getStepCode(), cancellation.isCancelled() ? cancellation.reason() : "Step cancelled.");
 		} catch (InterruptedException ex) {
 			Thread.currentThread().interrupt();
 			return StepResult.error(step.getStepCode(), ex.getMessage());
 		} catch (ExecutionException ex) {
 			Throwable cause = ex.getCause() == null ? ex : ex.getCause();
-			return StepResult.error(step.getStepCode(), cause.getMessage());
+			return StepResult.error(cause.getClass().getSimpleName(), cause.getMessage());
 		} catch (Exception ex) {
-			return StepResult.error(step.getStepCode(), ex.getMessage());
+			return StepResult.error(ex.getClass().getSimpleName(), ex.getMessage());
+		} finally {
+			if (future != null) {
+				cancellation.untrack(future);
+			}
+		}
+	}
+
+	/**
+	 * Like {@link #invoke}; a timeout or cancellation of the returned future interrupts the step's task.
+	 */
+	private CompletableFuture<StepResult> invokeAsync(WorkflowStepEntity step, DefaultExtendedState state) {
+		long timeoutMs = timeoutMs(step);
+		GenerationCancellation cancellation = GenerationCancellation.from(state);
+		try {
+			StepExecutor executor = workflowExecutorRegistry.resolve(step.getExecutorKey());
+			CompletableFuture<StepResult> future = cancellation.track(
+					workflowExecutorPoolRegistry.submitCompletable(step.getPoolCode(), () -> {
+						cancellation.throwIfCancelled();
+						return executor.execute(state);
+					}));
+			return future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+					.whenComplete((result, ex) -> cancellation.untrack(future))
+					.exceptionally(ex -> {
+						Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+						if (cause instanceof TimeoutException) {
+							return StepResult.error(WorkflowRetryPolicy.TIMEOUT, "Timed out after " + timeoutMs + " ms");
+						}
+						return StepResult.error(cause.getClass().getSimpleName(), cause.getMessage());
+					});
+		} catch (RuntimeException ex) {
+			return CompletableFuture.completedFuture(StepResult.error(ex.getClass().getSimpleName(), ex.getMessage()));
 		}
 	}
 
-	private void validateInputs(WorkflowStepEntity step, DefaultExtendedState state) {
-		List<String> requiredInputs = workflowJsonHelper.readStringList(step.getRequiredInputsJson());
-		for (String inputKey : requiredInputs) {
+	private void validateInputs(WorkflowPlan plan, WorkflowStepEntity step, DefaultExtendedState state) {
+		for (String inputKey : plan.contract(step).requiredInputs()) {
 			if (!state.getVariables().containsKey(inputKey) || state.getVariables().get(inputKey) == null) {
 				throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR,
 						"Missing required workflow input '" + inputKey + "' for step " + step.getStepCode());
@@ -141,8 +355,8 @@ public class WorkflowEngineService {
 		}
 	}
 
-	private void validateOutputs(WorkflowStepEntity step, StepResult result) {
-		List<String> declaredOutputs = workflowJsonHelper.readStringList(step.getDeclaredOutputsJson());
+	private void validateOutputs(WorkflowPlan plan, WorkflowStepEntity step, StepResult result) {
+		List<String> declaredOutputs = plan.contract(step).declaredOutputs();
 		if (declaredOutputs.isEmpty()) {
 			return;
 		}
@@ -166,7 +380,7 @@ public class WorkflowEngineService {
 			if (transition.getTransitionType() != transitionType) {
 				continue;
 			}
-			if (workflowConditionEvaluator.matches(transition.getConditionJson(), state)) {
+			if (plan.condition(transition).test(state.getVariables())) {
 				return plan.stepsByCode().get(transition.getTargetStepCode());
 			}
 		}
@@ -176,7 +390,36 @@ public class WorkflowEngineService {
 		return plan.nextOrderedStep(currentStep);
 	}
 
+	private long timeoutMs(WorkflowStepEntity step) {
+		return step.getTimeoutMs() == null || step.getTimeoutMs() <= 0 ? DEFAULT_TIMEOUT_MS : step.getTimeoutMs();
+	}
+
+	/**
+	 * Files written so far by the run's sink, or {@code null} when the run has no sink registered yet.
+	 */
+	private GeneratedFileStats.Snapshot fileStats(DefaultExtendedState state) {
+		return state.getVariables().get(ProjectMetaDataConstants.FILE_SINK) instanceof GeneratedFileSink sink
+				? sink.fileStats().snapshot()
+				: null;
+	}
+
+	private GeneratedFileStats.Snapshot written(WorkflowStepEntity step, DefaultExtendedState state,
+			GeneratedFileStats.Snapshot before) {
+		GeneratedFileStats.Snapshot after = fileStats(state);
+		if (after == null) {
+			return null;
+		}
+		GeneratedFileStats.Snapshot written = after.since(before == null ? new GeneratedFileStats.Snapshot(0, 0) : before);
+		log.debug("Workflow step {} wrote {} files ({} bytes)", step.getStepCode(), written.files(), written.bytes());
+		return written;
+	}
+
 	private void publishStage(WorkflowPlan plan, ProjectRunEntity run, WorkflowStepEntity step, String status, String message, int attempt) {
+		publishStage(plan, run, step, status, message, attempt, null);
+	}
+
+	private void publishStage(WorkflowPlan plan, ProjectRunEntity run, WorkflowStepEntity step, String status, String message,
+			int attempt, GeneratedFileStats.Snapshot written) {
 		if (run == null || run.getProject() == null) {
 			return;
 		}
@@ -192,18 +435,159 @@ public class WorkflowEngineService {
 		payload.put("message", message == null ? "" : message);
 		payload.put("attempt", attempt);
 		payload.put("executorKey", step.getExecutorKey());
+		if (written != null) {
+			payload.put("filesWritten", written.files());
+			payload.put("bytesWritten", written.bytes());
+		}
 		payload.put("timestamp", OffsetDateTime.now().toString());
 		projectEventStreamService.publish(run.getProject().getId(), "stage", payload);
 	}
 
-	private void sleep(long millis) {
-		if (millis <= 0) {
-			return;
+	/**
+	 * Position of one workflow run between the moments it holds a thread. {@link #advance} executes steps until the
+	 * workflow ends or has to wait, and is called again by {@link #resume} once the wait is over.
+	 */
+	private final class Execution {
+
+		private final WorkflowPlan plan;
+		private final DefaultExtendedState state;
+		private final ProjectRunEntity run;
+		private final Executor continuations;
+		private final GenerationCancellation cancellation;
+		private final CompletableFuture<DefaultExtendedState> result = new CompletableFuture<>();
+		private WorkflowCheckpointService.Session checkpoint;
+		private WorkflowStepEntity currentStep;
+		private int attempts;
+		private Runnable pending;
+
+		private Execution(WorkflowPlan plan, DefaultExtendedState state, ProjectRunEntity run, Executor continuations) {
+			this.plan = plan;
+			this.state = state;
+			this.run = run;
+			this.continuations = continuations;
+			this.cancellation = GenerationCancellation.from(state);
 		}
-		try {
-			Thread.sleep(millis);
-		} catch (InterruptedException ex) {
-			Thread.currentThread().interrupt();
+
+		private void advance() {
+			try {
+				if (pending != null) {
+					Runnable completion = pending;
+					pending = null;
+					completion.run();
+				}
+				while (currentStep != null) {
+					cancellation.throwIfCancelled();
+					WorkflowStepGroup group = plan.groupStartingAt(currentStep);
+					if (group != null) {
+						awaitGroup(group);
+						return;
+					}
+					WorkflowExecutionStatus status = attempt();
+					if (status == null) {
+						return;
+					}
+					cancellation.throwIfCancelled();
+					WorkflowStepEntity nextStep = resolveNextStep(plan, currentStep, status, state);
+					if (currentStep.isTerminal() && status == WorkflowExecutionStatus.SUCCESS) {
+						result.complete(state);
+						return;
+					}
+					if (status == WorkflowExecutionStatus.FAILURE && nextStep == null) {
+						throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR,
+								String.valueOf(state.getVariables().getOrDefault("error", "Workflow execution failed.")));
+					}
+					// A failure routed to a handler step is not progress; a resume repeats the failed step.
+					if (status != WorkflowExecutionStatus.FAILURE) {
+						checkpoint.completedUntil(nextStep);
+					}
+					currentStep = nextStep;
+					attempts = 0;
+				}
+				result.complete(state);
+			} catch (RuntimeException | Error ex) {
+				result.completeExceptionally(ex);
+			}
+		}
+
+		/**
+		 * Makes the next attempt at the current step and returns its status, or {@code null} when the step failed and
+		 * its retry has been scheduled.
+		 */
+		private WorkflowExecutionStatus attempt() {
+			WorkflowStepEntity step = currentStep;
+			while (true) {
+				if (attempts == 0) {
+					if (!plan.runCondition(step).test(state.getVariables())) {
+						publishStage(plan, run, step, "SKIPPED", "Condition evaluated to false", 0);
+						return WorkflowExecutionStatus.SKIP;
+					}
+					validateInputs(plan, step, state);
+				}
+				int attempt = ++attempts;
+				publishStage(plan, run, step, "INPROGRESS", null, attempt);
+				GeneratedFileStats.Snapshot writtenBefore = fileStats(state);
+				StepResult stepResult = invoke(step, state);
+				if (stepResult.isSuccess()) {
+					if (stepResult.getDetails() != null) {
+						stepResult.getDetails().forEach(state.getVariables()::put);
+					}
+					validateOutputs(plan, step, stepResult);
+					publishStage(plan, run, step, "DONE", stepResult.getMessage(), attempt,
+							written(step, state, writtenBefore));
+					return WorkflowExecutionStatus.SUCCESS;
+				}
+				log.warn("Workflow step {} failed on attempt {} with code {}: {}", step.getStepCode(), attempt,
+						stepResult.getCode(), stepResult.getMessage());
+				cancellation.throwIfCancelled();
+				WorkflowRetryPolicy policy = plan.retryPolicy(step);
+				if (!policy.retries(stepResult, attempt)) {
+					state.getVariables().put("error", stepResult.getMessage());
+					publishStage(plan, run, step, "ERROR", stepResult.getMessage(), attempt);
+					return WorkflowExecutionStatus.FAILURE;
+				}
+				publishStage(plan, run, step, "RETRYING", stepResult.getMessage(), attempt);
+				long delayMs = policy.delayAfter(attempt);
+				if (delayMs > 0) {
+					backoff(delayMs, cancellation).whenComplete((ignored, ex) -> resume(this));
+					return null;
+				}
+			}
+		}
+
+		private void awaitGroup(WorkflowStepGroup group) {
+			GeneratedFileStats.Snapshot writtenBefore = fileStats(state);
+			Map<UUID, CompletableFuture<StepOutcome>> outcomes = startGroup(plan, group, state, run);
+			pending = () -> {
+				completeGroup(group, outcomes, state, writtenBefore, checkpoint);
+				cancellation.throwIfCancelled();
+				currentStep = plan.nextOrderedStep(group.lastStep());
+				checkpoint.completedUntil(currentStep);
+			};
+			CompletableFuture.allOf(outcomes.values().toArray(CompletableFuture[]::new))
+					.whenComplete((ignored, ex) -> resume(this));
+		}
+
+		private UUID runId() {
+			return run == null ? null : run.getId();
+		}
+	}
+
+	private record StepOutcome(WorkflowExecutionStatus status, StepResult result, RuntimeException error, boolean blocked) {
+
+		static StepOutcome of(WorkflowExecutionStatus status, StepResult result) {
+			return new StepOutcome(status, result, null, false);
+		}
+
+		static StepOutcome failed(RuntimeException error) {
+			return new StepOutcome(WorkflowExecutionStatus.FAILURE, null, error, false);
+		}
+
+		static StepOutcome blockedOutcome() {
+			return new StepOutcome(WorkflowExecutionStatus.SKIP, null, null, true);
+		}
+
+		boolean completed() {
+			return !blocked && error == null && status != WorkflowExecutionStatus.FAILURE;
 		}
 	}
 }
@@ -0,0 +1,33 @@
+package com.src.main.workflow.engine;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+
+import com.src.main.model.workflow.WorkflowExecutorPoolKind;
+
+/**
+ * Executor behind a {@code workflow_executor_pools} row. Rejected submissions throw
+ * {@link java.util.concurrent.RejectedExecutionException} and are counted for metrics.
+ */
+public interface WorkflowExecutorPool extends Executor {
+
+	WorkflowExecutorPoolKind kind();
+
+	Future<?> submit(Runnable task);
+
+	<T> Future<T> submit(Callable<T> task);
+
+	int activeCount();
+
+	int queueDepth();
+
+	/**
+	 * Number of further tasks the pool would accept right now without rejecting one.
+	 */
+	int availableCapacity();
+
+	long rejectedCount();
+
+	void shutdown();
+}
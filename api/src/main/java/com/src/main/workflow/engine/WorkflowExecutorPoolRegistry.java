@@ -2,26 +2,38 @@ package com.src.main.workflow.engine;
 
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 
 import com.src.main.model.workflow.WorkflowExecutorPoolEntity;
+import com.src.main.model.workflow.WorkflowExecutorPoolKind;
 import com.src.main.repository.WorkflowExecutorPoolRepository;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 @Component
-public class WorkflowExecutorPoolRegistry implements DisposableBean {
+public class WorkflowExecutorPoolRegistry implements DisposableBean, MeterBinder {
 
 	private static final int MIN_POOL_SIZE = 1;
 	private static final int MAX_POOL_SIZE_CAP = 64;
 	private static final int MAX_QUEUE_CAPACITY = 1000;
 	private static final int MAX_KEEP_ALIVE_SECONDS = 3600;
+	private static final int MAX_VIRTUAL_CONCURRENCY = 10_000;
 
 	private final WorkflowExecutorPoolRepository workflowExecutorPoolRepository;
-	private final Map<String, ThreadPoolTaskExecutor> executorsByCode = new ConcurrentHashMap<>();
+	private final Map<String, WorkflowExecutorPool> executorsByCode = new ConcurrentHashMap<>();
+	private volatile MeterRegistry meterRegistry;
 
 	public WorkflowExecutorPoolRegistry(WorkflowExecutorPoolRepository workflowExecutorPoolRepository) {
 		this.workflowExecutorPoolRepository = workflowExecutorPoolRepository;
@@ -35,25 +47,85 @@ public class WorkflowExecutorPoolRegistry implements DisposableBean {
 		return executor(poolCode).submit(task);
 	}
 
+	/**
+	 * Submits {@code task} and returns a future for its result. Cancelling the returned future, or letting it time out
+	 * through {@link CompletableFuture#orTimeout}, interrupts the task and frees its pool slot.
+	 */
+	public <T> CompletableFuture<T> submitCompletable(String poolCode, Callable<T> task) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		Future<?> running = executor(poolCode).submit(() -> {
+			try {
+				result.complete(task.call());
+			} catch (Throwable ex) {
+				result.completeExceptionally(ex);
+			}
+		});
+		result.whenComplete((value, ex) -> {
+			if (ex instanceof CancellationException || ex instanceof TimeoutException) {
+				running.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	public int availableCapacity(String poolCode) {
+		return executor(poolCode).availableCapacity();
+	}
+
 	public boolean exists(String poolCode) {
 		return workflowExecutorPoolRepository.findByPoolCodeAndActiveTrue(poolCode).isPresent();
 	}
 
-	private ThreadPoolTaskExecutor executor(String poolCode) {
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.meterRegistry = registry;
+		executorsByCode.forEach((poolCode, pool) -> registerMeters(registry, poolCode, pool));
+	}
+
+	private WorkflowExecutorPool executor(String poolCode) {
 		return executorsByCode.computeIfAbsent(poolCode, this::buildExecutor);
 	}
 
-	private ThreadPoolTaskExecutor buildExecutor(String poolCode) {
+	private WorkflowExecutorPool buildExecutor(String poolCode) {
 		WorkflowExecutorPoolEntity pool = workflowExecutorPoolRepository.findByPoolCodeAndActiveTrue(poolCode)
 				.orElseThrow(() -> new IllegalArgumentException("No active workflow executor pool with code " + poolCode));
+		String threadNamePrefix = pool.getPoolName().replaceAll("[^a-zA-Z0-9]+", "-").toLowerCase() + "-";
+		WorkflowExecutorPool executor = pool.getPoolKind() == WorkflowExecutorPoolKind.VIRTUAL
+				? buildVirtualExecutor(pool, threadNamePrefix)
+				: buildPlatformExecutor(pool, threadNamePrefix);
+		MeterRegistry registry = meterRegistry;
+		if (registry != null) {
+			registerMeters(registry, poolCode, executor);
+		}
+		return executor;
+	}
+
+	private WorkflowExecutorPool buildPlatformExecutor(WorkflowExecutorPoolEntity pool, String threadNamePrefix) {
 		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 		executor.setCorePoolSize(bound(pool.getCorePoolSize(), MIN_POOL_SIZE, MAX_POOL_SIZE_CAP));
 		executor.setMaxPoolSize(bound(pool.getMaxPoolSize(), MIN_POOL_SIZE, MAX_POOL_SIZE_CAP));
 		executor.setQueueCapacity(bound(pool.getQueueCapacity(), 0, MAX_QUEUE_CAPACITY));
 		executor.setKeepAliveSeconds(bound(pool.getKeepAliveSeconds(), 0, MAX_KEEP_ALIVE_SECONDS));
-		executor.setThreadNamePrefix(pool.getPoolName().replaceAll("[^a-zA-Z0-9]+", "-").toLowerCase() + "-");
+		executor.setThreadNamePrefix(threadNamePrefix);
 		executor.initialize();
-		return executor;
+		return new PlatformWorkflowExecutorPool(executor);
+	}
+
+	private WorkflowExecutorPool buildVirtualExecutor(WorkflowExecutorPoolEntity pool, String threadNamePrefix) {
+		int maxConcurrency = pool.getMaxConcurrency() == null ? pool.getMaxPoolSize() : pool.getMaxConcurrency();
+		return new VirtualWorkflowExecutorPool(pool.getPoolCode(), threadNamePrefix,
+				bound(maxConcurrency, MIN_POOL_SIZE, MAX_VIRTUAL_CONCURRENCY),
+				bound(pool.getQueueCapacity(), 0, MAX_QUEUE_CAPACITY));
+	}
+
+	private void registerMeters(MeterRegistry registry, String poolCode, WorkflowExecutorPool pool) {
+		Tags tags = Tags.of("pool", poolCode, "kind", pool.kind().name());
+		Gauge.builder("workflow.executor.queue.depth", pool, WorkflowExecutorPool::queueDepth).tags(tags).register(registry);
+		Gauge.builder("workflow.executor.active", pool, WorkflowExecutorPool::activeCount).tags(tags).register(registry);
+		Gauge.builder("workflow.executor.available", pool, WorkflowExecutorPool::availableCapacity).tags(tags)
+				.register(registry);
+		FunctionCounter.builder("workflow.executor.rejected", pool, WorkflowExecutorPool::rejectedCount).tags(tags)
+				.register(registry);
 	}
 
 	private int bound(int value, int min, int max) {
@@ -62,7 +134,7 @@ public class WorkflowExecutorPoolRegistry implements DisposableBean {
 
 	@Override
 	public void destroy() {
-		executorsByCode.values().forEach(ThreadPoolTaskExecutor::shutdown);
+		executorsByCode.values().forEach(WorkflowExecutorPool::shutdown);
 		executorsByCode.clear();
 	}
 }
@@ -1,8 +1,12 @@
 package com.src.main.workflow.engine;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -10,23 +14,137 @@ import java.util.stream.Collectors;
 import com.src.main.model.workflow.WorkflowDefinitionEntity;
 import com.src.main.model.workflow.WorkflowStepEntity;
 import com.src.main.model.workflow.WorkflowTransitionEntity;
+import com.src.main.model.workflow.WorkflowTransitionType;
 
 public record WorkflowPlan(
 		WorkflowDefinitionEntity definition,
 		List<WorkflowStepEntity> steps,
 		Map<String, WorkflowStepEntity> stepsByCode,
-		Map<UUID, List<WorkflowTransitionEntity>> transitionsByStepId) {
+		Map<UUID, List<WorkflowTransitionEntity>> transitionsByStepId,
+		Map<UUID, WorkflowCondition> runConditionsByStepId,
+		Map<UUID, WorkflowCondition> conditionsByTransitionId,
+		Map<UUID, WorkflowStepContract> contractsByStepId,
+		Map<UUID, WorkflowRetryPolicy> retryPoliciesByStepId,
+		Map<UUID, WorkflowStepGroup> groupsByStartStepId) {
 
 	public static WorkflowPlan of(WorkflowDefinitionEntity definition, List<WorkflowStepEntity> steps,
-			List<WorkflowTransitionEntity> transitions) {
+			List<WorkflowTransitionEntity> transitions, Function<String, WorkflowCondition> conditionCompiler,
+			Function<String, List<String>> stringListReader) {
 		List<WorkflowStepEntity> orderedSteps = steps.stream()
 				.sorted(Comparator.comparingInt(WorkflowStepEntity::getStepOrder))
 				.toList();
 		Map<String, WorkflowStepEntity> stepsByCode = orderedSteps.stream()
 				.collect(Collectors.toMap(WorkflowStepEntity::getStepCode, Function.identity()));
 		Map<UUID, List<WorkflowTransitionEntity>> transitionsByStepId = transitions.stream()
-				.collect(Collectors.groupingBy(transition -> transition.getWorkflowStep().getId()));
-		return new WorkflowPlan(definition, orderedSteps, stepsByCode, transitionsByStepId);
+				.collect(Collectors.groupingBy(transition -> transition.getWorkflowStep().getId(),
+						Collectors.collectingAndThen(Collectors.toList(), List::copyOf)));
+		Map<UUID, WorkflowCondition> runConditionsByStepId = new HashMap<>();
+		Map<UUID, WorkflowStepContract> contractsByStepId = new HashMap<>();
+		Map<UUID, WorkflowRetryPolicy> retryPoliciesByStepId = new HashMap<>();
+		for (WorkflowStepEntity step : orderedSteps) {
+			WorkflowCondition runCondition = compile(conditionCompiler, step.getRunConditionJson(),
+					definition, "step " + step.getStepCode());
+			runConditionsByStepId.put(step.getId(), runCondition);
+			Set<String> conditionKeys = new HashSet<>();
+			runCondition.collectKeys(conditionKeys);
+			contractsByStepId.put(step.getId(), new WorkflowStepContract(
+					List.copyOf(stringListReader.apply(step.getRequiredInputsJson())),
+					List.copyOf(stringListReader.apply(step.getOptionalInputsJson())),
+					List.copyOf(stringListReader.apply(step.getDeclaredOutputsJson())),
+					Set.copyOf(conditionKeys)));
+			retryPoliciesByStepId.put(step.getId(), WorkflowRetryPolicy.of(step, stringListReader.apply(step.getRetryOnJson())));
+		}
+		Map<UUID, WorkflowCondition> conditionsByTransitionId = new HashMap<>();
+		for (WorkflowTransitionEntity transition : transitions) {
+			conditionsByTransitionId.put(transition.getId(), compile(conditionCompiler, transition.getConditionJson(),
+					definition, "transition to " + transition.getTargetStepCode()));
+		}
+		Map<UUID, WorkflowStepGroup> groupsByStartStepId = buildGroups(orderedSteps, transitionsByStepId,
+				conditionsByTransitionId, contractsByStepId);
+		return new WorkflowPlan(definition, orderedSteps, Map.copyOf(stepsByCode), Map.copyOf(transitionsByStepId),
+				Map.copyOf(runConditionsByStepId), Map.copyOf(conditionsByTransitionId), Map.copyOf(contractsByStepId),
+				Map.copyOf(retryPoliciesByStepId), Map.copyOf(groupsByStartStepId));
+	}
+
+	private static WorkflowCondition compile(Function<String, WorkflowCondition> conditionCompiler, String conditionJson,
+			WorkflowDefinitionEntity definition, String owner) {
+		try {
+			return conditionCompiler.apply(conditionJson);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalStateException("Workflow " + definition.getCode() + " has invalid condition on " + owner
+					+ ": " + ex.getMessage(), ex);
+		}
+	}
+
+	/**
+	 * A group covers the linear segment that starts at a step: the following steps that are not terminal and route
+	 * like serial execution does, so every outcome continues with the next ordered step. Inside it a serial step waits
+	 * for every earlier step, which keeps serial steps in order and lets them see everything before them, while an
+	 * async step only waits for the earlier steps whose declared outputs it reads. A segment becomes a group only when
+	 * some async step can start before an earlier step has finished. Groups are computed for every possible entry step
+	 * because transitions may jump into the middle of a segment.
+	 */
+	private static Map<UUID, WorkflowStepGroup> buildGroups(List<WorkflowStepEntity> orderedSteps,
+			Map<UUID, List<WorkflowTransitionEntity>> transitionsByStepId,
+			Map<UUID, WorkflowCondition> conditionsByTransitionId, Map<UUID, WorkflowStepContract> contractsByStepId) {
+		Map<UUID, WorkflowStepGroup> groups = new HashMap<>();
+		for (int start = 0; start < orderedSteps.size(); start++) {
+			List<WorkflowStepEntity> members = new ArrayList<>();
+			for (int index = start; index < orderedSteps.size(); index++) {
+				WorkflowStepEntity candidate = orderedSteps.get(index);
+				WorkflowStepEntity nextStep = index + 1 < orderedSteps.size() ? orderedSteps.get(index + 1) : null;
+				if (candidate.isTerminal()
+						|| !continuesInOrder(transitionsByStepId.get(candidate.getId()), nextStep, conditionsByTransitionId)) {
+					break;
+				}
+				members.add(candidate);
+			}
+			Map<UUID, List<UUID>> dependencies = new HashMap<>();
+			boolean overlaps = false;
+			for (int later = 1; later < members.size(); later++) {
+				WorkflowStepEntity step = members.get(later);
+				WorkflowStepContract contract = contractsByStepId.get(step.getId());
+				List<UUID> upstream = new ArrayList<>();
+				for (int earlier = 0; earlier < later; earlier++) {
+					WorkflowStepEntity candidate = members.get(earlier);
+					if (!step.isAsyncExecution()
+							|| contract.readsAnyOf(contractsByStepId.get(candidate.getId()).declaredOutputs())) {
+						upstream.add(candidate.getId());
+					}
+				}
+				overlaps |= upstream.size() < later;
+				if (!upstream.isEmpty()) {
+					dependencies.put(step.getId(), List.copyOf(upstream));
+				}
+			}
+			if (overlaps) {
+				groups.put(members.get(0).getId(), new WorkflowStepGroup(List.copyOf(members), Map.copyOf(dependencies)));
+			}
+		}
+		return groups;
+	}
+
+	/**
+	 * Whether {@code transitions} route like having none: the seeded workflows chain every step to the next one with
+	 * a single unconditional SUCCESS transition, and a failure without a FAILURE transition fails the workflow either
+	 * way.
+	 */
+	private static boolean continuesInOrder(List<WorkflowTransitionEntity> transitions, WorkflowStepEntity nextStep,
+			Map<UUID, WorkflowCondition> conditionsByTransitionId) {
+		if (transitions == null || transitions.isEmpty()) {
+			return true;
+		}
+		if (transitions.size() != 1 || nextStep == null) {
+			return false;
+		}
+		WorkflowTransitionEntity transition = transitions.get(0);
+		return transition.getTransitionType() == WorkflowTransitionType.SUCCESS
+				&& conditionsByTransitionId.get(transition.getId()) == WorkflowCondition.ALWAYS
+				&& nextStep.getStepCode().equals(transition.getTargetStepCode());
+	}
+
+	public int definitionVersion() {
+		return definition.getVersion();
 	}
 
 	public WorkflowStepEntity firstStep() {
@@ -48,4 +166,27 @@ public record WorkflowPlan(
 	public List<WorkflowTransitionEntity> transitionsFor(WorkflowStepEntity step) {
 		return transitionsByStepId.getOrDefault(step.getId(), List.of());
 	}
+
+	public WorkflowCondition runCondition(WorkflowStepEntity step) {
+		return runConditionsByStepId.getOrDefault(step.getId(), WorkflowCondition.ALWAYS);
+	}
+
+	public WorkflowCondition condition(WorkflowTransitionEntity transition) {
+		return conditionsByTransitionId.getOrDefault(transition.getId(), WorkflowCondition.ALWAYS);
+	}
+
+	public WorkflowStepContract contract(WorkflowStepEntity step) {
+		return contractsByStepId.get(step.getId());
+	}
+
+	public WorkflowRetryPolicy retryPolicy(WorkflowStepEntity step) {
+		return retryPoliciesByStepId.getOrDefault(step.getId(), WorkflowRetryPolicy.NONE);
+	}
+
+	/**
+	 * Returns the concurrent group that starts at {@code step}, or {@code null} when the step runs on its own.
+	 */
+	public WorkflowStepGroup groupStartingAt(WorkflowStepEntity step) {
+		return groupsByStartStepId.get(step.getId());
+	}
 }
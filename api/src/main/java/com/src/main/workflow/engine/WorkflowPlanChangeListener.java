@@ -0,0 +1,62 @@
+package com.src.main.workflow.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.src.main.workflow.PostgresNotificationListener;
+
+/**
+ * {@code LISTEN}s on {@value #CHANNEL}, which the workflow table triggers notify whenever a definition, step or
+ * transition changes, and publishes a {@link WorkflowDefinitionChangedEvent} for every language on each batch of
+ * notifications. This carries invalidations to every node, not only the one whose transaction made the change. Plans
+ * are also invalidated whenever the connection is (re)opened, since changes committed while nobody was listening were
+ * missed.
+ */
+@Component
+public class WorkflowPlanChangeListener implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(WorkflowPlanChangeListener.class);
+
+	static final String CHANNEL = "workflow_plan_changed";
+
+	private final ApplicationEventPublisher applicationEventPublisher;
+	private final PostgresNotificationListener listener;
+	private final boolean enabled;
+
+	public WorkflowPlanChangeListener(
+			DataSourceProperties dataSourceProperties,
+			ApplicationEventPublisher applicationEventPublisher,
+			@Value("${app.workflow.plan.listen.enabled:true}") boolean enabled) {
+		this.applicationEventPublisher = applicationEventPublisher;
+		this.listener = new PostgresNotificationListener(dataSourceProperties, CHANNEL, this::publishChanged,
+				this::publishChanged);
+		this.enabled = enabled;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (enabled) {
+			listener.start();
+		}
+	}
+
+	@Override
+	public void destroy() {
+		listener.stop();
+	}
+
+	private void publishChanged() {
+		try {
+			applicationEventPublisher.publishEvent(WorkflowDefinitionChangedEvent.all());
+		} catch (RuntimeException ex) {
+			log.warn("Failed to invalidate cached workflow plans: {}", ex.getMessage());
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package com.src.main.workflow.engine;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.src.main.dto.WorkflowPlanCacheStatsDTO;
+import com.src.main.sm.executor.common.GenerationLanguage;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Holds one compiled {@link WorkflowPlan} per language so the engine does not hit the workflow tables on every
+ * execute/dispatch. Plans are reloaded only after a {@link WorkflowDefinitionChangedEvent}: the write path publishes
+ * it once its change commits, and {@link WorkflowPlanChangeListener} publishes it on every node when the database
+ * reports a change to the workflow tables.
+ */
+@Component
+public class WorkflowPlanRegistry implements MeterBinder {
+
+	private static final Logger log = LoggerFactory.getLogger(WorkflowPlanRegistry.class);
+
+	private final WorkflowDefinitionService workflowDefinitionService;
+	private final WorkflowValidator workflowValidator;
+	private final Map<GenerationLanguage, CachedPlan> plansByLanguage = new ConcurrentHashMap<>();
+	private final Map<GenerationLanguage, AtomicLong> revisionsByLanguage = new EnumMap<>(GenerationLanguage.class);
+	private final Map<GenerationLanguage, Long> unavailableRevisionsByLanguage = new ConcurrentHashMap<>();
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder reloads = new LongAdder();
+
+	public WorkflowPlanRegistry(WorkflowDefinitionService workflowDefinitionService, WorkflowValidator workflowValidator) {
+		this.workflowDefinitionService = workflowDefinitionService;
+		this.workflowValidator = workflowValidator;
+		for (GenerationLanguage language : GenerationLanguage.values()) {
+			revisionsByLanguage.put(language, new AtomicLong());
+		}
+	}
+
+	/**
+	 * Returns the language's cached plan, loading it on a miss. The load runs outside the map so no lock is held
+	 * during the queries, and its result is installed only while the language's revision is still the one it was
+	 * loaded for, so an invalidation that races the load is not undone.
+	 */
+	public WorkflowPlan plan(GenerationLanguage language) {
+		AtomicLong revisions = revisionsByLanguage.get(language);
+		long revision = revisions.get();
+		CachedPlan cached = plansByLanguage.get(language);
+		if (cached != null && cached.revision() == revision) {
+			hits.increment();
+			return cached.plan();
+		}
+		misses.increment();
+		CachedPlan loaded = load(language, revision);
+		if (revisions.get() == revision) {
+			CachedPlan current = plansByLanguage.putIfAbsent(language, loaded);
+			if (current != null && current.revision() != revision) {
+				plansByLanguage.replace(language, current, loaded);
+			}
+		}
+		return loaded.plan();
+	}
+
+	/**
+	 * Returns the language's plan, or nothing when it has none or it cannot be loaded. A failed load is logged once
+	 * and remembered until the language's plan is next invalidated, so callers that poll every language do not query
+	 * the workflow tables for it on every pass.
+	 */
+	public Optional<WorkflowPlan> findPlan(GenerationLanguage language) {
+		long revision = revisionsByLanguage.get(language).get();
+		Long unavailableRevision = unavailableRevisionsByLanguage.get(language);
+		if (unavailableRevision != null && unavailableRevision == revision) {
+			return Optional.empty();
+		}
+		try {
+			return Optional.of(plan(language));
+		} catch (RuntimeException ex) {
+			unavailableRevisionsByLanguage.put(language, revision);
+			log.warn("No usable workflow plan for language {} until its definition changes: {}", language, ex.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	public void invalidate(GenerationLanguage language) {
+		if (language == null) {
+			invalidateAll();
+			return;
+		}
+		revisionsByLanguage.get(language).incrementAndGet();
+		plansByLanguage.remove(language);
+		unavailableRevisionsByLanguage.remove(language);
+		log.info("Invalidated cached workflow plan for language {}", language);
+	}
+
+	public void invalidateAll() {
+		revisionsByLanguage.values().forEach(AtomicLong::incrementAndGet);
+		plansByLanguage.clear();
+		unavailableRevisionsByLanguage.clear();
+		log.info("Invalidated all cached workflow plans");
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onDefinitionChanged(WorkflowDefinitionChangedEvent event) {
+		invalidate(event.language());
+	}
+
+	public WorkflowPlanCacheStatsDTO stats() {
+		Map<String, Integer> versions = new LinkedHashMap<>();
+		plansByLanguage.forEach((language, cached) -> versions.put(language.name(), cached.plan().definitionVersion()));
+		return new WorkflowPlanCacheStatsDTO(hits.sum(), misses.sum(), reloads.sum(), versions);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("workflow.plan.cache.hits", hits, LongAdder::sum).register(registry);
+		FunctionCounter.builder("workflow.plan.cache.misses", misses, LongAdder::sum).register(registry);
+		FunctionCounter.builder("workflow.plan.cache.reloads", reloads, LongAdder::sum).register(registry);
+		Gauge.builder("workflow.plan.cache.size", plansByLanguage, Map::size).register(registry);
+	}
+
+	private CachedPlan load(GenerationLanguage language, long revision) {
+		WorkflowPlan plan = workflowDefinitionService.loadActivePlan(language);
+		workflowValidator.validate(plan);
+		reloads.increment();
+		log.info("Loaded workflow plan {} v{} for language {}", plan.definition().getCode(), plan.definitionVersion(), language);
+		return new CachedPlan(plan, revision);
+	}
+
+	private record CachedPlan(WorkflowPlan plan, long revision) {
+	}
+}
@@ -0,0 +1,62 @@
+package com.src.main.workflow.engine;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.src.main.dto.StepResult;
+import com.src.main.model.workflow.WorkflowStepEntity;
+
+/**
+ * Pre-parsed retry settings of a workflow step. The delay before a retry grows exponentially from {@code backoffMs}
+ * by {@code multiplier} per attempt, is capped at {@code maxBackoffMs}, and is then shortened by a random share of up
+ * to {@code jitter} of itself, so runs that failed together do not retry together.
+ *
+ * <p>{@code retryOn} lists the error codes worth retrying: the codes executors put on their failed results,
+ * {@link #TIMEOUT} for attempts that ran out of time, or the simple class name of an exception a step threw. An empty
+ * list retries every failure.
+ */
+public record WorkflowRetryPolicy(
+		int maxAttempts,
+		long backoffMs,
+		double multiplier,
+		long maxBackoffMs,
+		double jitter,
+		Set<String> retryOn) {
+
+	public static final String TIMEOUT = "TIMEOUT";
+
+	public static final WorkflowRetryPolicy NONE = new WorkflowRetryPolicy(1, 0L, 1.0d, 0L, 0.0d, Set.of());
+
+	public static WorkflowRetryPolicy of(WorkflowStepEntity step, List<String> retryOn) {
+		if (!step.isRetryEnabled()) {
+			return NONE;
+		}
+		int maxAttempts = step.getRetryMaxAttempts() == null ? 1 : Math.max(1, step.getRetryMaxAttempts());
+		long backoffMs = step.getRetryBackoffMs() == null ? 0L : Math.max(0L, step.getRetryBackoffMs());
+		double multiplier = step.getRetryBackoffMultiplier() == null ? 1.0d : Math.max(1.0d, step.getRetryBackoffMultiplier());
+		long maxBackoffMs = step.getRetryMaxBackoffMs() == null || step.getRetryMaxBackoffMs() <= 0
+				? Long.MAX_VALUE
+				: Math.max(backoffMs, step.getRetryMaxBackoffMs());
+		double jitter = step.getRetryJitter() == null ? 0.0d : Math.min(1.0d, Math.max(0.0d, step.getRetryJitter()));
+		return new WorkflowRetryPolicy(maxAttempts, backoffMs, multiplier, maxBackoffMs, jitter, Set.copyOf(retryOn));
+	}
+
+	/**
+	 * Whether a step whose {@code attempt} failed with {@code result} gets another attempt.
+	 */
+	public boolean retries(StepResult result, int attempt) {
+		return attempt < maxAttempts && (retryOn.isEmpty() || retryOn.contains(result.getCode()));
+	}
+
+	/**
+	 * Delay before the attempt following {@code attempt}, jitter applied.
+	 */
+	public long delayAfter(int attempt) {
+		long backoff = (long) Math.min(backoffMs * Math.pow(multiplier, attempt - 1), maxBackoffMs);
+		if (jitter <= 0.0d || backoff <= 0L) {
+			return backoff;
+		}
+		return backoff - (long) (backoff * jitter * ThreadLocalRandom.current().nextDouble());
+	}
+}
@@ -0,0 +1,23 @@
+package com.src.main.workflow.engine;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pre-parsed input/output declarations of a workflow step plus the state keys read by its run condition.
+ */
+public record WorkflowStepContract(
+		List<String> requiredInputs,
+		List<String> optionalInputs,
+		List<String> declaredOutputs,
+		Set<String> conditionKeys) {
+
+	public boolean readsAnyOf(List<String> outputs) {
+		for (String output : outputs) {
+			if (requiredInputs.contains(output) || optionalInputs.contains(output) || conditionKeys.contains(output)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
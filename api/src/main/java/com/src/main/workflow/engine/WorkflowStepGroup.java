@@ -0,0 +1,22 @@
+package com.src.main.workflow.engine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.src.main.model.workflow.WorkflowStepEntity;
+
+/**
+ * Linear segment of steps that execute concurrently where their dependencies allow. {@code dependencies} maps a step
+ * id to the ids of the earlier steps in the group it waits for; steps without entries can start immediately.
+ */
+public record WorkflowStepGroup(List<WorkflowStepEntity> steps, Map<UUID, List<UUID>> dependencies) {
+
+	public WorkflowStepEntity lastStep() {
+		return steps.get(steps.size() - 1);
+	}
+
+	public List<UUID> dependenciesOf(WorkflowStepEntity step) {
+		return dependencies.getOrDefault(step.getId(), List.of());
+	}
+}
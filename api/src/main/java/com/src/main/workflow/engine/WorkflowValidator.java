@@ -18,19 +18,16 @@ public class WorkflowValidator {
 	private final WorkflowExecutorRegistry workflowExecutorRegistry;
 	private final WorkflowExecutorPoolRegistry workflowExecutorPoolRegistry;
 	private final WorkflowJsonHelper workflowJsonHelper;
-	private final WorkflowConditionEvaluator workflowConditionEvaluator;
 
 	public WorkflowValidator(
 			WorkflowDefinitionService workflowDefinitionService,
 			WorkflowExecutorRegistry workflowExecutorRegistry,
 			WorkflowExecutorPoolRegistry workflowExecutorPoolRegistry,
-			WorkflowJsonHelper workflowJsonHelper,
-			WorkflowConditionEvaluator workflowConditionEvaluator) {
+			WorkflowJsonHelper workflowJsonHelper) {
 		this.workflowDefinitionService = workflowDefinitionService;
 		this.workflowExecutorRegistry = workflowExecutorRegistry;
 		this.workflowExecutorPoolRegistry = workflowExecutorPoolRegistry;
 		this.workflowJsonHelper = workflowJsonHelper;
-		this.workflowConditionEvaluator = workflowConditionEvaluator;
 	}
 
 	@PostConstruct
@@ -62,7 +59,6 @@ public class WorkflowValidator {
 			workflowJsonHelper.readStringList(step.getRequiredInputsJson());
 			workflowJsonHelper.readStringList(step.getOptionalInputsJson());
 			workflowJsonHelper.readStringList(step.getDeclaredOutputsJson());
-			workflowConditionEvaluator.matches(step.getRunConditionJson(), new org.springframework.statemachine.support.DefaultExtendedState());
 		}
 		if (!workflowExecutorPoolRegistry.exists(plan.definition().getDispatchPoolCode())) {
 			throw new IllegalStateException("Missing dispatch pool " + plan.definition().getDispatchPoolCode() + " for workflow " + plan.definition().getCode());
@@ -78,7 +74,6 @@ public class WorkflowValidator {
 					throw new IllegalStateException("Workflow " + plan.definition().getCode()
 							+ " has transition to missing step " + transition.getTargetStepCode());
 				}
-				workflowConditionEvaluator.matches(transition.getConditionJson(), new org.springframework.statemachine.support.DefaultExtendedState());
 			}
 		}
 	}
@@ -1,47 +1,83 @@
 package com.src.main.workflow.generation;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.statemachine.support.DefaultExtendedState;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.src.main.exception.GenericException;
 import com.src.main.model.ProjectEntity;
 import com.src.main.model.ProjectRunEntity;
 import com.src.main.repository.ProjectRunRepository;
 import com.src.main.service.ProjectEventStreamService;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GeneratedFileStats;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.sm.executor.common.GenerationUnitStats;
+import com.src.main.sm.executor.common.InMemoryGeneratedFileSink;
 import com.src.main.util.ProjectMetaDataConstants;
 import com.src.main.util.ProjectRunStatus;
 import com.src.main.workflow.ProjectArchiveService;
+import com.src.main.workflow.ProjectRunCancellationRegistry;
+import com.src.main.workflow.ProjectRunLeaseService;
+import com.src.main.workflow.artifact.ArtifactStore;
+import com.src.main.workflow.artifact.StoredArtifact;
+import com.src.main.workflow.engine.WorkflowCheckpointService;
 import com.src.main.workflow.engine.WorkflowEngineService;
 import com.src.main.service.PluginModuleService;
 
 @Component
 public class DatabaseWorkflowProjectGenerationStrategy implements ProjectGenerationStrategy {
 
+	private static final Logger log = LoggerFactory.getLogger(DatabaseWorkflowProjectGenerationStrategy.class);
+
 	private final WorkflowEngineService workflowEngineService;
 	private final ProjectRunRepository runRepository;
 	private final ProjectEventStreamService projectEventStreamService;
 	private final ProjectArchiveService projectArchiveService;
 	private final PluginModuleService pluginModuleService;
+	private final ArtifactStore artifactStore;
+	private final WorkflowCheckpointService workflowCheckpointService;
+	private final ProjectRunCancellationRegistry cancellationRegistry;
+	private final ProjectRunLeaseService projectRunLeaseService;
+	private final TransactionTemplate transactionTemplate;
 
 	public DatabaseWorkflowProjectGenerationStrategy(
 			WorkflowEngineService workflowEngineService,
 			ProjectRunRepository runRepository,
 			ProjectEventStreamService projectEventStreamService,
 			ProjectArchiveService projectArchiveService,
-			PluginModuleService pluginModuleService) {
+			PluginModuleService pluginModuleService,
+			ArtifactStore artifactStore,
+			WorkflowCheckpointService workflowCheckpointService,
+			ProjectRunCancellationRegistry cancellationRegistry,
+			ProjectRunLeaseService projectRunLeaseService,
+			PlatformTransactionManager transactionManager) {
 		this.workflowEngineService = workflowEngineService;
 		this.runRepository = runRepository;
 		this.projectEventStreamService = projectEventStreamService;
 		this.projectArchiveService = projectArchiveService;
 		this.pluginModuleService = pluginModuleService;
+		this.artifactStore = artifactStore;
+		this.workflowCheckpointService = workflowCheckpointService;
+		this.cancellationRegistry = cancellationRegistry;
+		this.projectRunLeaseService = projectRunLeaseService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
 	@Override
@@ -51,67 +87,187 @@ public class DatabaseWorkflowProjectGenerationStrategy implements ProjectGenerat
 
 	@Override
 	public byte[] generatePreviewZip(Map<String, Object> yaml, Map<String, Object> app) {
-		Path tempDir = null;
 		try {
-			tempDir = Files.createTempDirectory("project_view_");
+			GeneratedFileSink sink = newSink("project_view_");
 			DefaultExtendedState state = new DefaultExtendedState();
-			populatePreviewVariables(state.getVariables(), tempDir, yaml, app);
+			populatePreviewVariables(state.getVariables(), sink, yaml, app);
 			workflowEngineService.execute(resolveLanguage(yaml), state, null);
-			pluginModuleService.applyPluginsToProject(tempDir, resolveSelectedPlugins(yaml, app));
-			return projectArchiveService.zipDirectory(tempDir);
+			pluginModuleService.applyPluginsToProject(sink, resolveSelectedPlugins(yaml, app));
+			return projectArchiveService.zip(sink);
 		} catch (GenericException ex) {
 			throw ex;
 		} catch (Exception ex) {
 			throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
-		} finally {
-			projectArchiveService.deleteDirectoryQuietly(tempDir);
 		}
 	}
 
+	/**
+	 * The workflow releases the calling thread while steps back off before a retry, so the archive is built and the
+	 * outcome recorded on whichever dispatch thread finishes the workflow.
+	 */
 	@Override
-	public void run(ProjectRunEntity run, ProjectEntity project, Map<String, Object> yaml) {
-		Path tempDir = null;
+	public CompletableFuture<Void> run(ProjectRunEntity run, ProjectEntity project, Map<String, Object> yaml) {
+		GenerationCancellation cancellation = cancellationRegistry.open(run.getId());
+		GeneratedFileSink sink = newSink("gen_dbwf_");
+		CompletableFuture<DefaultExtendedState> workflow;
 		try {
-			tempDir = Files.createTempDirectory("gen_dbwf_");
+			cancellation.onCancel(sink::discard);
 			DefaultExtendedState state = new DefaultExtendedState();
-			populateProjectVariables(state.getVariables(), tempDir, project, yaml);
-			workflowEngineService.execute(resolveLanguage(yaml), state, run);
-			pluginModuleService.applyPluginsToProject(tempDir, resolveSelectedPlugins(yaml, project));
-			byte[] zipData = projectArchiveService.zipDirectory(tempDir);
-			run.setZip(zipData);
-			run.setStatus(ProjectRunStatus.SUCCESS);
-			run.setErrorMessage(null);
-			runRepository.saveAndFlush(run);
+			populateProjectVariables(state.getVariables(), sink, project, yaml);
+			state.getVariables().put(ProjectMetaDataConstants.CANCELLATION, cancellation);
+			workflow = workflowEngineService.executeAsync(resolveLanguage(yaml), state, run);
+		} catch (RuntimeException ex) {
+			workflow = CompletableFuture.failedFuture(ex);
+		}
+		return workflow
+				.thenAccept(ignored -> complete(run, project, yaml, sink, cancellation))
+				.handle((ignored, ex) -> {
+					if (ex != null) {
+						fail(run, cancellation, ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+					}
+					return null;
+				});
+	}
+
+	private void complete(ProjectRunEntity run, ProjectEntity project, Map<String, Object> yaml, GeneratedFileSink sink,
+			GenerationCancellation cancellation) {
+		try {
+			cancellation.throwIfCancelled();
+			pluginModuleService.applyPluginsToProject(sink, resolveSelectedPlugins(yaml, project));
+			StoredArtifact artifact = artifactStore.store(out -> projectArchiveService.writeTo(sink, out));
+			cancellation.throwIfCancelled();
+			GenerationUnitStats unitStats = sink.unitStats();
+			GeneratedFileStats fileStats = sink.fileStats();
+			log.info("Run {} rendered {} generation units and reused {}, writing {} files ({} bytes)", run.getId(),
+					unitStats.rendered(), unitStats.reused(), fileStats.files(), fileStats.bytes());
+			// Leader and followers change together; otherwise the followers would be claimable as runs of their own
+			// between the leader's commit and theirs.
+			List<ProjectRunEntity> followers = transactionTemplate.execute(status ->
+					finish(run, cancellation, ProjectRunStatus.SUCCESS, null, artifact.sha256())
+							? completeCoalescedRuns(run)
+							: null);
+			if (followers == null) {
+				return;
+			}
 			projectEventStreamService.publish(run.getProject().getId(), "generation", Map.of(
 					"projectId", run.getProject().getId().toString(),
 					"runId", run.getId().toString(),
 					"status", "SUCCESS",
 					"fileName", run.getProject().getArtifact() + ".zip",
-					"hasZip", true));
+					"hasZip", true,
+					"unitsRendered", unitStats.rendered(),
+					"unitsReused", unitStats.reused(),
+					"filesWritten", fileStats.files(),
+					"bytesWritten", fileStats.bytes()));
+			followers.forEach(follower -> publishCoalescedSuccess(follower, run));
+			workflowCheckpointService.discard(run);
 		} catch (Exception ex) {
-			run.setStatus(ProjectRunStatus.ERROR);
-			run.setErrorMessage(ex.getMessage());
-			runRepository.saveAndFlush(run);
-			projectEventStreamService.publish(run.getProject().getId(), "generation", Map.of(
-					"projectId", run.getProject().getId().toString(),
-					"runId", run.getId().toString(),
-					"status", "ERROR",
-					"hasZip", false,
-					"message", ex.getMessage() == null ? "Generation failed." : ex.getMessage()));
-			throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
-		} finally {
-			projectArchiveService.deleteDirectoryQuietly(tempDir);
+			throw new CompletionException(ex);
+		}
+	}
+
+	private void fail(ProjectRunEntity run, GenerationCancellation cancellation, Throwable ex) {
+		if (cancellation.isCancelled()) {
+			markCancelled(run, cancellation.reason());
+			return;
 		}
+		if (!finish(run, cancellation, ProjectRunStatus.ERROR, ex.getMessage(), null)) {
+			return;
+		}
+		projectEventStreamService.publish(run.getProject().getId(), "generation", Map.of(
+				"projectId", run.getProject().getId().toString(),
+				"runId", run.getId().toString(),
+				"status", "ERROR",
+				"hasZip", false,
+				"message", ex.getMessage() == null ? "Generation failed." : ex.getMessage()));
+		throw new GenericException(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
+	}
+
+	/**
+	 * Writes the run's terminal status, provided the run is still in progress under this node's lease. Writing the
+	 * whole entity instead would overwrite whatever happened to the run meanwhile: a cancel committed before the
+	 * cancellation poll reached this node, or another node finishing it after the lease was lost. Returns
+	 * {@code false} when the outcome was dropped.
+	 */
+	private boolean finish(ProjectRunEntity run, GenerationCancellation cancellation, ProjectRunStatus status,
+			String errorMessage, String artifactSha256) {
+		int updated = runRepository.finishHeldRun(run.getId(), projectRunLeaseService.workerId(),
+				ProjectRunStatus.INPROGRESS, status, errorMessage, artifactSha256, OffsetDateTime.now());
+		if (updated == 0) {
+			if (!runRepository.findIdsByIdInAndStatus(List.of(run.getId()), ProjectRunStatus.CANCELLED).isEmpty()) {
+				cancellation.cancel("Generation cancelled.");
+				markCancelled(run, cancellation.reason());
+			} else {
+				log.warn("Run {} is no longer leased to {}; dropping its {} outcome", run.getId(),
+						projectRunLeaseService.workerId(), status);
+			}
+			return false;
+		}
+		run.setStatus(status);
+		run.setErrorMessage(errorMessage);
+		run.setArtifactSha256(artifactSha256);
+		return true;
+	}
+
+	/**
+	 * Records a run that stopped because it was cancelled. The cancel request already committed the status and
+	 * published the event, so nothing is written; saving the entity the run holds would only risk overwriting them.
+	 */
+	private void markCancelled(ProjectRunEntity run, String reason) {
+		log.info("Run {} stopped after cancellation: {}", run.getId(), reason);
+		run.setStatus(ProjectRunStatus.CANCELLED);
+		run.setErrorMessage(reason);
+	}
+
+	/**
+	 * Hands the artifact to the runs that attached to this one while it was queued or in progress, and returns those
+	 * that were completed. Must run in the transaction that completes the leader. When the run fails the followers are
+	 * left queued and become claimable on their own.
+	 */
+	private List<ProjectRunEntity> completeCoalescedRuns(ProjectRunEntity leader) {
+		List<ProjectRunEntity> completed = new ArrayList<>();
+		for (ProjectRunEntity follower : runRepository.findCoalescedRunsWithProject(leader.getId(),
+				ProjectRunStatus.QUEUED)) {
+			// A follower cancelled since it was read keeps its status.
+			if (runRepository.completeCoalescedRun(follower.getId(), leader.getId(), ProjectRunStatus.QUEUED,
+					ProjectRunStatus.SUCCESS, leader.getArtifactSha256(), OffsetDateTime.now()) > 0) {
+				completed.add(follower);
+			}
+		}
+		if (!completed.isEmpty()) {
+			log.info("Run {} completed {} coalesced runs", leader.getId(), completed.size());
+		}
+		return completed;
+	}
+
+	private void publishCoalescedSuccess(ProjectRunEntity follower, ProjectRunEntity leader) {
+		projectEventStreamService.publish(follower.getProject().getId(), "generation", Map.of(
+				"projectId", follower.getProject().getId().toString(),
+				"runId", follower.getId().toString(),
+				"status", "SUCCESS",
+				"fileName", follower.getProject().getArtifact() + ".zip",
+				"hasZip", true,
+				"coalescedInto", leader.getId().toString()));
+	}
+
+	/**
+	 * Generated files are kept in memory and streamed straight into the archive. The root is only a logical
+	 * location that executors resolve paths against; nothing is created under it.
+	 */
+	private GeneratedFileSink newSink(String prefix) {
+		return new InMemoryGeneratedFileSink(Path.of(System.getProperty("java.io.tmpdir"), prefix + UUID.randomUUID()));
 	}
 
 	private GenerationLanguage resolveLanguage(Map<String, Object> yaml) {
 		return com.src.main.sm.executor.common.GenerationLanguageResolver.resolveFromYaml(yaml);
 	}
 
-	private void populatePreviewVariables(Map<Object, Object> variables, Path tempDir, Map<String, Object> yaml,
+	private void populatePreviewVariables(Map<Object, Object> variables, GeneratedFileSink sink, Map<String, Object> yaml,
 			Map<String, Object> app) {
-		variables.put(ProjectMetaDataConstants.ROOT_DIR, tempDir.toString());
+		variables.put(ProjectMetaDataConstants.ROOT_DIR, sink.root().toString());
+		variables.put(ProjectMetaDataConstants.FILE_SINK, sink);
 		variables.put(ProjectMetaDataConstants.YAML, yaml);
+		variables.put(ProjectMetaDataConstants.APP_SPEC, BoundAppSpec.bind(yaml));
 		variables.put(ProjectMetaDataConstants.GROUP_ID,
 				String.valueOf(app.getOrDefault(ProjectMetaDataConstants.GROUP_ID, ProjectMetaDataConstants.DEFAULT_GROUP)));
 		variables.put(ProjectMetaDataConstants.ARTIFACT_ID,
@@ -132,10 +288,12 @@ public class DatabaseWorkflowProjectGenerationStrategy implements ProjectGenerat
 				String.valueOf(app.getOrDefault(ProjectMetaDataConstants.JDK_VERSION, ProjectMetaDataConstants.DEFAULT_JDK)));
 	}
 
-	private void populateProjectVariables(Map<Object, Object> variables, Path tempDir, ProjectEntity project,
+	private void populateProjectVariables(Map<Object, Object> variables, GeneratedFileSink sink, ProjectEntity project,
 			Map<String, Object> yaml) {
-		variables.put(ProjectMetaDataConstants.ROOT_DIR, tempDir.toString());
+		variables.put(ProjectMetaDataConstants.ROOT_DIR, sink.root().toString());
+		variables.put(ProjectMetaDataConstants.FILE_SINK, sink);
 		variables.put(ProjectMetaDataConstants.YAML, yaml);
+		variables.put(ProjectMetaDataConstants.APP_SPEC, BoundAppSpec.bind(yaml));
 		variables.put("id", project.getId());
 		variables.put(ProjectMetaDataConstants.GROUP_ID, project.getGroupId());
 		variables.put(ProjectMetaDataConstants.ARTIFACT_ID, project.getArtifact());
@@ -149,7 +307,7 @@ public class DatabaseWorkflowProjectGenerationStrategy implements ProjectGenerat
 	}
 
 	@SuppressWarnings("unchecked")
-	private List<Map<String, Object>> resolveSelectedPlugins(Map<String, Object> yaml, Object source) {
+	static List<Map<String, Object>> resolveSelectedPlugins(Map<String, Object> yaml, Object source) {
 		Object fromSpec = yaml == null ? null : ((Map<String, Object>) ((Map<String, Object>) yaml.getOrDefault("core", Collections.emptyMap())))
 				.get("modules");
 		if (fromSpec instanceof Map<?, ?> modules) {
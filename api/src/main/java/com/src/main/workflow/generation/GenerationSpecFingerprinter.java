@@ -0,0 +1,96 @@
+package com.src.main.workflow.generation;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.Yaml;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.src.main.model.ProjectEntity;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.sm.executor.common.GenerationLanguageResolver;
+import com.src.main.workflow.engine.WorkflowPlan;
+import com.src.main.workflow.engine.WorkflowPlanRegistry;
+
+/**
+ * Fingerprints everything a generation run of a project reads: its language, YAML spec, selected plugins and the
+ * project fields copied into the workflow state, plus the generator that turns them into files. Two runs with the same
+ * fingerprint produce the same archive, so one can attach to or reuse the other. The spec is serialized with sorted
+ * keys so formatting and key order do not matter.
+ *
+ * <p>The generator is identified by the language's active workflow definition code and version and by
+ * {@code app.generation.generator-version}, which defaults to the implementation version of the template module. A
+ * deployment that changes templates without changing either should set that property, or runs of the previous build
+ * are reused.
+ */
+@Component
+public class GenerationSpecFingerprinter {
+
+	private static final Logger log = LoggerFactory.getLogger(GenerationSpecFingerprinter.class);
+
+	private final ObjectMapper canonicalMapper = JsonMapper.builder()
+			.enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+			.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+			.build();
+	private final WorkflowPlanRegistry workflowPlanRegistry;
+	private final String generatorVersion;
+
+	public GenerationSpecFingerprinter(
+			WorkflowPlanRegistry workflowPlanRegistry,
+			@Value("${app.generation.generator-version:}") String generatorVersion) {
+		this.workflowPlanRegistry = workflowPlanRegistry;
+		this.generatorVersion = generatorVersion == null || generatorVersion.isBlank()
+				? Optional.ofNullable(GeneratedFileSink.class.getPackage().getImplementationVersion()).orElse("unversioned")
+				: generatorVersion.trim();
+	}
+
+	/**
+	 * SHA-256 of the project's canonical generation input, or {@code null} when the spec cannot be read or its
+	 * language has no workflow, in which case the run is never deduplicated.
+	 */
+	@SuppressWarnings("unchecked")
+	public String fingerprint(ProjectEntity project) {
+		try {
+			Map<String, Object> yaml = (Map<String, Object>) new Yaml().load(project.getYaml());
+			GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
+			Optional<WorkflowPlan> plan = workflowPlanRegistry.findPlan(language);
+			if (plan.isEmpty()) {
+				return null;
+			}
+			Map<String, Object> input = new LinkedHashMap<>();
+			input.put("language", language.name());
+			input.put("workflow", plan.get().definition().getCode() + ":" + plan.get().definitionVersion());
+			input.put("generatorVersion", generatorVersion);
+			input.put("yaml", yaml);
+			input.put("plugins", DatabaseWorkflowProjectGenerationStrategy.resolveSelectedPlugins(yaml, project));
+			input.put("groupId", project.getGroupId());
+			input.put("artifactId", project.getArtifact());
+			input.put("version", project.getVersion());
+			input.put("buildTool", project.getBuildTool());
+			input.put("packaging", project.getPackaging());
+			input.put("generator", project.getGenerator());
+			input.put("name", project.getName());
+			input.put("description", project.getDescription());
+			input.put("jdkVersion", project.getJdkVersion());
+			byte[] canonical = canonicalMapper.writeValueAsBytes(input);
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		} catch (Exception ex) {
+			log.debug("Project {} has no spec fingerprint: {}", project.getId(), ex.getMessage());
+			return null;
+		}
+	}
+}
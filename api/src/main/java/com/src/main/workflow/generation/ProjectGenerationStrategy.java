@@ -1,6 +1,7 @@
 package com.src.main.workflow.generation;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.src.main.model.ProjectEntity;
 import com.src.main.model.ProjectRunEntity;
@@ -12,5 +13,9 @@ public interface ProjectGenerationStrategy {
 
 	byte[] generatePreviewZip(Map<String, Object> yaml, Map<String, Object> app);
 
-	void run(ProjectRunEntity run, ProjectEntity project, Map<String, Object> yaml);
+	/**
+	 * Starts generating {@code run}. The returned future completes once the run has finished and its outcome has been
+	 * recorded, exceptionally when it failed.
+	 */
+	CompletableFuture<Void> run(ProjectRunEntity run, ProjectEntity project, Map<String, Object> yaml);
 }
@@ -0,0 +1,22 @@
+INSERT INTO permissions (name, display_name, description, category, active)
+VALUES
+    ('workflow.plan.read', 'View Workflow Plans', 'View cached workflow plans and cache statistics', 'WORKFLOW', true),
+    ('workflow.plan.manage', 'Manage Workflow Plans', 'Reload cached workflow plans after definition changes', 'WORKFLOW', true)
+ON CONFLICT (name) DO UPDATE
+SET display_name = EXCLUDED.display_name,
+    description = EXCLUDED.description,
+    category = EXCLUDED.category,
+    active = EXCLUDED.active,
+    updated_at = now();
+
+INSERT INTO role_permissions (role_name, permission_name)
+VALUES
+    ('ROLE_SUPER_ADMIN', 'workflow.plan.read'),
+    ('ROLE_SUPER_ADMIN', 'workflow.plan.manage')
+ON CONFLICT DO NOTHING;
+
+INSERT INTO routes (id, path_pattern, http_method, role_name, authority_name, priority, active)
+VALUES
+    ('10000000-0000-0000-0000-000000000150', '/api/v1/admin/workflows/**', null, 'ROLE_SUPER_ADMIN', 'workflow.plan.read', 45, true),
+    ('10000000-0000-0000-0000-000000000151', '/api/v1/admin/workflows/**', null, 'ROLE_SUPER_ADMIN', 'workflow.plan.manage', 45, true)
+ON CONFLICT (id) DO NOTHING;
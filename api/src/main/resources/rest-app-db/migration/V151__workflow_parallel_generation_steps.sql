@@ -0,0 +1,17 @@
+-- Generators that only read the spec and write their own packages may run concurrently.
+-- The engine runs each linear segment of steps as a group: serial steps keep their order, and an async step starts as
+-- soon as the earlier steps whose declared outputs it reads have finished.
+UPDATE workflow_steps ws
+SET async_execution = TRUE,
+    updated_at = now()
+FROM workflow_definitions wd
+WHERE ws.workflow_id = wd.id
+  AND wd.code IN ('JAVA_DEFAULT', 'KOTLIN_DEFAULT')
+  AND ws.step_code IN (
+      'DTO_GENERATION',
+      'ENUM_GENERATION',
+      'MODEL_GENERATION',
+      'SWAGGER_GENERATION',
+      'EXCEPTION_PACKAGE_GENERATION',
+      'MAPPER_GENERATION'
+  );
@@ -0,0 +1,13 @@
+ALTER TABLE workflow_executor_pools
+    ADD COLUMN IF NOT EXISTS pool_kind VARCHAR(30) NOT NULL DEFAULT 'PLATFORM';
+
+ALTER TABLE workflow_executor_pools
+    ADD COLUMN IF NOT EXISTS max_concurrency INTEGER;
+
+-- Dispatch threads block for the whole run and IO steps block on the filesystem; a thread-per-task pool
+-- bounded by max_concurrency lets them scale without tying up platform threads.
+UPDATE workflow_executor_pools
+SET pool_kind = 'VIRTUAL',
+    max_concurrency = 32,
+    updated_at = now()
+WHERE pool_code IN ('workflow-dispatch', 'workflow-io');
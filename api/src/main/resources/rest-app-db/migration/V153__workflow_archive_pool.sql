@@ -0,0 +1,15 @@
+-- Deflates archive entries in parallel while ProjectArchiveService streams the ZIP in entry order.
+INSERT INTO workflow_executor_pools (
+    id, pool_code, pool_name, core_pool_size, max_pool_size, queue_capacity, keep_alive_seconds, active, created_at, updated_at
+)
+SELECT (
+           substr(md5('workflow_executor_pool:workflow-archive'), 1, 8) || '-' ||
+           substr(md5('workflow_executor_pool:workflow-archive'), 9, 4) || '-' ||
+           substr(md5('workflow_executor_pool:workflow-archive'), 13, 4) || '-' ||
+           substr(md5('workflow_executor_pool:workflow-archive'), 17, 4) || '-' ||
+           substr(md5('workflow_executor_pool:workflow-archive'), 21, 12)
+       )::uuid,
+       'workflow-archive', 'Workflow Archive Pool', 2, 4, 64, 60, TRUE, now(), now()
+WHERE NOT EXISTS (
+    SELECT 1 FROM workflow_executor_pools WHERE pool_code = 'workflow-archive'
+);
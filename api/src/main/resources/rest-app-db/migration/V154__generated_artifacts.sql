@@ -0,0 +1,38 @@
+CREATE TABLE IF NOT EXISTS generated_artifacts (
+    sha256       VARCHAR(64)  PRIMARY KEY,
+    size_bytes   BIGINT       NOT NULL,
+    storage_kind VARCHAR(30)  NOT NULL,
+    content_oid  OID,
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    last_used_at TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_generated_artifacts_last_used
+    ON generated_artifacts (last_used_at);
+
+ALTER TABLE project_runs
+    ADD COLUMN IF NOT EXISTS artifact_sha256 VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_runs_artifact_sha256
+    ON project_runs (artifact_sha256);
+
+-- Existing inline archives become database large objects, one per distinct content hash.
+INSERT INTO generated_artifacts (sha256, size_bytes, storage_kind, content_oid, created_at, last_used_at)
+SELECT d.sha256, length(d.zip), 'DATABASE', lo_from_bytea(0, d.zip), now(), now()
+FROM (
+    SELECT DISTINCT ON (encode(sha256(zip), 'hex')) encode(sha256(zip), 'hex') AS sha256, zip
+    FROM project_runs
+    WHERE zip IS NOT NULL
+      AND length(zip) > 0
+) d
+WHERE NOT EXISTS (
+    SELECT 1 FROM generated_artifacts a WHERE a.sha256 = d.sha256
+);
+
+UPDATE project_runs
+SET artifact_sha256 = encode(sha256(zip), 'hex')
+WHERE zip IS NOT NULL
+  AND length(zip) > 0;
+
+ALTER TABLE project_runs
+    DROP COLUMN IF EXISTS zip;
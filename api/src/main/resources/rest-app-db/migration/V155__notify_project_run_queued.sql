@@ -0,0 +1,16 @@
+-- Wakes queue workers listening on project_run_queued as soon as a run becomes claimable.
+-- The notification is delivered when the enqueuing transaction commits.
+CREATE OR REPLACE FUNCTION notify_project_run_queued() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('project_run_queued', NEW.id::text);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_project_run_queued ON project_runs;
+
+CREATE TRIGGER trg_project_run_queued
+    AFTER INSERT OR UPDATE OF status ON project_runs
+    FOR EACH ROW
+    WHEN (NEW.status = 'QUEUED')
+    EXECUTE FUNCTION notify_project_run_queued();
@@ -0,0 +1,7 @@
+CREATE INDEX IF NOT EXISTS idx_runs_queued_type_owner_created
+    ON project_runs (type, owner_id, created_at)
+    WHERE status = 'QUEUED';
+
+CREATE INDEX IF NOT EXISTS idx_runs_inprogress_type_owner
+    ON project_runs (type, owner_id)
+    WHERE status = 'INPROGRESS';
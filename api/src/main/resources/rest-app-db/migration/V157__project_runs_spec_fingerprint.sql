@@ -0,0 +1,11 @@
+ALTER TABLE project_runs
+    ADD COLUMN IF NOT EXISTS spec_fingerprint VARCHAR(64);
+
+ALTER TABLE project_runs
+    ADD COLUMN IF NOT EXISTS coalesced_into UUID;
+
+CREATE INDEX IF NOT EXISTS idx_runs_spec_fingerprint
+    ON project_runs (spec_fingerprint, status, updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_runs_coalesced_into
+    ON project_runs (coalesced_into);
@@ -0,0 +1,18 @@
+ALTER TABLE project_runs
+    ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(200);
+
+ALTER TABLE project_runs
+    ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMPTZ;
+
+ALTER TABLE project_runs
+    ADD COLUMN IF NOT EXISTS attempt_count INT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_runs_status_lease_expires
+    ON project_runs (status, lease_expires_at);
+
+-- Runs already in progress keep the old 30 minute allowance, counted as their first attempt.
+UPDATE project_runs
+SET lease_expires_at = updated_at + INTERVAL '30 minutes',
+    attempt_count = 1
+WHERE status = 'INPROGRESS'
+  AND lease_expires_at IS NULL;
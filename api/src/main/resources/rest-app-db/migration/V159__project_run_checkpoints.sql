@@ -0,0 +1,25 @@
+CREATE TABLE IF NOT EXISTS project_run_checkpoints (
+    run_id           UUID         PRIMARY KEY,
+    project_id       UUID         NOT NULL,
+    spec_fingerprint VARCHAR(64)  NOT NULL,
+    workflow_code    VARCHAR(120) NOT NULL,
+    workflow_version INT          NOT NULL,
+    next_step_code   VARCHAR(120) NOT NULL,
+    variables_json   TEXT         NOT NULL,
+    artifact_sha256  VARCHAR(64),
+    created_at       TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    updated_at       TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    CONSTRAINT fk_run_checkpoints_run
+        FOREIGN KEY (run_id)
+        REFERENCES project_runs (id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_run_checkpoints_project_fingerprint
+    ON project_run_checkpoints (project_id, spec_fingerprint, updated_at);
+
+CREATE INDEX IF NOT EXISTS idx_run_checkpoints_artifact_sha256
+    ON project_run_checkpoints (artifact_sha256);
+
+CREATE INDEX IF NOT EXISTS idx_run_checkpoints_updated_at
+    ON project_run_checkpoints (updated_at);
@@ -0,0 +1,15 @@
+ALTER TABLE workflow_steps
+    ADD COLUMN IF NOT EXISTS retry_max_backoff_ms BIGINT;
+
+ALTER TABLE workflow_steps
+    ADD COLUMN IF NOT EXISTS retry_jitter DOUBLE PRECISION;
+
+ALTER TABLE workflow_steps
+    ADD COLUMN IF NOT EXISTS retry_on_json TEXT;
+
+-- Steps that already retry spread their retries by up to 20% of the backoff, so runs failing together do not
+-- retry together.
+UPDATE workflow_steps
+SET retry_jitter = 0.2
+WHERE retry_enabled
+  AND retry_jitter IS NULL;
@@ -0,0 +1,10 @@
+-- DTO and model generation both merge validation messages into the shared spec map (yaml.messages), which scaffolding
+-- reads later. The map is not thread-safe, so these steps stay serial and only the steps that leave the spec untouched
+-- run concurrently.
+UPDATE workflow_steps ws
+SET async_execution = FALSE,
+    updated_at = now()
+FROM workflow_definitions wd
+WHERE ws.workflow_id = wd.id
+  AND wd.code IN ('JAVA_DEFAULT', 'KOTLIN_DEFAULT')
+  AND ws.step_code IN ('DTO_GENERATION', 'MODEL_GENERATION');
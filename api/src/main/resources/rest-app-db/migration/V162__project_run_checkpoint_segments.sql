@@ -0,0 +1,6 @@
+-- Checkpoints store the files each step changed as a separate archive instead of re-archiving every file generated
+-- so far. The JSON array lists those archives in the order they are applied, each with the entries deleted since
+-- the previous one: [{"sha256": "...", "deleted": ["..."]}]. artifact_sha256 remains the full snapshot written for
+-- file sinks that cannot report their changes.
+ALTER TABLE project_run_checkpoints
+    ADD COLUMN IF NOT EXISTS artifact_segments_json TEXT;
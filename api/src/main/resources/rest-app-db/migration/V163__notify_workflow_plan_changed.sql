@@ -0,0 +1,31 @@
+-- Tells every node that cached workflow plans, and the preview archives built from them, are stale as soon as a
+-- change to a workflow definition, step or transition commits, whether it came through the admin API, a migration
+-- or a manual update. Notifications are per statement without a payload, so a bulk change sends one notification
+-- and listeners reload every language.
+CREATE OR REPLACE FUNCTION notify_workflow_plan_changed() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('workflow_plan_changed', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_workflow_definitions_changed ON workflow_definitions;
+
+CREATE TRIGGER trg_workflow_definitions_changed
+    AFTER INSERT OR UPDATE OR DELETE ON workflow_definitions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_workflow_plan_changed();
+
+DROP TRIGGER IF EXISTS trg_workflow_steps_changed ON workflow_steps;
+
+CREATE TRIGGER trg_workflow_steps_changed
+    AFTER INSERT OR UPDATE OR DELETE ON workflow_steps
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_workflow_plan_changed();
+
+DROP TRIGGER IF EXISTS trg_workflow_transitions_changed ON workflow_transitions;
+
+CREATE TRIGGER trg_workflow_transitions_changed
+    AFTER INSERT OR UPDATE OR DELETE ON workflow_transitions
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION notify_workflow_plan_changed();
@@ -43,6 +43,7 @@ import com.src.main.repository.ProjectDraftVersionRepository;
 import com.src.main.repository.PluginModuleRepository;
 import com.src.main.repository.ProjectRepository;
 import com.src.main.repository.ProjectRunRepository;
+import com.src.main.service.PreviewArchiveCache;
 import com.src.main.service.ProjectDraftService;
 import com.src.main.service.ProjectDraftSpecMapperService;
 import com.src.main.service.ProjectCollaborationService;
@@ -85,6 +86,8 @@ class ProjectDraftApiE2ETest {
 	private ProjectOrchestrationService projectOrchestrationService;
 	@Mock
 	private ProjectEventStreamService projectEventStreamService;
+	@Mock
+	private PreviewArchiveCache previewArchiveCache;
 
 	private MockMvc mockMvc;
 	private ObjectMapper objectMapper;
@@ -110,7 +113,8 @@ class ProjectDraftApiE2ETest {
 				projectNameValidationService,
 				projectCollaborationService,
 				rbacService,
-				Validation.buildDefaultValidatorFactory().getValidator());
+				Validation.buildDefaultValidatorFactory().getValidator(),
+				previewArchiveCache);
 
 		ProjectController controller = new ProjectController(
 				projectService,
@@ -0,0 +1,138 @@
+package com.src.main.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.src.main.auth.service.RbacService;
+import com.src.main.model.GeneratedArtifactEntity;
+import com.src.main.model.ProjectEntity;
+import com.src.main.model.ProjectRunEntity;
+import com.src.main.repository.ProjectContributorRepository;
+import com.src.main.repository.ProjectRepository;
+import com.src.main.repository.ProjectRunRepository;
+import com.src.main.service.ProjectEventStreamService;
+import com.src.main.service.ProjectNameValidationService;
+import com.src.main.service.ProjectOrchestrationServiceImpl;
+import com.src.main.service.ProjectUserIdentityService;
+import com.src.main.service.ProjectYamlService;
+import com.src.main.workflow.ProjectRunCancellationService;
+import com.src.main.workflow.artifact.ArtifactStore;
+import com.src.main.workflow.generation.GenerationSpecFingerprinter;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectRunControllerDownloadTest {
+
+	private static final String SHA256 = "4f0c1d5e";
+	private static final byte[] ARCHIVE = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+	@Mock
+	private ProjectRepository projectRepository;
+	@Mock
+	private ProjectRunRepository projectRunRepository;
+	@Mock
+	private ProjectContributorRepository projectContributorRepository;
+	@Mock
+	private ProjectUserIdentityService projectUserIdentityService;
+	@Mock
+	private ProjectNameValidationService projectNameValidationService;
+	@Mock
+	private RbacService rbacService;
+	@Mock
+	private ArtifactStore artifactStore;
+	@Mock
+	private GenerationSpecFingerprinter generationSpecFingerprinter;
+	@Mock
+	private ProjectEventStreamService projectEventStreamService;
+	@Mock
+	private ProjectRunCancellationService projectRunCancellationService;
+
+	private MockMvc mockMvc;
+	private ProjectRunEntity run;
+
+	@BeforeEach
+	void setUp() {
+		ProjectOrchestrationServiceImpl orchestrationService = new ProjectOrchestrationServiceImpl(projectRepository,
+				projectRunRepository, projectContributorRepository, projectUserIdentityService, new ProjectYamlService(),
+				projectNameValidationService, rbacService, artifactStore, generationSpecFingerprinter,
+				projectEventStreamService, projectRunCancellationService);
+		mockMvc = MockMvcBuilders
+				.standaloneSetup(new ProjectRunController(orchestrationService, projectUserIdentityService))
+				.build();
+
+		ProjectEntity project = new ProjectEntity();
+		project.setId(UUID.randomUUID());
+		project.setOwnerId("user-1");
+		project.setArtifact("orders");
+		run = new ProjectRunEntity();
+		run.setId(UUID.randomUUID());
+		run.setProject(project);
+		run.setArtifactSha256(SHA256);
+		when(projectUserIdentityService.currentUserId(any(Principal.class))).thenReturn("user-1");
+		when(projectUserIdentityService.resolve("user-1"))
+				.thenReturn(new ProjectUserIdentityService.ResolvedProjectUser("user-1", Set.of("user-1")));
+		when(rbacService.currentUserHasPermission(anyString())).thenReturn(true);
+		when(projectRunRepository.findByIdWithProject(run.getId())).thenReturn(Optional.of(run));
+		when(projectRepository.findWithContributorsById(project.getId())).thenReturn(Optional.of(project));
+	}
+
+	@Test
+	void download_withMatchingIfNoneMatch_returnsNotModified() throws Exception {
+		storedArtifact();
+
+		mockMvc.perform(get("/api/runs/{runId}/download", run.getId())
+						.principal(() -> "user-1")
+						.header(HttpHeaders.IF_NONE_MATCH, "\"" + SHA256 + "\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"" + SHA256 + "\""))
+				.andExpect(content().bytes(new byte[0]));
+	}
+
+	@Test
+	void download_withRange_returnsPartialContent() throws Exception {
+		storedArtifact();
+
+		mockMvc.perform(get("/api/runs/{runId}/download", run.getId())
+						.principal(() -> "user-1")
+						.header(HttpHeaders.RANGE, "bytes=2-5"))
+				.andExpect(status().isPartialContent())
+				.andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/" + ARCHIVE.length))
+				.andExpect(content().bytes("2345".getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void download_whenArtifactIsNotStoredYet_returnsAccepted() throws Exception {
+		when(artifactStore.find(SHA256)).thenReturn(Optional.empty());
+
+		mockMvc.perform(get("/api/runs/{runId}/download", run.getId()).principal(() -> "user-1"))
+				.andExpect(status().isAccepted());
+	}
+
+	private void storedArtifact() {
+		GeneratedArtifactEntity artifact = new GeneratedArtifactEntity();
+		artifact.setSha256(SHA256);
+		artifact.setSizeBytes(ARCHIVE.length);
+		when(artifactStore.find(SHA256)).thenReturn(Optional.of(artifact));
+		when(artifactStore.asResource(artifact, "orders.zip")).thenReturn(new ByteArrayResource(ARCHIVE));
+	}
+}
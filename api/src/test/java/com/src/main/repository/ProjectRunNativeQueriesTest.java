@@ -0,0 +1,302 @@
+package com.src.main.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.src.main.repository.query.GeneratedArtifactQueries;
+import com.src.main.repository.query.ProjectRunCheckpointQueries;
+import com.src.main.repository.query.ProjectRunQueries;
+import com.src.main.util.ProjectRunStatus;
+import com.src.main.util.ProjectRunType;
+
+/**
+ * Runs the hand-written native queries against a real Postgres, migrated into a throwaway schema.
+ * Point {@code TEST_DATASOURCE_URL} (and optionally {@code TEST_DATASOURCE_USERNAME} and
+ * {@code TEST_DATASOURCE_PASSWORD}) at a database to enable it; the CI build job does so against its Postgres service
+ * container (see {@code .github/workflows/main_spring-init.yml}).
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DATASOURCE_URL", matches = ".+")
+class ProjectRunNativeQueriesTest {
+
+	private static final String QUEUED = ProjectRunStatus.QUEUED.name();
+	private static final String INPROGRESS = ProjectRunStatus.INPROGRESS.name();
+	private static final String TYPE = ProjectRunType.GENERATE_CODE.name();
+	private static final OffsetDateTime NOW = OffsetDateTime.of(2026, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+	private static final String SCHEMA = "native_queries_" + UUID.randomUUID().toString().replace("-", "");
+
+	private static DriverManagerDataSource dataSource;
+	private static NamedParameterJdbcTemplate jdbc;
+	private static TransactionTemplate transactionTemplate;
+
+	private UUID projectId;
+
+	@BeforeAll
+	static void migrate() {
+		String url = System.getenv("TEST_DATASOURCE_URL");
+		String username = System.getenv().getOrDefault("TEST_DATASOURCE_USERNAME", "postgres");
+		String password = System.getenv().getOrDefault("TEST_DATASOURCE_PASSWORD", "postgres");
+		Flyway.configure()
+				.dataSource(url, username, password)
+				.schemas(SCHEMA)
+				.locations("classpath:rest-app-db/migration")
+				.outOfOrder(true)
+				.load()
+				.migrate();
+		dataSource = new DriverManagerDataSource(url + (url.contains("?") ? "&" : "?") + "currentSchema=" + SCHEMA,
+				username, password);
+		jdbc = new NamedParameterJdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+	}
+
+	@AfterAll
+	static void dropSchema() {
+		if (jdbc != null) {
+			jdbc.getJdbcOperations().execute("drop schema if exists " + SCHEMA + " cascade");
+		}
+	}
+
+	@BeforeEach
+	void setUp() {
+		jdbc.getJdbcOperations()
+				.execute("truncate project_run_checkpoints, project_runs, generated_artifacts, projects cascade");
+		projectId = UUID.randomUUID();
+		jdbc.update("""
+				insert into projects (id, yaml, owner_id, created_at, updated_at)
+				values (:id, 'app: {}', 'owner', :now, :now)
+				""", new MapSqlParameterSource().addValue("id", projectId).addValue("now", NOW));
+	}
+
+	@Test
+	void lockQueuedOwners_skipsOwnersAtInFlightLimitAndOrdersByOldestRun() {
+		run("alice", INPROGRESS, 1);
+		run("alice", INPROGRESS, 2);
+		run("alice", QUEUED, 3);
+		run("bob", QUEUED, 5);
+		run("carol", QUEUED, 4);
+
+		List<String> owners = transactionTemplate.execute(status -> jdbc.queryForList(
+				ProjectRunQueries.LOCK_QUEUED_OWNERS_NATIVE,
+				queueParams(2).addValue("ownerLimit", 10), String.class));
+
+		assertThat(owners).containsExactly("carol", "bob");
+	}
+
+	@Test
+	void findNextFairBatch_interleavesOwnersAndCapsRunsPerOwner() {
+		UUID alice1 = run("alice", QUEUED, 1);
+		UUID alice2 = run("alice", QUEUED, 2);
+		run("alice", QUEUED, 3);
+		UUID bob1 = run("bob", QUEUED, 4);
+		UUID bob2 = run("bob", QUEUED, 5);
+		run("carol", INPROGRESS, 0);
+		UUID carol1 = run("carol", QUEUED, 6);
+		run("carol", QUEUED, 7);
+
+		List<UUID> batch = fairBatch(List.of("alice", "bob", "carol"), 2, 10);
+
+		assertThat(batch).containsExactly(alice1, bob1, alice2, bob2, carol1);
+	}
+
+	@Test
+	void findNextFairBatch_skipsFollowersOfActiveLeader() {
+		UUID activeLeader = run("alice", INPROGRESS, 1);
+		UUID finishedLeader = run("alice", ProjectRunStatus.SUCCESS.name(), 2);
+		run("bob", QUEUED, 3, activeLeader);
+		UUID orphan = run("bob", QUEUED, 4, finishedLeader);
+
+		List<UUID> batch = fairBatch(List.of("bob"), 2, 10);
+
+		assertThat(batch).containsExactly(orphan);
+	}
+
+	@Test
+	void findExpiredLeases_returnsOnlyExpiredInProgressRuns() {
+		UUID expired = leased(run("alice", INPROGRESS, 1), NOW.minusSeconds(5));
+		leased(run("alice", INPROGRESS, 2), NOW.plusSeconds(30));
+		leased(run("bob", QUEUED, 3), NOW.minusSeconds(5));
+
+		List<UUID> runs = transactionTemplate.execute(status -> jdbc.query(
+				ProjectRunQueries.FIND_EXPIRED_LEASES_NATIVE,
+				new MapSqlParameterSource().addValue("status", INPROGRESS).addValue("now", NOW).addValue("limit", 10),
+				(rs, row) -> rs.getObject("id", UUID.class)));
+
+		assertThat(runs).containsExactly(expired);
+	}
+
+	@Test
+	void lockSpecFingerprint_blocksSameFingerprintUntilCommit() {
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbc.queryForObject(ProjectRunQueries.LOCK_SPEC_FINGERPRINT_NATIVE,
+					Map.of("specFingerprint", "abc"), Integer.class);
+
+			assertThat(tryLockElsewhere("abc")).isFalse();
+			assertThat(tryLockElsewhere("def")).isTrue();
+		});
+
+		assertThat(tryLockElsewhere("abc")).isTrue();
+	}
+
+	@Test
+	void findLatestFailedBySpec_returnsNewestCheckpointOfAnotherFailedRun() {
+		checkpoint(run("alice", ProjectRunStatus.ERROR.name(), 1), "spec", null, null, 1);
+		UUID newer = checkpoint(run("alice", ProjectRunStatus.ERROR.name(), 2), "spec", null, null, 2);
+		checkpoint(run("alice", ProjectRunStatus.CANCELLED.name(), 3), "spec", null, null, 3);
+		checkpoint(run("alice", ProjectRunStatus.ERROR.name(), 4), "other", null, null, 4);
+		UUID current = run("alice", INPROGRESS, 5);
+
+		List<UUID> checkpoints = jdbc.query(ProjectRunCheckpointQueries.FIND_LATEST_FAILED_BY_SPEC_NATIVE,
+				new MapSqlParameterSource()
+						.addValue("projectId", projectId)
+						.addValue("specFingerprint", "spec")
+						.addValue("workflowCode", "JAVA_DEFAULT")
+						.addValue("workflowVersion", 1)
+						.addValue("runId", current)
+						.addValue("failedStatus", ProjectRunStatus.ERROR.name()),
+				(rs, row) -> rs.getObject("run_id", UUID.class));
+
+		assertThat(checkpoints).containsExactly(newer);
+	}
+
+	@Test
+	void findUnreferencedUnusedSince_keepsArtifactsReferencedByRunsAndCheckpointSegments() {
+		artifact("run-artifact", 10);
+		artifact("checkpoint-artifact", 10);
+		artifact("segment-artifact", 10);
+		artifact("orphan", 10);
+		artifact("recent-orphan", 0);
+		UUID run = run("alice", ProjectRunStatus.SUCCESS.name(), 1);
+		jdbc.update("update project_runs set artifact_sha256 = 'run-artifact' where id = :id", Map.of("id", run));
+		checkpoint(run("alice", ProjectRunStatus.ERROR.name(), 2), "spec", "checkpoint-artifact",
+				"[{\"sha256\":\"segment-artifact\",\"deleted\":[]},{\"sha256\":null,\"deleted\":[\"a.txt\"]}]", 1);
+
+		List<String> unreferenced = jdbc.query(GeneratedArtifactQueries.FIND_UNREFERENCED_UNUSED_SINCE_NATIVE,
+				new MapSqlParameterSource().addValue("cutoff", NOW.minusMinutes(5)).addValue("limit", 10),
+				(rs, row) -> rs.getString("sha256"));
+
+		assertThat(unreferenced).containsExactly("orphan");
+	}
+
+	@Test
+	void deleteIfUnreferencedUnusedSince_deletesOnlyArtifactsStillEligible() {
+		artifact("orphan", 10);
+		artifact("reused", 0);
+		artifact("segment-artifact", 10);
+		checkpoint(run("alice", ProjectRunStatus.ERROR.name(), 1), "spec", null,
+				"[{\"sha256\":\"segment-artifact\",\"deleted\":[]}]", 1);
+
+		assertThat(deleteIfEligible("orphan")).isEqualTo(1);
+		assertThat(deleteIfEligible("reused")).isZero();
+		assertThat(deleteIfEligible("segment-artifact")).isZero();
+		assertThat(jdbc.queryForList("select sha256 from generated_artifacts order by sha256", Map.of(), String.class))
+				.containsExactly("reused", "segment-artifact");
+	}
+
+	private int deleteIfEligible(String sha256) {
+		return jdbc.update(GeneratedArtifactQueries.DELETE_IF_UNREFERENCED_UNUSED_SINCE_NATIVE,
+				new MapSqlParameterSource().addValue("sha256", sha256).addValue("cutoff", NOW.minusMinutes(5)));
+	}
+
+	private List<UUID> fairBatch(List<String> ownerIds, int maxInFlightPerOwner, int limit) {
+		return transactionTemplate.execute(status -> jdbc.query(
+				ProjectRunQueries.FIND_NEXT_FAIR_BATCH_FOR_PROCESSING_NATIVE,
+				queueParams(maxInFlightPerOwner).addValue("ownerIds", ownerIds).addValue("limit", limit),
+				(rs, row) -> rs.getObject("id", UUID.class)));
+	}
+
+	private static MapSqlParameterSource queueParams(int maxInFlightPerOwner) {
+		return new MapSqlParameterSource()
+				.addValue("status", QUEUED)
+				.addValue("inFlightStatus", INPROGRESS)
+				.addValue("type", TYPE)
+				.addValue("maxInFlightPerOwner", maxInFlightPerOwner);
+	}
+
+	private UUID run(String ownerId, String status, int minute) {
+		return run(ownerId, status, minute, null);
+	}
+
+	private UUID run(String ownerId, String status, int minute, UUID coalescedInto) {
+		UUID id = UUID.randomUUID();
+		jdbc.update("""
+				insert into project_runs (id, project_id, owner_id, type, status, run_number, created_at, coalesced_into)
+				values (:id, :projectId, :ownerId, :type, :status, :runNumber, :createdAt, :coalescedInto)
+				""", new MapSqlParameterSource()
+				.addValue("id", id)
+				.addValue("projectId", projectId)
+				.addValue("ownerId", ownerId)
+				.addValue("type", TYPE)
+				.addValue("status", status)
+				.addValue("runNumber", minute)
+				.addValue("createdAt", NOW.plusMinutes(minute))
+				.addValue("coalescedInto", coalescedInto));
+		return id;
+	}
+
+	private UUID leased(UUID runId, OffsetDateTime expiresAt) {
+		jdbc.update("update project_runs set lease_owner = 'worker', lease_expires_at = :expiresAt where id = :id",
+				new MapSqlParameterSource().addValue("id", runId).addValue("expiresAt", expiresAt));
+		return runId;
+	}
+
+	private UUID checkpoint(UUID runId, String specFingerprint, String artifactSha256, String segmentsJson,
+			int minute) {
+		jdbc.update("""
+				insert into project_run_checkpoints (run_id, project_id, spec_fingerprint, workflow_code,
+				    workflow_version, next_step_code, variables_json, artifact_sha256, artifact_segments_json,
+				    created_at, updated_at)
+				values (:runId, :projectId, :specFingerprint, 'JAVA_DEFAULT', 1, 'DTO_GENERATION', '{}',
+				    :artifactSha256, :segmentsJson, :updatedAt, :updatedAt)
+				""", new MapSqlParameterSource()
+				.addValue("runId", runId)
+				.addValue("projectId", projectId)
+				.addValue("specFingerprint", specFingerprint)
+				.addValue("artifactSha256", artifactSha256)
+				.addValue("segmentsJson", segmentsJson)
+				.addValue("updatedAt", NOW.plusMinutes(minute)));
+		return runId;
+	}
+
+	private void artifact(String sha256, int minutesUnused) {
+		jdbc.update("""
+				insert into generated_artifacts (sha256, size_bytes, storage_kind, created_at, last_used_at)
+				values (:sha256, 1, 'DATABASE', :lastUsedAt, :lastUsedAt)
+				""", new MapSqlParameterSource()
+				.addValue("sha256", sha256)
+				.addValue("lastUsedAt", NOW.minusMinutes(minutesUnused)));
+	}
+
+	private static boolean tryLockElsewhere(String specFingerprint) {
+		try (Connection connection = dataSource.getConnection();
+				PreparedStatement statement = connection
+						.prepareStatement("select pg_try_advisory_xact_lock(hashtext('project_run_spec:' || ?))")) {
+			statement.setString(1, specFingerprint);
+			try (ResultSet rs = statement.executeQuery()) {
+				rs.next();
+				return rs.getBoolean(1);
+			}
+		} catch (SQLException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+}
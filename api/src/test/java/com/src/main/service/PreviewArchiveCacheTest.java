@@ -0,0 +1,170 @@
+package com.src.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.src.main.model.workflow.WorkflowDefinitionEntity;
+import com.src.main.workflow.engine.WorkflowDefinitionChangedEvent;
+import com.src.main.workflow.engine.WorkflowPlan;
+import com.src.main.workflow.engine.WorkflowPlanRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PreviewArchiveCacheTest {
+
+	@Mock
+	private WorkflowPlanRegistry workflowPlanRegistry;
+	@Mock
+	private WorkflowPlan plan;
+
+	@BeforeEach
+	void setUp() {
+		WorkflowDefinitionEntity definition = new WorkflowDefinitionEntity();
+		definition.setCode("JAVA_DEFAULT");
+		lenient().when(workflowPlanRegistry.plan(any())).thenReturn(plan);
+		lenient().when(plan.definition()).thenReturn(definition);
+		lenient().when(plan.definitionVersion()).thenReturn(1);
+	}
+
+	@Test
+	void get_withSameSpec_generatesOnceAndServesCachedArchive() {
+		PreviewArchiveCache cache = cache(1024);
+		AtomicInteger generations = new AtomicInteger();
+
+		byte[] first = cache.get(spec("orders"), () -> archive(generations, 4));
+		byte[] second = cache.get(spec("orders"), () -> archive(generations, 4));
+
+		assertThat(second).isSameAs(first);
+		assertThat(generations).hasValue(1);
+	}
+
+	@Test
+	void get_withConcurrentRequestsForSameSpec_sharesOneGeneration() throws Exception {
+		PreviewArchiveCache cache = cache(1024);
+		AtomicInteger generations = new AtomicInteger();
+		CountDownLatch generating = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<byte[]>> results = new ArrayList<>();
+			results.add(executor.submit(() -> cache.get(spec("orders"), () -> {
+				generating.countDown();
+				await(release);
+				return archive(generations, 4);
+			})));
+			assertThat(generating.await(5, TimeUnit.SECONDS)).isTrue();
+			for (int request = 0; request < 3; request++) {
+				results.add(executor.submit(() -> cache.get(spec("orders"), () -> archive(generations, 4))));
+			}
+			release.countDown();
+
+			byte[] archive = results.get(0).get(5, TimeUnit.SECONDS);
+			for (Future<byte[]> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(archive);
+			}
+			assertThat(generations).hasValue(1);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void get_overMaxBytes_evictsLeastRecentlyUsedArchive() {
+		PreviewArchiveCache cache = cache(10);
+		AtomicInteger generations = new AtomicInteger();
+		cache.get(spec("orders"), () -> archive(generations, 4));
+		cache.get(spec("billing"), () -> archive(generations, 4));
+		cache.get(spec("orders"), () -> archive(generations, 4));
+
+		cache.get(spec("shipping"), () -> archive(generations, 4));
+		cache.get(spec("orders"), () -> archive(generations, 4));
+		cache.get(spec("billing"), () -> archive(generations, 4));
+
+		assertThat(generations).hasValue(4);
+	}
+
+	@Test
+	void get_withArchiveLargerThanCache_doesNotCacheIt() {
+		PreviewArchiveCache cache = cache(10);
+		AtomicInteger generations = new AtomicInteger();
+
+		cache.get(spec("orders"), () -> archive(generations, 16));
+		cache.get(spec("orders"), () -> archive(generations, 16));
+
+		assertThat(generations).hasValue(2);
+	}
+
+	@Test
+	void get_whenGenerationFails_propagatesAndRetriesNextTime() {
+		PreviewArchiveCache cache = cache(1024);
+		AtomicInteger generations = new AtomicInteger();
+
+		assertThatThrownBy(() -> cache.get(spec("orders"), () -> {
+			throw new IllegalStateException("template missing");
+		})).isInstanceOf(IllegalStateException.class).hasMessage("template missing");
+		cache.get(spec("orders"), () -> archive(generations, 4));
+
+		assertThat(generations).hasValue(1);
+	}
+
+	@Test
+	void onDefinitionChanged_dropsCachedArchives() {
+		PreviewArchiveCache cache = cache(1024);
+		AtomicInteger generations = new AtomicInteger();
+		cache.get(spec("orders"), () -> archive(generations, 4));
+
+		cache.onDefinitionChanged(WorkflowDefinitionChangedEvent.all());
+		cache.get(spec("orders"), () -> archive(generations, 4));
+
+		assertThat(generations).hasValue(2);
+	}
+
+	@Test
+	void get_whileTemplatesHotReload_bypassesCache() {
+		PreviewArchiveCache cache = new PreviewArchiveCache(workflowPlanRegistry, true, 1024, true);
+		AtomicInteger generations = new AtomicInteger();
+
+		cache.get(spec("orders"), () -> archive(generations, 4));
+		cache.get(spec("orders"), () -> archive(generations, 4));
+
+		assertThat(generations).hasValue(2);
+	}
+
+	private PreviewArchiveCache cache(long maxBytes) {
+		return new PreviewArchiveCache(workflowPlanRegistry, true, maxBytes, false);
+	}
+
+	private static Map<String, Object> spec(String name) {
+		return Map.of("app", Map.of("language", "java", "name", name));
+	}
+
+	private static byte[] archive(AtomicInteger generations, int size) {
+		generations.incrementAndGet();
+		return new byte[size];
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,178 @@
+package com.src.main.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.src.main.auth.service.RbacService;
+import com.src.main.model.ProjectEntity;
+import com.src.main.model.ProjectRunEntity;
+import com.src.main.repository.ProjectContributorRepository;
+import com.src.main.repository.ProjectRepository;
+import com.src.main.repository.ProjectRunRepository;
+import com.src.main.util.ProjectRunStatus;
+import com.src.main.util.ProjectRunType;
+import com.src.main.workflow.ProjectRunCancellationService;
+import com.src.main.workflow.artifact.ArtifactStore;
+import com.src.main.workflow.generation.GenerationSpecFingerprinter;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectOrchestrationServiceImplDedupTest {
+
+	private static final String OWNER = "owner-user";
+
+	@Mock
+	private ProjectRepository projectRepository;
+	@Mock
+	private ProjectRunRepository projectRunRepository;
+	@Mock
+	private ProjectContributorRepository projectContributorRepository;
+	@Mock
+	private ProjectUserIdentityService projectUserIdentityService;
+	@Mock
+	private ProjectYamlService projectYamlService;
+	@Mock
+	private ProjectNameValidationService projectNameValidationService;
+	@Mock
+	private RbacService rbacService;
+	@Mock
+	private ArtifactStore artifactStore;
+	@Mock
+	private GenerationSpecFingerprinter generationSpecFingerprinter;
+	@Mock
+	private ProjectEventStreamService projectEventStreamService;
+	@Mock
+	private ProjectRunCancellationService projectRunCancellationService;
+
+	private ProjectOrchestrationServiceImpl service;
+	private ProjectEntity project;
+
+	@BeforeEach
+	void setUp() {
+		service = new ProjectOrchestrationServiceImpl(projectRepository, projectRunRepository,
+				projectContributorRepository, projectUserIdentityService, projectYamlService,
+				projectNameValidationService, rbacService, artifactStore, generationSpecFingerprinter,
+				projectEventStreamService, projectRunCancellationService);
+		ReflectionTestUtils.setField(service, "maxGeneratesPerUserPerDay", 5);
+		ReflectionTestUtils.setField(service, "dedupEnabled", true);
+		ReflectionTestUtils.setField(service, "dedupReuseWindowMinutes", 60L);
+		project = new ProjectEntity();
+		project.setId(UUID.randomUUID());
+		project.setArtifact("orders");
+		when(projectUserIdentityService.resolve(OWNER))
+				.thenReturn(new ProjectUserIdentityService.ResolvedProjectUser(OWNER, Set.of(OWNER)));
+	}
+
+	@Test
+	void createGenerateRun_withRecentIdenticalRun_savesSuccessfulRunSharingItsArtifact() {
+		when(generationSpecFingerprinter.fingerprint(project)).thenReturn("fingerprint");
+		ProjectRunEntity reusable = run(ProjectRunStatus.SUCCESS);
+		reusable.setArtifactSha256("sha");
+		when(projectRunRepository.findReusableBySpecFingerprint(eq("fingerprint"), eq(ProjectRunType.GENERATE_CODE),
+				eq(ProjectRunStatus.SUCCESS), any(), any())).thenReturn(List.of(reusable));
+		savesWithId();
+
+		ProjectRunEntity run = service.createGenerateRun(project, OWNER);
+
+		assertThat(run.getStatus()).isEqualTo(ProjectRunStatus.SUCCESS);
+		assertThat(run.getArtifactSha256()).isEqualTo("sha");
+		assertThat(run.getOwnerId()).isEqualTo(OWNER);
+		assertThat(run.getType()).isEqualTo(ProjectRunType.GENERATE_CODE);
+		assertThat(run.getCoalescedInto()).isNull();
+		verify(projectRunRepository).countUserRunsInPeriod(eq(OWNER), eq(ProjectRunType.GENERATE_CODE), any(), any());
+		verify(projectRunRepository).lockSpecFingerprint("fingerprint");
+	}
+
+	@Test
+	void createGenerateRun_whenDailyLimitReached_rejectsEvenAReusableRun() {
+		when(projectRunRepository.countUserRunsInPeriod(eq(OWNER), eq(ProjectRunType.GENERATE_CODE), any(), any()))
+				.thenReturn(5L);
+
+		assertThatThrownBy(() -> service.createGenerateRun(project, OWNER))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("Daily generate limit reached");
+		verify(projectRunRepository, never()).findReusableBySpecFingerprint(any(), any(), any(), any(), any());
+		verify(projectRunRepository, never()).save(any());
+	}
+
+	@Test
+	void createGenerateRun_withInFlightIdenticalRun_attachesToIt() {
+		when(generationSpecFingerprinter.fingerprint(project)).thenReturn("fingerprint");
+		ProjectRunEntity leader = run(ProjectRunStatus.INPROGRESS);
+		when(projectRunRepository.findReusableBySpecFingerprint(any(), any(), any(), any(), any())).thenReturn(List.of());
+		when(projectRunRepository.findCoalescingLeadersBySpecFingerprint(eq("fingerprint"),
+				eq(ProjectRunType.GENERATE_CODE), eq(List.of(ProjectRunStatus.QUEUED, ProjectRunStatus.INPROGRESS)),
+				any())).thenReturn(List.of(leader));
+		savesWithId();
+
+		ProjectRunEntity run = service.createGenerateRun(project, OWNER);
+
+		assertThat(run.getStatus()).isEqualTo(ProjectRunStatus.QUEUED);
+		assertThat(run.getCoalescedInto()).isEqualTo(leader.getId());
+		assertThat(run.getArtifactSha256()).isNull();
+	}
+
+	@Test
+	void createGenerateRun_withoutFingerprint_queuesPlainRun() {
+		when(generationSpecFingerprinter.fingerprint(project)).thenReturn(null);
+		savesWithId();
+
+		ProjectRunEntity run = service.createGenerateRun(project, OWNER);
+
+		assertThat(run.getStatus()).isEqualTo(ProjectRunStatus.QUEUED);
+		assertThat(run.getCoalescedInto()).isNull();
+		verifyDedupSkipped();
+	}
+
+	@Test
+	void createGenerateRun_withDedupDisabled_queuesPlainRun() {
+		ReflectionTestUtils.setField(service, "dedupEnabled", false);
+		when(generationSpecFingerprinter.fingerprint(project)).thenReturn("fingerprint");
+		savesWithId();
+
+		ProjectRunEntity run = service.createGenerateRun(project, OWNER);
+
+		assertThat(run.getStatus()).isEqualTo(ProjectRunStatus.QUEUED);
+		assertThat(run.getSpecFingerprint()).isEqualTo("fingerprint");
+		assertThat(run.getCoalescedInto()).isNull();
+		verifyDedupSkipped();
+	}
+
+	private void verifyDedupSkipped() {
+		verify(projectRunRepository, never()).lockSpecFingerprint(anyString());
+		verify(projectRunRepository, never()).findReusableBySpecFingerprint(any(), any(), any(), any(), any());
+		verify(projectRunRepository, never()).findCoalescingLeadersBySpecFingerprint(any(), any(), any(), any());
+	}
+
+	private void savesWithId() {
+		when(projectRunRepository.save(any(ProjectRunEntity.class))).thenAnswer(invocation -> {
+			ProjectRunEntity saved = invocation.getArgument(0);
+			saved.setId(UUID.randomUUID());
+			return saved;
+		});
+	}
+
+	private ProjectRunEntity run(ProjectRunStatus status) {
+		ProjectRunEntity run = new ProjectRunEntity();
+		run.setId(UUID.randomUUID());
+		run.setProject(project);
+		run.setStatus(status);
+		return run;
+	}
+}
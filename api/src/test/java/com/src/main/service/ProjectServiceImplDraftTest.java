@@ -65,6 +65,8 @@ class ProjectServiceImplDraftTest {
 	private ProjectCollaborationService projectCollaborationService;
 	@Mock
 	private com.src.main.auth.service.RbacService rbacService;
+	@Mock
+	private PreviewArchiveCache previewArchiveCache;
 	@Captor
 	private ArgumentCaptor<ProjectEntity> projectCaptor;
 
@@ -98,7 +100,8 @@ class ProjectServiceImplDraftTest {
 				projectNameValidationService,
 				projectCollaborationService,
 				rbacService,
-				validator);
+				validator,
+				previewArchiveCache);
 	}
 
 	@Test
@@ -0,0 +1,118 @@
+package com.src.main.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.src.main.model.ProjectEntity;
+import com.src.main.model.ProjectRunEntity;
+import com.src.main.repository.ProjectRunRepository;
+import com.src.main.util.ProjectRunStatus;
+import com.src.main.workflow.engine.WorkflowEngineService;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectQueueWorkerTest {
+
+	@Mock
+	private ProjectRunRepository projectRunRepository;
+	@Mock
+	private ProjectWorkflowService workflowService;
+	@Mock
+	private WorkflowEngineService workflowEngineService;
+	@Mock
+	private ProjectRunLeaseService projectRunLeaseService;
+	@Mock
+	private ProjectRunCancellationRegistry cancellationRegistry;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private ProjectQueueWorker worker;
+
+	@BeforeEach
+	void setUp() {
+		worker = new ProjectQueueWorker(projectRunRepository, workflowService, workflowEngineService,
+				projectRunLeaseService, cancellationRegistry, transactionManager, 2);
+	}
+
+	@Test
+	void pickAndSubmitBatch_withoutDispatchCapacity_claimsNothing() {
+		when(workflowEngineService.dispatchCapacity()).thenReturn(0);
+
+		ProjectQueueWorker.ClaimResult result = worker.pickAndSubmitBatch();
+
+		assertThat(result.picked()).isEmpty();
+		verifyNoInteractions(projectRunRepository, projectRunLeaseService, cancellationRegistry);
+	}
+
+	@Test
+	void pickAndSubmitBatch_claimsNoMoreRunsThanDispatchCapacity() {
+		ProjectRunEntity run = queuedRun();
+		when(workflowEngineService.dispatchCapacity()).thenReturn(3);
+		when(projectRunRepository.lockQueuedOwners(anyString(), anyString(), anyString(), eq(2), anyInt()))
+				.thenReturn(List.of("alice"));
+		when(projectRunRepository.findNextBatchForProcessing(anyString(), anyString(), anyString(), eq(List.of("alice")),
+				eq(2), eq(3))).thenReturn(List.of(run));
+		doReturn(CompletableFuture.completedFuture(null)).when(workflowEngineService).dispatch(any(), any());
+
+		ProjectQueueWorker.ClaimResult result = worker.pickAndSubmitBatch();
+
+		assertThat(result.limit()).isEqualTo(3);
+		assertThat(result.picked()).containsExactly(run.getId());
+		assertThat(run.getStatus()).isEqualTo(ProjectRunStatus.INPROGRESS);
+	}
+
+	@Test
+	void pickAndSubmitBatch_whenDispatchIsRejected_releasesTheRunAndLeasesOnlyDispatchedOnes() {
+		ProjectRunEntity dispatched = queuedRun();
+		ProjectRunEntity rejected = queuedRun();
+		when(workflowEngineService.dispatchCapacity()).thenReturn(10);
+		when(projectRunRepository.lockQueuedOwners(anyString(), anyString(), anyString(), anyInt(), anyInt()))
+				.thenReturn(List.of("alice"));
+		when(projectRunRepository.findNextBatchForProcessing(anyString(), anyString(), anyString(), anyList(), anyInt(),
+				anyInt())).thenReturn(List.of(dispatched, rejected));
+		doReturn(CompletableFuture.completedFuture(null))
+				.doThrow(new RejectedExecutionException("pool saturated"))
+				.when(workflowEngineService).dispatch(any(), any());
+
+		ProjectQueueWorker.ClaimResult result = worker.pickAndSubmitBatch();
+
+		assertThat(result.picked()).containsExactly(dispatched.getId(), rejected.getId());
+		assertThat(dispatched.getStatus()).isEqualTo(ProjectRunStatus.INPROGRESS);
+		assertThat(rejected.getStatus()).isEqualTo(ProjectRunStatus.QUEUED);
+		verify(projectRunLeaseService).release(rejected.getId());
+		verify(cancellationRegistry).close(rejected.getId());
+		verify(projectRunLeaseService, never()).release(dispatched.getId());
+		verify(projectRunLeaseService).acquire(List.of(dispatched.getId()));
+	}
+
+	private static ProjectRunEntity queuedRun() {
+		ProjectEntity project = new ProjectEntity();
+		project.setId(UUID.randomUUID());
+		project.setYaml("app:\n  name: orders\n");
+		ProjectRunEntity run = new ProjectRunEntity();
+		run.setId(UUID.randomUUID());
+		run.setProject(project);
+		run.setStatus(ProjectRunStatus.QUEUED);
+		return run;
+	}
+}
@@ -0,0 +1,108 @@
+package com.src.main.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.src.main.model.ProjectRunEntity;
+import com.src.main.repository.ProjectRunRepository;
+import com.src.main.util.ProjectRunStatus;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectRunLeaseServiceTest {
+
+	@Mock
+	private ProjectRunRepository projectRunRepository;
+	@Mock
+	private ProjectRunCancellationRegistry cancellationRegistry;
+
+	@Test
+	void acquire_withNoRuns_writesNothing() {
+		service(0L).acquire(List.of());
+
+		verifyNoInteractions(projectRunRepository);
+	}
+
+	@Test
+	void heartbeat_withNoHeldRuns_skipsRenewal() {
+		service(0L).heartbeat();
+
+		verifyNoInteractions(projectRunRepository);
+	}
+
+	@Test
+	void heartbeat_whenLeaseLost_cancelsLocalExecution() {
+		ProjectRunLeaseService service = service(0L);
+		UUID kept = UUID.randomUUID();
+		UUID lost = UUID.randomUUID();
+		service.hold(kept);
+		service.hold(lost);
+		when(projectRunRepository.renewLeases(anyList(), eq(service.workerId()), eq(ProjectRunStatus.INPROGRESS),
+				any())).thenReturn(1);
+		when(projectRunRepository.findIdsHeldBy(anyList(), eq(service.workerId()), eq(ProjectRunStatus.INPROGRESS)))
+				.thenReturn(List.of(kept));
+		when(cancellationRegistry.cancel(eq(lost), anyString())).thenReturn(true);
+
+		service.heartbeat();
+
+		verify(cancellationRegistry).cancel(eq(lost), anyString());
+		verify(cancellationRegistry).close(lost);
+		verify(cancellationRegistry, never()).cancel(eq(kept), anyString());
+	}
+
+	@Test
+	void heartbeat_whenLeaseNotYetVisibleForFreshClaim_keepsRunning() {
+		ProjectRunLeaseService service = service(60_000L);
+		UUID fresh = UUID.randomUUID();
+		service.hold(fresh);
+		when(projectRunRepository.renewLeases(anyList(), anyString(), any(), any())).thenReturn(0);
+		when(projectRunRepository.findIdsHeldBy(anyList(), anyString(), any())).thenReturn(List.of());
+
+		service.heartbeat();
+
+		verifyNoInteractions(cancellationRegistry);
+	}
+
+	@Test
+	void reclaimExpired_requeuesRunsBelowMaxAttemptsAndFailsTheRest() {
+		ProjectRunEntity retried = expiredRun(2);
+		ProjectRunEntity exhausted = expiredRun(3);
+		when(projectRunRepository.findExpiredLeases(eq(ProjectRunStatus.INPROGRESS.name()), any(), anyInt()))
+				.thenReturn(List.of(retried, exhausted));
+
+		service(0L).reclaimExpired();
+
+		assertThat(retried.getStatus()).isEqualTo(ProjectRunStatus.QUEUED);
+		assertThat(exhausted.getStatus()).isEqualTo(ProjectRunStatus.ERROR);
+		assertThat(exhausted.getErrorMessage()).contains("3 attempts").contains("node-a");
+		verify(projectRunRepository).releaseLeases(List.of(retried.getId(), exhausted.getId()));
+	}
+
+	private ProjectRunLeaseService service(long heartbeatMs) {
+		return new ProjectRunLeaseService(projectRunRepository, cancellationRegistry, 30_000L, heartbeatMs, 3);
+	}
+
+	private static ProjectRunEntity expiredRun(int attemptCount) {
+		ProjectRunEntity run = new ProjectRunEntity();
+		run.setId(UUID.randomUUID());
+		run.setStatus(ProjectRunStatus.INPROGRESS);
+		run.setLeaseOwner("node-a");
+		run.setAttemptCount(attemptCount);
+		return run;
+	}
+}
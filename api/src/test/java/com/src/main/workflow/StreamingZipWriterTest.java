@@ -0,0 +1,54 @@
+package com.src.main.workflow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.junit.jupiter.api.Test;
+
+class StreamingZipWriterTest {
+
+	@Test
+	void write_withMixedEntries_producesReadableArchive() throws Exception {
+		byte[] archive = archive();
+
+		Map<String, String> entries = new LinkedHashMap<>();
+		Map<String, Integer> methods = new LinkedHashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+				methods.put(entry.getName(), entry.getMethod());
+			}
+		}
+
+		assertThat(entries).containsExactly(
+				Map.entry("README.md", "hello ".repeat(200)),
+				Map.entry("gradle/wrapper/gradle-wrapper.jar", "jar-bytes"),
+				Map.entry("src/empty.txt", ""));
+		assertThat(methods.get("README.md")).isEqualTo(ZipEntry.DEFLATED);
+		assertThat(methods.get("gradle/wrapper/gradle-wrapper.jar")).isEqualTo(ZipEntry.STORED);
+	}
+
+	@Test
+	void write_withSameInputs_isByteForByteDeterministic() throws Exception {
+		assertThat(archive()).isEqualTo(archive());
+	}
+
+	private byte[] archive() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		StreamingZipWriter writer = new StreamingZipWriter(out);
+		writer.write(StreamingZipWriter.prepare("README.md", "hello ".repeat(200).getBytes(StandardCharsets.UTF_8), false));
+		writer.write(StreamingZipWriter.prepare("gradle/wrapper/gradle-wrapper.jar",
+				"jar-bytes".getBytes(StandardCharsets.UTF_8), true));
+		writer.write(StreamingZipWriter.prepare("src/empty.txt", new byte[0], false));
+		writer.finish();
+		return out.toByteArray();
+	}
+}
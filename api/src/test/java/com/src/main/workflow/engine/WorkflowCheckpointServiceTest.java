@@ -0,0 +1,208 @@
+package com.src.main.workflow.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.statemachine.support.DefaultExtendedState;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.src.main.model.GeneratedArtifactEntity;
+import com.src.main.model.ProjectEntity;
+import com.src.main.model.ProjectRunCheckpointEntity;
+import com.src.main.model.ProjectRunEntity;
+import com.src.main.model.workflow.WorkflowDefinitionEntity;
+import com.src.main.model.workflow.WorkflowStepEntity;
+import com.src.main.repository.ProjectRunCheckpointRepository;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.InMemoryGeneratedFileSink;
+import com.src.main.util.ProjectMetaDataConstants;
+import com.src.main.workflow.ProjectArchiveService;
+import com.src.main.workflow.artifact.ArtifactStore;
+import com.src.main.workflow.artifact.StoredArtifact;
+import com.src.main.workflow.generation.GenerationSpecFingerprinter;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowCheckpointServiceTest {
+
+	@Mock
+	private ProjectRunCheckpointRepository checkpointRepository;
+	@Mock
+	private GenerationSpecFingerprinter specFingerprinter;
+	@Mock
+	private ArtifactStore artifactStore;
+	@Mock
+	private ProjectArchiveService projectArchiveService;
+	@Mock
+	private WorkflowPlan plan;
+
+	private final Map<UUID, ProjectRunCheckpointEntity> checkpoints = new HashMap<>();
+	private final Map<String, byte[]> artifacts = new HashMap<>();
+	private final WorkflowStepEntity modelStep = step("MODEL_GENERATION");
+	private final WorkflowStepEntity dtoStep = step("DTO_GENERATION");
+	private final WorkflowStepEntity buildStep = step("BUILD_FILES");
+
+	private WorkflowCheckpointService service;
+	private ProjectRunEntity run;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		service = new WorkflowCheckpointService(checkpointRepository, specFingerprinter, artifactStore,
+				projectArchiveService, new ObjectMapper(), true, 24);
+		ProjectEntity project = new ProjectEntity();
+		project.setId(UUID.randomUUID());
+		run = new ProjectRunEntity();
+		run.setId(UUID.randomUUID());
+		run.setProject(project);
+		WorkflowDefinitionEntity definition = new WorkflowDefinitionEntity();
+		definition.setCode("JAVA_DEFAULT");
+
+		when(specFingerprinter.fingerprint(project)).thenReturn("fingerprint");
+		when(plan.definition()).thenReturn(definition);
+		when(plan.definitionVersion()).thenReturn(1);
+		when(plan.stepsByCode()).thenReturn(Map.of(modelStep.getStepCode(), modelStep, dtoStep.getStepCode(), dtoStep,
+				buildStep.getStepCode(), buildStep));
+		when(checkpointRepository.findById(run.getId()))
+				.thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(run.getId())));
+		when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+			ProjectRunCheckpointEntity checkpoint = invocation.getArgument(0);
+			checkpoints.put(checkpoint.getRunId(), checkpoint);
+			return checkpoint;
+		});
+		when(checkpointRepository.findLatestFailedBySpec(any(), anyString(), anyString(), anyInt(), any(), anyString()))
+				.thenReturn(Optional.empty());
+		when(artifactStore.store(any())).thenAnswer(invocation -> {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			invocation.<ArtifactStore.ArtifactWriter>getArgument(0).writeTo(out);
+			String sha256 = "artifact-" + artifacts.size();
+			artifacts.put(sha256, out.toByteArray());
+			return new StoredArtifact(sha256, out.size());
+		});
+		when(artifactStore.find(anyString())).thenAnswer(invocation -> {
+			String sha256 = invocation.getArgument(0);
+			return artifacts.containsKey(sha256) ? Optional.of(artifact(sha256)) : Optional.empty();
+		});
+		lenient().when(artifactStore.asResource(any(), anyString())).thenAnswer(invocation -> new ByteArrayResource(
+				artifacts.get(invocation.<GeneratedArtifactEntity>getArgument(0).getSha256())));
+		doAnswer(invocation -> {
+			zip(invocation.getArgument(0), invocation.getArgument(1));
+			return null;
+		}).when(projectArchiveService).writeTo(any(GeneratedFileSink.class), any(OutputStream.class));
+	}
+
+	@Test
+	void resume_afterSegmentedCheckpoints_restoresFilesVariablesAndSpec() throws Exception {
+		Map<String, Object> spec = spec();
+		DefaultExtendedState first = state(spec);
+		WorkflowCheckpointService.Session session = service.open(plan, first, run);
+		assertThat(session.resume(modelStep)).isSameAs(modelStep);
+		GeneratedFileSink firstSink = GeneratedFileSink.from(first);
+		write(firstSink, "src/Order.java", "class Order {}");
+		write(firstSink, "src/Obsolete.java", "class Obsolete {}");
+		first.getVariables().put("entities", List.of("Order"));
+		spec.put("messages", Map.of("order.created", "Order created"));
+		session.completedUntil(dtoStep);
+		write(firstSink, "src/Order.java", "class Order { long id; }");
+		write(firstSink, "src/OrderDto.java", "record OrderDto() {}");
+		firstSink.deleteIfExists(firstSink.root().resolve("src/Obsolete.java"));
+		session.completedUntil(buildStep);
+
+		Map<String, Object> restoredSpec = spec();
+		DefaultExtendedState second = state(restoredSpec);
+		WorkflowStepEntity next = service.open(plan, second, run).resume(modelStep);
+
+		assertThat(next).isSameAs(buildStep);
+		assertThat(files(GeneratedFileSink.from(second))).isEqualTo(files(firstSink));
+		assertThat(second.getVariables()).containsEntry("entities", List.of("Order"));
+		assertThat(second.getVariables().get(ProjectMetaDataConstants.YAML)).isSameAs(restoredSpec);
+		assertThat(restoredSpec).isEqualTo(spec);
+		assertThat(checkpoints.get(run.getId()).getArtifactSegmentsJson()).contains("src/Obsolete.java");
+	}
+
+	@Test
+	void resume_whenSegmentArchiveIsMissing_startsOver() throws Exception {
+		DefaultExtendedState first = state(spec());
+		WorkflowCheckpointService.Session session = service.open(plan, first, run);
+		session.resume(modelStep);
+		write(GeneratedFileSink.from(first), "src/Order.java", "class Order {}");
+		session.completedUntil(dtoStep);
+		artifacts.clear();
+
+		DefaultExtendedState second = state(spec());
+		WorkflowStepEntity next = service.open(plan, second, run).resume(modelStep);
+
+		assertThat(next).isSameAs(modelStep);
+		assertThat(files(GeneratedFileSink.from(second))).isEmpty();
+	}
+
+	private static DefaultExtendedState state(Map<String, Object> spec) {
+		DefaultExtendedState state = new DefaultExtendedState();
+		state.getVariables().put(ProjectMetaDataConstants.FILE_SINK,
+				new InMemoryGeneratedFileSink(Path.of("checkpoint-test", UUID.randomUUID().toString())));
+		state.getVariables().put(ProjectMetaDataConstants.YAML, spec);
+		return state;
+	}
+
+	private static Map<String, Object> spec() {
+		Map<String, Object> spec = new LinkedHashMap<>();
+		spec.put("app", Map.of("name", "orders"));
+		return spec;
+	}
+
+	private static WorkflowStepEntity step(String code) {
+		WorkflowStepEntity step = new WorkflowStepEntity();
+		step.setStepCode(code);
+		return step;
+	}
+
+	private static void write(GeneratedFileSink sink, String entryName, String content) throws Exception {
+		sink.write(sink.root().resolve(entryName), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static Map<String, String> files(GeneratedFileSink sink) throws Exception {
+		Map<String, String> files = new TreeMap<>();
+		sink.forEachFile((entryName, content) -> files.put(entryName,
+				new String(content.readAllBytes(), StandardCharsets.UTF_8)));
+		return files;
+	}
+
+	private static GeneratedArtifactEntity artifact(String sha256) {
+		GeneratedArtifactEntity artifact = new GeneratedArtifactEntity();
+		artifact.setSha256(sha256);
+		return artifact;
+	}
+
+	private static void zip(GeneratedFileSink sink, OutputStream out) throws Exception {
+		ZipOutputStream zip = new ZipOutputStream(out);
+		sink.forEachFile((entryName, content) -> {
+			zip.putNextEntry(new ZipEntry(entryName));
+			content.transferTo(zip);
+			zip.closeEntry();
+		});
+		zip.finish();
+	}
+}
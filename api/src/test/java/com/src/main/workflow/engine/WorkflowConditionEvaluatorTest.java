@@ -0,0 +1,84 @@
+package com.src.main.workflow.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class WorkflowConditionEvaluatorTest {
+
+	private final WorkflowConditionEvaluator evaluator = new WorkflowConditionEvaluator(new ObjectMapper());
+
+	@Test
+	void compile_withBlankCondition_alwaysMatches() {
+		assertThat(evaluator.compile(null).test(Map.of())).isTrue();
+		assertThat(evaluator.compile("  ").test(Map.of())).isTrue();
+		assertThat(evaluator.compile("{}").test(Map.of())).isTrue();
+	}
+
+	@Test
+	void compile_withNestedAllAny_evaluatesAgainstVariables() {
+		WorkflowCondition condition = evaluator.compile("""
+				{"all": [
+				  {"key": "language", "op": "IN", "value": ["JAVA", "KOTLIN"]},
+				  {"any": [
+				    {"key": "entityCount", "op": "GTE", "value": 10},
+				    {"key": "openapi", "op": "EQ", "value": true}
+				  ]}
+				]}
+				""");
+
+		assertThat(condition.test(variables("language", "JAVA", "entityCount", 12))).isTrue();
+		assertThat(condition.test(variables("language", "KOTLIN", "entityCount", 2, "openapi", true))).isTrue();
+		assertThat(condition.test(variables("language", "KOTLIN", "entityCount", 2, "openapi", false))).isFalse();
+		assertThat(condition.test(variables("language", "NODE", "entityCount", 50))).isFalse();
+	}
+
+	@Test
+	void compile_withNumericOperands_comparesIntegralAndDecimalValues() {
+		WorkflowCondition greaterThan = evaluator.compile("{\"key\": \"size\", \"op\": \"GT\", \"value\": \"1.5\"}");
+		WorkflowCondition equalTo = evaluator.compile("{\"key\": \"size\", \"op\": \"EQ\", \"value\": 3}");
+
+		assertThat(greaterThan.test(variables("size", 2))).isTrue();
+		assertThat(greaterThan.test(variables("size", 1.25d))).isFalse();
+		assertThat(equalTo.test(variables("size", 3L))).isTrue();
+		assertThat(equalTo.test(variables("size", 3.0d))).isTrue();
+	}
+
+	@Test
+	void compile_withExistenceOperators_checksPresence() {
+		WorkflowCondition exists = evaluator.compile("{\"key\": \"rootDir\", \"op\": \"EXISTS\"}");
+		WorkflowCondition notExists = evaluator.compile("{\"key\": \"rootDir\", \"op\": \"NOT_EXISTS\"}");
+
+		assertThat(exists.test(variables("rootDir", "/tmp"))).isTrue();
+		assertThat(notExists.test(Map.of())).isTrue();
+	}
+
+	@Test
+	void compile_withInvalidCondition_rejectsUpFront() {
+		assertThatThrownBy(() -> evaluator.compile("{\"key\": \"a\", \"op\": \"LIKE\", \"value\": 1}"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Unsupported workflow condition operator");
+		assertThatThrownBy(() -> evaluator.compile("{\"key\": \"a\", \"op\": \"IN\", \"value\": 1}"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("requires array value");
+		assertThatThrownBy(() -> evaluator.compile("{\"op\": \"EQ\"}"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Missing workflow condition field: key");
+		assertThatThrownBy(() -> evaluator.compile("{not json"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private Map<Object, Object> variables(Object... keyValues) {
+		Map<Object, Object> variables = new HashMap<>();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			variables.put(keyValues[i], keyValues[i + 1]);
+		}
+		return variables;
+	}
+}
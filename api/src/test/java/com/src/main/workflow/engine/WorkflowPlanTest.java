@@ -0,0 +1,118 @@
+package com.src.main.workflow.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.src.main.model.workflow.WorkflowDefinitionEntity;
+import com.src.main.model.workflow.WorkflowStepEntity;
+import com.src.main.model.workflow.WorkflowTransitionEntity;
+import com.src.main.model.workflow.WorkflowTransitionType;
+
+class WorkflowPlanTest {
+
+	private final WorkflowConditionEvaluator evaluator = new WorkflowConditionEvaluator(new ObjectMapper());
+	private final WorkflowJsonHelper jsonHelper = new WorkflowJsonHelper(new ObjectMapper());
+
+	@Test
+	void of_withSeededOrder_runsAsyncStepsAlongsideTheSerialChain() {
+		List<WorkflowStepEntity> steps = List.of(
+				step("DTO_GENERATION", 1, false),
+				step("ENUM_GENERATION", 2, true),
+				step("MODEL_GENERATION", 3, false),
+				step("SWAGGER_GENERATION", 4, true),
+				step("REST_GENERATION", 5, false),
+				step("SCAFFOLD", 6, false));
+		steps.get(5).setTerminal(true);
+		List<WorkflowTransitionEntity> transitions = new ArrayList<>();
+		for (int index = 0; index < steps.size() - 1; index++) {
+			transitions.add(transition(steps.get(index), WorkflowTransitionType.SUCCESS,
+					steps.get(index + 1).getStepCode(), null));
+		}
+
+		WorkflowPlan plan = plan(steps, transitions);
+
+		WorkflowStepGroup group = plan.groupStartingAt(steps.get(0));
+		assertThat(group).isNotNull();
+		assertThat(group.steps()).extracting(WorkflowStepEntity::getStepCode)
+				.containsExactly("DTO_GENERATION", "ENUM_GENERATION", "MODEL_GENERATION", "SWAGGER_GENERATION",
+						"REST_GENERATION");
+		assertThat(group.dependenciesOf(steps.get(1))).isEmpty();
+		assertThat(group.dependenciesOf(steps.get(3))).isEmpty();
+		assertThat(group.dependenciesOf(steps.get(2))).containsExactly(steps.get(0).getId(), steps.get(1).getId());
+		assertThat(group.dependenciesOf(steps.get(4))).hasSize(4);
+		assertThat(plan.nextOrderedStep(group.lastStep())).isSameAs(steps.get(5));
+		assertThat(plan.groupStartingAt(steps.get(3))).isNull();
+	}
+
+	@Test
+	void of_withAsyncStepReadingEarlierOutput_waitsOnlyForThatStep() {
+		List<WorkflowStepEntity> steps = List.of(
+				step("ENUM_GENERATION", 1, true),
+				step("MODEL_GENERATION", 2, false),
+				step("MAPPER_GENERATION", 3, true));
+		steps.get(0).setDeclaredOutputsJson("[\"enums\"]");
+		steps.get(2).setOptionalInputsJson("[\"enums\"]");
+
+		WorkflowPlan plan = plan(steps, List.of());
+
+		WorkflowStepGroup group = plan.groupStartingAt(steps.get(0));
+		assertThat(group).isNotNull();
+		assertThat(group.dependenciesOf(steps.get(2))).containsExactly(steps.get(0).getId());
+	}
+
+	@Test
+	void of_withConditionalOrSkippingTransition_keepsStepsSerial() {
+		List<WorkflowStepEntity> steps = List.of(
+				step("ENUM_GENERATION", 1, true),
+				step("SWAGGER_GENERATION", 2, true),
+				step("MAPPER_GENERATION", 3, true),
+				step("DOCKER_GENERATION", 4, false));
+		List<WorkflowTransitionEntity> transitions = new ArrayList<>();
+		transitions.add(transition(steps.get(0), WorkflowTransitionType.SUCCESS, "SWAGGER_GENERATION",
+				"{\"key\": \"openapi\", \"op\": \"EQ\", \"value\": true}"));
+		transitions.add(transition(steps.get(1), WorkflowTransitionType.SUCCESS, "DOCKER_GENERATION", null));
+
+		WorkflowPlan plan = plan(steps, transitions);
+
+		assertThat(plan.groupStartingAt(steps.get(0))).isNull();
+		assertThat(plan.groupStartingAt(steps.get(1))).isNull();
+	}
+
+	private WorkflowPlan plan(List<WorkflowStepEntity> steps, List<WorkflowTransitionEntity> transitions) {
+		WorkflowDefinitionEntity definition = new WorkflowDefinitionEntity();
+		definition.setId(UUID.randomUUID());
+		definition.setCode("JAVA_DEFAULT");
+		definition.setLanguage("JAVA");
+		definition.setVersion(1);
+		return WorkflowPlan.of(definition, steps, transitions, evaluator::compile, jsonHelper::readStringList);
+	}
+
+	private static WorkflowStepEntity step(String code, int order, boolean async) {
+		WorkflowStepEntity step = new WorkflowStepEntity();
+		step.setId(UUID.randomUUID());
+		step.setStepCode(code);
+		step.setStepOrder(order);
+		step.setAsyncExecution(async);
+		step.setRequiredInputsJson("[\"yaml\"]");
+		step.setDeclaredOutputsJson("[\"status\"]");
+		return step;
+	}
+
+	private static WorkflowTransitionEntity transition(WorkflowStepEntity source, WorkflowTransitionType type,
+			String target, String conditionJson) {
+		WorkflowTransitionEntity transition = new WorkflowTransitionEntity();
+		transition.setId(UUID.randomUUID());
+		transition.setWorkflowStep(source);
+		transition.setTransitionType(type);
+		transition.setTargetStepCode(target);
+		transition.setConditionJson(conditionJson);
+		transition.setPriority(1);
+		return transition;
+	}
+}
@@ -0,0 +1,99 @@
+package com.src.main.workflow.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.src.main.dto.StepResult;
+import com.src.main.model.workflow.WorkflowStepEntity;
+
+class WorkflowRetryPolicyTest {
+
+	@Test
+	void of_withRetryDisabled_allowsSingleAttempt() {
+		WorkflowStepEntity step = step(3, 500L, 2.0d, null, null);
+		step.setRetryEnabled(false);
+
+		WorkflowRetryPolicy policy = WorkflowRetryPolicy.of(step, List.of());
+
+		assertThat(policy).isSameAs(WorkflowRetryPolicy.NONE);
+		assertThat(policy.retries(StepResult.error("IO", "failed"), 1)).isFalse();
+	}
+
+	@Test
+	void of_withOutOfRangeSettings_clampsThem() {
+		WorkflowRetryPolicy policy = WorkflowRetryPolicy.of(step(0, -5L, 0.5d, 10L, 3.0d), List.of());
+
+		assertThat(policy.maxAttempts()).isEqualTo(1);
+		assertThat(policy.backoffMs()).isZero();
+		assertThat(policy.multiplier()).isEqualTo(1.0d);
+		assertThat(policy.jitter()).isEqualTo(1.0d);
+	}
+
+	@Test
+	void delayAfter_withoutJitter_growsExponentiallyUpToCap() {
+		WorkflowRetryPolicy policy = WorkflowRetryPolicy.of(step(5, 500L, 2.0d, 1500L, 0.0d), List.of());
+
+		assertThat(policy.delayAfter(1)).isEqualTo(500L);
+		assertThat(policy.delayAfter(2)).isEqualTo(1000L);
+		assertThat(policy.delayAfter(3)).isEqualTo(1500L);
+		assertThat(policy.delayAfter(4)).isEqualTo(1500L);
+	}
+
+	@Test
+	void delayAfter_withoutMaxBackoff_isUncapped() {
+		WorkflowRetryPolicy policy = WorkflowRetryPolicy.of(step(10, 100L, 3.0d, null, null), List.of());
+
+		assertThat(policy.delayAfter(5)).isEqualTo(8100L);
+	}
+
+	@Test
+	void delayAfter_withJitter_shortensDelayByAtMostJitterShare() {
+		WorkflowRetryPolicy policy = WorkflowRetryPolicy.of(step(3, 1000L, 2.0d, null, 0.2d), List.of());
+		Set<Long> delays = new HashSet<>();
+
+		for (int sample = 0; sample < 200; sample++) {
+			long delay = policy.delayAfter(1);
+			assertThat(delay).isBetween(800L, 1000L);
+			delays.add(delay);
+		}
+
+		assertThat(delays).hasSizeGreaterThan(1);
+	}
+
+	@Test
+	void retries_withRetryOnCodes_retriesListedCodesBelowMaxAttempts() {
+		WorkflowRetryPolicy policy = WorkflowRetryPolicy.of(step(3, 0L, 1.0d, null, null),
+				List.of(WorkflowRetryPolicy.TIMEOUT, "IOException"));
+
+		assertThat(policy.retries(StepResult.error(WorkflowRetryPolicy.TIMEOUT, "timed out"), 1)).isTrue();
+		assertThat(policy.retries(StepResult.error("IOException", "read failed"), 2)).isTrue();
+		assertThat(policy.retries(StepResult.error("IOException", "read failed"), 3)).isFalse();
+		assertThat(policy.retries(StepResult.error("VALIDATION", "bad spec"), 1)).isFalse();
+	}
+
+	@Test
+	void retries_withoutRetryOnCodes_retriesEveryFailure() {
+		WorkflowRetryPolicy policy = WorkflowRetryPolicy.of(step(2, 0L, 1.0d, null, null), List.of());
+
+		assertThat(policy.retries(StepResult.error("VALIDATION", "bad spec"), 1)).isTrue();
+		assertThat(policy.retries(StepResult.error("VALIDATION", "bad spec"), 2)).isFalse();
+	}
+
+	private static WorkflowStepEntity step(int maxAttempts, long backoffMs, double multiplier, Long maxBackoffMs,
+			Double jitter) {
+		WorkflowStepEntity step = new WorkflowStepEntity();
+		step.setStepCode("MODEL_GENERATION");
+		step.setRetryEnabled(true);
+		step.setRetryMaxAttempts(maxAttempts);
+		step.setRetryBackoffMs(backoffMs);
+		step.setRetryBackoffMultiplier(multiplier);
+		step.setRetryMaxBackoffMs(maxBackoffMs);
+		step.setRetryJitter(jitter);
+		return step;
+	}
+}
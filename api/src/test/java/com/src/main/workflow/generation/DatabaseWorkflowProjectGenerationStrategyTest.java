@@ -0,0 +1,175 @@
+package com.src.main.workflow.generation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.statemachine.support.DefaultExtendedState;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.src.main.model.ProjectEntity;
+import com.src.main.model.ProjectRunEntity;
+import com.src.main.repository.ProjectRunRepository;
+import com.src.main.service.PluginModuleService;
+import com.src.main.service.ProjectEventStreamService;
+import com.src.main.sm.executor.common.GenerationCancellation;
+import com.src.main.util.ProjectRunStatus;
+import com.src.main.workflow.ProjectArchiveService;
+import com.src.main.workflow.ProjectRunCancellationRegistry;
+import com.src.main.workflow.ProjectRunLeaseService;
+import com.src.main.workflow.artifact.ArtifactStore;
+import com.src.main.workflow.artifact.StoredArtifact;
+import com.src.main.workflow.engine.WorkflowCheckpointService;
+import com.src.main.workflow.engine.WorkflowEngineService;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseWorkflowProjectGenerationStrategyTest {
+
+	private static final String WORKER_ID = "node-a";
+
+	@Mock
+	private WorkflowEngineService workflowEngineService;
+	@Mock
+	private ProjectRunRepository runRepository;
+	@Mock
+	private ProjectEventStreamService projectEventStreamService;
+	@Mock
+	private ProjectArchiveService projectArchiveService;
+	@Mock
+	private PluginModuleService pluginModuleService;
+	@Mock
+	private ArtifactStore artifactStore;
+	@Mock
+	private WorkflowCheckpointService workflowCheckpointService;
+	@Mock
+	private ProjectRunCancellationRegistry cancellationRegistry;
+	@Mock
+	private ProjectRunLeaseService projectRunLeaseService;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private DatabaseWorkflowProjectGenerationStrategy strategy;
+	private GenerationCancellation cancellation;
+	private ProjectRunEntity run;
+
+	@BeforeEach
+	void setUp() {
+		strategy = new DatabaseWorkflowProjectGenerationStrategy(workflowEngineService, runRepository,
+				projectEventStreamService, projectArchiveService, pluginModuleService, artifactStore,
+				workflowCheckpointService, cancellationRegistry, projectRunLeaseService, transactionManager);
+		cancellation = new GenerationCancellation();
+		run = run(project());
+		when(cancellationRegistry.open(run.getId())).thenReturn(cancellation);
+		when(projectRunLeaseService.workerId()).thenReturn(WORKER_ID);
+	}
+
+	@Test
+	void run_whenCancelledBeforeOutcomeIsWritten_publishesNothing() {
+		succeedWorkflow();
+		when(runRepository.finishHeldRun(eq(run.getId()), eq(WORKER_ID), eq(ProjectRunStatus.INPROGRESS),
+				eq(ProjectRunStatus.SUCCESS), isNull(), eq("sha"), any())).thenReturn(0);
+		when(runRepository.findIdsByIdInAndStatus(List.of(run.getId()), ProjectRunStatus.CANCELLED))
+				.thenReturn(List.of(run.getId()));
+
+		strategy.run(run, run.getProject(), yaml()).join();
+
+		assertThat(cancellation.isCancelled()).isTrue();
+		assertThat(run.getStatus()).isEqualTo(ProjectRunStatus.CANCELLED);
+		verify(runRepository, never()).findCoalescedRunsWithProject(any(), any());
+		verify(projectEventStreamService, never()).publish(any(), anyString(), anyMap());
+		verify(workflowCheckpointService, never()).discard(run);
+	}
+
+	@Test
+	void run_whenLeaseWasLost_dropsFailureWithoutPublishing() {
+		when(workflowEngineService.executeAsync(any(), any(), eq(run)))
+				.thenReturn(CompletableFuture.failedFuture(new IllegalStateException("step failed")));
+		when(runRepository.finishHeldRun(eq(run.getId()), eq(WORKER_ID), eq(ProjectRunStatus.INPROGRESS),
+				eq(ProjectRunStatus.ERROR), eq("step failed"), isNull(), any())).thenReturn(0);
+		when(runRepository.findIdsByIdInAndStatus(List.of(run.getId()), ProjectRunStatus.CANCELLED))
+				.thenReturn(List.of());
+
+		strategy.run(run, run.getProject(), yaml()).join();
+
+		assertThat(run.getStatus()).isEqualTo(ProjectRunStatus.INPROGRESS);
+		verify(projectEventStreamService, never()).publish(any(), anyString(), anyMap());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void run_onSuccess_completesLeaderAndFollowersInOneTransaction() {
+		succeedWorkflow();
+		ProjectRunEntity follower = run(project());
+		ProjectRunEntity cancelledFollower = run(project());
+		when(runRepository.finishHeldRun(eq(run.getId()), eq(WORKER_ID), eq(ProjectRunStatus.INPROGRESS),
+				eq(ProjectRunStatus.SUCCESS), isNull(), eq("sha"), any())).thenReturn(1);
+		when(runRepository.findCoalescedRunsWithProject(run.getId(), ProjectRunStatus.QUEUED))
+				.thenReturn(List.of(follower, cancelledFollower));
+		when(runRepository.completeCoalescedRun(eq(follower.getId()), eq(run.getId()), eq(ProjectRunStatus.QUEUED),
+				eq(ProjectRunStatus.SUCCESS), eq("sha"), any())).thenReturn(1);
+		when(runRepository.completeCoalescedRun(eq(cancelledFollower.getId()), eq(run.getId()),
+				eq(ProjectRunStatus.QUEUED), eq(ProjectRunStatus.SUCCESS), eq("sha"), any())).thenReturn(0);
+
+		strategy.run(run, run.getProject(), yaml()).join();
+
+		assertThat(run.getStatus()).isEqualTo(ProjectRunStatus.SUCCESS);
+		verify(transactionManager).getTransaction(any());
+		verify(transactionManager).commit(any());
+		ArgumentCaptor<Map<String, Object>> events = ArgumentCaptor.forClass(Map.class);
+		verify(projectEventStreamService, times(2)).publish(any(), eq("generation"), events.capture());
+		assertThat(events.getAllValues()).extracting(event -> event.get("runId"))
+				.containsExactly(run.getId().toString(), follower.getId().toString());
+		verify(workflowCheckpointService).discard(run);
+	}
+
+	private void succeedWorkflow() {
+		when(workflowEngineService.executeAsync(any(), any(), eq(run)))
+				.thenReturn(CompletableFuture.completedFuture(new DefaultExtendedState()));
+		when(artifactStore.store(any())).thenReturn(new StoredArtifact("sha", 10L));
+	}
+
+	private static Map<String, Object> yaml() {
+		return Map.of("app", Map.of("name", "orders"));
+	}
+
+	private static ProjectEntity project() {
+		ProjectEntity project = new ProjectEntity();
+		project.setId(UUID.randomUUID());
+		project.setGroupId("com.example");
+		project.setArtifact("orders");
+		project.setVersion("0.0.1-SNAPSHOT");
+		project.setBuildTool("gradle");
+		project.setPackaging("jar");
+		project.setGenerator("java");
+		project.setName("orders");
+		project.setDescription("Orders service");
+		project.setJdkVersion("17");
+		return project;
+	}
+
+	private static ProjectRunEntity run(ProjectEntity project) {
+		ProjectRunEntity run = new ProjectRunEntity();
+		run.setId(UUID.randomUUID());
+		run.setProject(project);
+		run.setStatus(ProjectRunStatus.INPROGRESS);
+		return run;
+	}
+}
@@ -1,6 +1,5 @@
 package com.src.main.sm.executor;
 
-import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -11,6 +10,7 @@ import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
 import com.src.main.sm.executor.actuator.ActuatorConfigurationService;
 import com.src.main.sm.executor.actuator.ActuatorConfigurationSupport;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.util.ProjectMetaDataConstants;
 
 @Component("actuatorConfigurationExecutor")
@@ -36,9 +36,8 @@ public class ActuatorConfigurationExecutor implements StepExecutor {
 
 			List<String> includedEndpoints = ActuatorConfigurationSupport.resolveIncludedEndpoints(yaml);
 			Map<String, List<String>> profileIncludedEndpoints = ActuatorConfigurationSupport.resolveProfileIncludedEndpoints(yaml);
-			String rootRaw = String.valueOf(data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
-			Path rootDir = rootRaw == null || rootRaw.isBlank() ? null : Path.of(rootRaw);
-			actuatorConfigurationService.applyConfiguration(yaml, includedEndpoints, profileIncludedEndpoints, rootDir);
+			actuatorConfigurationService.applyConfiguration(yaml, includedEndpoints, profileIncludedEndpoints,
+					GeneratedFileSink.from(data));
 			return StepResult.ok(Map.of(
 					"status", "Success",
 					"actuatorConfigured", true,
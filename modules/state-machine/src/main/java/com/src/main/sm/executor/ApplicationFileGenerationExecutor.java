@@ -1,9 +1,7 @@
 package com.src.main.sm.executor;
 
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.StringWriter;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -22,6 +20,7 @@ import org.yaml.snakeyaml.representer.Representer;
 
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
 import com.src.main.util.ProjectMetaDataConstants;
 import com.src.main.util.ShippableModuleSupport;
@@ -32,7 +31,7 @@ public class ApplicationFileGenerationExecutor implements StepExecutor {
 	@Override
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) throws Exception {
-		Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+		GeneratedFileSink sink = GeneratedFileSink.from(data);
 		Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 		if (yaml == null) {
 			return StepResult.error("YAML_NOT_FOUND", "YAML not found in ExtendedState");
@@ -48,9 +47,9 @@ public class ApplicationFileGenerationExecutor implements StepExecutor {
 		ensureDefaultApplicationProperties(propsObj, includeJpa, includeMessageSettings, database);
 		ensureShippableModuleProperties(propsObj, yaml);
 		if (useYaml) {
-			writeYamlFile(root, "application.yml", propsObj);
+			writeYamlFile(sink, "application.yml", propsObj);
 		} else {
-			writePropertiesFile(root, "application.properties", propsObj);
+			writePropertiesFile(sink, "application.properties", propsObj);
 		}
 		Object profilesObj = yaml.get("profiles");
 		if (profilesObj instanceof Map) {
@@ -67,7 +66,7 @@ public class ApplicationFileGenerationExecutor implements StepExecutor {
 					if (profilePropsObj instanceof Map) {
 						Map<String, Object> profileProps = castMap(profilePropsObj);
 						try {
-							writeProfileConfig(root, profile, profileProps, useYaml);
+							writeProfileConfig(sink, profile, profileProps, useYaml);
 						} catch (Exception ex) {
 							throw new RuntimeException(ex);
 						}
@@ -84,7 +83,7 @@ public class ApplicationFileGenerationExecutor implements StepExecutor {
 				extractProfileNames(profilesObj).forEach(profile -> {
 					Map<String, Object> profileProps = new LinkedHashMap<>();
 					try {
-						writeProfileConfig(root, profile, profileProps, useYaml);
+						writeProfileConfig(sink, profile, profileProps, useYaml);
 					} catch (Exception ex) {
 						throw new RuntimeException(ex);
 					}
@@ -100,12 +99,12 @@ public class ApplicationFileGenerationExecutor implements StepExecutor {
 		return StepResult.ok(Map.of("status", "Success"));
 	}
 
-	private static void writeProfileConfig(Path root, String profile, Map<String, Object> profileProps, boolean useYaml)
+	private static void writeProfileConfig(GeneratedFileSink sink, String profile, Map<String, Object> profileProps, boolean useYaml)
 			throws Exception {
 		if (useYaml) {
-			writeYamlFile(root, "application-" + profile + ".yml", profileProps);
+			writeYamlFile(sink, "application-" + profile + ".yml", profileProps);
 		} else {
-			writePropertiesFile(root, "application-" + profile + ".properties", profileProps);
+			writePropertiesFile(sink, "application-" + profile + ".properties", profileProps);
 		}
 	}
 
@@ -117,18 +116,17 @@ public class ApplicationFileGenerationExecutor implements StepExecutor {
 		return "yaml";
 	}
 
-	private static void writePropertiesFile(Path projectRoot, String fileName, Map<String, Object> props)
+	private static void writePropertiesFile(GeneratedFileSink sink, String fileName, Map<String, Object> props)
 			throws Exception {
-		Path resources = projectRoot.resolve("src/main/resources");
-		Files.createDirectories(resources);
+		Path resources = sink.root().resolve("src/main/resources");
 
 		LinkedHashMap<String, String> flat = new LinkedHashMap<>();
 		flatten("", props, flat);
 
-		List<String> lines = flat.entrySet().stream()
-				.map(kv -> kv.getKey() + "=" + escapePropertiesValue(kv.getValue()))
-				.collect(java.util.stream.Collectors.toList());
-		Files.write(resources.resolve(fileName), lines, StandardCharsets.UTF_8);
+		StringBuilder content = new StringBuilder();
+		flat.forEach((key, value) -> content.append(key).append('=').append(escapePropertiesValue(value))
+				.append(System.lineSeparator()));
+		sink.writeString(resources.resolve(fileName), content.toString());
 	}
 
 	private static void ensureDefaultApplicationProperties(Map<String, Object> propsObj, boolean includeJpa,
@@ -368,13 +366,11 @@ public class ApplicationFileGenerationExecutor implements StepExecutor {
 		return profile;
 	}
 
-	private static void writeYamlFile(Path projectRoot, String fileName, Map<String, Object> props) throws IOException {
-		Path resources = projectRoot.resolve("src/main/resources");
-		Files.createDirectories(resources);
-		Path yamlPath = resources.resolve(fileName);
+	private static void writeYamlFile(GeneratedFileSink sink, String fileName, Map<String, Object> props) throws IOException {
+		Path yamlPath = sink.root().resolve("src/main/resources").resolve(fileName);
 
 		if (props == null || props.isEmpty()) {
-			Files.writeString(yamlPath, "", StandardCharsets.UTF_8);
+			sink.writeString(yamlPath, "");
 			return;
 		}
 
@@ -387,10 +383,9 @@ public class ApplicationFileGenerationExecutor implements StepExecutor {
 		representer.getPropertyUtils().setSkipMissingProperties(true);
 
 		Yaml yaml = new Yaml(representer, options);
-		try (OutputStreamWriter writer = new OutputStreamWriter(Files.newOutputStream(yamlPath),
-				StandardCharsets.UTF_8)) {
-			yaml.dump(props, writer);
-		}
+		StringWriter writer = new StringWriter();
+		yaml.dump(props, writer);
+		sink.writeString(yamlPath, writer.toString());
 	}
 
 	@SuppressWarnings("unchecked")
@@ -1,21 +1,23 @@
 package com.src.main.sm.executor;
 
-import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.src.main.common.util.StringUtils;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.dto.ModelSpecDTO;
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
+import com.src.main.sm.executor.common.ParallelGenerationRunner;
 import com.src.main.sm.executor.crud.CrudGenerationService;
 import com.src.main.sm.executor.crud.CrudGenerationSupport;
 import com.src.main.sm.executor.crud.CrudGenerationUnit;
@@ -25,23 +27,25 @@ import com.src.main.util.ProjectMetaDataConstants;
 public class CrudGenerationExecutor implements StepExecutor {
 
 	private final CrudGenerationService crudGenerationService;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final ParallelGenerationRunner parallelGenerationRunner;
 
-	public CrudGenerationExecutor(CrudGenerationService crudGenerationService) {
+	public CrudGenerationExecutor(CrudGenerationService crudGenerationService,
+			ParallelGenerationRunner parallelGenerationRunner) {
 		this.crudGenerationService = crudGenerationService;
+		this.parallelGenerationRunner = parallelGenerationRunner;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			if (yaml == null) {
 				return StepResult.error("CRUD_GENERATION", "YAML not found in extended state.");
 			}
 
-			AppSpecDTO spec = mapper.convertValue(yaml, AppSpecDTO.class);
+			AppSpecDTO spec = BoundAppSpec.from(data).spec();
 			List<ModelSpecDTO> models = spec.getModels();
 			if (models == null || models.isEmpty()) {
 				return StepResult.ok(Map.of("status", "Success", "crudGeneratedCount", 0));
@@ -66,7 +70,8 @@ public class CrudGenerationExecutor implements StepExecutor {
 			List<CrudGenerationUnit> units = crudEnabledModels.stream()
 					.map(model -> CrudGenerationSupport.buildUnit(model, basePackage, packageStructure, noSql))
 					.toList();
-			crudGenerationService.generate(root, units, language);
+			crudGenerationService.generate(sink, units, language, GenerationCancellation.from(data),
+					parallelGenerationRunner.parallelism(data));
 			return StepResult.ok(Map.of("status", "Success", "crudGeneratedCount", units.size()));
 		} catch (Exception ex) {
 			return StepResult.error("CRUD_GENERATION", ex.getMessage());
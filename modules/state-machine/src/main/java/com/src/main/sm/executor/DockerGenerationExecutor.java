@@ -1,16 +1,16 @@
 package com.src.main.sm.executor;
 
-import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.src.main.common.util.StringUtils;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
 import com.src.main.sm.executor.docker.DockerGenerationService;
 import com.src.main.sm.executor.docker.DockerGenerationSupport;
@@ -20,7 +20,6 @@ import com.src.main.util.ProjectMetaDataConstants;
 public class DockerGenerationExecutor implements StepExecutor {
 
 	private final DockerGenerationService dockerGenerationService;
-	private final ObjectMapper mapper = new ObjectMapper();
 
 	public DockerGenerationExecutor(DockerGenerationService dockerGenerationService) {
 		this.dockerGenerationService = dockerGenerationService;
@@ -30,13 +29,13 @@ public class DockerGenerationExecutor implements StepExecutor {
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			if (yaml == null) {
 				return StepResult.error("DOCKER_GENERATION", "YAML not found in extended state.");
 			}
 
-			AppSpecDTO spec = mapper.convertValue(yaml, AppSpecDTO.class);
+			AppSpecDTO spec = BoundAppSpec.from(data).spec();
 			Object enabledRaw = firstNonNull(yaml.get("useDockerCompose"), spec.getUseDockerCompose(),
 					yaml.get(ProjectMetaDataConstants.EXTRAS_DOCKER_COMPOSE), extractPreferenceValue(yaml, "useDockerCompose"), false);
 			if (!DockerGenerationSupport.isDockerComposeEnabled(enabledRaw)) {
@@ -48,7 +47,7 @@ public class DockerGenerationExecutor implements StepExecutor {
 			String database = resolveDatabase(yaml);
 			String serviceName = DockerGenerationSupport.toServiceName(artifactId);
 
-			dockerGenerationService.generate(root, artifactId, serviceName, buildTool, database);
+			dockerGenerationService.generate(sink, artifactId, serviceName, buildTool, database);
 			return StepResult.ok(Map.of("status", "Success", "dockerGenerated", true));
 		} catch (Exception ex) {
 			return StepResult.error("DOCKER_GENERATION", ex.getMessage());
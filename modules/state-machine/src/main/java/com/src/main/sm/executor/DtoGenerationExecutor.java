@@ -1,6 +1,5 @@
 package com.src.main.sm.executor;
 
-import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.statemachine.ExtendedState;
@@ -8,8 +7,12 @@ import org.springframework.stereotype.Component;
 
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
+import com.src.main.sm.executor.common.ParallelGenerationRunner;
 import com.src.main.sm.executor.dto.DtoGenerationService;
 import com.src.main.util.ProjectMetaDataConstants;
 
@@ -17,16 +20,18 @@ import com.src.main.util.ProjectMetaDataConstants;
 public class DtoGenerationExecutor implements StepExecutor {
 
 	private final DtoGenerationService dtoGenerationService;
+	private final ParallelGenerationRunner parallelGenerationRunner;
 
-	public DtoGenerationExecutor(DtoGenerationService dtoGenerationService) {
+	public DtoGenerationExecutor(DtoGenerationService dtoGenerationService, ParallelGenerationRunner parallelGenerationRunner) {
 		this.dtoGenerationService = dtoGenerationService;
+		this.parallelGenerationRunner = parallelGenerationRunner;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
 			String groupId = (String) data.getVariables().get(ProjectMetaDataConstants.GROUP_ID);
 			String artifact = (String) data.getVariables().get(ProjectMetaDataConstants.ARTIFACT_ID);
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
@@ -39,7 +44,8 @@ public class DtoGenerationExecutor implements StepExecutor {
 					return StepResult.ok(Map.of("status", "Skipped for " + language.name()));
 				}
 
-				dtoGenerationService.generate(root, yaml, groupId, artifact);
+				dtoGenerationService.generate(sink, yaml, BoundAppSpec.from(data), groupId, artifact,
+						GenerationCancellation.from(data), parallelGenerationRunner.parallelism(data));
 			return StepResult.ok(Map.of("status", "Success"));
 		} catch (Exception ex) {
 			return StepResult.error("DTO_GENERATION", ex.getMessage());
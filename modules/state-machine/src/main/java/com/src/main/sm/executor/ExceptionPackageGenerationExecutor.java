@@ -1,18 +1,18 @@
 package com.src.main.sm.executor;
 
-import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.src.main.common.util.StringUtils;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
 import com.src.main.sm.executor.common.BoilerplateStyle;
 import com.src.main.sm.executor.common.BoilerplateStyleResolver;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
@@ -24,7 +24,6 @@ import com.src.main.util.ProjectMetaDataConstants;
 public class ExceptionPackageGenerationExecutor implements StepExecutor {
 
 	private final ExceptionPackageGenerationService exceptionPackageGenerationService;
-	private final ObjectMapper mapper = new ObjectMapper();
 
 	public ExceptionPackageGenerationExecutor(ExceptionPackageGenerationService exceptionPackageGenerationService) {
 		this.exceptionPackageGenerationService = exceptionPackageGenerationService;
@@ -34,7 +33,7 @@ public class ExceptionPackageGenerationExecutor implements StepExecutor {
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			if (yaml == null) {
 				return StepResult.error("EXCEPTION_PACKAGE_GENERATION", "YAML not found in extended state.");
@@ -44,7 +43,7 @@ public class ExceptionPackageGenerationExecutor implements StepExecutor {
 				return StepResult.ok(Map.of("status", "Success", "exceptionPackageGenerated", false));
 			}
 
-			AppSpecDTO spec = mapper.convertValue(yaml, AppSpecDTO.class);
+			AppSpecDTO spec = BoundAppSpec.from(data).spec();
 			String basePackage = StringUtils.firstNonBlank(
 					LayeredSpecSupport.resolveBasePackage(yaml, null),
 					spec.getBasePackage(),
@@ -55,7 +54,7 @@ public class ExceptionPackageGenerationExecutor implements StepExecutor {
 			boolean useLombok = BoilerplateStyleResolver.resolveFromYaml(yaml, true) == BoilerplateStyle.LOMBOK;
 			GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
 
-			exceptionPackageGenerationService.generate(root, exceptionPackage, useLombok, language);
+			exceptionPackageGenerationService.generate(sink, exceptionPackage, useLombok, language);
 			return StepResult.ok(Map.of(
 					"status", "Success",
 					"exceptionPackageGenerated", true,
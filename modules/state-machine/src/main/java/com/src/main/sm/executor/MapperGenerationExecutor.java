@@ -1,6 +1,5 @@
 package com.src.main.sm.executor;
 
-import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -11,6 +10,8 @@ import com.src.main.common.util.StringUtils;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
@@ -18,13 +19,11 @@ import com.src.main.sm.executor.mapper.MapperGenerationService;
 import com.src.main.sm.executor.mapper.MapperGenerationSupport;
 import com.src.main.sm.executor.mapper.MapperGenerationUnit;
 import com.src.main.util.ProjectMetaDataConstants;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Component("mapperGenerationExecutor")
 public class MapperGenerationExecutor implements StepExecutor {
 
 	private final MapperGenerationService mapperGenerationService;
-	private final ObjectMapper mapper = new ObjectMapper();
 
 	public MapperGenerationExecutor(MapperGenerationService mapperGenerationService) {
 		this.mapperGenerationService = mapperGenerationService;
@@ -34,13 +33,13 @@ public class MapperGenerationExecutor implements StepExecutor {
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			if (yaml == null) {
 				return StepResult.error("MAPPER_GENERATION", "YAML not found in extended state.");
 			}
 
-			AppSpecDTO spec = mapper.convertValue(yaml, AppSpecDTO.class);
+			AppSpecDTO spec = BoundAppSpec.from(data).spec();
 			String basePackage = StringUtils.firstNonBlank(
 					LayeredSpecSupport.resolveBasePackage(yaml, null),
 					spec.getBasePackage(),
@@ -53,7 +52,7 @@ public class MapperGenerationExecutor implements StepExecutor {
 				return StepResult.ok(Map.of("status", "Success", "mapperGeneratedCount", 0));
 			}
 
-			int generated = mapperGenerationService.generate(root, units, language);
+			int generated = mapperGenerationService.generate(sink, units, language);
 			return StepResult.ok(Map.of("status", "Success", "mapperGeneratedCount", generated));
 		} catch (Exception ex) {
 			return StepResult.error("MAPPER_GENERATION", ex.getMessage());
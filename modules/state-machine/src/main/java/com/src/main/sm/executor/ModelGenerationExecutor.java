@@ -1,6 +1,5 @@
 package com.src.main.sm.executor;
 
-import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.statemachine.ExtendedState;
@@ -8,9 +7,13 @@ import org.springframework.stereotype.Component;
 
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
+import com.src.main.sm.executor.common.ParallelGenerationRunner;
 import com.src.main.sm.executor.model.ModelGenerationService;
 import com.src.main.util.ProjectMetaDataConstants;
 
@@ -22,9 +25,12 @@ import com.src.main.util.ProjectMetaDataConstants;
 public class ModelGenerationExecutor implements StepExecutor {
 
     private final ModelGenerationService modelGenerationService;
+    private final ParallelGenerationRunner parallelGenerationRunner;
 
-    public ModelGenerationExecutor(ModelGenerationService modelGenerationService) {
+    public ModelGenerationExecutor(ModelGenerationService modelGenerationService,
+                                   ParallelGenerationRunner parallelGenerationRunner) {
         this.modelGenerationService = modelGenerationService;
+        this.parallelGenerationRunner = parallelGenerationRunner;
     }
 
 	private static String str(Object o) {
@@ -35,11 +41,12 @@ public class ModelGenerationExecutor implements StepExecutor {
     @SuppressWarnings("unchecked")
     public StepResult execute(ExtendedState data) {
         try {
-    		Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+    		GeneratedFileSink sink = GeneratedFileSink.from(data);
     		Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get("yaml");
     		String basePkg = LayeredSpecSupport.resolveBasePackage(yaml, null);
 			GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
-            modelGenerationService.generate(yaml, root, basePkg, language);
+            modelGenerationService.generate(yaml, BoundAppSpec.from(data), sink, basePkg, language,
+                    GenerationCancellation.from(data), parallelGenerationRunner.parallelism(data));
             Map<String, Object> output = Map.of("status", "Success");
     		return StepResult.ok(output);
         } catch (Exception ex) {
@@ -1,8 +1,5 @@
 package com.src.main.sm.executor;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -18,6 +15,7 @@ import org.springframework.stereotype.Component;
 
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.util.ProjectMetaDataConstants;
@@ -37,11 +35,7 @@ public class NodeGenerationExecutor implements StepExecutor {
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Object rootRaw = data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR);
-			if (rootRaw == null) {
-				return StepResult.error("NODE_GENERATION", "Root directory not found in extended state.");
-			}
-			Path root = Path.of(String.valueOf(rootRaw));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
 			if (language != GenerationLanguage.NODE) {
@@ -64,10 +58,10 @@ public class NodeGenerationExecutor implements StepExecutor {
 				modelNames.add("User");
 			}
 
-			createDirectoryLayout(root);
-			writeStaticFiles(root, buildBaseModel(appName, artifact, description, version, groupId));
-			writeDynamicEntityFiles(root, modelNames);
-			writeDynamicRoutesRegistry(root, modelNames);
+			createDirectoryLayout(sink);
+			writeStaticFiles(sink, buildBaseModel(appName, artifact, description, version, groupId));
+			writeDynamicEntityFiles(sink, modelNames);
+			writeDynamicRoutesRegistry(sink, modelNames);
 
 			return StepResult.ok(Map.of("status", "Node project scaffold generated"));
 		} catch (Exception ex) {
@@ -75,7 +69,7 @@ public class NodeGenerationExecutor implements StepExecutor {
 		}
 	}
 
-	private void createDirectoryLayout(Path root) throws Exception {
+	private void createDirectoryLayout(GeneratedFileSink sink) throws Exception {
 		List<String> directories = List.of(
 				"app/config",
 				"app/database",
@@ -97,11 +91,11 @@ public class NodeGenerationExecutor implements StepExecutor {
 				"src/javascript",
 				"src/css");
 		for (String dir : directories) {
-			Files.createDirectories(root.resolve(dir));
+			sink.createDirectories(sink.root().resolve(dir));
 		}
 	}
 
-	private void writeStaticFiles(Path root, Map<String, Object> model) throws Exception {
+	private void writeStaticFiles(GeneratedFileSink sink, Map<String, Object> model) throws Exception {
 		Map<String, String> staticTemplates = new LinkedHashMap<>();
 		staticTemplates.put("server.js", "server.js.mustache");
 		staticTemplates.put("package.json", "package.json.mustache");
@@ -138,11 +132,11 @@ public class NodeGenerationExecutor implements StepExecutor {
 		for (Map.Entry<String, String> entry : staticTemplates.entrySet()) {
 			String outputPath = entry.getKey();
 			String templatePath = NODE_TEMPLATE_BASE + entry.getValue();
-			writeRendered(root.resolve(outputPath), templatePath, model);
+			writeRendered(sink, sink.root().resolve(outputPath), templatePath, model);
 		}
 	}
 
-	private void writeDynamicEntityFiles(Path root, Set<String> modelNames) throws Exception {
+	private void writeDynamicEntityFiles(GeneratedFileSink sink, Set<String> modelNames) throws Exception {
 		for (String rawModelName : modelNames) {
 			String modelName = toPascalCase(rawModelName);
 			Map<String, Object> model = new HashMap<>();
@@ -150,19 +144,19 @@ public class NodeGenerationExecutor implements StepExecutor {
 			model.put("modelNameLower", Character.toLowerCase(modelName.charAt(0)) + modelName.substring(1));
 			model.put("routePath", modelName.toLowerCase(Locale.ROOT));
 
-			writeRendered(root.resolve("app/models/" + modelName + ".model.js"),
+			writeRendered(sink, sink.root().resolve("app/models/" + modelName + ".model.js"),
 					NODE_TEMPLATE_BASE + "app/models/entity.model.js.mustache",
 					model);
-			writeRendered(root.resolve("app/controllers/" + modelName + ".controller.js"),
+			writeRendered(sink, sink.root().resolve("app/controllers/" + modelName + ".controller.js"),
 					NODE_TEMPLATE_BASE + "app/controllers/entity.controller.js.mustache",
 					model);
-			writeRendered(root.resolve("app/routes/" + modelName + ".routes.js"),
+			writeRendered(sink, sink.root().resolve("app/routes/" + modelName + ".routes.js"),
 					NODE_TEMPLATE_BASE + "app/routes/entity.routes.js.mustache",
 					model);
 		}
 	}
 
-	private void writeDynamicRoutesRegistry(Path root, Set<String> modelNames) throws Exception {
+	private void writeDynamicRoutesRegistry(GeneratedFileSink sink, Set<String> modelNames) throws Exception {
 		List<Map<String, Object>> routes = new ArrayList<>();
 		for (String rawModelName : modelNames) {
 			String modelName = toPascalCase(rawModelName);
@@ -173,7 +167,7 @@ public class NodeGenerationExecutor implements StepExecutor {
 		}
 		Map<String, Object> model = new HashMap<>();
 		model.put("entityRoutes", routes);
-		writeRendered(root.resolve("app/routes/init.js"), NODE_TEMPLATE_BASE + "app/routes/init.js.mustache", model);
+		writeRendered(sink, sink.root().resolve("app/routes/init.js"), NODE_TEMPLATE_BASE + "app/routes/init.js.mustache", model);
 	}
 
 	private Map<String, Object> buildBaseModel(
@@ -214,10 +208,9 @@ public class NodeGenerationExecutor implements StepExecutor {
 		return names;
 	}
 
-	private void writeRendered(Path output, String templatePath, Map<String, Object> model) throws Exception {
-		Files.createDirectories(output.getParent());
-		String content = templateEngine.render(templatePath, model);
-		Files.writeString(output, content, UTF_8);
+	private void writeRendered(GeneratedFileSink sink, Path output, String templatePath, Map<String, Object> model)
+			throws Exception {
+		templateEngine.renderTo(sink, output, templatePath, model);
 	}
 
 	private static String valueOrDefault(Object value, String fallback) {
@@ -1,9 +1,5 @@
 package com.src.main.sm.executor;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -12,17 +8,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
-import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.stereotype.Component;
 
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
+import com.src.main.sm.executor.common.ShippedModulePack;
 import com.src.main.util.ProjectMetaDataConstants;
 import com.src.main.util.ShippableModuleSupport;
 
@@ -32,21 +27,19 @@ public class PythonGenerationExecutor implements StepExecutor {
 	private static final String PY_TEMPLATE_BASE = "templates/languages/python/project/";
 
 	private final TemplateEngine templateEngine;
-	private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+	private final ShippedModulePack shippedModulePack;
 
-	public PythonGenerationExecutor(TemplateEngine templateEngine) {
+	public PythonGenerationExecutor(TemplateEngine templateEngine, ShippedModulePack shippedModulePack) {
 		this.templateEngine = templateEngine;
+		this.shippedModulePack = shippedModulePack;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Object rootRaw = data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR);
-			if (rootRaw == null) {
-				return StepResult.error("PYTHON_GENERATION", "Root directory not found in extended state.");
-			}
-			Path root = Path.of(String.valueOf(rootRaw));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
+			Path root = sink.root();
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
 			if (language != GenerationLanguage.PYTHON) {
@@ -63,10 +56,10 @@ public class PythonGenerationExecutor implements StepExecutor {
 				}
 			}
 
-			Files.createDirectories(root.resolve("app"));
-			Files.createDirectories(root.resolve("app/models"));
-			Files.createDirectories(root.resolve("app/generated"));
-			Files.createDirectories(root.resolve("tests"));
+			sink.createDirectories(root.resolve("app"));
+			sink.createDirectories(root.resolve("app/models"));
+			sink.createDirectories(root.resolve("app/generated"));
+			sink.createDirectories(root.resolve("tests"));
 
 			Map<String, Object> model = new HashMap<>();
 			model.put("appName", appName);
@@ -76,16 +69,16 @@ public class PythonGenerationExecutor implements StepExecutor {
 			model.put("ormIsSqlalchemy", "sqlalchemy".equals(orm));
 			model.put("ormIsDjango", "django".equals(orm));
 			model.put("hasModules", !selectedModules.isEmpty());
-			writeRendered(root.resolve("app/main.py"), PY_TEMPLATE_BASE + "main.py.mustache", model);
-			Files.writeString(root.resolve("app/__init__.py"), "", UTF_8);
-			writeFile(root.resolve("app/generated/__init__.py"), "");
-			writeFile(root.resolve("tests/__init__.py"), "");
-			writeFile(root.resolve("app/generated/module_manifest.py"), renderModuleManifest(selectedModules, extractModuleConfigs(yaml)));
-			writeFile(root.resolve("app/generated/module_bootstrap.py"), renderModuleBootstrap(selectedModules));
-			writeRendered(root.resolve("requirements.txt"), PY_TEMPLATE_BASE + "requirements.txt.mustache",
+			writeRendered(sink, root.resolve("app/main.py"), PY_TEMPLATE_BASE + "main.py.mustache", model);
+			sink.writeString(root.resolve("app/__init__.py"), "");
+			writeFile(sink, root.resolve("app/generated/__init__.py"), "");
+			writeFile(sink, root.resolve("tests/__init__.py"), "");
+			writeFile(sink, root.resolve("app/generated/module_manifest.py"), renderModuleManifest(selectedModules, extractModuleConfigs(yaml)));
+			writeFile(sink, root.resolve("app/generated/module_bootstrap.py"), renderModuleBootstrap(selectedModules));
+			writeRendered(sink, root.resolve("requirements.txt"), PY_TEMPLATE_BASE + "requirements.txt.mustache",
 					buildRequirementsModel(model, selectedModules));
-			writeRendered(root.resolve("README.md"), PY_TEMPLATE_BASE + "README.md.mustache", model);
-			copyShippedModules(root, selectedModules);
+			writeRendered(sink, root.resolve("README.md"), PY_TEMPLATE_BASE + "README.md.mustache", model);
+			copyShippedModules(sink, selectedModules);
 
 			return StepResult.ok(Map.of("status", "Python scaffold generated"));
 		} catch (Exception ex) {
@@ -93,15 +86,13 @@ public class PythonGenerationExecutor implements StepExecutor {
 		}
 	}
 
-	private void writeRendered(Path output, String templatePath, Map<String, Object> model) throws Exception {
-		Files.createDirectories(output.getParent());
-		String content = templateEngine.render(templatePath, model);
-		Files.writeString(output, content, UTF_8);
+	private void writeRendered(GeneratedFileSink sink, Path output, String templatePath, Map<String, Object> model)
+			throws Exception {
+		templateEngine.renderTo(sink, output, templatePath, model);
 	}
 
-	private void writeFile(Path output, String content) throws Exception {
-		Files.createDirectories(output.getParent());
-		Files.writeString(output, content, UTF_8);
+	private void writeFile(GeneratedFileSink sink, Path output, String content) throws Exception {
+		sink.writeString(output, content);
 	}
 
 	private Map<String, Object> buildRequirementsModel(Map<String, Object> baseModel, List<String> selectedModules) {
@@ -288,36 +279,15 @@ public class PythonGenerationExecutor implements StepExecutor {
 		return value.replace("\\", "\\\\").replace("\"", "\\\"");
 	}
 
-	private void copyShippedModules(Path root, List<String> selectedModules) throws Exception {
+	private void copyShippedModules(GeneratedFileSink sink, List<String> selectedModules) throws Exception {
 		List<String> shippedModules = ShippableModuleSupport.expandSelectedModules(selectedModules, GenerationLanguage.PYTHON);
 		if (shippedModules.isEmpty()) {
 			return;
 		}
-		writeFile(root.resolve("app/modules/__init__.py"), "");
+		writeFile(sink, sink.root().resolve("app/modules/__init__.py"), "");
 		for (String moduleId : shippedModules) {
-			Resource[] resources = resourceResolver.getResources(
-					ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
-							+ ShippableModuleSupport.resourceSearchPattern(moduleId, GenerationLanguage.PYTHON));
-			String prefix = ShippableModuleSupport.resourcePrefix(moduleId, GenerationLanguage.PYTHON) + "/";
-			for (Resource resource : resources) {
-				if (!resource.exists() || !resource.isReadable()) {
-					continue;
-				}
-				String externalForm = resource.getURL().toExternalForm();
-				int prefixIndex = externalForm.indexOf(prefix);
-				if (prefixIndex < 0) {
-					continue;
-				}
-				String relativePath = externalForm.substring(prefixIndex + prefix.length());
-				if (relativePath.isBlank() || relativePath.endsWith("/")) {
-					continue;
-				}
-				Path output = root.resolve("app/modules").resolve(pythonModulePackage(moduleId)).resolve(relativePath);
-				Files.createDirectories(output.getParent());
-				try (InputStream inputStream = resource.getInputStream()) {
-					Files.copy(inputStream, output, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-				}
-			}
+			shippedModulePack.copyTo(sink, moduleId, GenerationLanguage.PYTHON,
+					sink.root().resolve("app/modules").resolve(pythonModulePackage(moduleId)));
 		}
 	}
 
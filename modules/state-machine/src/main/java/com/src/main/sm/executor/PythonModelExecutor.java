@@ -1,8 +1,5 @@
 package com.src.main.sm.executor;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -15,6 +12,7 @@ import org.springframework.stereotype.Component;
 
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.util.ProjectMetaDataConstants;
 
 @Component("pythonModelExecutor")
@@ -30,14 +28,11 @@ public class PythonModelExecutor implements StepExecutor {
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Object rootRaw = data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR);
-			if (rootRaw == null) {
-				return StepResult.error("PYTHON_MODEL_GENERATION", "Root directory not found in extended state.");
-			}
-			Path root = Path.of(String.valueOf(rootRaw));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
+			Path root = sink.root();
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			String orm = resolveOrm(yaml);
-			Files.createDirectories(root.resolve("app/models"));
+			sink.createDirectories(root.resolve("app/models"));
 			for (Map<String, Object> modelSpec : extractModels(yaml)) {
 				String name = toPascalCase(String.valueOf(modelSpec.getOrDefault("name", "Model")));
 				if (name.isBlank()) {
@@ -50,10 +45,10 @@ public class PythonModelExecutor implements StepExecutor {
 				String templatePath = "django".equals(orm)
 						? "templates/languages/python/model/django/model.py.mustache"
 						: "templates/languages/python/model/sqlalchemy/model.py.mustache";
-				write(root.resolve("app/models/" + toSnakeCase(name) + ".py"), templatePath, templateModel);
+				write(sink, root.resolve("app/models/" + toSnakeCase(name) + ".py"), templatePath, templateModel);
 			}
-			write(root.resolve("app/models/__init__.py"), "templates/languages/python/model/common/__init__.py.mustache", Map.of());
-			write(root.resolve("app/db.py"),
+			write(sink, root.resolve("app/models/__init__.py"), "templates/languages/python/model/common/__init__.py.mustache", Map.of());
+			write(sink, root.resolve("app/db.py"),
 					"django".equals(orm)
 							? "templates/languages/python/model/django/db.py.mustache"
 							: "templates/languages/python/model/sqlalchemy/db.py.mustache",
@@ -64,9 +59,8 @@ public class PythonModelExecutor implements StepExecutor {
 		}
 	}
 
-	private void write(Path output, String templatePath, Map<String, Object> model) throws Exception {
-		Files.createDirectories(output.getParent());
-		Files.writeString(output, templateEngine.render(templatePath, model), UTF_8);
+	private void write(GeneratedFileSink sink, Path output, String templatePath, Map<String, Object> model) throws Exception {
+		templateEngine.renderTo(sink, output, templatePath, model);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -1,6 +1,5 @@
 package com.src.main.sm.executor;
 
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -11,16 +10,19 @@ import java.util.Locale;
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.src.main.common.util.StringUtils;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.dto.ModelSpecDTO;
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.sm.executor.common.JavaNamingUtils;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
+import com.src.main.sm.executor.common.ParallelGenerationRunner;
 import com.src.main.sm.executor.rest.RestControllerGenerator;
 import com.src.main.sm.executor.rest.RestGenerationSupport;
 import com.src.main.sm.executor.rest.RestGenerationUnit;
@@ -36,27 +38,29 @@ public class RestGenerationExecutor implements StepExecutor {
 	private final RestServiceGenerator serviceGenerator;
 	private final RestRepositoryGenerator repositoryGenerator;
 	private final RestSharedSupportGenerator sharedSupportGenerator;
-	private final ObjectMapper mapper = new ObjectMapper();
+	private final ParallelGenerationRunner parallelGenerationRunner;
 
 	public RestGenerationExecutor(RestControllerGenerator controllerGenerator, RestServiceGenerator serviceGenerator,
-			RestRepositoryGenerator repositoryGenerator, RestSharedSupportGenerator sharedSupportGenerator) {
+			RestRepositoryGenerator repositoryGenerator, RestSharedSupportGenerator sharedSupportGenerator,
+			ParallelGenerationRunner parallelGenerationRunner) {
 		this.controllerGenerator = controllerGenerator;
 		this.serviceGenerator = serviceGenerator;
 		this.repositoryGenerator = repositoryGenerator;
 		this.sharedSupportGenerator = sharedSupportGenerator;
+		this.parallelGenerationRunner = parallelGenerationRunner;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			if (yaml == null) {
 				return StepResult.error("REST_GENERATION", "YAML not found in extended state.");
 			}
 
-			AppSpecDTO spec = mapper.convertValue(yaml, AppSpecDTO.class);
+			AppSpecDTO spec = BoundAppSpec.from(data).spec();
 			List<ModelSpecDTO> models = spec.getModels();
 			if (models == null || models.isEmpty()) {
 				return StepResult.ok(Map.of("status", "Success", "restGeneratedCount", 0));
@@ -73,30 +77,38 @@ public class RestGenerationExecutor implements StepExecutor {
 			Map<String, String> restSpecBasePathByName = resolveRestSpecBasePathByName(restSpecByName);
 			Map<Integer, String> modelRestSpecNameByIndex = resolveModelRestSpecNameByIndex(yaml);
 			String utilPackage = RestGenerationSupport.resolveUtilPackage(basePackage, packageStructure);
-			sharedSupportGenerator.generate(root, utilPackage, noSql, language);
+			sharedSupportGenerator.generate(sink, utilPackage, noSql, language);
 
-			int generatedCount = 0;
+			List<Integer> restModelIndexes = new ArrayList<>();
 			for (int modelIndex = 0; modelIndex < models.size(); modelIndex++) {
 				ModelSpecDTO model = models.get(modelIndex);
-				if (!Boolean.TRUE.equals(model.getAddRestEndpoints()) || Boolean.TRUE.equals(model.getAddCrudOperations())) {
-					continue;
+				if (Boolean.TRUE.equals(model.getAddRestEndpoints()) && !Boolean.TRUE.equals(model.getAddCrudOperations())) {
+					restModelIndexes.add(modelIndex);
 				}
-				String restSpecName = modelRestSpecNameByIndex.get(modelIndex);
-				Map<String, Object> mappedRestSpec = restSpecName == null ? Collections.emptyMap() : restSpecByName.getOrDefault(restSpecName, Collections.emptyMap());
-				Map<String, Object> rawModel = modelIndex < rawModels.size() ? rawModels.get(modelIndex) : Collections.emptyMap();
-				String mappedBasePath = normalizeBasePath(restSpecBasePathByName.get(restSpecName));
-				validateControllerOnlyRestConfig(model, rawModel, mappedRestSpec, restSpecName != null);
-				Map<String, Object> runtimeConfig = buildRuntimeConfig(model, rawModel, mappedRestSpec, restSpecName != null);
-				RestGenerationUnit unit = RestGenerationSupport.buildUnit(model, basePackage, packageStructure, noSql,
-						language == GenerationLanguage.KOTLIN, mappedBasePath, runtimeConfig);
-				boolean hasServiceLayer = Boolean.TRUE.equals(runtimeConfig.get("hasServiceLayer"));
-				if (hasServiceLayer) {
-					repositoryGenerator.generate(root, unit, language);
-					serviceGenerator.generate(root, unit, language);
-				}
-				controllerGenerator.generate(root, unit, language);
-				generatedCount += 1;
 			}
+			parallelGenerationRunner.forEach(GenerationCancellation.from(data),
+					parallelGenerationRunner.parallelism(data), restModelIndexes,
+					modelIndex -> JavaNamingUtils.toJavaTypeName(models.get(modelIndex).getName(), "Entity"),
+					modelIndex -> "REST endpoints for entity " + models.get(modelIndex).getName()
+							+ " (repository/service/controller templates)",
+					modelIndex -> {
+						ModelSpecDTO model = models.get(modelIndex);
+						String restSpecName = modelRestSpecNameByIndex.get(modelIndex);
+						Map<String, Object> mappedRestSpec = restSpecName == null ? Collections.emptyMap() : restSpecByName.getOrDefault(restSpecName, Collections.emptyMap());
+						Map<String, Object> rawModel = modelIndex < rawModels.size() ? rawModels.get(modelIndex) : Collections.emptyMap();
+						String mappedBasePath = normalizeBasePath(restSpecBasePathByName.get(restSpecName));
+						validateControllerOnlyRestConfig(model, rawModel, mappedRestSpec, restSpecName != null);
+						Map<String, Object> runtimeConfig = buildRuntimeConfig(model, rawModel, mappedRestSpec, restSpecName != null);
+						RestGenerationUnit unit = RestGenerationSupport.buildUnit(model, basePackage, packageStructure, noSql,
+								language == GenerationLanguage.KOTLIN, mappedBasePath, runtimeConfig);
+						boolean hasServiceLayer = Boolean.TRUE.equals(runtimeConfig.get("hasServiceLayer"));
+						if (hasServiceLayer) {
+							repositoryGenerator.generate(sink, unit, language);
+							serviceGenerator.generate(sink, unit, language);
+						}
+						controllerGenerator.generate(sink, unit, language);
+					});
+			int generatedCount = restModelIndexes.size();
 
 			return StepResult.ok(Map.of("status", "Success", "restGeneratedCount", generatedCount));
 		} catch (Exception ex) {
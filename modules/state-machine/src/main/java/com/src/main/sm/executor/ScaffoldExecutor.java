@@ -2,8 +2,6 @@ package com.src.main.sm.executor;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -30,6 +28,7 @@ import com.src.main.dto.StepResult;
 import com.src.main.common.util.StringUtils;
 import com.src.main.service.DependencyResolver;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.util.GradleVersionResolver;
 import com.src.main.util.GradleWrapperInstaller;
 import com.src.main.util.InitializrGradleGenerator;
@@ -44,6 +43,7 @@ import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.sm.executor.common.JavaNamingUtils;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
+import com.src.main.sm.executor.common.ShippedModulePack;
 import com.src.main.sm.executor.common.TemplatePathResolver;
 import com.src.main.util.PathUtils;
 
@@ -67,17 +67,19 @@ public class ScaffoldExecutor implements StepExecutor {
 	private final InitializrGradleGenerator gradleGenerator;
 	private final TemplateEngine tpl;
 	private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+	private final ShippedModulePack shippedModulePack;
 
 	private GradleWrapperInstaller gradleWrapperInstaller;
 
 	public ScaffoldExecutor(DependencyResolver dependencyResolver, InitializrPomGenerator pomGenerator,
 			InitializrGradleGenerator gradleGenerator, GradleWrapperInstaller gradleWrapperInstaller,
-			TemplateEngine tpl) {
+			TemplateEngine tpl, ShippedModulePack shippedModulePack) {
 		this.dependencyResolver = dependencyResolver;
 		this.pomGenerator = pomGenerator;
 		this.gradleGenerator = gradleGenerator;
 		this.tpl = tpl;
 		this.gradleWrapperInstaller = gradleWrapperInstaller;
+		this.shippedModulePack = shippedModulePack;
 	}
 
 	@Override
@@ -99,7 +101,8 @@ public class ScaffoldExecutor implements StepExecutor {
 		
 		final boolean angular = boolOr(data, ProjectMetaDataConstants.EXTRAS_ANGULAR_INTEGRATION, false);
 		
-		final Path root = resolveRoot(data);
+		final GeneratedFileSink sink = GeneratedFileSink.from(data);
+		final Path root = sink.root();
 		
 		final Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get("yaml");
 		final GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
@@ -116,12 +119,12 @@ public class ScaffoldExecutor implements StepExecutor {
 				.toList();
 
 
-		createMinimalLayout(root, packageName, buildTool, language);
+		createMinimalLayout(sink, packageName, buildTool, language);
 			List<MavenDependencyDTO> resolvedDeps = dependencyResolver.resolveForMaven(externalModuleDependencies, bootVersion, openapi);
 			List<MavenDependencyDTO> deps = new ArrayList<>(resolvedDeps == null ? List.of() : resolvedDeps);
 			mergeDependencies(deps, ShippableModuleSupport.resolveExternalDependencies(selectedShippedModules));
 			enrichDependenciesWithDatabase(deps, databaseCode);
-		copyShippedModules(root, expandedShippedModules);
+		copyShippedModules(sink, expandedShippedModules);
 
 		InitializrProjectModel model = new InitializrProjectModel(groupId, artifactId, version, name, description,
 				packaging, generator, jdkVersion, bootVersion, openapi, includeLombok, angular);
@@ -134,17 +137,17 @@ public class ScaffoldExecutor implements StepExecutor {
 					mainClassName, language == GenerationLanguage.KOTLIN);
 			String buildContent = addGradleShippedModuleConfiguration(files.getBuildContent(), files.getBuildFileName(),
 					expandedShippedModules);
-			Files.writeString(root.resolve(files.getBuildFileName()), buildContent, UTF_8);
-			Files.writeString(root.resolve(files.getSettingsFileName()), files.getSettingsContent(), UTF_8);
-			gradleWrapperInstaller.installWrapper(root, GradleVersionResolver.forBoot(model.getBootVersion()));
+			sink.writeString(root.resolve(files.getBuildFileName()), buildContent);
+			sink.writeString(root.resolve(files.getSettingsFileName()), files.getSettingsContent());
+			gradleWrapperInstaller.installWrapper(sink, GradleVersionResolver.forBoot(model.getBootVersion()));
 		} else {
 			String pom = pomGenerator.generatePom(model, deps);
 			pom = addMavenShippedModuleConfiguration(pom, expandedShippedModules);
-			Files.writeString(root.resolve("pom.xml"), pom, UTF_8);
+			sink.writeString(root.resolve("pom.xml"), pom);
 		}
-		writeMainClass(root, packageName, mainClassName, language, expandedShippedModules);
-		writeResources(root, name, yaml);
-		writeDocsAndGitignore(root, name);
+		writeMainClass(sink, packageName, mainClassName, language, expandedShippedModules);
+		writeResources(sink, name, yaml);
+		writeDocsAndGitignore(sink, name);
 		Map<String,Object> result = new HashMap<>();
 		result.put("status", "Success");
 		result.put(ProjectMetaDataConstants.ROOT_DIR, root.toAbsolutePath().toString());
@@ -162,13 +165,6 @@ public class ScaffoldExecutor implements StepExecutor {
 		return StepResult.ok(result);
 	}
 
-	private static Path resolveRoot(ExtendedState data) {
-		Object r = data.getVariables().getOrDefault(ProjectMetaDataConstants.ROOT_DIR, data.getVariables().get("root"));
-		if (r == null)
-			throw new IllegalArgumentException("Root directory not provided (AppConstants.ROOT_DIR or 'root').");
-		return (r instanceof Path) ? (Path) r : Path.of(r.toString());
-	}
-
 	private static String strOr(ExtendedState data, String primaryKey, String legacyKey, String dflt) {
 		Object v = primaryKey == null ? null : data.getVariables().get(primaryKey);
 		if (v == null && legacyKey != null)
@@ -442,18 +438,18 @@ public class ScaffoldExecutor implements StepExecutor {
 		target.addAll(merged);
 	}
 
-	private static void createMinimalLayout(Path root, String packageName, String buildTool, GenerationLanguage language) throws Exception {
-		Path mainSource = root.resolve(PathUtils.srcPathFromPackage(packageName, language));
-		Path mainRes = root.resolve("src/main/resources");
-		Path testSource = root.resolve("src/test/" + language.templateFolder() + "/" + packageName.replace('.', '/'));
-		Files.createDirectories(mainSource);
-		Files.createDirectories(mainRes);
-		Files.createDirectories(testSource);
+	private static void createMinimalLayout(GeneratedFileSink sink, String packageName, String buildTool, GenerationLanguage language) throws Exception {
+		Path mainSource = sink.root().resolve(PathUtils.srcPathFromPackage(packageName, language));
+		Path mainRes = sink.root().resolve("src/main/resources");
+		Path testSource = sink.root().resolve("src/test/" + language.templateFolder() + "/" + packageName.replace('.', '/'));
+		sink.createDirectories(mainSource);
+		sink.createDirectories(mainRes);
+		sink.createDirectories(testSource);
 	}
 
-	private void writeMainClass(Path root, String packageName, String mainClassName, GenerationLanguage language,
+	private void writeMainClass(GeneratedFileSink sink, String packageName, String mainClassName, GenerationLanguage language,
 			List<String> shippedModules) throws Exception {
-		Path target = root.resolve(PathUtils.srcPathFromPackage(packageName, language))
+		Path target = sink.root().resolve(PathUtils.srcPathFromPackage(packageName, language))
 				.resolve(mainClassName + "." + language.fileExtension());
 		String mainTemplate = language == GenerationLanguage.KOTLIN ? TPL_MAIN_KOTLIN : TPL_MAIN_JAVA;
 		String rendered = tpl.renderAny(TemplatePathResolver.candidates(language, "project", mainTemplate),
@@ -462,33 +458,12 @@ public class ScaffoldExecutor implements StepExecutor {
 						"includeShippedModuleScanning", ShippableModuleSupport.requiresModuleScanning(shippedModules),
 						"moduleBasePackage", ShippableModuleSupport.MODULE_BASE_PACKAGE));
 
-		Files.writeString(target, rendered, UTF_8);
+		sink.writeString(target, rendered);
 	}
 
-	private void copyShippedModules(Path root, List<String> shippedModules) throws Exception {
+	private void copyShippedModules(GeneratedFileSink sink, List<String> shippedModules) throws Exception {
 		for (String moduleId : shippedModules) {
-			Resource[] resources = resourceResolver.getResources(
-					ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + ShippableModuleSupport.resourceSearchPattern(moduleId));
-			String prefix = ShippableModuleSupport.resourcePrefix(moduleId) + "/";
-			for (Resource resource : resources) {
-				if (!resource.exists() || !resource.isReadable()) {
-					continue;
-				}
-				String externalForm = resource.getURL().toExternalForm();
-				int prefixIndex = externalForm.indexOf(prefix);
-				if (prefixIndex < 0) {
-					continue;
-				}
-				String relativePath = externalForm.substring(prefixIndex + prefix.length());
-				if (relativePath.isBlank() || relativePath.endsWith("/")) {
-					continue;
-				}
-				Path target = root.resolve("modules").resolve(moduleId).resolve(relativePath);
-				Files.createDirectories(target.getParent());
-				try (InputStream input = resource.getInputStream()) {
-					Files.copy(input, target, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-				}
-			}
+			shippedModulePack.copyTo(sink, moduleId, GenerationLanguage.JAVA, sink.root().resolve("modules").resolve(moduleId));
 		}
 	}
 
@@ -580,15 +555,13 @@ sourceSets {
 		return buildFile + block;
 	}
 
-	private void writeResources(Path root, String appName, Map<String, Object> yaml) throws Exception {
-		Path resDir = root.resolve("src/main/resources");
-		Files.createDirectories(resDir);
-		writeMessagesIfAny(root, yaml);
-		writeValidationConfigIfAny(root, yaml);
-		writeGeneratedModuleSchema(root, yaml);
+	private void writeResources(GeneratedFileSink sink, String appName, Map<String, Object> yaml) throws Exception {
+		writeMessagesIfAny(sink, yaml);
+		writeValidationConfigIfAny(sink, yaml);
+		writeGeneratedModuleSchema(sink, yaml);
 	}
 
-	private void writeGeneratedModuleSchema(Path root, Map<String, Object> yaml) throws Exception {
+	private void writeGeneratedModuleSchema(GeneratedFileSink sink, Map<String, Object> yaml) throws Exception {
 		List<String> selectedModules = LayeredSpecSupport.resolveDependencies(yaml).stream()
 				.filter(Objects::nonNull)
 				.map(String::valueOf)
@@ -621,8 +594,7 @@ sourceSets {
 		if (fragments.isEmpty()) {
 			return;
 		}
-		Path migrationPath = root.resolve(GENERATED_MODULE_SCHEMA_FILE);
-		Files.createDirectories(migrationPath.getParent());
+		Path migrationPath = sink.root().resolve(GENERATED_MODULE_SCHEMA_FILE);
 		StringBuilder script = new StringBuilder();
 		script.append("-- Generated by rest-app-generator.").append(System.lineSeparator());
 		script.append("-- Consolidated plugin bootstrap schema for selected shipped modules.").append(System.lineSeparator())
@@ -634,7 +606,7 @@ sourceSets {
 			script.append(fragments.get(index));
 		}
 		script.append(System.lineSeparator());
-		Files.writeString(migrationPath, script.toString(), UTF_8);
+		sink.writeString(migrationPath, script.toString());
 	}
 
 	@SuppressWarnings("unchecked")
@@ -854,21 +826,12 @@ sourceSets {
 		return index >= 0 ? index : MODULE_SCHEMA_ORDER.size();
 	}
 
-	private void writeDocsAndGitignore(Path root, String appName) throws Exception {
-		// Ensure project root exists
-		Files.createDirectories(root);
-
-		// Template rendering helper (assuming tpl is your Mustache or TemplateEngine
-		// instance)
-		String readmeRendered = tpl.render(TPL_README, Map.of("appName", appName));
-
-		// Write README.md
-		Path readmePath = root.resolve("README.md");
-		Files.writeString(readmePath, readmeRendered, StandardCharsets.UTF_8);
+	private void writeDocsAndGitignore(GeneratedFileSink sink, String appName) throws Exception {
+		tpl.renderTo(sink, sink.root().resolve("README.md"), TPL_README, Map.of("appName", appName));
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writeMessagesIfAny(Path root, Map<String, Object> yaml) {
+	private void writeMessagesIfAny(GeneratedFileSink sink, Map<String, Object> yaml) {
 		try {
 			if (yaml == null) {
 				return;
@@ -883,12 +846,11 @@ sourceSets {
 				return;
 			}
 
-			Path resDir = root.resolve("src/main/resources");
-			Files.createDirectories(resDir);
+			Path resDir = sink.root().resolve("src/main/resources");
 			Path target = resDir.resolve("messages.properties");
 
 			// don't overwrite if something else already created it
-			if (Files.exists(target)) {
+			if (sink.exists(target)) {
 				log.debug("messages.properties exists; skipping scaffold write");
 				return;
 			}
@@ -914,14 +876,14 @@ sourceSets {
 			if (body == null || body.isBlank()) {
 				body = buildMessagesProperties(entries);
 			}			
-			Files.writeString(target, body, UTF_8);
+			sink.writeString(target, body);
 		} catch (Exception ex) {
 			log.warn("Failed to write messages.properties: {}", ex.getMessage());
 			// last-ditch: at least create a tiny placeholder
 			try {
-				Path target = root.resolve("src/main/resources/messages.properties");
-				if (!Files.exists(target)) {
-					Files.writeString(target, "# messages (scaffold fallback)\n", UTF_8);
+				Path target = sink.root().resolve("src/main/resources/messages.properties");
+				if (!sink.exists(target)) {
+					sink.writeString(target, "# messages (scaffold fallback)\n");
 				}
 			} catch (Exception ignored) {
 			}
@@ -945,7 +907,7 @@ sourceSets {
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writeValidationConfigIfAny(Path root, Map<String, Object> yaml) {
+	private void writeValidationConfigIfAny(GeneratedFileSink sink, Map<String, Object> yaml) {
 		try {
 			if (yaml == null) {
 				return;
@@ -966,13 +928,12 @@ sourceSets {
 					? basePackage + ".domain.config"
 					: basePackage + ".config";
 			GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
-			Path outDir = root.resolve(PathUtils.srcPathFromPackage(configPackage, language));
-			Files.createDirectories(outDir);
+			Path outDir = sink.root().resolve(PathUtils.srcPathFromPackage(configPackage, language));
 			String configTemplate = language == GenerationLanguage.KOTLIN ? TPL_VALIDATION_CONFIG_KOTLIN
 					: TPL_VALIDATION_CONFIG_JAVA;
 			String content = tpl.renderAny(TemplatePathResolver.candidates(language, "validation", configTemplate),
 					Map.of("packageName", configPackage));
-			Files.writeString(outDir.resolve("ValidationMessageConfig." + language.fileExtension()), content, UTF_8);
+			sink.writeString(outDir.resolve("ValidationMessageConfig." + language.fileExtension()), content);
 		} catch (Exception ex) {
 			log.warn("Failed to write ValidationMessageConfig: {}", ex.getMessage());
 		}
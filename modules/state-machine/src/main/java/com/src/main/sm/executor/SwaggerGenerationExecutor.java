@@ -1,18 +1,18 @@
 package com.src.main.sm.executor;
 
 import java.nio.file.Path;
-import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.src.main.common.util.StringUtils;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
@@ -26,7 +26,6 @@ import com.src.main.util.ProjectMetaDataConstants;
 public class SwaggerGenerationExecutor implements StepExecutor {
 
 	private final SwaggerGenerationService swaggerGenerationService;
-	private final ObjectMapper mapper = new ObjectMapper();
 
 	public SwaggerGenerationExecutor(SwaggerGenerationService swaggerGenerationService) {
 		this.swaggerGenerationService = swaggerGenerationService;
@@ -36,13 +35,13 @@ public class SwaggerGenerationExecutor implements StepExecutor {
 	@SuppressWarnings("unchecked")
 	public StepResult execute(ExtendedState data) {
 		try {
-			Path root = Path.of((String) data.getVariables().get(ProjectMetaDataConstants.ROOT_DIR));
+			GeneratedFileSink sink = GeneratedFileSink.from(data);
 			Map<String, Object> yaml = (Map<String, Object>) data.getVariables().get(ProjectMetaDataConstants.YAML);
 			if (yaml == null) {
 				return StepResult.error("SWAGGER_GENERATION", "YAML not found in extended state.");
 			}
 
-			AppSpecDTO spec = mapper.convertValue(yaml, AppSpecDTO.class);
+			AppSpecDTO spec = BoundAppSpec.from(data).spec();
 			Object enabledRaw = firstNonNull(LayeredSpecSupport.resolveOpenApiEnabled(yaml, false), spec.getEnableOpenapi(),
 					yaml.get(ProjectMetaDataConstants.EXTRAS_OPENAPI), false);
 			String basePackage = StringUtils.firstNonBlank(LayeredSpecSupport.resolveBasePackage(yaml, null), spec.getBasePackage(),
@@ -52,29 +51,29 @@ public class SwaggerGenerationExecutor implements StepExecutor {
 			GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
 			String swaggerPackage = SwaggerGenerationSupport.resolveSwaggerPackage(basePackage, packageStructure);
 			if (!SwaggerGenerationSupport.isOpenApiEnabled(enabledRaw)) {
-				deleteOpenApiConfigIfExists(root, swaggerPackage, language);
+				deleteOpenApiConfigIfExists(sink, swaggerPackage, language);
 				return StepResult.ok(Map.of("status", "Success", "swaggerGenerated", false));
 			}
 
 			String appName = extractAppName(yaml);
 			List<SwaggerGroupSpec> groups = SwaggerGenerationSupport.buildGroupsFromYaml(yaml, spec.getModels(), language);
 			if (groups.isEmpty()) {
-				deleteOpenApiConfigIfExists(root, swaggerPackage, language);
+				deleteOpenApiConfigIfExists(sink, swaggerPackage, language);
 				return StepResult.ok(Map.of("status", "Success", "swaggerGenerated", false, "swaggerGroupCount", 0));
 			}
 
-			swaggerGenerationService.generate(root, swaggerPackage, appName, groups, language);
+			swaggerGenerationService.generate(sink, swaggerPackage, appName, groups, language);
 			return StepResult.ok(Map.of("status", "Success", "swaggerGenerated", true, "swaggerGroupCount", groups.size()));
 		} catch (Exception ex) {
 			return StepResult.error("SWAGGER_GENERATION", ex.getMessage());
 		}
 	}
 
-	private void deleteOpenApiConfigIfExists(Path root, String swaggerPackage, GenerationLanguage language) {
+	private void deleteOpenApiConfigIfExists(GeneratedFileSink sink, String swaggerPackage, GenerationLanguage language) {
 		try {
-			Path file = root.resolve(PathUtils.srcPathFromPackage(swaggerPackage, language))
+			Path file = sink.root().resolve(PathUtils.srcPathFromPackage(swaggerPackage, language))
 					.resolve("OpenApiConfig." + language.fileExtension());
-			Files.deleteIfExists(file);
+			sink.deleteIfExists(file);
 		} catch (Exception ignored) {
 			// Best-effort cleanup of stale swagger config from earlier generations.
 		}
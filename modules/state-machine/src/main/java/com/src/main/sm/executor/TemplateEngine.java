@@ -1,63 +1,287 @@
 package com.src.main.sm.executor;
 
-import com.github.mustachejava.*;
-import org.springframework.stereotype.Component;
-import java.io.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheResolver;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+
+/**
+ * Renders the Mustache templates under {@code templates/}. Every template is located by a single classpath scan and
+ * compiled once when the engine is created; rendering and partial resolution then only consult that immutable index.
+ * Templates at the classpath root take precedence over the copies shipped under
+ * {@code shipped-modules/state-machine/src/main/resources/}.
+ *
+ * <p>With {@code app.templates.hot-reload} enabled, templates are re-read and recompiled on every render, preferring
+ * files under {@code app.templates.hot-reload-dir} when it is set, so template edits show up without a restart.
+ */
 @Component
 public class TemplateEngine {
 
+	private static final String TEMPLATE_ROOT = "templates/";
+	private static final String TEMPLATE_SUFFIX = ".mustache";
 	private static final String STATE_MACHINE_RESOURCE_PREFIX = "shipped-modules/state-machine/src/main/resources/";
-	
-	private final MustacheFactory mf = new DefaultMustacheFactory();
+
+	private final boolean hotReload;
+	private final Path hotReloadDir;
+	private final Map<String, URL> locations;
+	private final Map<String, CompiledTemplate> index;
+
+	public TemplateEngine() {
+		this(false, "");
+	}
+
+	@Autowired
+	public TemplateEngine(@Value("${app.templates.hot-reload:false}") boolean hotReload,
+			@Value("${app.templates.hot-reload-dir:}") String hotReloadDir) {
+		this.hotReload = hotReload;
+		this.hotReloadDir = hotReloadDir == null || hotReloadDir.isBlank() ? null : Path.of(hotReloadDir);
+		this.locations = scanTemplates();
+		this.index = hotReload ? Map.of() : compileAll(locations);
+	}
 
 	public String render(String tpl, Map<String, Object> m) {
-		String resolvedTemplate = resolveTemplatePath(tpl);
-		if (resolvedTemplate == null) {
-			throw new IllegalArgumentException("Template not found: " + tpl);
-		}
-		try (InputStream stream = getClass().getClassLoader().getResourceAsStream(resolvedTemplate);
-				Reader r = new InputStreamReader(stream, StandardCharsets.UTF_8);
-				StringWriter w = new StringWriter()) {
-			Mustache mm = mf.compile(r, resolvedTemplate);
-			mm.execute(w, m).flush();
-			return w.toString();
+		StringWriter w = new StringWriter();
+		try {
+			render(tpl, m, w);
 		} catch (IOException e) {
 			throw new UncheckedIOException(e);
 		}
+		return w.toString();
+	}
+
+	/**
+	 * Renders straight into {@code out} without buffering the whole file. The writer is flushed, not closed.
+	 */
+	public void render(String tpl, Map<String, Object> m, Writer out) throws IOException {
+		CompiledTemplate template = lookup(tpl);
+		if (template == null) {
+			throw new IllegalArgumentException("Template not found: " + tpl);
+		}
+		template.mustache().execute(out, m).flush();
+	}
+
+	/**
+	 * Renders UTF-8 encoded into {@code out}, which is flushed but left open.
+	 */
+	public void render(String tpl, Map<String, Object> m, OutputStream out) throws IOException {
+		try (Writer w = new TemplateOutputWriter(out)) {
+			render(tpl, m, w);
+		}
+	}
+
+	/**
+	 * Renders {@code tpl} into {@code file} through the sink's stream.
+	 */
+	public void renderTo(GeneratedFileSink sink, Path file, String tpl, Map<String, Object> m) throws IOException {
+		try (OutputStream out = sink.newOutputStream(file)) {
+			render(tpl, m, out);
+		}
 	}
 
 	public String renderAny(List<String> templates, Map<String, Object> model) {
+		return render(resolveAny(templates), model);
+	}
+
+	public void renderAny(List<String> templates, Map<String, Object> model, OutputStream out) throws IOException {
+		render(resolveAny(templates), model, out);
+	}
+
+	/**
+	 * Identifies the template {@link #renderAny} would pick from {@code templates}: its name plus a hash of its
+	 * content, so the version changes whenever the template does.
+	 */
+	public String templateVersion(List<String> templates) {
+		if (templates != null) {
+			for (String candidate : templates) {
+				CompiledTemplate template = candidate == null ? null : lookup(candidate);
+				if (template != null) {
+					return template.version();
+				}
+			}
+		}
+		throw new IllegalArgumentException("Template not found in candidates: " + templates);
+	}
+
+	public boolean exists(String templatePath) {
+		if (templatePath == null || templatePath.isBlank()) {
+			return false;
+		}
+		if (!hotReload) {
+			return index.containsKey(templatePath);
+		}
+		return locations.containsKey(templatePath) || hotReloadFile(templatePath) != null;
+	}
+
+	private String resolveAny(List<String> templates) {
 		if (templates == null || templates.isEmpty()) {
 			throw new IllegalArgumentException("No template candidates provided");
 		}
 		for (String candidate : templates) {
 			if (candidate != null && exists(candidate)) {
-				return render(candidate, model);
+				return candidate;
 			}
 		}
 		throw new IllegalArgumentException("Template not found in candidates: " + templates);
 	}
 
-	public boolean exists(String templatePath) {
-		return resolveTemplatePath(templatePath) != null;
+	private CompiledTemplate lookup(String name) {
+		if (!hotReload) {
+			return index.get(name);
+		}
+		if (!exists(name)) {
+			return null;
+		}
+		return compile(new IndexMustacheFactory(this::readSource), name);
 	}
 
-	private String resolveTemplatePath(String templatePath) {
-		if (templatePath == null || templatePath.isBlank()) {
+	private Map<String, URL> scanTemplates() {
+		PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(getClass().getClassLoader());
+		Map<String, URL> found = new LinkedHashMap<>();
+		try {
+			for (String location : List.of(TEMPLATE_ROOT, STATE_MACHINE_RESOURCE_PREFIX + TEMPLATE_ROOT)) {
+				for (Resource root : resolver.getResources("classpath*:" + location)) {
+					URL rootUrl = root.getURL();
+					for (Resource template : resolver.getResources(rootUrl + "**/*" + TEMPLATE_SUFFIX)) {
+						String name = templateName(location, rootUrl, template.getURL());
+						if (name != null) {
+							found.putIfAbsent(name, template.getURL());
+						}
+					}
+				}
+			}
+		} catch (IOException | URISyntaxException e) {
+			throw new IllegalStateException("Failed to scan Mustache templates", e);
+		}
+		return Map.copyOf(found);
+	}
+
+	/**
+	 * Maps a scanned template to its index name, which is its path relative to the template root prefixed with
+	 * {@code templates/}, whether it was found in a directory or inside a jar.
+	 */
+	private static String templateName(String location, URL rootUrl, URL templateUrl) throws URISyntaxException {
+		if ("file".equals(templateUrl.getProtocol())) {
+			Path relative = Path.of(rootUrl.toURI()).relativize(Path.of(templateUrl.toURI()));
+			return TEMPLATE_ROOT + relative.toString().replace('\\', '/');
+		}
+		String url = templateUrl.toString();
+		String entry = url.substring(url.lastIndexOf("!/") + 2);
+		return entry.startsWith(location) ? TEMPLATE_ROOT + entry.substring(location.length()) : null;
+	}
+
+	private static Map<String, CompiledTemplate> compileAll(Map<String, URL> locations) {
+		Map<String, String> sources = new LinkedHashMap<>();
+		locations.forEach((name, url) -> sources.put(name, read(url)));
+		IndexMustacheFactory factory = new IndexMustacheFactory(sources::get);
+		Map<String, CompiledTemplate> compiled = new LinkedHashMap<>();
+		sources.keySet().forEach(name -> compiled.put(name, compile(factory, name)));
+		return Map.copyOf(compiled);
+	}
+
+	private static CompiledTemplate compile(IndexMustacheFactory factory, String name) {
+		String source = factory.source(name);
+		return new CompiledTemplate(factory.compile(name), name + "@" + sha256(source));
+	}
+
+	private String readSource(String name) {
+		Path file = hotReloadFile(name);
+		if (file != null) {
+			try {
+				return Files.readString(file, StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		URL url = locations.get(name);
+		return url == null ? null : read(url);
+	}
+
+	private Path hotReloadFile(String name) {
+		if (hotReloadDir == null || name.contains("..")) {
 			return null;
 		}
-		ClassLoader classLoader = getClass().getClassLoader();
-		if (classLoader.getResource(templatePath) != null) {
-			return templatePath;
+		Path file = hotReloadDir.resolve(name);
+		return Files.isRegularFile(file) ? file : null;
+	}
+
+	private static String read(URL url) {
+		try (InputStream stream = url.openStream()) {
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read template " + url, e);
+		}
+	}
+
+	private static String sha256(String source) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
 		}
-		String prefixedPath = STATE_MACHINE_RESOURCE_PREFIX + templatePath;
-		if (classLoader.getResource(prefixedPath) != null) {
-			return prefixedPath;
+	}
+
+	private record CompiledTemplate(Mustache mustache, String version) {
+	}
+
+	@FunctionalInterface
+	private interface TemplateSource {
+		String read(String name);
+	}
+
+	/**
+	 * Mustache factory whose templates and partials come from the template index rather than the classpath.
+	 */
+	private static final class IndexMustacheFactory extends DefaultMustacheFactory {
+
+		private final TemplateSource templateSource;
+
+		IndexMustacheFactory(TemplateSource templateSource) {
+			super(new IndexMustacheResolver(templateSource));
+			this.templateSource = templateSource;
+		}
+
+		String source(String name) {
+			String source = templateSource.read(name);
+			if (source == null) {
+				throw new IllegalArgumentException("Template not found: " + name);
+			}
+			return source;
+		}
+	}
+
+	private record IndexMustacheResolver(TemplateSource templateSource) implements MustacheResolver {
+
+		@Override
+		public Reader getReader(String resourceName) {
+			String source = templateSource.read(resourceName);
+			return source == null ? null : new StringReader(source);
 		}
-		return null;
 	}
 }
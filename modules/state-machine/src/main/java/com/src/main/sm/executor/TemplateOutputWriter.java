@@ -0,0 +1,103 @@
+package com.src.main.sm.executor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 writer for template output. Mustache emits many short strings; they are gathered in a char buffer that is
+ * reused by every render on the same thread and encoded straight into the target stream, so no per-file buffer or
+ * intermediate {@code String} is allocated. Closing flushes but leaves the target stream open.
+ */
+final class TemplateOutputWriter extends Writer {
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final ThreadLocal<char[]> BUFFERS = new ThreadLocal<>();
+
+	private final Writer encoder;
+	private char[] buffer;
+	private int count;
+
+	TemplateOutputWriter(OutputStream out) {
+		this.encoder = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+		char[] borrowed = BUFFERS.get();
+		if (borrowed != null) {
+			BUFFERS.remove();
+		}
+		this.buffer = borrowed == null ? new char[BUFFER_SIZE] : borrowed;
+	}
+
+	@Override
+	public void write(int c) throws IOException {
+		ensureOpen();
+		if (count == buffer.length) {
+			flushBuffer();
+		}
+		buffer[count++] = (char) c;
+	}
+
+	@Override
+	public void write(char[] chars, int off, int len) throws IOException {
+		ensureOpen();
+		if (len >= buffer.length) {
+			flushBuffer();
+			encoder.write(chars, off, len);
+			return;
+		}
+		if (len > buffer.length - count) {
+			flushBuffer();
+		}
+		System.arraycopy(chars, off, buffer, count, len);
+		count += len;
+	}
+
+	@Override
+	public void write(String str, int off, int len) throws IOException {
+		ensureOpen();
+		while (len > 0) {
+			if (count == buffer.length) {
+				flushBuffer();
+			}
+			int chunk = Math.min(len, buffer.length - count);
+			str.getChars(off, off + chunk, buffer, count);
+			count += chunk;
+			off += chunk;
+			len -= chunk;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		ensureOpen();
+		flushBuffer();
+		encoder.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (buffer == null) {
+			return;
+		}
+		try {
+			flush();
+		} finally {
+			BUFFERS.set(buffer);
+			buffer = null;
+		}
+	}
+
+	private void flushBuffer() throws IOException {
+		if (count > 0) {
+			encoder.write(buffer, 0, count);
+			count = 0;
+		}
+	}
+
+	private void ensureOpen() throws IOException {
+		if (buffer == null) {
+			throw new IOException("Writer closed");
+		}
+	}
+}
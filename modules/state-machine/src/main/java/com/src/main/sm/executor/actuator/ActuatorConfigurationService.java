@@ -1,10 +1,9 @@
 package com.src.main.sm.executor.actuator;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.StringWriter;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -16,6 +15,7 @@ import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.representer.Representer;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
 
 @Service
@@ -23,7 +23,7 @@ public class ActuatorConfigurationService {
 
 	@SuppressWarnings("unchecked")
 	public void applyConfiguration(Map<String, Object> yaml, List<String> includedEndpoints,
-			Map<String, List<String>> profileIncludedEndpoints, Path rootDir) {
+			Map<String, List<String>> profileIncludedEndpoints, GeneratedFileSink sink) {
 		if (yaml == null) {
 			return;
 		}
@@ -64,43 +64,42 @@ public class ActuatorConfigurationService {
 		endpoint.put("shutdown", shutdown);
 		shutdown.put("enabled", includedEndpoints.contains("shutdown"));
 
-		writeGeneratedApplicationConfig(yaml, rootDir, "application", includedEndpoints);
+		writeGeneratedApplicationConfig(yaml, sink, "application", includedEndpoints);
 		profileIncludedEndpoints.forEach((profile, endpointsForProfile) ->
-				writeGeneratedApplicationConfig(yaml, rootDir, "application-" + profile, endpointsForProfile));
+				writeGeneratedApplicationConfig(yaml, sink, "application-" + profile, endpointsForProfile));
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writeGeneratedApplicationConfig(Map<String, Object> yaml, Path rootDir, String fileBaseName,
+	private void writeGeneratedApplicationConfig(Map<String, Object> yaml, GeneratedFileSink sink, String fileBaseName,
 			List<String> includedEndpoints) {
-		if (rootDir == null || includedEndpoints == null) {
+		if (sink == null || includedEndpoints == null) {
 			return;
 		}
 
 		String format = resolveApplicationFormat(yaml);
-		Path resourcesDir = rootDir.resolve("src/main/resources");
+		Path resourcesDir = sink.root().resolve("src/main/resources");
 		Path filePath = resourcesDir.resolve(fileBaseName + ("properties".equals(format) ? ".properties" : ".yml"));
 
 		try {
-			Files.createDirectories(resourcesDir);
 			if ("properties".equals(format)) {
 				Properties props = new Properties();
-				if (Files.exists(filePath)) {
-					try (InputStream in = Files.newInputStream(filePath)) {
+				if (sink.exists(filePath)) {
+					try (InputStream in = new ByteArrayInputStream(sink.readAllBytes(filePath))) {
 						props.load(in);
 					}
 				}
 				props.setProperty("management.endpoints.web.exposure.include", String.join(",", includedEndpoints));
 				props.setProperty("management.endpoint.shutdown.enabled",
 						String.valueOf(includedEndpoints.contains("shutdown")));
-				try (OutputStreamWriter writer = new OutputStreamWriter(Files.newOutputStream(filePath), StandardCharsets.UTF_8)) {
-					props.store(writer, null);
-				}
+				StringWriter writer = new StringWriter();
+				props.store(writer, null);
+				sink.writeString(filePath, writer.toString());
 				return;
 			}
 
 			Map<String, Object> content = new LinkedHashMap<>();
-			if (Files.exists(filePath)) {
-				try (InputStream in = Files.newInputStream(filePath)) {
+			if (sink.exists(filePath)) {
+				try (InputStream in = new ByteArrayInputStream(sink.readAllBytes(filePath))) {
 					Object loaded = new Yaml().load(in);
 					if (loaded instanceof Map<?, ?> loadedMap) {
 						content = (Map<String, Object>) loadedMap;
@@ -148,9 +147,9 @@ public class ActuatorConfigurationService {
 			options.setDefaultScalarStyle(DumperOptions.ScalarStyle.PLAIN);
 			options.setWidth(4096);
 			Yaml yamlWriter = new Yaml(new Representer(options), options);
-			try (OutputStreamWriter writer = new OutputStreamWriter(Files.newOutputStream(filePath), StandardCharsets.UTF_8)) {
-				yamlWriter.dump(content, writer);
-			}
+			StringWriter writer = new StringWriter();
+			yamlWriter.dump(content, writer);
+			sink.writeString(filePath, writer.toString());
 		} catch (IOException ignored) {
 			// best effort: keep generation flow resilient
 		}
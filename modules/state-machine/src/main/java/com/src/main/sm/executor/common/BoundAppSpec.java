@@ -0,0 +1,121 @@
+package com.src.main.sm.executor.common;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.statemachine.ExtendedState;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.src.main.dto.AppSpecDTO;
+import com.src.main.dto.ModelSpecDTO;
+import com.src.main.dto.RelationSpecDTO;
+import com.src.main.sm.executor.enumgen.EnumGenerationSupport;
+import com.src.main.sm.executor.enumgen.EnumSpecResolved;
+import com.src.main.util.ProjectMetaDataConstants;
+
+/**
+ * The run's spec, bound from the raw YAML map exactly once and shared by every step through the
+ * {@link ProjectMetaDataConstants#APP_SPEC} state variable, together with the lookups the generators need. The
+ * collections are read-only; steps that enrich the spec keep writing to the YAML map, which none of the bound fields
+ * are taken from.
+ */
+public final class BoundAppSpec {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final AppSpecDTO spec;
+	private final Map<String, ModelSpecDTO> modelsByName;
+	private final List<RelationSpecDTO> relations;
+	private final List<EnumSpecResolved> enums;
+	private final Map<String, EnumSpecResolved> enumsByName;
+	private final Map<String, Map<String, Object>> dtosByName;
+
+	private BoundAppSpec(AppSpecDTO spec, Map<String, Map<String, Object>> dtosByName) {
+		spec.setModels(readOnly(spec.getModels()));
+		spec.setEnums(readOnly(spec.getEnums()));
+		spec.setProfiles(readOnly(spec.getProfiles()));
+		this.spec = spec;
+		Map<String, ModelSpecDTO> models = new LinkedHashMap<>();
+		List<RelationSpecDTO> allRelations = new ArrayList<>();
+		spec.getModels().stream().filter(Objects::nonNull).forEach(model -> {
+			if (model.getName() != null) {
+				models.putIfAbsent(model.getName(), model);
+			}
+			if (model.getRelations() != null) {
+				model.getRelations().stream().filter(Objects::nonNull).forEach(allRelations::add);
+			}
+		});
+		this.modelsByName = Collections.unmodifiableMap(models);
+		this.relations = Collections.unmodifiableList(allRelations);
+		this.enums = Collections.unmodifiableList(EnumGenerationSupport.resolveEnums(spec.getEnums()));
+		this.enumsByName = Collections.unmodifiableMap(EnumGenerationSupport.byName(enums));
+		this.dtosByName = Collections.unmodifiableMap(dtosByName);
+	}
+
+	/**
+	 * Binds {@code yaml}. Call once per run and store the result under {@link ProjectMetaDataConstants#APP_SPEC}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static BoundAppSpec bind(Map<String, Object> yaml) {
+		AppSpecDTO spec = MAPPER.convertValue(yaml == null ? Map.of() : yaml, AppSpecDTO.class);
+		Map<String, Map<String, Object>> dtos = new LinkedHashMap<>();
+		if (yaml != null && yaml.get("dtos") instanceof List<?> rawDtos) {
+			rawDtos.stream()
+					.filter(dto -> dto instanceof Map<?, ?> map && map.get("name") != null)
+					.map(dto -> (Map<String, Object>) dto)
+					.forEach(dto -> dtos.putIfAbsent(String.valueOf(dto.get("name")), dto));
+		}
+		return new BoundAppSpec(spec, dtos);
+	}
+
+	/**
+	 * Returns the spec bound for the run, binding the state's YAML on first use when the caller did not bind it up
+	 * front.
+	 */
+	@SuppressWarnings("unchecked")
+	public static BoundAppSpec from(ExtendedState state) {
+		Object bound = state.getVariables().get(ProjectMetaDataConstants.APP_SPEC);
+		if (bound instanceof BoundAppSpec boundAppSpec) {
+			return boundAppSpec;
+		}
+		BoundAppSpec boundAppSpec = bind((Map<String, Object>) state.getVariables().get(ProjectMetaDataConstants.YAML));
+		state.getVariables().put(ProjectMetaDataConstants.APP_SPEC, boundAppSpec);
+		return boundAppSpec;
+	}
+
+	public AppSpecDTO spec() {
+		return spec;
+	}
+
+	public List<ModelSpecDTO> models() {
+		return spec.getModels();
+	}
+
+	public ModelSpecDTO model(String name) {
+		return modelsByName.get(name);
+	}
+
+	public List<RelationSpecDTO> relations() {
+		return relations;
+	}
+
+	public List<EnumSpecResolved> enums() {
+		return enums;
+	}
+
+	public Map<String, EnumSpecResolved> enumsByName() {
+		return enumsByName;
+	}
+
+	public Map<String, Object> dto(String name) {
+		return dtosByName.get(name);
+	}
+
+	private static <T> List<T> readOnly(List<T> values) {
+		return values == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(values));
+	}
+}
@@ -0,0 +1,164 @@
+package com.src.main.sm.executor.common;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Writes generated files straight to a directory on disk. The sink remembers every directory it has created, so a run
+ * that writes hundreds of files into the same packages issues one {@code mkdir} per directory rather than a stat and
+ * mkdir per file. Directories removed other than through {@link #deleteIfExists} are not noticed.
+ */
+public class FileSystemGeneratedFileSink implements GeneratedFileSink {
+
+	private final Path root;
+	private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+	private final GenerationUnitStats unitStats = new GenerationUnitStats();
+	private final GeneratedFileStats fileStats = new GeneratedFileStats();
+
+	public FileSystemGeneratedFileSink(Path root) {
+		this.root = root;
+	}
+
+	@Override
+	public Path root() {
+		return root;
+	}
+
+	@Override
+	public void createDirectories(Path dir) throws IOException {
+		if (createdDirectories.contains(dir)) {
+			return;
+		}
+		Files.createDirectories(dir);
+		Path created = dir;
+		while (created != null && createdDirectories.add(created)) {
+			created = created.getParent();
+		}
+	}
+
+	@Override
+	public void write(Path file, byte[] content) throws IOException {
+		createParent(file);
+		Files.write(file, content);
+		fileStats.recordWrite(content.length);
+	}
+
+	@Override
+	public void copy(InputStream input, Path file) throws IOException {
+		createParent(file);
+		fileStats.recordWrite(Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING));
+	}
+
+	@Override
+	public OutputStream newOutputStream(Path file) throws IOException {
+		createParent(file);
+		return new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+	}
+
+	@Override
+	public boolean exists(Path path) {
+		return Files.exists(path);
+	}
+
+	@Override
+	public byte[] readAllBytes(Path file) throws IOException {
+		return Files.readAllBytes(file);
+	}
+
+	@Override
+	public boolean deleteIfExists(Path file) throws IOException {
+		createdDirectories.remove(file);
+		return Files.deleteIfExists(file);
+	}
+
+	@Override
+	public void setExecutable(Path file) {
+		try {
+			Files.setPosixFilePermissions(file, EnumSet.of(PosixFilePermission.OWNER_READ,
+					PosixFilePermission.OWNER_WRITE, PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.GROUP_READ,
+					PosixFilePermission.GROUP_EXECUTE, PosixFilePermission.OTHERS_READ,
+					PosixFilePermission.OTHERS_EXECUTE));
+		} catch (UnsupportedOperationException | IOException ignored) {
+		}
+	}
+
+	@Override
+	public void forEachFile(GeneratedFileVisitor visitor) throws IOException {
+		if (!Files.isDirectory(root)) {
+			return;
+		}
+		List<Path> files;
+		try (Stream<Path> walk = Files.walk(root)) {
+			files = walk.filter(Files::isRegularFile).sorted().toList();
+		}
+		for (Path file : files) {
+			try (InputStream input = Files.newInputStream(file)) {
+				visitor.visit(root.relativize(file).toString().replace("\\", "/"), input);
+			}
+		}
+	}
+
+	@Override
+	public GenerationUnitStats unitStats() {
+		return unitStats;
+	}
+
+	@Override
+	public GeneratedFileStats fileStats() {
+		return fileStats;
+	}
+
+	private void createParent(Path file) throws IOException {
+		Path parent = file.getParent();
+		if (parent != null) {
+			createDirectories(parent);
+		}
+	}
+
+	/**
+	 * Records the file in {@link #fileStats} once the stream is closed.
+	 */
+	private final class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+		private boolean closed;
+
+		CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			super.close();
+			fileStats.recordWrite(count);
+		}
+	}
+}
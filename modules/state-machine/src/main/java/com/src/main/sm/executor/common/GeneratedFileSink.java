@@ -0,0 +1,115 @@
+package com.src.main.sm.executor.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import org.springframework.statemachine.ExtendedState;
+
+import com.src.main.util.ProjectMetaDataConstants;
+
+/**
+ * Destination for every file a generation run produces. Paths are resolved against {@link #root()} exactly as they
+ * were against the old temp directory, so generators keep building paths with {@code root.resolve(...)} and only
+ * hand the final I/O to the sink. Method names mirror {@link java.nio.file.Files}.
+ */
+public interface GeneratedFileSink {
+
+	Path root();
+
+	void createDirectories(Path dir) throws IOException;
+
+	void write(Path file, byte[] content) throws IOException;
+
+	default void writeString(Path file, String content) throws IOException {
+		write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	void copy(InputStream input, Path file) throws IOException;
+
+	/**
+	 * Opens a stream that writes {@code file}, replacing any earlier content. The file is complete once the stream
+	 * is closed.
+	 */
+	OutputStream newOutputStream(Path file) throws IOException;
+
+	boolean exists(Path path);
+
+	byte[] readAllBytes(Path file) throws IOException;
+
+	default String readString(Path file) throws IOException {
+		return new String(readAllBytes(file), StandardCharsets.UTF_8);
+	}
+
+	boolean deleteIfExists(Path file) throws IOException;
+
+	/**
+	 * Marks a script as executable where the sink can express it; archives ignore the flag.
+	 */
+	void setExecutable(Path file);
+
+	/**
+	 * Visits every regular file in ascending entry-name order. Entry names are relative to {@link #root()} and use
+	 * {@code /} separators.
+	 */
+	void forEachFile(GeneratedFileVisitor visitor) throws IOException;
+
+	/**
+	 * Revision of the sink's content, raised by every write and delete. Sinks that do not track changes return
+	 * {@code -1}.
+	 */
+	default long revision() {
+		return -1L;
+	}
+
+	/**
+	 * Visits the files written or deleted after {@code revision}, in ascending entry-name order. A deleted file is
+	 * visited with a {@code null} stream. Only supported where {@link #revision()} is tracked.
+	 */
+	default void forEachChangeSince(long revision, GeneratedFileVisitor visitor) throws IOException {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " does not track changes");
+	}
+
+	/**
+	 * Counts the generation units rendered into this sink versus reused from the unit cache.
+	 */
+	GenerationUnitStats unitStats();
+
+	/**
+	 * Counts the files written into this sink and their bytes.
+	 */
+	GeneratedFileStats fileStats();
+
+	/**
+	 * Drops the files of a run that will not be archived, e.g. because it was cancelled, and rejects further writes
+	 * where the sink holds them itself. Sinks backed by a caller's directory leave it alone.
+	 */
+	default void discard() {
+	}
+
+	@FunctionalInterface
+	interface GeneratedFileVisitor {
+		void visit(String entryName, InputStream content) throws IOException;
+	}
+
+	/**
+	 * Returns the sink registered for the run, or a filesystem sink over {@code ROOT_DIR} for callers that still
+	 * hand the engine a bare directory. That sink is registered in turn, so every step of the run shares it and its
+	 * directory cache.
+	 */
+	static GeneratedFileSink from(ExtendedState state) {
+		Object sink = state.getVariables().get(ProjectMetaDataConstants.FILE_SINK);
+		if (sink instanceof GeneratedFileSink generatedFileSink) {
+			return generatedFileSink;
+		}
+		Object root = state.getVariables().getOrDefault(ProjectMetaDataConstants.ROOT_DIR, state.getVariables().get("root"));
+		if (root == null) {
+			throw new IllegalArgumentException("Root directory not provided (AppConstants.ROOT_DIR or 'root').");
+		}
+		GeneratedFileSink created = new FileSystemGeneratedFileSink(root instanceof Path path ? path : Path.of(root.toString()));
+		Object registered = state.getVariables().putIfAbsent(ProjectMetaDataConstants.FILE_SINK, created);
+		return registered instanceof GeneratedFileSink generatedFileSink ? generatedFileSink : created;
+	}
+}
@@ -0,0 +1,46 @@
+package com.src.main.sm.executor.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-run tally of files written into a {@link GeneratedFileSink} and their combined size. Rewriting a file counts as
+ * another write. Callers report per-step figures by comparing {@link #snapshot()}s taken around the step.
+ */
+public class GeneratedFileStats {
+
+	private final AtomicInteger files = new AtomicInteger();
+	private final AtomicLong bytes = new AtomicLong();
+
+	void recordWrite(long size) {
+		files.incrementAndGet();
+		bytes.addAndGet(size);
+	}
+
+	public int files() {
+		return files.get();
+	}
+
+	public long bytes() {
+		return bytes.get();
+	}
+
+	public Snapshot snapshot() {
+		return new Snapshot(files(), bytes());
+	}
+
+	@Override
+	public String toString() {
+		return "GeneratedFileStats(files=" + files() + ", bytes=" + bytes() + ")";
+	}
+
+	public record Snapshot(int files, long bytes) {
+
+		/**
+		 * Files and bytes written between {@code earlier} and this snapshot.
+		 */
+		public Snapshot since(Snapshot earlier) {
+			return new Snapshot(files - earlier.files, bytes - earlier.bytes);
+		}
+	}
+}
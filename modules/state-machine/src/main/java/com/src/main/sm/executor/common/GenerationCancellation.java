@@ -0,0 +1,104 @@
+package com.src.main.sm.executor.common;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+
+import org.springframework.statemachine.ExtendedState;
+
+import com.src.main.util.ProjectMetaDataConstants;
+
+/**
+ * Cancellation signal of one generation run, registered in the run's state under
+ * {@link ProjectMetaDataConstants#CANCELLATION}. Cancelling interrupts the step tasks the run is waiting on and runs
+ * the registered cleanup callbacks; code that loops over units of work calls {@link #throwIfCancelled()} between
+ * units so it stops promptly even when it never blocks.
+ */
+public final class GenerationCancellation {
+
+	private static final GenerationCancellation NONE = new GenerationCancellation();
+
+	private final Set<Future<?>> inFlight = ConcurrentHashMap.newKeySet();
+	private final List<Runnable> cleanups = new CopyOnWriteArrayList<>();
+	private volatile String reason;
+
+	/**
+	 * Returns the token registered for the run, or one that is never cancelled for callers that did not register
+	 * any, such as previews.
+	 */
+	public static GenerationCancellation from(ExtendedState state) {
+		Object token = state.getVariables().get(ProjectMetaDataConstants.CANCELLATION);
+		return token instanceof GenerationCancellation cancellation ? cancellation : NONE;
+	}
+
+	public boolean isCancelled() {
+		return reason != null;
+	}
+
+	public String reason() {
+		return reason;
+	}
+
+	/**
+	 * Cancels the run. Only the first call has an effect.
+	 */
+	public void cancel(String cancelReason) {
+		if (this == NONE) {
+			return;
+		}
+		synchronized (this) {
+			if (reason != null) {
+				return;
+			}
+			reason = cancelReason == null || cancelReason.isBlank() ? "Generation cancelled." : cancelReason;
+		}
+		inFlight.forEach(future -> future.cancel(true));
+		cleanups.forEach(Runnable::run);
+	}
+
+	/**
+	 * Throws when the run was cancelled or the current thread was interrupted, e.g. because its step timed out.
+	 */
+	public void throwIfCancelled() {
+		if (reason != null) {
+			throw new GenerationCancelledException(reason);
+		}
+		if (Thread.currentThread().isInterrupted()) {
+			throw new GenerationCancelledException("Generation step interrupted.");
+		}
+	}
+
+	/**
+	 * Interrupts {@code future} when the run is cancelled, immediately if it already was. Call {@link #untrack} once
+	 * the future completed.
+	 */
+	public <F extends Future<?>> F track(F future) {
+		if (this == NONE) {
+			return future;
+		}
+		inFlight.add(future);
+		if (reason != null) {
+			future.cancel(true);
+		}
+		return future;
+	}
+
+	public void untrack(Future<?> future) {
+		inFlight.remove(future);
+	}
+
+	/**
+	 * Runs {@code cleanup} when the run is cancelled, immediately if it already was.
+	 */
+	public void onCancel(Runnable cleanup) {
+		if (this == NONE) {
+			return;
+		}
+		cleanups.add(cleanup);
+		if (reason != null) {
+			cleanup.run();
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package com.src.main.sm.executor.common;
+
+/**
+ * Raised when a generation run notices that it was cancelled, or that the thread running its step was interrupted,
+ * and stops before its next unit of work.
+ */
+public class GenerationCancelledException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public GenerationCancelledException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,191 @@
+package com.src.main.sm.executor.common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.src.main.sm.executor.TemplateEngine;
+
+/**
+ * Node-wide cache of rendered generation units. A unit is fingerprinted from its language, the version of the
+ * template that renders it and its template model, which is built from the unit's slice of the spec. Units whose
+ * fingerprint was seen before reuse the earlier output instead of being rendered again, so an edit to one entity only
+ * re-renders the files that entity feeds.
+ *
+ * <p>Output is cached as encoded bytes and evicted least-recently-used once the combined size exceeds the configured
+ * budget. Models that cannot be fingerprinted are always rendered.
+ */
+@Component
+public class GenerationUnitCache {
+
+	private static final Logger log = LoggerFactory.getLogger(GenerationUnitCache.class);
+
+	private final TemplateEngine templateEngine;
+	private final boolean enabled;
+	private final long maxBytes;
+	private final ObjectMapper fingerprintMapper = JsonMapper.builder()
+			.enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+			.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+			.build();
+	private final LinkedHashMap<String, byte[]> renderedByFingerprint = new LinkedHashMap<>(256, 0.75f, true);
+	private long cachedBytes;
+
+	public GenerationUnitCache(TemplateEngine templateEngine,
+			@Value("${app.generation.unit-cache.enabled:true}") boolean enabled,
+			@Value("${app.generation.unit-cache.max-bytes:33554432}") long maxBytes) {
+		this.templateEngine = templateEngine;
+		this.enabled = enabled;
+		this.maxBytes = Math.max(0, maxBytes);
+	}
+
+	/**
+	 * Writes the unit to {@code file}. A cached unit is copied as-is; otherwise the template is streamed into the
+	 * sink while a copy is kept for later runs. The outcome is recorded in the sink's {@link GenerationUnitStats}.
+	 */
+	public void write(GeneratedFileSink sink, Path file, GenerationLanguage language, List<String> templates,
+			Map<String, Object> model) throws IOException {
+		String fingerprint = enabled ? fingerprint(language, templates, model) : null;
+		byte[] cached = fingerprint == null ? null : lookup(fingerprint);
+		if (cached != null) {
+			sink.write(file, cached);
+			sink.unitStats().recordReused();
+			return;
+		}
+		CapturingOutputStream capture = null;
+		try (OutputStream out = sink.newOutputStream(file)) {
+			OutputStream target = out;
+			if (fingerprint != null) {
+				capture = new CapturingOutputStream(out, maxBytes);
+				target = capture;
+			}
+			templateEngine.renderAny(templates, model, target);
+		}
+		sink.unitStats().recordRendered();
+		byte[] captured = capture == null ? null : capture.captured();
+		if (captured != null) {
+			store(fingerprint, captured);
+		}
+	}
+
+	/**
+	 * Returns the rendered content of the unit for callers that post-process it before writing. Prefer
+	 * {@link #write} otherwise.
+	 */
+	public String render(GeneratedFileSink sink, GenerationLanguage language, List<String> templates,
+			Map<String, Object> model) {
+		String fingerprint = enabled ? fingerprint(language, templates, model) : null;
+		byte[] cached = fingerprint == null ? null : lookup(fingerprint);
+		if (cached != null) {
+			sink.unitStats().recordReused();
+			return new String(cached, StandardCharsets.UTF_8);
+		}
+		String content = templateEngine.renderAny(templates, model);
+		sink.unitStats().recordRendered();
+		if (fingerprint != null) {
+			store(fingerprint, content.getBytes(StandardCharsets.UTF_8));
+		}
+		return content;
+	}
+
+	private synchronized byte[] lookup(String fingerprint) {
+		return renderedByFingerprint.get(fingerprint);
+	}
+
+	private synchronized void store(String fingerprint, byte[] content) {
+		if (content.length > maxBytes) {
+			return;
+		}
+		byte[] previous = renderedByFingerprint.put(fingerprint, content);
+		cachedBytes += content.length - (previous == null ? 0 : previous.length);
+		Iterator<byte[]> eldest = renderedByFingerprint.values().iterator();
+		while (cachedBytes > maxBytes && eldest.hasNext()) {
+			cachedBytes -= eldest.next().length;
+			eldest.remove();
+		}
+	}
+
+	private String fingerprint(GenerationLanguage language, List<String> templates, Map<String, Object> model) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(language.name().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(templateEngine.templateVersion(templates).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+				fingerprintMapper.writeValue(out, model);
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (IOException | RuntimeException ex) {
+			log.debug("Rendering generation unit without cache: {}", ex.getMessage());
+			return null;
+		} catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 not available", ex);
+		}
+	}
+
+	/**
+	 * Passes output through while keeping a copy, and drops the copy once it outgrows what the cache would accept.
+	 */
+	private static final class CapturingOutputStream extends FilterOutputStream {
+
+		private final long limit;
+		private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+		CapturingOutputStream(OutputStream out, long limit) {
+			super(out);
+			this.limit = limit;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			if (keep(1)) {
+				copy.write(b);
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			if (keep(len)) {
+				copy.write(b, off, len);
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+
+		byte[] captured() {
+			return copy == null ? null : copy.toByteArray();
+		}
+
+		private boolean keep(int len) {
+			if (copy != null && copy.size() + (long) len > limit) {
+				copy = null;
+			}
+			return copy != null;
+		}
+	}
+}
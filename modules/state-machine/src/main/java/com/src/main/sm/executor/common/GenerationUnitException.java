@@ -0,0 +1,13 @@
+package com.src.main.sm.executor.common;
+
+/**
+ * Raised when a single generation unit fails; the message names the unit, e.g. its entity and template.
+ */
+public class GenerationUnitException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public GenerationUnitException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,34 @@
+package com.src.main.sm.executor.common;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-run tally of generation units, split into those rendered from their template and those whose output was
+ * reused from {@link GenerationUnitCache} because their fingerprint was unchanged.
+ */
+public class GenerationUnitStats {
+
+	private final AtomicInteger rendered = new AtomicInteger();
+	private final AtomicInteger reused = new AtomicInteger();
+
+	void recordRendered() {
+		rendered.incrementAndGet();
+	}
+
+	void recordReused() {
+		reused.incrementAndGet();
+	}
+
+	public int rendered() {
+		return rendered.get();
+	}
+
+	public int reused() {
+		return reused.get();
+	}
+
+	@Override
+	public String toString() {
+		return "GenerationUnitStats(rendered=" + rendered() + ", reused=" + reused() + ")";
+	}
+}
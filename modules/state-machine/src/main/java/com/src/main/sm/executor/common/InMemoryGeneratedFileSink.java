@@ -0,0 +1,188 @@
+package com.src.main.sm.executor.common;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps generated files in memory so a run never touches the disk. {@link #root()} is a logical path that is never
+ * created; it only anchors the paths generators resolve. Safe for concurrent writers to distinct files. Every write
+ * and delete is stamped with a revision, so callers can pick up just the files changed since they last looked.
+ */
+public class InMemoryGeneratedFileSink implements GeneratedFileSink {
+
+	private final Path root;
+	private final NavigableMap<String, byte[]> files = new ConcurrentSkipListMap<>();
+	private final Set<String> directories = new ConcurrentSkipListSet<>();
+	private final NavigableMap<String, Long> revisionsByEntry = new ConcurrentSkipListMap<>();
+	private final AtomicLong revision = new AtomicLong();
+	private final GenerationUnitStats unitStats = new GenerationUnitStats();
+	private final GeneratedFileStats fileStats = new GeneratedFileStats();
+	private volatile boolean discarded;
+
+	public InMemoryGeneratedFileSink(Path root) {
+		this.root = root.toAbsolutePath().normalize();
+	}
+
+	@Override
+	public Path root() {
+		return root;
+	}
+
+	@Override
+	public void createDirectories(Path dir) throws IOException {
+		String name = entryName(dir);
+		if (!name.isEmpty()) {
+			directories.add(name);
+		}
+	}
+
+	@Override
+	public void write(Path file, byte[] content) throws IOException {
+		ensureNotDiscarded();
+		String name = entryName(file);
+		files.put(name, content.clone());
+		changed(name);
+		fileStats.recordWrite(content.length);
+	}
+
+	@Override
+	public void copy(InputStream input, Path file) throws IOException {
+		ensureNotDiscarded();
+		byte[] content = input.readAllBytes();
+		String name = entryName(file);
+		files.put(name, content);
+		changed(name);
+		fileStats.recordWrite(content.length);
+	}
+
+	@Override
+	public OutputStream newOutputStream(Path file) throws IOException {
+		ensureNotDiscarded();
+		String name = entryName(file);
+		return new ByteArrayOutputStream() {
+			private boolean closed;
+
+			@Override
+			public void close() {
+				if (!closed && !discarded) {
+					closed = true;
+					files.put(name, toByteArray());
+					changed(name);
+					fileStats.recordWrite(count);
+				}
+			}
+		};
+	}
+
+	@Override
+	public boolean exists(Path path) {
+		String name;
+		try {
+			name = entryName(path);
+		} catch (IOException ex) {
+			return false;
+		}
+		if (name.isEmpty() || files.containsKey(name) || directories.contains(name)) {
+			return true;
+		}
+		String prefix = name + "/";
+		String next = files.ceilingKey(prefix);
+		return next != null && next.startsWith(prefix);
+	}
+
+	@Override
+	public byte[] readAllBytes(Path file) throws IOException {
+		byte[] content = files.get(entryName(file));
+		if (content == null) {
+			throw new NoSuchFileException(file.toString());
+		}
+		return content.clone();
+	}
+
+	@Override
+	public boolean deleteIfExists(Path file) throws IOException {
+		String name = entryName(file);
+		if (files.remove(name) == null) {
+			return false;
+		}
+		changed(name);
+		return true;
+	}
+
+	@Override
+	public void setExecutable(Path file) {
+	}
+
+	@Override
+	public void forEachFile(GeneratedFileVisitor visitor) throws IOException {
+		for (Map.Entry<String, byte[]> entry : files.entrySet()) {
+			visitor.visit(entry.getKey(), new ByteArrayInputStream(entry.getValue()));
+		}
+	}
+
+	@Override
+	public long revision() {
+		return revision.get();
+	}
+
+	@Override
+	public void forEachChangeSince(long since, GeneratedFileVisitor visitor) throws IOException {
+		for (Map.Entry<String, Long> entry : revisionsByEntry.entrySet()) {
+			if (entry.getValue() > since) {
+				byte[] content = files.get(entry.getKey());
+				visitor.visit(entry.getKey(), content == null ? null : new ByteArrayInputStream(content));
+			}
+		}
+	}
+
+	@Override
+	public GenerationUnitStats unitStats() {
+		return unitStats;
+	}
+
+	@Override
+	public GeneratedFileStats fileStats() {
+		return fileStats;
+	}
+
+	@Override
+	public void discard() {
+		discarded = true;
+		files.clear();
+		directories.clear();
+		revisionsByEntry.clear();
+	}
+
+	public int fileCount() {
+		return files.size();
+	}
+
+	private void changed(String name) {
+		revisionsByEntry.put(name, revision.incrementAndGet());
+	}
+
+	private void ensureNotDiscarded() throws IOException {
+		if (discarded) {
+			throw new IOException("Generated files of " + root + " were discarded");
+		}
+	}
+
+	private String entryName(Path path) throws IOException {
+		Path absolute = path.isAbsolute() ? path.normalize() : root.resolve(path).normalize();
+		if (!absolute.startsWith(root)) {
+			throw new IOException("Path " + path + " is outside generated project root " + root);
+		}
+		return root.relativize(absolute).toString().replace("\\", "/");
+	}
+}
@@ -0,0 +1,219 @@
+package com.src.main.sm.executor.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.statemachine.ExtendedState;
+import org.springframework.stereotype.Component;
+
+import com.src.main.util.ProjectMetaDataConstants;
+
+/**
+ * Fans per-entity generation out over a shared work-stealing pool. A run asks for its own parallelism, capped by the
+ * pool size, and that many workers pull units until none are left.
+ *
+ * <p>Units that share a collision key (typically the file they write) run sequentially in input order on one worker,
+ * so the last one wins exactly as in a sequential loop. Results come back in input order. When units fail, the
+ * earliest failing unit in input order is reported, naming the unit, and no new units are started. Workers check the
+ * run's {@link GenerationCancellation} before each unit, and interrupting the calling thread, which is how a timed-out
+ * step is stopped, also stops them before their next unit.
+ */
+@Component
+public class ParallelGenerationRunner implements DisposableBean {
+
+	private final ForkJoinPool pool;
+	private final int maxParallelism;
+	private final int defaultParallelism;
+
+	public ParallelGenerationRunner(
+			@Value("${app.generation.parallelism.max:0}") int maxParallelism,
+			@Value("${app.generation.parallelism.default:0}") int defaultParallelism) {
+		this.maxParallelism = maxParallelism > 0 ? maxParallelism : Runtime.getRuntime().availableProcessors();
+		this.defaultParallelism = defaultParallelism > 0 ? Math.min(defaultParallelism, this.maxParallelism)
+				: this.maxParallelism;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.pool = new ForkJoinPool(this.maxParallelism, forkJoinPool -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+			thread.setName("generation-" + threadCount.incrementAndGet());
+			return thread;
+		}, null, true);
+	}
+
+	/**
+	 * Parallelism for the run: the {@link ProjectMetaDataConstants#GENERATION_PARALLELISM} state variable when set,
+	 * otherwise the configured default, never above the pool size.
+	 */
+	public int parallelism(ExtendedState state) {
+		Object raw = state.getVariables().get(ProjectMetaDataConstants.GENERATION_PARALLELISM);
+		int requested = defaultParallelism;
+		if (raw instanceof Number number) {
+			requested = number.intValue();
+		} else if (raw != null) {
+			try {
+				requested = Integer.parseInt(String.valueOf(raw).trim());
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		return Math.max(1, Math.min(requested, maxParallelism));
+	}
+
+	/**
+	 * Applies {@code task} to every item and returns the results in input order.
+	 *
+	 * @param cancellation the run's token, checked before each unit
+	 * @param collisionKey items with equal keys run sequentially in input order
+	 * @param description  names an item in failure messages, e.g. its entity and template
+	 */
+	public <T, R> List<R> map(GenerationCancellation cancellation, int parallelism, List<T> items,
+			Function<? super T, String> collisionKey, Function<? super T, String> description,
+			GenerationTask<? super T, ? extends R> task) {
+		if (items == null || items.isEmpty()) {
+			return new ArrayList<>();
+		}
+		List<List<Integer>> groups = groupByCollisionKey(items, collisionKey);
+		Object[] results = new Object[items.size()];
+		Failure failure = new Failure();
+		AtomicInteger nextGroup = new AtomicInteger();
+		Thread caller = Thread.currentThread();
+		Runnable worker = () -> {
+			int groupIndex;
+			while (!failure.stopped() && (groupIndex = nextGroup.getAndIncrement()) < groups.size()) {
+				for (int index : groups.get(groupIndex)) {
+					if (cancellation.isCancelled()) {
+						failure.record(Integer.MAX_VALUE, new GenerationCancelledException(cancellation.reason()));
+						break;
+					}
+					if (caller.isInterrupted()) {
+						failure.record(Integer.MAX_VALUE, new GenerationCancelledException("Generation step interrupted."));
+						break;
+					}
+					try {
+						results[index] = task.apply(items.get(index));
+					} catch (Exception ex) {
+						failure.record(index, ex);
+						break;
+					}
+				}
+			}
+		};
+
+		int workers = Math.min(Math.max(1, Math.min(parallelism, maxParallelism)), groups.size());
+		if (workers == 1) {
+			worker.run();
+		} else {
+			List<Future<?>> futures = new ArrayList<>(workers);
+			for (int i = 0; i < workers; i++) {
+				futures.add(pool.submit(worker));
+			}
+			awaitAll(futures, failure);
+		}
+		failure.throwIfFailed(items, description);
+
+		List<R> ordered = new ArrayList<>(results.length);
+		Arrays.stream(results).forEach(result -> ordered.add(cast(result)));
+		return ordered;
+	}
+
+	/**
+	 * Runs {@code task} for every item; see {@link #map}.
+	 */
+	public <T> void forEach(GenerationCancellation cancellation, int parallelism, List<T> items,
+			Function<? super T, String> collisionKey, Function<? super T, String> description,
+			GenerationAction<? super T> action) {
+		map(cancellation, parallelism, items, collisionKey, description, item -> {
+			action.accept(item);
+			return null;
+		});
+	}
+
+	@Override
+	public void destroy() {
+		pool.shutdownNow();
+	}
+
+	private static <T> List<List<Integer>> groupByCollisionKey(List<T> items, Function<? super T, String> collisionKey) {
+		Map<String, List<Integer>> byKey = new LinkedHashMap<>();
+		for (int i = 0; i < items.size(); i++) {
+			String key = collisionKey.apply(items.get(i));
+			byKey.computeIfAbsent(key == null ? "#" + i : key, ignored -> new ArrayList<>()).add(i);
+		}
+		return new ArrayList<>(byKey.values());
+	}
+
+	private static void awaitAll(List<Future<?>> futures, Failure failure) {
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				failure.record(Integer.MAX_VALUE, new GenerationCancelledException("Generation step interrupted."));
+				futures.forEach(pending -> pending.cancel(true));
+				return;
+			} catch (ExecutionException ex) {
+				failure.record(Integer.MAX_VALUE, ex.getCause() instanceof Exception cause ? cause : ex);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <R> R cast(Object value) {
+		return (R) value;
+	}
+
+	@FunctionalInterface
+	public interface GenerationTask<T, R> {
+		R apply(T item) throws Exception;
+	}
+
+	@FunctionalInterface
+	public interface GenerationAction<T> {
+		void accept(T item) throws Exception;
+	}
+
+	/**
+	 * Keeps the failure with the lowest input index so the reported error does not depend on scheduling.
+	 */
+	private static final class Failure {
+
+		private int index = Integer.MAX_VALUE;
+		private Exception cause;
+		private volatile boolean stopped;
+
+		synchronized void record(int failedIndex, Exception ex) {
+			stopped = true;
+			if (cause == null || failedIndex < index) {
+				index = failedIndex;
+				cause = ex;
+			}
+		}
+
+		boolean stopped() {
+			return stopped;
+		}
+
+		synchronized <T> void throwIfFailed(List<T> items, Function<? super T, String> description) {
+			if (cause == null) {
+				return;
+			}
+			if (cause instanceof GenerationCancelledException cancelled) {
+				throw cancelled;
+			}
+			if (index == Integer.MAX_VALUE) {
+				throw new GenerationUnitException("Parallel generation failed: " + cause.getMessage(), cause);
+			}
+			throw new GenerationUnitException(
+					"Failed to generate " + description.apply(items.get(index)) + ": " + cause.getMessage(), cause);
+		}
+	}
+}
@@ -0,0 +1,155 @@
+package com.src.main.sm.executor.common;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import com.src.main.util.ShippableModuleSupport;
+
+/**
+ * In-memory pack of every shipped-module resource on the classpath. The classpath is scanned once when the pack is
+ * created and each file is kept with its size and SHA-256, keyed by the module's resource prefix (see
+ * {@link ShippableModuleSupport#resourcePrefix(String, GenerationLanguage)}) and its path relative to that prefix.
+ * Runs then copy a module's files straight from memory into their sink instead of scanning the classpath again.
+ *
+ * <p>When several classpath roots provide the same file, the last one wins, as it did when each run copied the scan
+ * results in order.
+ */
+@Component
+public class ShippedModulePack {
+
+	private static final Logger log = LoggerFactory.getLogger(ShippedModulePack.class);
+
+	private static final String ROOT = ShippableModuleSupport.RESOURCE_ROOT + "/";
+	private static final List<String> LANGUAGE_FOLDERS = List.of("node", "python");
+
+	private final Map<String, List<Entry>> entriesByPrefix;
+
+	public ShippedModulePack() {
+		this.entriesByPrefix = index(new PathMatchingResourcePatternResolver(getClass().getClassLoader()));
+	}
+
+	/**
+	 * Files of {@code moduleId} for {@code language}, in scan order.
+	 */
+	public List<Entry> entries(String moduleId, GenerationLanguage language) {
+		return entriesByPrefix.getOrDefault(ShippableModuleSupport.resourcePrefix(moduleId, language), List.of());
+	}
+
+	/**
+	 * Writes every file of {@code moduleId} for {@code language} below {@code targetDir}.
+	 */
+	public void copyTo(GeneratedFileSink sink, String moduleId, GenerationLanguage language, Path targetDir)
+			throws IOException {
+		for (Entry entry : entries(moduleId, language)) {
+			sink.write(targetDir.resolve(entry.relativePath()), entry.content());
+		}
+	}
+
+	private static Map<String, List<Entry>> index(ResourcePatternResolver resolver) {
+		Map<String, Map<String, Entry>> byPrefix = new LinkedHashMap<>();
+		long totalBytes = 0;
+		int totalFiles = 0;
+		try {
+			for (Resource root : resolver.getResources(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX + ROOT)) {
+				URL rootUrl = root.getURL();
+				for (Resource resource : resolver.getResources(rootUrl + "**")) {
+					if (!resource.exists() || !resource.isReadable()) {
+						continue;
+					}
+					String path = rootRelativePath(rootUrl, resource.getURL());
+					String prefix = path == null ? null : modulePrefix(path);
+					if (prefix == null || path.length() <= prefix.length() + 1 || path.endsWith("/")) {
+						continue;
+					}
+					byte[] content;
+					try (InputStream input = resource.getInputStream()) {
+						content = input.readAllBytes();
+					}
+					Entry entry = new Entry(path.substring(prefix.length() + 1), content, sha256(content));
+					Entry previous = byPrefix.computeIfAbsent(ROOT + prefix, ignored -> new LinkedHashMap<>())
+							.put(entry.relativePath(), entry);
+					if (previous != null) {
+						totalBytes -= previous.size();
+						totalFiles--;
+					}
+					totalBytes += entry.size();
+					totalFiles++;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to index shipped module resources", e);
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException("Failed to index shipped module resources", e);
+		}
+		Map<String, List<Entry>> packed = new LinkedHashMap<>();
+		byPrefix.forEach((prefix, entries) -> packed.put(prefix, List.copyOf(entries.values())));
+		log.info("Indexed {} shipped module files ({} bytes) across {} modules", totalFiles, totalBytes, packed.size());
+		return Map.copyOf(packed);
+	}
+
+	/**
+	 * Path of a scanned resource relative to the {@code shipped-modules/} root it was found under, whether that root
+	 * is a directory or a jar entry.
+	 */
+	private static String rootRelativePath(URL rootUrl, URL resourceUrl) throws URISyntaxException {
+		if ("file".equals(resourceUrl.getProtocol())) {
+			Path relative = Path.of(rootUrl.toURI()).relativize(Path.of(resourceUrl.toURI()));
+			return relative.toString().replace('\\', '/');
+		}
+		String url = resourceUrl.toString();
+		String entry = url.substring(url.lastIndexOf("!/") + 2);
+		return entry.startsWith(ROOT) ? entry.substring(ROOT.length()) : null;
+	}
+
+	/**
+	 * Module folder of a root-relative path: {@code <module>} for Java modules and {@code node/<module>} or
+	 * {@code python/<module>} for the other languages. Folders that are not shipped modules are skipped.
+	 */
+	private static String modulePrefix(String path) {
+		String[] segments = path.split("/", 3);
+		if (segments.length < 2) {
+			return null;
+		}
+		if (LANGUAGE_FOLDERS.contains(segments[0])) {
+			return segments.length == 3 && ShippableModuleSupport.isShippableModule(segments[1])
+					? segments[0] + "/" + segments[1]
+					: null;
+		}
+		return ShippableModuleSupport.isShippableModule(segments[0]) ? segments[0] : null;
+	}
+
+	private static String sha256(byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * One packed file. {@code content} is shared by every run and must not be modified.
+	 */
+	public record Entry(String relativePath, byte[] content, String sha256) {
+
+		public long size() {
+			return content.length;
+		}
+	}
+}
@@ -1,15 +1,12 @@
 package com.src.main.sm.executor.common;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.stereotype.Component;
 
-import com.src.main.sm.executor.TemplateEngine;
 import com.src.main.util.PathUtils;
 
 /**
@@ -28,17 +25,18 @@ import com.src.main.util.PathUtils;
 @Component
 public class SourceFileWriter {
 
-    private final TemplateEngine templateEngine;
+    private final GenerationUnitCache generationUnitCache;
 
-    public SourceFileWriter(TemplateEngine templateEngine) {
-        this.templateEngine = templateEngine;
+    public SourceFileWriter(GenerationUnitCache generationUnitCache) {
+        this.generationUnitCache = generationUnitCache;
     }
 
     /**
      * Renders {@code templateFile} with {@code model} and writes the result to the
-     * correct language source directory under {@code projectRoot}.
+     * correct language source directory under the sink root. Units whose model and
+     * template are unchanged since an earlier run reuse that run's output.
      *
-     * @param projectRoot   root of the generated project temp directory
+     * @param sink          destination of the generated project
      * @param language      target language (determines src/main/java vs kotlin path)
      * @param domain        template domain folder name (e.g. "crud", "rest", "model")
      * @param templateFile  template filename (e.g. "repository.java.mustache")
@@ -46,16 +44,13 @@ public class SourceFileWriter {
      * @param outputPackage Java/Kotlin package of the file being written
      * @param outputClass   simple class name (without extension)
      */
-    public void write(Path projectRoot, GenerationLanguage language, String domain,
+    public void write(GeneratedFileSink sink, GenerationLanguage language, String domain,
                       String templateFile, Map<String, Object> model,
                       String outputPackage, String outputClass) throws IOException {
 
         List<String> candidates = TemplatePathResolver.candidates(language, domain, templateFile);
-        String content = templateEngine.renderAny(candidates, model);
-
-        Path outDir = projectRoot.resolve(PathUtils.srcPathFromPackage(outputPackage, language));
-        Files.createDirectories(outDir);
-        Files.writeString(outDir.resolve(outputClass + "." + language.fileExtension()),
-                content, StandardCharsets.UTF_8);
+        Path outDir = sink.root().resolve(PathUtils.srcPathFromPackage(outputPackage, language));
+        generationUnitCache.write(sink, outDir.resolve(outputClass + "." + language.fileExtension()),
+                language, candidates, model);
     }
 }
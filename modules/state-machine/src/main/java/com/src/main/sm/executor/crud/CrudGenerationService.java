@@ -1,34 +1,31 @@
 package com.src.main.sm.executor.crud;
 
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.nio.file.Path;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.sm.executor.common.ParallelGenerationRunner;
 
 @Service
 public class CrudGenerationService {
 
     private final CrudRepositoryGenerator repositoryGenerator;
+    private final ParallelGenerationRunner parallelGenerationRunner;
 
-    public CrudGenerationService(CrudRepositoryGenerator repositoryGenerator) {
+    public CrudGenerationService(CrudRepositoryGenerator repositoryGenerator,
+                                 ParallelGenerationRunner parallelGenerationRunner) {
         this.repositoryGenerator = repositoryGenerator;
+        this.parallelGenerationRunner = parallelGenerationRunner;
     }
 
-    public void generate(Path root, List<CrudGenerationUnit> units, GenerationLanguage language) throws IOException {
-        try {
-            units.stream().forEach(unit -> {
-                try {
-                    repositoryGenerator.generate(root, unit, language);
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                }
-            });
-        } catch (UncheckedIOException e) {
-            throw e.getCause();
-        }
+    public void generate(GeneratedFileSink sink, List<CrudGenerationUnit> units, GenerationLanguage language,
+                         GenerationCancellation cancellation, int parallelism) {
+        parallelGenerationRunner.forEach(cancellation, parallelism, units,
+                unit -> unit.getRepositoryPackage() + "." + unit.getRepositoryClass(),
+                unit -> "CRUD repository " + unit.getRepositoryClass() + " (" + repositoryGenerator.templateFor(language) + ")",
+                unit -> repositoryGenerator.generate(sink, unit, language));
     }
 }
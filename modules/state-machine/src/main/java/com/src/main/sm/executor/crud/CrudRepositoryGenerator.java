@@ -1,10 +1,10 @@
 package com.src.main.sm.executor.crud;
 
 import java.io.IOException;
-import java.nio.file.Path;
 
 import org.springframework.stereotype.Component;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.SourceFileWriter;
 
@@ -28,10 +28,13 @@ public class CrudRepositoryGenerator {
         this.sourceFileWriter = sourceFileWriter;
     }
 
-    public void generate(Path projectRoot, CrudGenerationUnit unit,
+    public void generate(GeneratedFileSink sink, CrudGenerationUnit unit,
                           GenerationLanguage language) throws IOException {
-        String template = language.selectTemplate(TPL_JAVA, TPL_KOTLIN);
-        sourceFileWriter.write(projectRoot, language, DOMAIN, template,
+        sourceFileWriter.write(sink, language, DOMAIN, templateFor(language),
                 unit.toTemplateModel(), unit.getRepositoryPackage(), unit.getRepositoryClass());
     }
+
+    public String templateFor(GenerationLanguage language) {
+        return language.selectTemplate(TPL_JAVA, TPL_KOTLIN);
+    }
 }
@@ -1,15 +1,12 @@
 package com.src.main.sm.executor.docker;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
 import com.src.main.sm.executor.TemplateEngine;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 
 @Service
 public class DockerGenerationService {
@@ -23,18 +20,14 @@ public class DockerGenerationService {
 		this.templateEngine = templateEngine;
 	}
 
-	public void generate(Path root, String artifactId, String serviceName, String buildTool, String database) throws Exception {
-		Files.createDirectories(root);
+	public void generate(GeneratedFileSink sink, String artifactId, String serviceName, String buildTool, String database) throws Exception {
 		Map<String, Object> model = new LinkedHashMap<>();
 		model.put("artifactId", artifactId);
 		model.put("serviceName", serviceName);
 		model.put("jarGlob", DockerGenerationSupport.resolveJarGlob(buildTool));
 		model.put("dbServiceBlock", DockerGenerationSupport.resolveDbServiceBlock(database));
 
-		String dockerfile = templateEngine.render(DOCKERFILE_TEMPLATE, model);
-		String compose = templateEngine.render(COMPOSE_TEMPLATE, model);
-
-		Files.writeString(root.resolve("Dockerfile"), dockerfile, UTF_8);
-		Files.writeString(root.resolve("docker-compose.yml"), compose, UTF_8);
+		templateEngine.renderTo(sink, sink.root().resolve("Dockerfile"), DOCKERFILE_TEMPLATE, model);
+		templateEngine.renderTo(sink, sink.root().resolve("docker-compose.yml"), COMPOSE_TEMPLATE, model);
 	}
 }
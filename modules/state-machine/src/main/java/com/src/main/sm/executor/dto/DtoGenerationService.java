@@ -1,7 +1,5 @@
 package com.src.main.sm.executor.dto;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -12,16 +10,19 @@ import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.sm.executor.common.BoilerplateStyle;
 import com.src.main.sm.executor.common.BoilerplateStyleResolver;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.GenerationLanguageResolver;
+import com.src.main.sm.executor.common.GenerationUnitCache;
 import com.src.main.sm.executor.common.JavaNamingUtils;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
+import com.src.main.sm.executor.common.ParallelGenerationRunner;
 import com.src.main.sm.executor.common.TemplatePathResolver;
-import com.src.main.sm.executor.TemplateEngine;
 import com.src.main.sm.executor.enumgen.EnumGenerationSupport;
 import com.src.main.sm.executor.enumgen.EnumSpecResolved;
 
@@ -40,16 +41,20 @@ public class DtoGenerationService {
 			boolean builder) {
 	}
 
-	private final TemplateEngine templateEngine;
+	private final GenerationUnitCache generationUnitCache;
 	private final DtoValidationHelperGenerator validationHelperGenerator;
+	private final ParallelGenerationRunner parallelGenerationRunner;
 
-	public DtoGenerationService(TemplateEngine templateEngine, DtoValidationHelperGenerator validationHelperGenerator) {
-		this.templateEngine = templateEngine;
+	public DtoGenerationService(GenerationUnitCache generationUnitCache, DtoValidationHelperGenerator validationHelperGenerator,
+			ParallelGenerationRunner parallelGenerationRunner) {
+		this.generationUnitCache = generationUnitCache;
 		this.validationHelperGenerator = validationHelperGenerator;
+		this.parallelGenerationRunner = parallelGenerationRunner;
 	}
 
 	@SuppressWarnings("unchecked")
-	public void generate(Path root, Map<String, Object> yaml, String groupId, String artifact) throws Exception {
+	public void generate(GeneratedFileSink sink, Map<String, Object> yaml, BoundAppSpec boundSpec, String groupId, String artifact,
+			GenerationCancellation cancellation, int parallelism) throws Exception {
 		String basePkg = resolveBasePackage(yaml, groupId, artifact);
 		BoilerplateStyle style = BoilerplateStyleResolver.resolveFromYaml(yaml, true);
 		GenerationLanguage language = GenerationLanguageResolver.resolveFromYaml(yaml);
@@ -59,31 +64,23 @@ public class DtoGenerationService {
 		if (dtos.isEmpty()) {
 			return;
 		}
-		AppSpecDTO spec = new ObjectMapper().convertValue(yaml, AppSpecDTO.class);
-		List<EnumSpecResolved> enums = EnumGenerationSupport.resolveEnums(spec.getEnums());
-		Map<String, EnumSpecResolved> enumByName = EnumGenerationSupport.byName(enums);
+		AppSpecDTO spec = boundSpec.spec();
+		Map<String, EnumSpecResolved> enumByName = boundSpec.enumsByName();
 		String enumPackage = EnumGenerationSupport.resolveEnumPackage(basePkg, spec.getPackages());
 
 		if (dtos.stream().anyMatch(d -> DtoGenerationSupport.hasNonEmpty(d.get("classConstraints")))) {
-			validationHelperGenerator.ensureCrossFieldValidationHelpers(root, basePkg, language);
+			validationHelperGenerator.ensureCrossFieldValidationHelpers(sink, basePkg, language);
 		}
 
-		List<Map<String, Object>> dtosForMessages = new ArrayList<>();
-		try {
-			dtos.stream().map(dto -> buildUnit(dto, enumByName, enumPackage, style, language, useJavaRecords)).forEach(unit -> {
-				try {
-					writeDtoUnit(root, basePkg, unit, language);
-					dtosForMessages.add(unit.getMessageModel());
-				} catch (Exception ex) {
-					throw new RuntimeException(ex);
-				}
-			});
-		} catch (RuntimeException ex) {
-			if (ex.getCause() instanceof Exception cause) {
-				throw cause;
-			}
-			throw ex;
-		}
+		String dtoTemplate = language == GenerationLanguage.KOTLIN ? TPL_DTO_KOTLIN : TPL_DTO_JAVA;
+		List<Map<String, Object>> dtosForMessages = parallelGenerationRunner.map(cancellation, parallelism, dtos,
+				dto -> dtoSubPackage(dto) + "/" + dtoName(dto),
+				dto -> "DTO " + dto.get("name") + " (" + dtoTemplate + ")",
+				dto -> {
+					DtoGenerationUnit unit = buildUnit(dto, enumByName, enumPackage, style, language, useJavaRecords);
+					writeDtoUnit(sink, basePkg, unit, language, dtoTemplate);
+					return unit.getMessageModel();
+				});
 
 		DtoGenerationSupport.mergeDtoMessagesIntoYaml(yaml, dtosForMessages);
 	}
@@ -96,7 +93,8 @@ public class DtoGenerationService {
 		return basePkg;
 	}
 
-	private void writeDtoUnit(Path root, String basePkg, DtoGenerationUnit unit, GenerationLanguage language) throws Exception {
+	private void writeDtoUnit(GeneratedFileSink sink, String basePkg, DtoGenerationUnit unit, GenerationLanguage language,
+			String dtoTemplate) throws Exception {
 		boolean useJavaRecord = language == GenerationLanguage.JAVA && unit.isRecordType();
 		Map<String, Object> templateModel = new LinkedHashMap<>();
 		templateModel.put("basePkg", basePkg);
@@ -114,19 +112,17 @@ public class DtoGenerationService {
 		templateModel.put("generateToString", !useJavaRecord && !unit.isUseLombok() && unit.isGenerateToString());
 		templateModel.put("generateEquals", !useJavaRecord && !unit.isUseLombok() && unit.isGenerateEquals());
 		templateModel.put("generateHashCode", !useJavaRecord && !unit.isUseLombok() && unit.isGenerateHashCode());
-		String dtoTemplate = language == GenerationLanguage.KOTLIN ? TPL_DTO_KOTLIN : TPL_DTO_JAVA;
-		String code = templateEngine.renderAny(TemplatePathResolver.candidates(language, "dto", dtoTemplate), templateModel);
+		String code = generationUnitCache.render(sink, language, TemplatePathResolver.candidates(language, "dto", dtoTemplate), templateModel);
 		code = DtoGenerationSupport.injectImportsAfterPackage(code, unit.getImports());
-		Path dir = root.resolve("src/main/" + language.templateFolder() + "/" + basePkg.replace('.', '/') + "/dto/" + unit.getSubPackage());
-		Files.createDirectories(dir);
-		Files.writeString(dir.resolve(unit.getName() + "." + language.fileExtension()), code, StandardCharsets.UTF_8);
+		Path dir = sink.root().resolve("src/main/" + language.templateFolder() + "/" + basePkg.replace('.', '/') + "/dto/" + unit.getSubPackage());
+		sink.writeString(dir.resolve(unit.getName() + "." + language.fileExtension()), code);
 	}
 
 	@SuppressWarnings("unchecked")
 	private DtoGenerationUnit buildUnit(Map<String, Object> dto, Map<String, EnumSpecResolved> enumByName,
 			String enumPackage, BoilerplateStyle style, GenerationLanguage language, boolean useJavaRecords) {
-		String sub = "request".equals(String.valueOf(dto.get("type"))) ? "request" : "response";
-		String name = JavaNamingUtils.toJavaTypeName(String.valueOf(dto.get("name")), "Dto");
+		String sub = dtoSubPackage(dto);
+		String name = dtoName(dto);
 		List<Map<String, Object>> fields = (List<Map<String, Object>>) dto.getOrDefault("fields", List.of());
 
 		List<Map<String, Object>> classSpecs = DtoGenerationSupport.normalizeClassConstraints(dto.get("classConstraints"));
@@ -268,6 +264,14 @@ public class DtoGenerationService {
 				classMethods.builder());
 	}
 
+	private static String dtoSubPackage(Map<String, Object> dto) {
+		return "request".equals(String.valueOf(dto.get("type"))) ? "request" : "response";
+	}
+
+	private static String dtoName(Map<String, Object> dto) {
+		return JavaNamingUtils.toJavaTypeName(String.valueOf(dto.get("name")), "Dto");
+	}
+
 	@SuppressWarnings("unchecked")
 	private boolean shouldUseJavaRecords(Map<String, Object> yaml, GenerationLanguage language) {
 		if (language != GenerationLanguage.JAVA || yaml == null) {
@@ -1,13 +1,12 @@
 package com.src.main.sm.executor.dto;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.stereotype.Component;
 
 import com.src.main.sm.executor.TemplateEngine;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.TemplatePathResolver;
 import com.src.main.util.PathUtils;
@@ -30,10 +29,9 @@ public class DtoValidationHelperGenerator {
 		this.templateEngine = templateEngine;
 	}
 
-	public void ensureCrossFieldValidationHelpers(Path root, String basePkg, GenerationLanguage language) {
+	public void ensureCrossFieldValidationHelpers(GeneratedFileSink sink, String basePkg, GenerationLanguage language) {
 		try {
-			Path baseDir = root.resolve(PathUtils.srcPathFromPackage(basePkg + ".validation", language));
-			Files.createDirectories(baseDir);
+			Path baseDir = sink.root().resolve(PathUtils.srcPathFromPackage(basePkg + ".validation", language));
 
 			boolean kotlin = language == GenerationLanguage.KOTLIN;
 			Map<String, String> files = kotlin
@@ -50,7 +48,7 @@ public class DtoValidationHelperGenerator {
 
 			files.forEach((fileName, templatePath) -> {
 				Path target = baseDir.resolve(fileName);
-				if (Files.exists(target)) {
+				if (sink.exists(target)) {
 					return;
 				}
 				if (templatePath == null || templatePath.isBlank()) {
@@ -64,7 +62,7 @@ public class DtoValidationHelperGenerator {
 					return;
 				}
 				try {
-					Files.writeString(target, body, StandardCharsets.UTF_8);
+					sink.writeString(target, body);
 				} catch (Exception ignored) {
 				}
 			});
@@ -2,7 +2,6 @@ package com.src.main.sm.executor.enumgen;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -12,6 +11,7 @@ import java.util.stream.IntStream;
 
 import org.springframework.stereotype.Service;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.SourceFileWriter;
 
@@ -28,7 +28,7 @@ public class EnumGenerationService {
         this.sourceFileWriter = sourceFileWriter;
     }
 
-    public void generate(Path root, String enumPackage, List<EnumSpecResolved> enums, GenerationLanguage language) throws IOException {
+    public void generate(GeneratedFileSink sink, String enumPackage, List<EnumSpecResolved> enums, GenerationLanguage language) throws IOException {
         if (enums == null || enums.isEmpty()) {
             return;
         }
@@ -36,7 +36,7 @@ public class EnumGenerationService {
         try {
             enums.stream().forEach(enumSpec -> {
                 try {
-                    sourceFileWriter.write(root, language, DOMAIN, template,
+                    sourceFileWriter.write(sink, language, DOMAIN, template,
                             buildTemplateModel(enumPackage, enumSpec), enumPackage, enumSpec.name());
                 } catch (IOException e) {
                     throw new UncheckedIOException(e);
@@ -1,8 +1,5 @@
 package com.src.main.sm.executor.exceptiongen;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -10,6 +7,7 @@ import java.util.Map;
 import org.springframework.stereotype.Service;
 
 import com.src.main.sm.executor.TemplateEngine;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.TemplatePathResolver;
 import com.src.main.util.PathUtils;
@@ -28,9 +26,8 @@ public class ExceptionPackageGenerationService {
 		this.templateEngine = templateEngine;
 	}
 
-	public void generate(Path root, String exceptionPackage, boolean useLombok, GenerationLanguage language) throws Exception {
-		Path outDir = root.resolve(PathUtils.srcPathFromPackage(exceptionPackage, language));
-		Files.createDirectories(outDir);
+	public void generate(GeneratedFileSink sink, String exceptionPackage, boolean useLombok, GenerationLanguage language) throws Exception {
+		Path outDir = sink.root().resolve(PathUtils.srcPathFromPackage(exceptionPackage, language));
 
 		Map<String, Object> model = new LinkedHashMap<>();
 		model.put("packageName", exceptionPackage);
@@ -41,10 +38,10 @@ public class ExceptionPackageGenerationService {
 		String handlerTemplate = kotlin ? GLOBAL_EXCEPTION_HANDLER_TEMPLATE_KOTLIN : GLOBAL_EXCEPTION_HANDLER_TEMPLATE_JAVA;
 		String genericExceptionCode = templateEngine
 				.renderAny(TemplatePathResolver.candidates(language, "exception", genericTemplate), model);
-		Files.writeString(outDir.resolve("GenericException." + language.fileExtension()), genericExceptionCode, UTF_8);
+		sink.writeString(outDir.resolve("GenericException." + language.fileExtension()), genericExceptionCode);
 
 		String globalExceptionHandlerCode = templateEngine
 				.renderAny(TemplatePathResolver.candidates(language, "exception", handlerTemplate), model);
-		Files.writeString(outDir.resolve("GlobalExceptionHandler." + language.fileExtension()), globalExceptionHandlerCode, UTF_8);
+		sink.writeString(outDir.resolve("GlobalExceptionHandler." + language.fileExtension()), globalExceptionHandlerCode);
 	}
 }
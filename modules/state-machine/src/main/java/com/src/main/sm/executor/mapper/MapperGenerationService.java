@@ -2,11 +2,11 @@ package com.src.main.sm.executor.mapper;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Path;
 import java.util.List;
 
 import org.springframework.stereotype.Service;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.SourceFileWriter;
 
@@ -23,7 +23,7 @@ public class MapperGenerationService {
         this.sourceFileWriter = sourceFileWriter;
     }
 
-    public int generate(Path root, List<MapperGenerationUnit> units, GenerationLanguage language) throws IOException {
+    public int generate(GeneratedFileSink sink, List<MapperGenerationUnit> units, GenerationLanguage language) throws IOException {
         if (units == null || units.isEmpty()) {
             return 0;
         }
@@ -31,7 +31,7 @@ public class MapperGenerationService {
         try {
             units.stream().forEach(unit -> {
                 try {
-                    sourceFileWriter.write(root, language, DOMAIN, template,
+                    sourceFileWriter.write(sink, language, DOMAIN, template,
                             unit.toTemplateModel(), unit.packageName(), unit.className());
                 } catch (IOException e) {
                     throw new UncheckedIOException(e);
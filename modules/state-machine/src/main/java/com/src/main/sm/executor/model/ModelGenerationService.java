@@ -1,16 +1,17 @@
 package com.src.main.sm.executor.model;
 
-import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.src.main.common.util.StringUtils;
-import com.src.main.dto.AppSpecDTO;
-import com.src.main.sm.executor.TemplateEngine;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.sm.executor.common.GenerationUnitCache;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
+import com.src.main.sm.executor.common.ParallelGenerationRunner;
 
 /**
  * Entry point for model (entity) generation.
@@ -22,24 +23,28 @@ import com.src.main.sm.executor.common.LayeredSpecSupport;
 @Service
 public class ModelGenerationService {
 
-    private final TemplateEngine templateEngine;
+    private final GenerationUnitCache generationUnitCache;
+    private final ParallelGenerationRunner parallelGenerationRunner;
     private final MongoSupportFileGenerator mongoSupportFileGenerator;
 
-    public ModelGenerationService(TemplateEngine templateEngine,
+    public ModelGenerationService(GenerationUnitCache generationUnitCache,
+                                   ParallelGenerationRunner parallelGenerationRunner,
                                    MongoSupportFileGenerator mongoSupportFileGenerator) {
-        this.templateEngine = templateEngine;
+        this.generationUnitCache = generationUnitCache;
+        this.parallelGenerationRunner = parallelGenerationRunner;
         this.mongoSupportFileGenerator = mongoSupportFileGenerator;
     }
 
-    public void generate(Map<String, Object> yaml, Path root,
-                          String basePackage, GenerationLanguage language) throws Exception {
-        new ModelGenerator(templateEngine, basePackage, language).generate(yaml, root);
+    public void generate(Map<String, Object> yaml, BoundAppSpec boundSpec, GeneratedFileSink sink,
+                          String basePackage, GenerationLanguage language, GenerationCancellation cancellation,
+                          int parallelism) throws Exception {
+        new ModelGenerator(generationUnitCache, parallelGenerationRunner, basePackage, language)
+                .generate(yaml, boundSpec, sink, cancellation, parallelism);
 
         if (isNoSql(yaml)) {
-            AppSpecDTO spec = new ObjectMapper().convertValue(yaml, AppSpecDTO.class);
             boolean domainLayout = "domain".equalsIgnoreCase(
-                    StringUtils.firstNonBlank(spec.getPackages(), "technical"));
-            mongoSupportFileGenerator.generate(spec, root, basePackage, domainLayout, language);
+                    StringUtils.firstNonBlank(boundSpec.spec().getPackages(), "technical"));
+            mongoSupportFileGenerator.generate(boundSpec.spec(), sink, basePackage, domainLayout, language);
         }
     }
 
@@ -2,8 +2,6 @@ package com.src.main.sm.executor.model;
 
 import static java.util.stream.Collectors.joining;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -17,16 +15,19 @@ import org.apache.logging.log4j.util.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.src.main.common.util.CaseUtils;
 import com.src.main.common.util.StringUtils;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.dto.ClassMethodsSpecDTO;
 import com.src.main.dto.ModelSpecDTO;
-import com.src.main.sm.executor.TemplateEngine;
 import com.src.main.sm.executor.common.BoilerplateStyle;
 import com.src.main.sm.executor.common.BoilerplateStyleResolver;
+import com.src.main.sm.executor.common.BoundAppSpec;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationCancellation;
 import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.sm.executor.common.GenerationUnitCache;
+import com.src.main.sm.executor.common.ParallelGenerationRunner;
 import com.src.main.sm.executor.common.TemplatePathResolver;
 import com.src.main.sm.executor.enumgen.EnumGenerationSupport;
 import com.src.main.sm.executor.enumgen.EnumSpecResolved;
@@ -52,7 +53,8 @@ public class ModelGenerator {
     private static final String TPL_MODEL_JAVA = "model.java.mustache";
     private static final String TPL_MODEL_KT   = "model.kt.mustache";
 
-    private final TemplateEngine tpl;
+    private final GenerationUnitCache units;
+    private final ParallelGenerationRunner runner;
     private final String basePackage;
     private final GenerationLanguage language;
 
@@ -65,19 +67,27 @@ public class ModelGenerator {
             boolean builder) {
     }
 
-    public ModelGenerator(TemplateEngine tpl, String basePackage, GenerationLanguage language) {
-        this.tpl = tpl;
+    public ModelGenerator(GenerationUnitCache units, ParallelGenerationRunner runner, String basePackage,
+                          GenerationLanguage language) {
+        this.units = units;
+        this.runner = runner;
         this.basePackage = basePackage;
         this.language = language == null ? GenerationLanguage.JAVA : language;
     }
 
     // ── public API ────────────────────────────────────────────────────────────
 
-    public void generate(Map<String, Object> yaml, Path projectRoot) throws Exception {
+    /**
+     * Renders one entity per model, up to {@code parallelism} at a time. Models that map to the same
+     * class are rendered in spec order so the last one wins, as before. A cancelled run stops before its next model.
+     */
+    public void generate(Map<String, Object> yaml, BoundAppSpec boundSpec, GeneratedFileSink sink,
+                         GenerationCancellation cancellation, int parallelism) throws Exception {
         Validate.notNull(yaml, "YAML map must not be null");
-        Validate.notNull(projectRoot, "projectRoot must not be null");
+        Validate.notNull(boundSpec, "bound spec must not be null");
+        Validate.notNull(sink, "sink must not be null");
 
-        AppSpecDTO spec = new ObjectMapper().convertValue(yaml, AppSpecDTO.class);
+        AppSpecDTO spec = boundSpec.spec();
         if (spec.getModels() == null || spec.getModels().isEmpty()) return;
 
         BoilerplateStyle boilerplateStyle = BoilerplateStyleResolver.resolveFromYaml(yaml, true);
@@ -89,23 +99,25 @@ public class ModelGenerator {
         boolean domainLayout = "domain".equalsIgnoreCase(
                 StringUtils.firstNonBlank(spec.getPackages(), "technical"));
         String enumPackage = EnumGenerationSupport.resolveEnumPackage(basePackage, spec.getPackages());
-        Map<String, EnumSpecResolved> enumByName = EnumGenerationSupport.byName(
-                EnumGenerationSupport.resolveEnums(spec.getEnums()));
+        Map<String, EnumSpecResolved> enumByName = boundSpec.enumsByName();
 
         Map<String, String> modelPackageByType = buildModelPackageIndex(spec, domainLayout);
 
-        for (ModelSpecDTO model : spec.getModels()) {
-            String modelPkg = resolveModelPackage(model, domainLayout);
-            Path outDir = projectRoot.resolve(PathUtils.srcPathFromPackage(modelPkg, language));
-            Files.createDirectories(outDir);
-            renderEntity(model, modelPkg, outDir, spec, modelPackageByType,
-                    enumByName, enumPackage, boilerplateStyle, noSql);
-        }
+        String templateFile = language.selectTemplate(TPL_MODEL_JAVA, TPL_MODEL_KT);
+        runner.forEach(cancellation, parallelism, spec.getModels(),
+                model -> resolveModelPackage(model, domainLayout) + "." + JavaNamingUtils.toJavaTypeName(model.getName(), "Entity"),
+                model -> "entity " + model.getName() + " (" + templateFile + ")",
+                model -> {
+                    String modelPkg = resolveModelPackage(model, domainLayout);
+                    Path outDir = sink.root().resolve(PathUtils.srcPathFromPackage(modelPkg, language));
+                    renderEntity(sink, model, modelPkg, outDir, spec, modelPackageByType,
+                            enumByName, enumPackage, boilerplateStyle, noSql);
+                });
     }
 
     // ── entity rendering ──────────────────────────────────────────────────────
 
-    private void renderEntity(ModelSpecDTO model, String modelPkg, Path outDir,
+    private void renderEntity(GeneratedFileSink sink, ModelSpecDTO model, String modelPkg, Path outDir,
                                AppSpecDTO root, Map<String, String> modelPackageByType,
                                Map<String, EnumSpecResolved> enumByName, String enumPackage,
                                BoilerplateStyle boilerplateStyle, boolean noSql) throws Exception {
@@ -141,10 +153,8 @@ public class ModelGenerator {
                 auditing, softDelete, noSql, imports, classAnnotations, properties, boilerplateCtx, methods);
 
         String templateFile = language.selectTemplate(TPL_MODEL_JAVA, TPL_MODEL_KT);
-        String content = tpl.renderAny(TemplatePathResolver.candidates(language, "model", templateFile), ctx);
         Path outFile = outDir.resolve(className + "." + language.fileExtension());
-        Files.createDirectories(outFile.getParent());
-        Files.writeString(outFile, content, StandardCharsets.UTF_8);
+        units.write(sink, outFile, language, TemplatePathResolver.candidates(language, "model", templateFile), ctx);
         log.info("Generated entity: {}", outFile);
     }
 
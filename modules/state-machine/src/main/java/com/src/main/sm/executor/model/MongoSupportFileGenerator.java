@@ -1,8 +1,6 @@
 package com.src.main.sm.executor.model;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +11,7 @@ import com.src.main.common.util.StringUtils;
 import com.src.main.dto.AppSpecDTO;
 import com.src.main.dto.ModelSpecDTO;
 import com.src.main.sm.executor.TemplateEngine;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.JavaNamingUtils;
 import com.src.main.sm.executor.common.TemplatePathResolver;
@@ -47,40 +46,38 @@ public class MongoSupportFileGenerator {
      * listener for each model that has a numeric ID.
      *
      * @param spec            parsed application spec
-     * @param projectRoot     root of the generated project temp directory
+     * @param sink            destination of the generated project
      * @param basePackage     the project's base package
      * @param domainStructure {@code true} when domain-layered package layout is used
      * @param language        target language
      */
-    public void generate(AppSpecDTO spec, Path projectRoot, String basePackage,
+    public void generate(AppSpecDTO spec, GeneratedFileSink sink, String basePackage,
                           boolean domainStructure, GenerationLanguage language) throws IOException {
         String utilPkg = domainStructure ? basePackage + ".domain.util" : basePackage + ".util";
-        Path utilDir = projectRoot.resolve(PathUtils.srcPathFromPackage(utilPkg, language));
-        Files.createDirectories(utilDir);
+        Path utilDir = sink.root().resolve(PathUtils.srcPathFromPackage(utilPkg, language));
 
         Map<String, Object> utilCtx = Map.of("packageName", utilPkg);
-        writeFile(utilDir, "DatabaseSequence", language, utilCtx,
+        writeFile(sink, utilDir, "DatabaseSequence", language, utilCtx,
                 language.selectTemplate(TPL_SEQUENCE_DOC_JAVA, TPL_SEQUENCE_DOC_KT), "model");
-        writeFile(utilDir, "PrimarySequenceService", language, utilCtx,
+        writeFile(sink, utilDir, "PrimarySequenceService", language, utilCtx,
                 language.selectTemplate(TPL_SEQUENCE_SVC_JAVA, TPL_SEQUENCE_SVC_KT), "model");
 
         if (spec == null || spec.getModels() == null) return;
 
         spec.getModels().stream()
                 .filter(MongoSupportFileGenerator::supportsSequenceListener)
-                .forEach(model -> generateListener(model, projectRoot, basePackage, utilPkg,
+                .forEach(model -> generateListener(model, sink, basePackage, utilPkg,
                         domainStructure, language));
     }
 
     // ── private helpers ───────────────────────────────────────────────────────
 
-    private void generateListener(ModelSpecDTO model, Path projectRoot, String basePackage,
+    private void generateListener(ModelSpecDTO model, GeneratedFileSink sink, String basePackage,
                                    String utilPkg, boolean domainStructure,
                                    GenerationLanguage language) {
         try {
             String modelPkg = resolveModelPackage(model, basePackage, domainStructure);
-            Path modelDir = projectRoot.resolve(PathUtils.srcPathFromPackage(modelPkg, language));
-            Files.createDirectories(modelDir);
+            Path modelDir = sink.root().resolve(PathUtils.srcPathFromPackage(modelPkg, language));
 
             String entityName = JavaNamingUtils.toJavaTypeName(model.getName(), "Entity");
             Map<String, Object> ctx = Map.of(
@@ -89,19 +86,18 @@ public class MongoSupportFileGenerator {
                     "sequenceServicePackage", utilPkg,
                     "intId", isIntegerId(model));
 
-            writeFile(modelDir, entityName + "Listener", language, ctx,
+            writeFile(sink, modelDir, entityName + "Listener", language, ctx,
                     language.selectTemplate(TPL_LISTENER_JAVA, TPL_LISTENER_KT), "model");
         } catch (IOException ex) {
             throw new java.io.UncheckedIOException(ex);
         }
     }
 
-    private void writeFile(Path dir, String className, GenerationLanguage language,
+    private void writeFile(GeneratedFileSink sink, Path dir, String className, GenerationLanguage language,
                             Map<String, Object> ctx, String templateFile, String domain) throws IOException {
         List<String> candidates = TemplatePathResolver.candidates(language, domain, templateFile);
         String content = templateEngine.renderAny(candidates, ctx);
-        Files.writeString(dir.resolve(className + "." + language.fileExtension()),
-                content, StandardCharsets.UTF_8);
+        sink.writeString(dir.resolve(className + "." + language.fileExtension()), content);
     }
 
     private static String resolveModelPackage(ModelSpecDTO model, String basePackage,
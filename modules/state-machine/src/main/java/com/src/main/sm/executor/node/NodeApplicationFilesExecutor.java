@@ -26,24 +26,24 @@ public class NodeApplicationFilesExecutor implements StepExecutor {
 			boolean includePrisma = "prisma".equals(context.orm()) || ShippableModuleSupport.requiresNodePrisma(selectedModules);
 			boolean useSequelize = "sequelize".equals(context.orm());
 
-			NodeGenerationSupport.writeFile(context.root(), "src/config/node-config.ts", renderConfig(context, includePrisma, useSequelize));
-			NodeGenerationSupport.writeFile(context.root(), "src/middleware/validate-request.ts", renderValidationMiddleware());
-			NodeGenerationSupport.writeFile(context.root(), "src/generated/module-manifest.json",
+			NodeGenerationSupport.writeFile(context.sink(), "src/config/node-config.ts", renderConfig(context, includePrisma, useSequelize));
+			NodeGenerationSupport.writeFile(context.sink(), "src/middleware/validate-request.ts", renderValidationMiddleware());
+			NodeGenerationSupport.writeFile(context.sink(), "src/generated/module-manifest.json",
 					renderModuleManifest(selectedModules, moduleConfigs));
-			NodeGenerationSupport.writeFile(context.root(), "src/generated/module-bootstrap.ts",
+			NodeGenerationSupport.writeFile(context.sink(), "src/generated/module-bootstrap.ts",
 					renderModuleBootstrap(selectedModules));
 			if (includePrisma) {
-				NodeGenerationSupport.writeFile(context.root(), ".env.example", renderPrismaEnvExample());
-				NodeGenerationSupport.writeFile(context.root(), "src/lib/prisma.ts", renderPrismaClient());
-				NodeGenerationSupport.writeFile(context.root(), "prisma/schema.prisma", renderPrismaSchema(context, selectedModules));
+				NodeGenerationSupport.writeFile(context.sink(), ".env.example", renderPrismaEnvExample());
+				NodeGenerationSupport.writeFile(context.sink(), "src/lib/prisma.ts", renderPrismaClient());
+				NodeGenerationSupport.writeFile(context.sink(), "prisma/schema.prisma", renderPrismaSchema(context, selectedModules));
 			}
 			if (useSequelize) {
-				NodeGenerationSupport.writeFile(context.root(), ".env.example", renderSequelizeEnvExample(context));
-				NodeGenerationSupport.writeFile(context.root(), "src/lib/sequelize.ts", renderSequelizeClient(context));
-				NodeGenerationSupport.writeFile(context.root(), "src/scripts/sync-db.ts", renderSequelizeSyncScript());
+				NodeGenerationSupport.writeFile(context.sink(), ".env.example", renderSequelizeEnvExample(context));
+				NodeGenerationSupport.writeFile(context.sink(), "src/lib/sequelize.ts", renderSequelizeClient(context));
+				NodeGenerationSupport.writeFile(context.sink(), "src/scripts/sync-db.ts", renderSequelizeSyncScript());
 			}
-			NodeGenerationSupport.writeFile(context.root(), "src/app.ts", renderApp(selectedModules));
-			NodeGenerationSupport.writeFile(context.root(), "src/main.ts", renderMain(useSequelize));
+			NodeGenerationSupport.writeFile(context.sink(), "src/app.ts", renderApp(selectedModules));
+			NodeGenerationSupport.writeFile(context.sink(), "src/main.ts", renderMain(useSequelize));
 			return NodeGenerationSupport.success("Node application files generated");
 		} catch (Exception ex) {
 			return StepResult.error("NODE_APP_FILES", ex.getMessage());
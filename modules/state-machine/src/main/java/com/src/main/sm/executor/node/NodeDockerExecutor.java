@@ -16,8 +16,8 @@ public class NodeDockerExecutor implements StepExecutor {
 			if (!context.dockerEnabled()) {
 				return NodeGenerationSupport.success("Node docker generation skipped");
 			}
-			NodeGenerationSupport.writeFile(context.root(), "Dockerfile", renderDockerfile());
-			NodeGenerationSupport.writeFile(context.root(), ".dockerignore", renderDockerIgnore());
+			NodeGenerationSupport.writeFile(context.sink(), "Dockerfile", renderDockerfile());
+			NodeGenerationSupport.writeFile(context.sink(), ".dockerignore", renderDockerIgnore());
 			return NodeGenerationSupport.success("Node docker files generated");
 		} catch (Exception ex) {
 			return StepResult.error("NODE_DOCKER_GENERATION", ex.getMessage());
@@ -17,8 +17,8 @@ public class NodeDtoExecutor implements StepExecutor {
 			NodeProjectContext context = NodeGenerationSupport.resolveContext(state);
 			for (NodeDtoDefinition dtoDefinition : context.dtos()) {
 				String folder = "response".equals(dtoDefinition.dtoType()) ? "response" : "request";
-				NodeGenerationSupport.writeFile(context.root(), "src/dto/" + folder + "/" + dtoDefinition.name() + ".ts", renderDto(dtoDefinition));
-				NodeGenerationSupport.writeFile(context.root(),
+				NodeGenerationSupport.writeFile(context.sink(), "src/dto/" + folder + "/" + dtoDefinition.name() + ".ts", renderDto(dtoDefinition));
+				NodeGenerationSupport.writeFile(context.sink(),
 						"src/validation/dto/" + folder + "/" + dtoDefinition.name() + ".schema.ts",
 						NodeValidationSupport.renderDtoSchema(context, dtoDefinition));
 			}
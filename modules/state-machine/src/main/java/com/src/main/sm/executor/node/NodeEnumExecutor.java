@@ -16,8 +16,8 @@ public class NodeEnumExecutor implements StepExecutor {
 		try {
 			NodeProjectContext context = NodeGenerationSupport.resolveContext(state);
 			for (NodeEnumDefinition enumDefinition : context.enums()) {
-				NodeGenerationSupport.writeFile(context.root(), "src/enums/" + enumDefinition.name() + ".ts", renderEnum(enumDefinition));
-				NodeGenerationSupport.writeFile(context.root(),
+				NodeGenerationSupport.writeFile(context.sink(), "src/enums/" + enumDefinition.name() + ".ts", renderEnum(enumDefinition));
+				NodeGenerationSupport.writeFile(context.sink(),
 						"src/validation/enums/" + enumDefinition.name() + ".schema.ts",
 						NodeValidationSupport.renderEnumSchema(enumDefinition));
 			}
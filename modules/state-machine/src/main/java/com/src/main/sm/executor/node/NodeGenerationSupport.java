@@ -1,8 +1,5 @@
 package com.src.main.sm.executor.node;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -16,6 +13,7 @@ import java.util.regex.Pattern;
 import org.springframework.statemachine.ExtendedState;
 
 import com.src.main.dto.StepResult;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.LayeredSpecSupport;
 import com.src.main.sm.executor.dto.DtoGenerationSupport;
 import com.src.main.util.ProjectMetaDataConstants;
@@ -30,11 +28,7 @@ final class NodeGenerationSupport {
 
 	@SuppressWarnings("unchecked")
 	static NodeProjectContext resolveContext(ExtendedState state) {
-		Object rootRaw = state.getVariables().get(ProjectMetaDataConstants.ROOT_DIR);
-		if (rootRaw == null) {
-			throw new IllegalArgumentException("Root directory not found in extended state.");
-		}
-		Path root = Path.of(String.valueOf(rootRaw));
+		GeneratedFileSink sink = GeneratedFileSink.from(state);
 		Map<String, Object> yaml = (Map<String, Object>) state.getVariables().get(ProjectMetaDataConstants.YAML);
 		Map<String, Object> app = resolveSection(yaml, "app", "core", "app");
 		Map<String, Object> node = resolveSection(yaml, "node", "runtime", "node");
@@ -52,7 +46,7 @@ final class NodeGenerationSupport {
 		List<NodeEnumDefinition> enums = extractEnums(yaml);
 		List<NodeDtoDefinition> dtos = extractDtos(yaml);
 		List<NodeModelDefinition> models = extractModels(yaml);
-		return new NodeProjectContext(root, appName, artifactId, description, version, port, packageManager, orm, dockerEnabled, enums, dtos, models);
+		return new NodeProjectContext(sink, appName, artifactId, description, version, port, packageManager, orm, dockerEnabled, enums, dtos, models);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -74,10 +68,8 @@ final class NodeGenerationSupport {
 		return StepResult.ok(Map.of("status", status));
 	}
 
-	static void writeFile(Path root, String relativePath, String content) throws Exception {
-		Path output = root.resolve(relativePath);
-		Files.createDirectories(output.getParent());
-		Files.writeString(output, content, StandardCharsets.UTF_8);
+	static void writeFile(GeneratedFileSink sink, String relativePath, String content) throws Exception {
+		sink.writeString(sink.root().resolve(relativePath), content);
 	}
 
 	static String toPascalCase(String raw) {
@@ -17,17 +17,17 @@ public class NodeModelExecutor implements StepExecutor {
 			NodeProjectContext context = NodeGenerationSupport.resolveContext(state);
 			for (NodeModelDefinition modelDefinition : context.models()) {
 				if ("sequelize".equals(context.orm())) {
-					NodeGenerationSupport.writeFile(context.root(), "src/models/" + modelDefinition.name() + ".model.ts", renderSequelizeModel(modelDefinition));
+					NodeGenerationSupport.writeFile(context.sink(), "src/models/" + modelDefinition.name() + ".model.ts", renderSequelizeModel(modelDefinition));
 				} else {
-					NodeGenerationSupport.writeFile(context.root(), "src/models/" + modelDefinition.name() + ".ts", renderPrismaModel(modelDefinition));
+					NodeGenerationSupport.writeFile(context.sink(), "src/models/" + modelDefinition.name() + ".ts", renderPrismaModel(modelDefinition));
 				}
-				NodeGenerationSupport.writeFile(context.root(), "src/services/" + modelDefinition.name() + "Service.ts", renderService(context, modelDefinition));
-				NodeGenerationSupport.writeFile(context.root(),
+				NodeGenerationSupport.writeFile(context.sink(), "src/services/" + modelDefinition.name() + "Service.ts", renderService(context, modelDefinition));
+				NodeGenerationSupport.writeFile(context.sink(),
 						"src/validation/models/" + modelDefinition.name() + ".schema.ts",
 						NodeValidationSupport.renderModelSchema(context, modelDefinition));
 			}
 			if ("sequelize".equals(context.orm())) {
-				NodeGenerationSupport.writeFile(context.root(), "src/models/index.ts", renderSequelizeIndex(context));
+				NodeGenerationSupport.writeFile(context.sink(), "src/models/index.ts", renderSequelizeIndex(context));
 			}
 			return NodeGenerationSupport.success("Node models generated");
 		} catch (Exception ex) {
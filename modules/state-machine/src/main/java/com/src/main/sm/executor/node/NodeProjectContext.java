@@ -1,11 +1,12 @@
 package com.src.main.sm.executor.node;
 
-import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
+
 record NodeProjectContext(
-		Path root,
+		GeneratedFileSink sink,
 		String appName,
 		String artifactId,
 		String description,
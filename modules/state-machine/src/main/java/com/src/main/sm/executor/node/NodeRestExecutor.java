@@ -18,10 +18,10 @@ public class NodeRestExecutor implements StepExecutor {
 		try {
 			NodeProjectContext context = NodeGenerationSupport.resolveContext(state);
 			for (NodeModelDefinition modelDefinition : context.models()) {
-				NodeGenerationSupport.writeFile(context.root(), "src/controllers/" + modelDefinition.name() + "Controller.ts", renderController(modelDefinition));
-				NodeGenerationSupport.writeFile(context.root(), "src/routes/" + modelDefinition.name() + "Routes.ts", renderRoute(context, modelDefinition));
+				NodeGenerationSupport.writeFile(context.sink(), "src/controllers/" + modelDefinition.name() + "Controller.ts", renderController(modelDefinition));
+				NodeGenerationSupport.writeFile(context.sink(), "src/routes/" + modelDefinition.name() + "Routes.ts", renderRoute(context, modelDefinition));
 			}
-			NodeGenerationSupport.writeFile(context.root(), "src/routes/index.ts", renderRouteRegistry(context));
+			NodeGenerationSupport.writeFile(context.sink(), "src/routes/index.ts", renderRouteRegistry(context));
 			return NodeGenerationSupport.success("Node routes generated");
 		} catch (Exception ex) {
 			return StepResult.error("NODE_REST_GENERATION", ex.getMessage());
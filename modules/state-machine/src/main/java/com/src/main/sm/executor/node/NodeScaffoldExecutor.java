@@ -1,29 +1,27 @@
 package com.src.main.sm.executor.node;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
-import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.statemachine.ExtendedState;
 import org.springframework.stereotype.Component;
 
 import com.src.main.dto.StepResult;
 import com.src.main.sm.config.StepExecutor;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
+import com.src.main.sm.executor.common.ShippedModulePack;
 import com.src.main.util.ShippableModuleSupport;
 
 @Component("nodeScaffoldExecutor")
 public class NodeScaffoldExecutor implements StepExecutor {
 
-	private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+	private final ShippedModulePack shippedModulePack;
+
+	public NodeScaffoldExecutor(ShippedModulePack shippedModulePack) {
+		this.shippedModulePack = shippedModulePack;
+	}
 
 	@Override
 	@SuppressWarnings("unchecked")
@@ -35,12 +33,12 @@ public class NodeScaffoldExecutor implements StepExecutor {
 			boolean includePrisma = "prisma".equals(context.orm()) || ShippableModuleSupport.requiresNodePrisma(selectedModules);
 			boolean useSequelize = "sequelize".equals(context.orm());
 
-			NodeGenerationSupport.writeFile(context.root(), "package.json",
+			NodeGenerationSupport.writeFile(context.sink(), "package.json",
 					renderPackageJson(context, selectedModules, includePrisma, useSequelize));
-			NodeGenerationSupport.writeFile(context.root(), "tsconfig.json", renderTsConfig(selectedModules));
-			NodeGenerationSupport.writeFile(context.root(), ".gitignore", renderGitIgnore());
-			NodeGenerationSupport.writeFile(context.root(), "README.md", renderReadme(context, selectedModules, includePrisma, useSequelize));
-			copyShippedModules(context.root(), selectedModules);
+			NodeGenerationSupport.writeFile(context.sink(), "tsconfig.json", renderTsConfig(selectedModules));
+			NodeGenerationSupport.writeFile(context.sink(), ".gitignore", renderGitIgnore());
+			NodeGenerationSupport.writeFile(context.sink(), "README.md", renderReadme(context, selectedModules, includePrisma, useSequelize));
+			copyShippedModules(context.sink(), selectedModules);
 			return NodeGenerationSupport.success("Node scaffold generated");
 		} catch (Exception ex) {
 			return StepResult.error("NODE_SCAFFOLD", ex.getMessage());
@@ -203,32 +201,10 @@ public class NodeScaffoldExecutor implements StepExecutor {
 				context.port(), modulesSection, prismaSection, sequelizeSection);
 	}
 
-	private void copyShippedModules(Path root, List<String> selectedModules) throws Exception {
+	private void copyShippedModules(GeneratedFileSink sink, List<String> selectedModules) throws Exception {
 		List<String> shippedModules = ShippableModuleSupport.expandSelectedModules(selectedModules, GenerationLanguage.NODE);
 		for (String moduleId : shippedModules) {
-			Resource[] resources = resourceResolver.getResources(
-					ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
-							+ ShippableModuleSupport.resourceSearchPattern(moduleId, GenerationLanguage.NODE));
-			String prefix = ShippableModuleSupport.resourcePrefix(moduleId, GenerationLanguage.NODE) + "/";
-			for (Resource resource : resources) {
-				if (!resource.exists() || !resource.isReadable()) {
-					continue;
-				}
-				String externalForm = resource.getURL().toExternalForm();
-				int prefixIndex = externalForm.indexOf(prefix);
-				if (prefixIndex < 0) {
-					continue;
-				}
-				String relativePath = externalForm.substring(prefixIndex + prefix.length());
-				if (relativePath.isBlank() || relativePath.endsWith("/")) {
-					continue;
-				}
-				Path target = root.resolve("modules").resolve(moduleId).resolve(relativePath);
-				Files.createDirectories(target.getParent());
-				try (InputStream input = resource.getInputStream()) {
-					Files.copy(input, target, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-				}
-			}
+			shippedModulePack.copyTo(sink, moduleId, GenerationLanguage.NODE, sink.root().resolve("modules").resolve(moduleId));
 		}
 	}
 
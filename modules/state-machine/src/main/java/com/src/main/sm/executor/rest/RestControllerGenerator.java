@@ -1,10 +1,10 @@
 package com.src.main.sm.executor.rest;
 
 import java.io.IOException;
-import java.nio.file.Path;
 
 import org.springframework.stereotype.Component;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.SourceFileWriter;
 
@@ -24,10 +24,10 @@ public class RestControllerGenerator {
         this.sourceFileWriter = sourceFileWriter;
     }
 
-    public void generate(Path projectRoot, RestGenerationUnit unit,
+    public void generate(GeneratedFileSink sink, RestGenerationUnit unit,
                           GenerationLanguage language) throws IOException {
         String template = language.selectTemplate(TPL_JAVA, TPL_KOTLIN);
-        sourceFileWriter.write(projectRoot, language, DOMAIN, template,
+        sourceFileWriter.write(sink, language, DOMAIN, template,
                 unit.toTemplateModel(), unit.getControllerPackage(), unit.getControllerClass());
     }
 }
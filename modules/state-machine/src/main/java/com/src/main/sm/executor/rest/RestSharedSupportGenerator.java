@@ -1,14 +1,12 @@
 package com.src.main.sm.executor.rest;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.stereotype.Component;
 
-import com.src.main.sm.executor.TemplateEngine;
+import com.src.main.sm.executor.common.GeneratedFileSink;
+import com.src.main.sm.executor.common.GenerationUnitCache;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.TemplatePathResolver;
 import com.src.main.util.PathUtils;
@@ -26,29 +24,26 @@ public class RestSharedSupportGenerator {
 	private static final String FILTER_UTIL_CLASS = "RestFilterUtils";
 	private static final String QUERY_UTIL_CLASS = "RestQueryUtils";
 
-	private final TemplateEngine templateEngine;
+	private final GenerationUnitCache generationUnitCache;
 
-	public RestSharedSupportGenerator(TemplateEngine templateEngine) {
-		this.templateEngine = templateEngine;
+	public RestSharedSupportGenerator(GenerationUnitCache generationUnitCache) {
+		this.generationUnitCache = generationUnitCache;
 	}
 
-	public void generate(Path projectRoot, String supportPackage, boolean noSql, GenerationLanguage language) throws Exception {
-		Path outDir = projectRoot.resolve(PathUtils.srcPathFromPackage(supportPackage, language));
-		Files.createDirectories(outDir);
+	public void generate(GeneratedFileSink sink, String supportPackage, boolean noSql, GenerationLanguage language) throws Exception {
+		Path outDir = sink.root().resolve(PathUtils.srcPathFromPackage(supportPackage, language));
 		boolean kotlin = language == GenerationLanguage.KOTLIN;
 		String entityTemplate = kotlin ? ENTITY_UTIL_TEMPLATE_KOTLIN : ENTITY_UTIL_TEMPLATE_JAVA;
 		String queryTemplate = kotlin ? QUERY_UTIL_TEMPLATE_KOTLIN : QUERY_UTIL_TEMPLATE_JAVA;
 		String filterTemplate = kotlin ? FILTER_UTIL_TEMPLATE_KOTLIN : FILTER_UTIL_TEMPLATE_JAVA;
-		String entityUtils = templateEngine.renderAny(TemplatePathResolver.candidates(language, "rest", entityTemplate),
-				Map.of("supportPackage", supportPackage));
-		String queryUtils = templateEngine.renderAny(TemplatePathResolver.candidates(language, "rest", queryTemplate),
-				Map.of("supportPackage", supportPackage));
-		Files.writeString(outDir.resolve(ENTITY_UTIL_CLASS + "." + language.fileExtension()), entityUtils, UTF_8);
-		Files.writeString(outDir.resolve(QUERY_UTIL_CLASS + "." + language.fileExtension()), queryUtils, UTF_8);
+		Map<String, Object> model = Map.of("supportPackage", supportPackage);
+		generationUnitCache.write(sink, outDir.resolve(ENTITY_UTIL_CLASS + "." + language.fileExtension()), language,
+				TemplatePathResolver.candidates(language, "rest", entityTemplate), model);
+		generationUnitCache.write(sink, outDir.resolve(QUERY_UTIL_CLASS + "." + language.fileExtension()), language,
+				TemplatePathResolver.candidates(language, "rest", queryTemplate), model);
 		if (!noSql) {
-			String filterUtils = templateEngine.renderAny(TemplatePathResolver.candidates(language, "rest", filterTemplate),
-					Map.of("supportPackage", supportPackage));
-			Files.writeString(outDir.resolve(FILTER_UTIL_CLASS + "." + language.fileExtension()), filterUtils, UTF_8);
+			generationUnitCache.write(sink, outDir.resolve(FILTER_UTIL_CLASS + "." + language.fileExtension()), language,
+					TemplatePathResolver.candidates(language, "rest", filterTemplate), model);
 		}
 	}
 }
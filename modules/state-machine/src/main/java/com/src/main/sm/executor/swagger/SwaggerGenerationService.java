@@ -1,8 +1,5 @@
 package com.src.main.sm.executor.swagger;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -11,6 +8,7 @@ import java.util.Map;
 import org.springframework.stereotype.Service;
 
 import com.src.main.sm.executor.TemplateEngine;
+import com.src.main.sm.executor.common.GeneratedFileSink;
 import com.src.main.sm.executor.common.GenerationLanguage;
 import com.src.main.sm.executor.common.TemplatePathResolver;
 import com.src.main.util.PathUtils;
@@ -27,10 +25,9 @@ public class SwaggerGenerationService {
 		this.templateEngine = templateEngine;
 	}
 
-	public void generate(Path root, String swaggerPackage, String appName, List<SwaggerGroupSpec> groups,
+	public void generate(GeneratedFileSink sink, String swaggerPackage, String appName, List<SwaggerGroupSpec> groups,
 			GenerationLanguage language) throws Exception {
-		Path outDir = root.resolve(PathUtils.srcPathFromPackage(swaggerPackage, language));
-		Files.createDirectories(outDir);
+		Path outDir = sink.root().resolve(PathUtils.srcPathFromPackage(swaggerPackage, language));
 
 		Map<String, Object> model = new LinkedHashMap<>();
 		model.put("packageName", swaggerPackage);
@@ -39,6 +36,6 @@ public class SwaggerGenerationService {
 
 		String template = language == GenerationLanguage.KOTLIN ? TEMPLATE_KOTLIN : TEMPLATE_JAVA;
 		String code = templateEngine.renderAny(TemplatePathResolver.candidates(language, "swagger", template), model);
-		Files.writeString(outDir.resolve("OpenApiConfig." + language.fileExtension()), code, UTF_8);
+		sink.writeString(outDir.resolve("OpenApiConfig." + language.fileExtension()), code);
 	}
 }
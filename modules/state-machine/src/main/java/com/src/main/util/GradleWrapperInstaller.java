@@ -1,136 +1,205 @@
 package com.src.main.util;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
-import java.net.URI;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.nio.file.attribute.PosixFilePermission;
-import java.util.EnumSet;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.src.main.sm.executor.common.GeneratedFileSink;
+
+/**
+ * Installs the Gradle wrapper into generated projects without touching the network. The wrapper scripts and jars are
+ * loaded once when the installer is created and shared by every run:
+ * <ul>
+ * <li>{@code app.gradle.wrapper.cache-dir}, when set, holds one folder per Gradle version, each with a
+ * {@code gradle-wrapper.jar} and its {@code gradle-wrapper.jar.sha256} as published by Gradle;</li>
+ * <li>the classpath {@code templates/gradle/wrapper/gradle-wrapper.jar}, shipped with its checksum, serves every
+ * version without its own folder.</li>
+ * </ul>
+ * A jar without a {@code .sha256} file, or whose checksum does not match it, fails startup, as does having no jar at
+ * all. Runs never download a jar.
+ */
 @Component
 public class GradleWrapperInstaller {
+
+	private static final Logger log = LoggerFactory.getLogger(GradleWrapperInstaller.class);
+
+	private static final String DEFAULT_VERSION = "8.10.2";
+	private static final String WRAPPER_JAR = "gradle-wrapper.jar";
+	private static final String CHECKSUM_SUFFIX = ".sha256";
 	private static final String[] TEMPLATE_RESOURCE_PREFIXES = {
 			"",
 			"/shipped-modules/state-machine/src/main/resources"
 	};
 
-	public void installWrapper(Path projectRoot, String gradleVersion) {
-		Objects.requireNonNull(projectRoot, "projectRoot");
-		String version = (gradleVersion == null || gradleVersion.isBlank()) ? "8.10.2" : gradleVersion.trim();
+	private final byte[] gradlew;
+	private final byte[] gradlewBat;
+	private final byte[] defaultWrapperJar;
+	private final Map<String, byte[]> wrapperJarsByVersion;
+	private final Map<String, byte[]> wrapperPropertiesByVersion = new ConcurrentHashMap<>();
 
-		Path gradleDir = projectRoot.resolve("gradle").resolve("wrapper");
-		Path gradlew = projectRoot.resolve("gradlew");
-		Path gradlewBat = projectRoot.resolve("gradlew.bat");
-		Path wrapperJar = gradleDir.resolve("gradle-wrapper.jar");
-		Path wrapperProps = gradleDir.resolve("gradle-wrapper.properties");
+	public GradleWrapperInstaller() {
+		this("");
+	}
 
-		try {
-			Files.createDirectories(gradleDir);
+	@Autowired
+	public GradleWrapperInstaller(@Value("${app.gradle.wrapper.cache-dir:}") String cacheDir) {
+		this.gradlew = readClasspath("/templates/gradle/gradlew");
+		this.gradlewBat = readClasspath("/templates/gradle/gradlew.bat");
+		this.defaultWrapperJar = loadClasspathWrapperJar();
+		this.wrapperJarsByVersion = cacheDir == null || cacheDir.isBlank() ? Map.of() : loadCacheDir(Path.of(cacheDir));
+		if (defaultWrapperJar == null && wrapperJarsByVersion.isEmpty()) {
+			throw new IllegalStateException("No " + WRAPPER_JAR + " found on the classpath under templates/gradle/wrapper"
+					+ " or in app.gradle.wrapper.cache-dir; Gradle projects cannot be generated");
+		}
+	}
+
+	public void installWrapper(GeneratedFileSink sink, String gradleVersion) {
+		Objects.requireNonNull(sink, "sink");
+		String version = (gradleVersion == null || gradleVersion.isBlank()) ? DEFAULT_VERSION : gradleVersion.trim();
 
-			copyClasspath("/templates/gradle/gradlew", gradlew);
-			copyClasspath("/templates/gradle/gradlew.bat", gradlewBat);
+		Path projectRoot = sink.root();
+		Path gradleDir = projectRoot.resolve("gradle").resolve("wrapper");
+		Path gradlewPath = projectRoot.resolve("gradlew");
 
-			trySetExecutable(gradlew);
+		try {
+			if (gradlew == null || gradlewBat == null) {
+				throw new IOException("Missing classpath resource: /templates/gradle/gradlew or gradlew.bat");
+			}
+			sink.write(gradlewPath, gradlew);
+			sink.write(projectRoot.resolve("gradlew.bat"), gradlewBat);
 
-			ensureWrapperJar(version, wrapperJar);
+			sink.setExecutable(gradlewPath);
 
-			String distroType = "bin";
-			Properties p = new Properties();
-			p.setProperty("distributionBase", "GRADLE_USER_HOME");
-			p.setProperty("distributionPath", "wrapper/dists");
-			p.setProperty("distributionUrl",
-					"https://services.gradle.org/distributions/gradle-" + version + "-" + distroType + ".zip");
-			p.setProperty("zipStoreBase", "GRADLE_USER_HOME");
-			p.setProperty("zipStorePath", "wrapper/dists");
-			writeProps(wrapperProps, p);
+			sink.write(gradleDir.resolve(WRAPPER_JAR), wrapperJar(version));
+			sink.write(gradleDir.resolve("gradle-wrapper.properties"),
+					wrapperPropertiesByVersion.computeIfAbsent(version, GradleWrapperInstaller::wrapperProperties));
 
 		} catch (IOException e) {
 			throw new IllegalStateException("Failed to install Gradle Wrapper into project: " + projectRoot, e);
 		}
 	}
 
-	private static void copyClasspath(String resourcePath, Path dest) throws IOException {
-		try (InputStream in = openClasspathResource(resourcePath)) {
-			if (in == null) {
-				throw new IOException("Missing classpath resource: " + resourcePath);
-			}
-			Files.createDirectories(dest.getParent());
-			try (OutputStream out = Files.newOutputStream(dest, StandardOpenOption.CREATE,
-					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
-				in.transferTo(out);
-			}
+	private byte[] wrapperJar(String version) throws IOException {
+		byte[] jar = wrapperJarsByVersion.getOrDefault(version, defaultWrapperJar);
+		if (jar == null) {
+			throw new IOException("No cached " + WRAPPER_JAR + " for Gradle " + version
+					+ "; add it under app.gradle.wrapper.cache-dir or templates/gradle/wrapper on the classpath");
 		}
+		return jar;
 	}
 
-	private static void copyClasspathIfPresent(String resourcePath, Path dest) throws IOException {
-		try (InputStream in = openClasspathResource(resourcePath)) {
-			if (in == null) {
-				return;
-			}
-			Files.createDirectories(dest.getParent());
-			try (OutputStream out = Files.newOutputStream(dest, StandardOpenOption.CREATE,
-					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
-				in.transferTo(out);
-			}
+	private static byte[] wrapperProperties(String version) {
+		String distroType = "bin";
+		Properties p = new Properties();
+		p.setProperty("distributionBase", "GRADLE_USER_HOME");
+		p.setProperty("distributionPath", "wrapper/dists");
+		p.setProperty("distributionUrl",
+				"https://services.gradle.org/distributions/gradle-" + version + "-" + distroType + ".zip");
+		p.setProperty("zipStoreBase", "GRADLE_USER_HOME");
+		p.setProperty("zipStorePath", "wrapper/dists");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			p.store(out, null);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
+		String normalized = out.toString(StandardCharsets.ISO_8859_1).replace("\r\n", "\n");
+		return normalized.getBytes(StandardCharsets.ISO_8859_1);
 	}
 
-	private static InputStream openClasspathResource(String resourcePath) {
-		for (String prefix : TEMPLATE_RESOURCE_PREFIXES) {
-			InputStream stream = GradleWrapperInstaller.class.getResourceAsStream(prefix + resourcePath);
-			if (stream != null) {
-				return stream;
-			}
+	private static byte[] loadClasspathWrapperJar() {
+		String resourcePath = "/templates/gradle/wrapper/" + WRAPPER_JAR;
+		byte[] jar = readClasspath(resourcePath);
+		if (jar == null || jar.length == 0) {
+			return null;
 		}
-		return null;
+		byte[] checksum = readClasspath(resourcePath + CHECKSUM_SUFFIX);
+		if (checksum == null) {
+			throw new IllegalStateException("Missing classpath resource " + resourcePath + CHECKSUM_SUFFIX);
+		}
+		verify(resourcePath, jar, new String(checksum, StandardCharsets.US_ASCII));
+		return jar;
 	}
 
-	private static void ensureWrapperJar(String gradleVersion, Path wrapperJar) throws IOException {
-		copyClasspathIfPresent("/templates/gradle/wrapper/gradle-wrapper.jar", wrapperJar);
-		if (Files.exists(wrapperJar) && Files.size(wrapperJar) > 0L) {
-			return;
+	private static Map<String, byte[]> loadCacheDir(Path cacheDir) {
+		if (!Files.isDirectory(cacheDir)) {
+			throw new IllegalStateException("Gradle wrapper cache directory does not exist: " + cacheDir);
 		}
+		Map<String, byte[]> jars = new LinkedHashMap<>();
+		try (DirectoryStream<Path> versions = Files.newDirectoryStream(cacheDir, Files::isDirectory)) {
+			for (Path versionDir : versions) {
+				Path jarFile = versionDir.resolve(WRAPPER_JAR);
+				if (!Files.isRegularFile(jarFile)) {
+					continue;
+				}
+				byte[] jar = Files.readAllBytes(jarFile);
+				Path checksumFile = versionDir.resolve(WRAPPER_JAR + CHECKSUM_SUFFIX);
+				if (!Files.isRegularFile(checksumFile)) {
+					throw new IllegalStateException("Missing checksum " + checksumFile + " for " + jarFile);
+				}
+				verify(jarFile.toString(), jar, Files.readString(checksumFile, StandardCharsets.US_ASCII));
+				jars.put(versionDir.getFileName().toString(), jar);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to load Gradle wrapper cache " + cacheDir, e);
+		}
+		log.info("Loaded cached {} for Gradle versions {}", WRAPPER_JAR, jars.keySet());
+		return Map.copyOf(jars);
+	}
 
-		Files.createDirectories(wrapperJar.getParent());
-		String url = "https://raw.githubusercontent.com/gradle/gradle/v" + gradleVersion
-				+ "/gradle/wrapper/gradle-wrapper.jar";
-		try (InputStream in = URI.create(url).toURL().openStream();
-				OutputStream out = Files.newOutputStream(wrapperJar, StandardOpenOption.CREATE,
-						StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
-			in.transferTo(out);
+	private static void verify(String source, byte[] jar, String expectedChecksum) {
+		if (jar.length == 0) {
+			throw new IllegalStateException("Empty " + WRAPPER_JAR + " at " + source);
 		}
-		if (!Files.exists(wrapperJar) || Files.size(wrapperJar) == 0L) {
-			throw new IOException("Failed to provision gradle-wrapper.jar at " + wrapperJar);
+		if (expectedChecksum.isBlank()) {
+			throw new IllegalStateException("Empty checksum for " + source);
+		}
+		String expected = expectedChecksum.trim().split("\\s+")[0].toLowerCase(Locale.ROOT);
+		String actual = sha256(jar);
+		if (!expected.equals(actual)) {
+			throw new IllegalStateException(
+					"Checksum mismatch for " + source + ": expected " + expected + " but was " + actual);
 		}
 	}
 
-	private static void writeProps(Path dest, Properties p) throws IOException {
-		try (OutputStream out = Files.newOutputStream(dest, StandardOpenOption.CREATE,
-				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
-			p.store(out, null);
+	private static byte[] readClasspath(String resourcePath) {
+		for (String prefix : TEMPLATE_RESOURCE_PREFIXES) {
+			try (InputStream stream = GradleWrapperInstaller.class.getResourceAsStream(prefix + resourcePath)) {
+				if (stream != null) {
+					return stream.readAllBytes();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException("Failed to read classpath resource " + resourcePath, e);
+			}
 		}
-		byte[] bytes = Files.readAllBytes(dest);
-		String normalized = new String(bytes, StandardCharsets.ISO_8859_1).replace("\r\n", "\n");
-		Files.write(dest, normalized.getBytes(StandardCharsets.ISO_8859_1), StandardOpenOption.TRUNCATE_EXISTING);
+		return null;
 	}
 
-	private static void trySetExecutable(Path script) {
+	private static String sha256(byte[] content) {
 		try {
-			Set<PosixFilePermission> perms = EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE,
-					PosixFilePermission.OWNER_EXECUTE, PosixFilePermission.GROUP_READ,
-					PosixFilePermission.GROUP_EXECUTE, PosixFilePermission.OTHERS_READ,
-					PosixFilePermission.OTHERS_EXECUTE);
-			Files.setPosixFilePermissions(script, perms);
-		} catch (UnsupportedOperationException | IOException ignored) {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
 		}
 	}
 }
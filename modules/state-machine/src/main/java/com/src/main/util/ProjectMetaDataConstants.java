@@ -2,6 +2,10 @@ package com.src.main.util;
 
 public interface ProjectMetaDataConstants {
 	String ROOT_DIR = "rootDir";
+	String FILE_SINK = "fileSink";
+	String APP_SPEC = "appSpec";
+	String GENERATION_PARALLELISM = "generationParallelism";
+	String CANCELLATION = "cancellation";
 	String GROUP_ID = "groupId";
 	String ARTIFACT_ID = "artifactId";
 	String NAME = "name";
@@ -14,6 +14,7 @@ import org.springframework.statemachine.support.DefaultExtendedState;
 
 import com.src.main.dto.MavenDependencyDTO;
 import com.src.main.service.DependencyResolver;
+import com.src.main.sm.executor.common.ShippedModulePack;
 import com.src.main.util.GradleWrapperInstaller;
 import com.src.main.util.InitializrGradleGenerator;
 import com.src.main.util.InitializrPomGenerator;
@@ -31,7 +32,8 @@ class ScaffoldExecutorPluginSchemaTest {
 				new InitializrPomGenerator(),
 				new InitializrGradleGenerator(),
 				new GradleWrapperInstaller(),
-				new TemplateEngine());
+				new TemplateEngine(),
+				new ShippedModulePack());
 
 		DefaultExtendedState state = new DefaultExtendedState();
 		state.getVariables().put(ProjectMetaDataConstants.ROOT_DIR, tempDir);
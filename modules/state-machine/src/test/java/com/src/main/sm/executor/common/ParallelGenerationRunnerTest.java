@@ -0,0 +1,115 @@
+package com.src.main.sm.executor.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelGenerationRunnerTest {
+
+	private static final GenerationCancellation NONE = new GenerationCancellation();
+
+	private final ParallelGenerationRunner runner = new ParallelGenerationRunner(4, 4);
+
+	@AfterEach
+	void tearDown() {
+		Thread.interrupted();
+		runner.destroy();
+	}
+
+	@Test
+	void map_returnsResultsInInputOrder() {
+		List<Integer> items = IntStream.range(0, 50).boxed().toList();
+
+		List<Integer> results = runner.map(NONE, 4, items, item -> null, item -> "item " + item, item -> {
+			Thread.sleep((50 - item) % 3);
+			return item * 2;
+		});
+
+		assertEquals(items.stream().map(item -> item * 2).toList(), results);
+	}
+
+	@Test
+	void map_runsUnitsWithSameCollisionKeyInInputOrder() {
+		List<Integer> items = IntStream.range(0, 40).boxed().toList();
+		Map<String, List<Integer>> orderByKey = new ConcurrentHashMap<>();
+
+		runner.forEach(NONE, 4, items, item -> "key-" + item % 3, item -> "item " + item, item -> {
+			Thread.sleep(item % 2);
+			orderByKey.computeIfAbsent("key-" + item % 3, ignored -> Collections.synchronizedList(new ArrayList<>()))
+					.add(item);
+		});
+
+		orderByKey.forEach((key, order) -> assertEquals(order.stream().sorted().toList(), order, key));
+		assertEquals(items.size(), orderByKey.values().stream().mapToInt(List::size).sum());
+	}
+
+	@Test
+	void map_reportsLowestIndexFailureRegardlessOfCompletionOrder() {
+		List<Integer> items = IntStream.range(0, 20).boxed().toList();
+		CountDownLatch laterFailed = new CountDownLatch(1);
+
+		GenerationUnitException ex = assertThrows(GenerationUnitException.class,
+				() -> runner.forEach(NONE, 4, items, item -> null, item -> "item " + item, item -> {
+					if (item == 3) {
+						laterFailed.await(5, TimeUnit.SECONDS);
+						throw new IllegalStateException("early unit broke");
+					}
+					if (item == 15) {
+						laterFailed.countDown();
+						throw new IllegalStateException("late unit broke");
+					}
+				}));
+
+		assertEquals("Failed to generate item 3: early unit broke", ex.getMessage());
+	}
+
+	@Test
+	void map_stopsStartingUnitsWhenCallerIsInterrupted() {
+		List<Integer> items = IntStream.range(0, 200).boxed().toList();
+		Thread caller = Thread.currentThread();
+		AtomicInteger started = new AtomicInteger();
+
+		assertThrows(GenerationCancelledException.class,
+				() -> runner.forEach(NONE, 2, items, item -> null, item -> "item " + item, item -> {
+					started.incrementAndGet();
+					if (item == 5) {
+						caller.interrupt();
+					}
+					Thread.sleep(2);
+				}));
+
+		assertTrue(started.get() < items.size(), "started " + started.get() + " units");
+	}
+
+	@Test
+	void map_stopsStartingUnitsWhenRunIsCancelled() {
+		List<Integer> items = IntStream.range(0, 200).boxed().toList();
+		GenerationCancellation cancellation = new GenerationCancellation();
+		AtomicInteger started = new AtomicInteger();
+
+		GenerationCancelledException ex = assertThrows(GenerationCancelledException.class,
+				() -> runner.forEach(cancellation, 2, items, item -> null, item -> "item " + item, item -> {
+					started.incrementAndGet();
+					if (item == 5) {
+						cancellation.cancel("Run cancelled by user.");
+					}
+					Thread.sleep(2);
+				}));
+
+		assertEquals("Run cancelled by user.", ex.getMessage());
+		assertTrue(started.get() < items.size(), "started " + started.get() + " units");
+	}
+}
@@ -0,0 +1,63 @@
+package com.src.main.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.src.main.sm.executor.common.InMemoryGeneratedFileSink;
+
+class GradleWrapperInstallerTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void installsShippedWrapperJarWithoutCacheDir() throws Exception {
+		InMemoryGeneratedFileSink sink = new InMemoryGeneratedFileSink(tempDir.resolve("project"));
+
+		new GradleWrapperInstaller().installWrapper(sink, "8.10.2");
+
+		Path jar = sink.root().resolve("gradle/wrapper/gradle-wrapper.jar");
+		assertTrue(sink.exists(jar));
+		assertTrue(sink.readAllBytes(jar).length > 0);
+		assertTrue(sink.readString(sink.root().resolve("gradle/wrapper/gradle-wrapper.properties"))
+				.contains("gradle-8.10.2-bin.zip"));
+	}
+
+	@Test
+	void usesCachedJarOfRequestedVersion() throws Exception {
+		byte[] jar = { 1, 2, 3 };
+		Path versionDir = Files.createDirectories(tempDir.resolve("8.5"));
+		Files.write(versionDir.resolve("gradle-wrapper.jar"), jar);
+		Files.writeString(versionDir.resolve("gradle-wrapper.jar.sha256"),
+				"039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81");
+		InMemoryGeneratedFileSink sink = new InMemoryGeneratedFileSink(tempDir.resolve("project"));
+
+		new GradleWrapperInstaller(tempDir.toString()).installWrapper(sink, "8.5");
+
+		assertArrayEquals(jar, sink.readAllBytes(sink.root().resolve("gradle/wrapper/gradle-wrapper.jar")));
+	}
+
+	@Test
+	void rejectsCachedJarWithoutChecksum() throws Exception {
+		Path versionDir = Files.createDirectories(tempDir.resolve("8.5"));
+		Files.write(versionDir.resolve("gradle-wrapper.jar"), new byte[] { 1, 2, 3 });
+
+		assertThrows(IllegalStateException.class, () -> new GradleWrapperInstaller(tempDir.toString()));
+	}
+
+	@Test
+	void rejectsCachedJarWithWrongChecksum() throws Exception {
+		Path versionDir = Files.createDirectories(tempDir.resolve("8.5"));
+		Files.write(versionDir.resolve("gradle-wrapper.jar"), new byte[] { 1, 2, 3 });
+		Files.writeString(versionDir.resolve("gradle-wrapper.jar.sha256"), "00" + "0".repeat(62));
+
+		assertThrows(IllegalStateException.class, () -> new GradleWrapperInstaller(tempDir.toString()));
+	}
+}
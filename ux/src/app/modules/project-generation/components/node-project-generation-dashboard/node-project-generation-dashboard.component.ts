@@ -1728,12 +1728,16 @@ export class NodeProjectGenerationDashboardComponent implements OnInit, OnDestro
     }
   }
 
-  private downloadZipFile(base64Payload: string, fileName: string, yamlSpec: string): void {
+  private async loadExploreZipFromUrl(downloadPath: string, fileName: string, yamlSpec: string): Promise<void> {
     try {
-      const bytes = this.base64ToUint8Array(base64Payload);
-      this.exploreZipBlob = new Blob([bytes.buffer as ArrayBuffer], { type: 'application/zip' });
+      const zipData = await firstValueFrom(
+        this.http.get(`${API_CONFIG.BASE_URL}${downloadPath}`, { responseType: 'arraybuffer' })
+      );
+      this.exploreZipBlob = new Blob([zipData], { type: 'application/zip' });
       this.exploreZipFileName = fileName || `${toArtifactId(this.projectSettings.projectName || 'project')}.zip`;
-      this.cacheZipFromBase64(yamlSpec, base64Payload, this.exploreZipFileName);
+      if (yamlSpec) {
+        this.cacheZipFromArrayBuffer(yamlSpec, zipData, this.exploreZipFileName);
+      }
       this.activeExplorePreviewRunId = '';
       this.isExplorePreviewOpen = false;
       this.activeSection = 'explore';
@@ -2185,19 +2189,6 @@ export class NodeProjectGenerationDashboardComponent implements OnInit, OnDestro
     });
   }
 
-  private cacheZipFromBase64(yamlSpec: string, zipBase64: string, fileName: string): void {
-    if (!yamlSpec || !zipBase64) {
-      return;
-    }
-
-    this.localStorageService.setProjectZipCache(this.getZipCacheKey(), {
-      yamlSpec,
-      zipBase64,
-      fileName: fileName || 'project.zip',
-      updatedAt: Date.now()
-    });
-  }
-
   private hydrateExploreStateFromProjectDetails(projectDetails: ProjectDetails): void {
     const projectId = trimmed(projectDetails.projectId || String(projectDetails.id || ''));
     const projectYaml = typeof projectDetails.yaml === 'string' ? projectDetails.yaml : '';
@@ -2215,7 +2206,7 @@ export class NodeProjectGenerationDashboardComponent implements OnInit, OnDestro
       }];
     }
 
-    if (!projectDetails.latestRunHasZip || !projectDetails.latestRunZipBase64) {
+    if (!projectDetails.latestRunHasZip || !projectDetails.latestRunZipDownloadUrl) {
       this.exploreZipBlob = null;
       this.exploreZipFileName = projectDetails.latestRunZipFileName || 'project.zip';
       this.activeExplorePreviewRunId = '';
@@ -2223,8 +2214,8 @@ export class NodeProjectGenerationDashboardComponent implements OnInit, OnDestro
       return;
     }
 
-    this.downloadZipFile(
-      projectDetails.latestRunZipBase64,
+    void this.loadExploreZipFromUrl(
+      projectDetails.latestRunZipDownloadUrl,
       projectDetails.latestRunZipFileName || 'project.zip',
       projectYaml
     );
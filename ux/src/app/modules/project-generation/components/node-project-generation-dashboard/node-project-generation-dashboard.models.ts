@@ -44,6 +44,7 @@ export interface ProjectRunSummary {
   type?: string;
   status: string;
   hasZip?: boolean;
+  artifactSizeBytes?: number;
   errorMessage?: string;
   createdAt?: string;
   updatedAt?: string;
@@ -1744,12 +1744,16 @@ export class ProjectGenerationDashboardComponent implements OnInit, OnDestroy {
     }
   }
 
-  private downloadZipFile(base64Payload: string, fileName: string, yamlSpec: string): void {
+  private async loadExploreZipFromUrl(downloadPath: string, fileName: string, yamlSpec: string): Promise<void> {
     try {
-      const bytes = this.base64ToUint8Array(base64Payload);
-      this.exploreZipBlob = new Blob([bytes.buffer as ArrayBuffer], { type: 'application/zip' });
+      const zipData = await firstValueFrom(
+        this.http.get(`${API_CONFIG.BASE_URL}${downloadPath}`, { responseType: 'arraybuffer' })
+      );
+      this.exploreZipBlob = new Blob([zipData], { type: 'application/zip' });
       this.exploreZipFileName = fileName || `${toArtifactId(this.projectSettings.projectName || 'project')}.zip`;
-      this.cacheZipFromBase64(yamlSpec, base64Payload, this.exploreZipFileName);
+      if (yamlSpec) {
+        this.cacheZipFromArrayBuffer(yamlSpec, zipData, this.exploreZipFileName);
+      }
       this.activeExplorePreviewRunId = '';
       this.isExplorePreviewOpen = false;
       this.activeSection = 'explore';
@@ -2201,19 +2205,6 @@ export class ProjectGenerationDashboardComponent implements OnInit, OnDestroy {
     });
   }
 
-  private cacheZipFromBase64(yamlSpec: string, zipBase64: string, fileName: string): void {
-    if (!yamlSpec || !zipBase64) {
-      return;
-    }
-
-    this.localStorageService.setProjectZipCache(this.getZipCacheKey(), {
-      yamlSpec,
-      zipBase64,
-      fileName: fileName || 'project.zip',
-      updatedAt: Date.now()
-    });
-  }
-
   private hydrateExploreStateFromProjectDetails(projectDetails: ProjectDetails): void {
     const projectId = trimmed(projectDetails.projectId || String(projectDetails.id || ''));
     const projectYaml = typeof projectDetails.yaml === 'string' ? projectDetails.yaml : '';
@@ -2231,7 +2222,7 @@ export class ProjectGenerationDashboardComponent implements OnInit, OnDestroy {
       }];
     }
 
-    if (!projectDetails.latestRunHasZip || !projectDetails.latestRunZipBase64) {
+    if (!projectDetails.latestRunHasZip || !projectDetails.latestRunZipDownloadUrl) {
       this.exploreZipBlob = null;
       this.exploreZipFileName = projectDetails.latestRunZipFileName || 'project.zip';
       this.activeExplorePreviewRunId = '';
@@ -2239,8 +2230,8 @@ export class ProjectGenerationDashboardComponent implements OnInit, OnDestroy {
       return;
     }
 
-    this.downloadZipFile(
-      projectDetails.latestRunZipBase64,
+    void this.loadExploreZipFromUrl(
+      projectDetails.latestRunZipDownloadUrl,
       projectDetails.latestRunZipFileName || 'project.zip',
       projectYaml
     );
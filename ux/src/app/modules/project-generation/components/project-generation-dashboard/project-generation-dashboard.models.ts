@@ -42,6 +42,7 @@ export interface ProjectRunSummary {
   type?: string;
   status: string;
   hasZip?: boolean;
+  artifactSizeBytes?: number;
   errorMessage?: string;
   createdAt?: string;
   updatedAt?: string;
@@ -157,7 +157,7 @@ export interface ProjectDetails extends ProjectSummary {
   latestRunStatus?: string;
   latestRunNumber?: number;
   latestRunHasZip?: boolean;
-  latestRunZipBase64?: string;
+  latestRunZipDownloadUrl?: string;
   latestRunZipFileName?: string;
 }
 